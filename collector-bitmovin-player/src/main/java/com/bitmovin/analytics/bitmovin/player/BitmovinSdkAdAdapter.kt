@@ -23,7 +23,7 @@ internal class BitmovinSdkAdAdapter(
 
     private val playerEventAdStartedListener: (PlayerEvent.AdStarted) -> Unit = method@{ event ->
         try {
-            BitmovinLog.d(TAG, "On Ad Started")
+            BitmovinLog.d(TAG) { "On Ad Started" }
             val ad = event.ad ?: return@method
             observableSupport.notify { it.onAdStarted(adMapper.fromPlayerAd(ad)) }
         } catch (e: Exception) {
@@ -33,7 +33,7 @@ internal class BitmovinSdkAdAdapter(
 
     private val playerEventAdFinishedListener: (PlayerEvent.AdFinished) -> Unit = {
         try {
-            BitmovinLog.d(TAG, "On Ad Finished")
+            BitmovinLog.d(TAG) { "On Ad Finished" }
             observableSupport.notify { it.onAdFinished() }
         } catch (e: Exception) {
             BitmovinLog.e(TAG, "On Ad Finished", e)
@@ -42,7 +42,7 @@ internal class BitmovinSdkAdAdapter(
 
     private val playerEventAdBreakStartedListener: (PlayerEvent.AdBreakStarted) -> Unit = method@{ event ->
         try {
-            BitmovinLog.d(TAG, "On Ad Break Started")
+            BitmovinLog.d(TAG) { "On Ad Break Started" }
             val adBreak = event.adBreak ?: return@method
             observableSupport.notify { it.onAdBreakStarted(adBreakMapper.fromPlayerAdConfiguration(adBreak)) }
         } catch (e: Exception) {
@@ -52,7 +52,7 @@ internal class BitmovinSdkAdAdapter(
 
     private val playerEventAdBreakFinishedListener: (PlayerEvent.AdBreakFinished) -> Unit = {
         try {
-            BitmovinLog.d(TAG, "On Ad Break Finished")
+            BitmovinLog.d(TAG) { "On Ad Break Finished" }
             observableSupport.notify { it.onAdBreakFinished() }
         } catch (e: Exception) {
             BitmovinLog.e(TAG, "On Ad Break Finished", e)
@@ -61,7 +61,7 @@ internal class BitmovinSdkAdAdapter(
 
     private val playerEventAdClickedListener: (PlayerEvent.AdClicked) -> Unit = { event ->
         try {
-            BitmovinLog.d(TAG, "On Ad Clicked")
+            BitmovinLog.d(TAG) { "On Ad Clicked" }
             observableSupport.notify { it.onAdClicked(event.clickThroughUrl) }
         } catch (e: Exception) {
             BitmovinLog.e(TAG, "On Ad Clicked", e)
@@ -70,7 +70,7 @@ internal class BitmovinSdkAdAdapter(
 
     private val playerEventAdErrorListener: (PlayerEvent.AdError) -> Unit = method@{ event ->
         try {
-            BitmovinLog.d(TAG, "On Ad Error")
+            BitmovinLog.d(TAG) { "On Ad Error" }
             val adConf = event.adConfig ?: return@method
             observableSupport.notify {
                 it.onAdError(
@@ -86,7 +86,7 @@ internal class BitmovinSdkAdAdapter(
 
     private val playerEventAdSkippedListener: (PlayerEvent.AdSkipped) -> Unit = {
         try {
-            BitmovinLog.d(TAG, "On Ad Skipped")
+            BitmovinLog.d(TAG) { "On Ad Skipped" }
             observableSupport.notify { it.onAdSkipped() }
         } catch (e: Exception) {
             BitmovinLog.e(TAG, "On Ad Skipped", e)
@@ -95,7 +95,7 @@ internal class BitmovinSdkAdAdapter(
 
     private val playerEventAdManifestLoadedListener: (PlayerEvent.AdManifestLoaded) -> Unit = method@{ event ->
         try {
-            BitmovinLog.d(TAG, "On Ad Manifest Loaded")
+            BitmovinLog.d(TAG) { "On Ad Manifest Loaded" }
             val adBreak = event.adBreak ?: return@method
             observableSupport.notify { it.onAdManifestLoaded(adBreakMapper.fromPlayerAdConfiguration(adBreak), event.downloadTime) }
         } catch (e: Exception) {
@@ -105,7 +105,7 @@ internal class BitmovinSdkAdAdapter(
 
     private val playerEventAdQuartileListener: (PlayerEvent.AdQuartile) -> Unit = { event ->
         try {
-            BitmovinLog.d(TAG, "On Ad Quartile Listener")
+            BitmovinLog.d(TAG) { "On Ad Quartile Listener" }
             observableSupport.notify { it.onAdQuartile(adQuartileFactory.FromPlayerAdQuartile(event.quartile)) }
         } catch (e: Exception) {
             BitmovinLog.e(TAG, "On Ad Quartile Listener ", e)
@@ -114,7 +114,7 @@ internal class BitmovinSdkAdAdapter(
 
     private val playerEventPlayListener: (PlayerEvent.Play) -> Unit = method@{ event ->
         try {
-            BitmovinLog.d(TAG, "On PlayListener")
+            BitmovinLog.d(TAG) { "On PlayListener" }
             observableSupport.notify { it.onPlayEvent() }
         } catch (e: Exception) {
             BitmovinLog.e(TAG, "On PlayListener", e)
@@ -139,7 +139,7 @@ internal class BitmovinSdkAdapter(
             }
         }
 
-        return SourceMetadata()
+        return EMPTY_SOURCE_METADATA
     }
 
     /*
@@ -158,7 +158,7 @@ internal class BitmovinSdkAdapter(
         val source = player.source
 
         if (source != null && playbackConfig.isAutoplayEnabled) {
-            BitmovinLog.d(TAG, "Detected Autoplay going to startup")
+            BitmovinLog.d(TAG) { "Detected Autoplay going to startup" }
             playbackQualityProvider.resetPlaybackQualities()
 
             if (player.isAd) {
@@ -173,5 +173,8 @@ internal class BitmovinSdkAdapter(
         private const val TAG = "BitmovinSdkAdapter"
         private const val PLAYER_TECH = "Android:Exoplayer"
         private val PLAYER_INFO = PlayerInfo(PLAYER_TECH, PlayerType.BITMOVIN)
+
+        // shared, so the sample metadata merged for sources without metadata is re-used
+        private val EMPTY_SOURCE_METADATA = SourceMetadata()
     }
 }
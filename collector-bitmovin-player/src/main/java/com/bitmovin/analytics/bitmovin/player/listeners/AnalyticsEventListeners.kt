@@ -52,7 +52,7 @@ internal class AnalyticsEventListeners(
         get() = overrideCurrentSource ?: player.source
 
     fun registerEventListeners() {
-        BitmovinLog.d(TAG, "Adding Player Listeners")
+        BitmovinLog.d(TAG) { "Adding Player Listeners" }
         player.on(::onSourceEventSourceLoaded)
         player.on(::onSourceEventSourceUnloaded)
         player.on(::onPlayerEventPlay)
@@ -81,7 +81,7 @@ internal class AnalyticsEventListeners(
     }
 
     fun unregisterEventListeners() {
-        BitmovinLog.d(TAG, "Removing Player Listeners")
+        BitmovinLog.d(TAG) { "Removing Player Listeners" }
         player.off(::onSourceEventSourceLoaded)
         player.off(::onSourceEventSourceUnloaded)
         player.off(::onPlayerEventPlay)
@@ -123,14 +123,14 @@ internal class AnalyticsEventListeners(
     private fun onSourceEventSourceLoaded(
         @Suppress("UNUSED_PARAMETER") event: SourceEvent.Loaded,
     ) {
-        BitmovinLog.d(TAG, "On Source Loaded")
+        BitmovinLog.d(TAG) { "On Source Loaded" }
     }
 
     private fun onSourceEventSourceUnloaded(
         @Suppress("UNUSED_PARAMETER") event: SourceEvent.Unloaded,
     ) {
         try {
-            BitmovinLog.d(TAG, "On Source Unloaded")
+            BitmovinLog.d(TAG) { "On Source Unloaded" }
             playerEventReporter.onSourceUnloaded()
         } catch (e: Exception) {
             BitmovinLog.e(TAG, e.message, e)
@@ -141,7 +141,7 @@ internal class AnalyticsEventListeners(
         @Suppress("UNUSED_PARAMETER") event: PlayerEvent.Destroy,
     ) {
         try {
-            BitmovinLog.d(TAG, "On Destroy")
+            BitmovinLog.d(TAG) { "On Destroy" }
             playerEventReporter.onPlayerDestroy(playerContext.position)
         } catch (e: Exception) {
             BitmovinLog.e(TAG, e.message, e)
@@ -152,7 +152,7 @@ internal class AnalyticsEventListeners(
         @Suppress("UNUSED_PARAMETER") event: PlayerEvent.PlaybackFinished,
     ) {
         try {
-            BitmovinLog.d(TAG, "On Playback Finished Listener")
+            BitmovinLog.d(TAG) { "On Playback Finished Listener" }
             // if it's live stream we are using currentplayerContext.position of playback as videoTime
             val videoTime =
                 if (player.duration != Double.POSITIVE_INFINITY) Util.secondsToMillis(player.duration) else playerContext.position
@@ -164,7 +164,7 @@ internal class AnalyticsEventListeners(
 
     private fun onPlayerEventPaused(event: PlayerEvent.Paused) {
         try {
-            BitmovinLog.d(TAG, "On Pause Listener")
+            BitmovinLog.d(TAG) { "On Pause Listener" }
             // used value from event instead of player.currentTime because in case player is transitioning to ads
             // player.currentTime will be 0 and mess videoTimeEnd measurement
             val videoPosition = Util.secondsToMillis(event.time)
@@ -182,7 +182,7 @@ internal class AnalyticsEventListeners(
         @Suppress("UNUSED_PARAMETER") event: PlayerEvent.Play,
     ) {
         try {
-            BitmovinLog.d(TAG, "On Play Listener")
+            BitmovinLog.d(TAG) { "On Play Listener" }
             playerEventReporter.onPlay(event.time.secondsToMillisecondsLong())
         } catch (e: Exception) {
             BitmovinLog.e(TAG, e.message, e)
@@ -193,7 +193,7 @@ internal class AnalyticsEventListeners(
         @Suppress("UNUSED_PARAMETER") event: PlayerEvent.Playing,
     ) {
         try {
-            BitmovinLog.d(TAG, "On Playing Listener")
+            BitmovinLog.d(TAG) { "On Playing Listener" }
             playerEventReporter.onPlaying(playerContext.position)
         } catch (e: Exception) {
             BitmovinLog.e(TAG, e.message, e)
@@ -218,7 +218,7 @@ internal class AnalyticsEventListeners(
         @Suppress("UNUSED_PARAMETER") event: PlayerEvent.Seeked,
     ) {
         try {
-            BitmovinLog.d(TAG, "On Seeked Listener")
+            BitmovinLog.d(TAG) { "On Seeked Listener" }
             // The resumed case is handled by the Playing event; we only need to settle the
             // paused case here. We key on `player.isPaused` specifically (rather than
             // "not playing") so a stall right after a seek is not mistaken for a pause.
@@ -234,7 +234,7 @@ internal class AnalyticsEventListeners(
         @Suppress("UNUSED_PARAMETER") event: PlayerEvent.Seek,
     ) {
         try {
-            BitmovinLog.d(TAG, "On Seek Listener")
+            BitmovinLog.d(TAG) { "On Seek Listener" }
             playerEventReporter.onSeekStarted(playerContext.position)
         } catch (e: Exception) {
             BitmovinLog.e(TAG, e.message, e)
@@ -245,7 +245,7 @@ internal class AnalyticsEventListeners(
         @Suppress("UNUSED_PARAMETER") event: PlayerEvent.StallEnded,
     ) {
         try {
-            BitmovinLog.d(TAG, "On Stall Ended: " + player.isPlaying)
+            BitmovinLog.d(TAG) { "On Stall Ended: " + player.isPlaying }
             playerEventReporter.onBufferingEnded(player.getCurrentPlayerActivity())
         } catch (e: Exception) {
             BitmovinLog.e(TAG, e.message, e)
@@ -255,7 +255,7 @@ internal class AnalyticsEventListeners(
     @Suppress("DEPRECATION") // SourceEvent.AudioChanged is deprecated in newer Bitmovin Player SDK versions
     private fun onSourceEventAudioChanged(event: SourceEvent.AudioChanged) {
         try {
-            BitmovinLog.d(TAG, "On AudioChanged")
+            BitmovinLog.d(TAG) { "On AudioChanged" }
 
             // this event is sometime fired at the beginning after startup is finished
             // in order to avoid unnecessary logging,
@@ -278,7 +278,7 @@ internal class AnalyticsEventListeners(
     @Suppress("DEPRECATION") // SourceEvent.SubtitleChanged is deprecated in newer Bitmovin Player SDK versions
     private fun onSourceEventSubtitleChanged(event: SourceEvent.SubtitleChanged) {
         try {
-            BitmovinLog.d(TAG, "On SubtitleChanged")
+            BitmovinLog.d(TAG) { "On SubtitleChanged" }
 
             playerEventReporter.onSubtitleChanged(
                 playerContext.position,
@@ -294,7 +294,7 @@ internal class AnalyticsEventListeners(
         @Suppress("UNUSED_PARAMETER") event: PlayerEvent.StallStarted,
     ) {
         try {
-            BitmovinLog.d(TAG, "On Stall Started Listener isPlaying:" + player.isPlaying)
+            BitmovinLog.d(TAG) { "On Stall Started Listener isPlaying:" + player.isPlaying }
             // Suppression of buffering during startup and while seeking is handled in
             // the reporter (buffering during a seek is counted towards the seek time).
             playerEventReporter.onBuffering(playerContext.position)
@@ -307,7 +307,7 @@ internal class AnalyticsEventListeners(
     // making it generic
     private fun onPlayerEventVideoPlaybackQualityChanged(event: PlayerEvent.VideoPlaybackQualityChanged) {
         try {
-            BitmovinLog.d(TAG, "On Video Quality Changed")
+            BitmovinLog.d(TAG) { "On Video Quality Changed" }
             playerEventReporter.onVideoQualityChanged(
                 playerContext.position,
                 playbackQualityProvider.didVideoQualityChange(event.newVideoQuality),
@@ -329,7 +329,7 @@ internal class AnalyticsEventListeners(
 
     private fun onPlayerEventAudioPlaybackQualityChanged(event: PlayerEvent.AudioPlaybackQualityChanged) {
         try {
-            BitmovinLog.d(TAG, "On Audio Quality Changed")
+            BitmovinLog.d(TAG) { "On Audio Quality Changed" }
 
             playerEventReporter.onAudioQualityChanged(
                 playerContext.position,
@@ -375,12 +375,12 @@ internal class AnalyticsEventListeners(
     }
 
     private fun onPlayerErrorEvent(event: PlayerEvent.Error) {
-        BitmovinLog.d(TAG, "onPlayerError")
+        BitmovinLog.d(TAG) { "onPlayerError" }
         handleErrorEvent(event, exceptionMapper.map(event))
     }
 
     private fun onSourceErrorEvent(event: SourceEvent.Error) {
-        BitmovinLog.d(TAG, "onSourceError")
+        BitmovinLog.d(TAG) { "onSourceError" }
         handleErrorEvent(event, exceptionMapper.map(event))
     }
 
@@ -399,7 +399,7 @@ internal class AnalyticsEventListeners(
         @Suppress("UNUSED_PARAMETER") event: PlayerEvent.AdBreakStarted,
     ) {
         try {
-            BitmovinLog.d(TAG, "Event: AdBreakStarted")
+            BitmovinLog.d(TAG) { "Event: AdBreakStarted" }
             playerEventReporter.onAdStarted(playerContext.position)
         } catch (e: Exception) {
             BitmovinLog.e(TAG, e.message, e)
@@ -410,7 +410,7 @@ internal class AnalyticsEventListeners(
         @Suppress("UNUSED_PARAMETER") event: PlayerEvent.AdBreakFinished,
     ) {
         try {
-            BitmovinLog.d(TAG, "Event: AdBreakFinished")
+            BitmovinLog.d(TAG) { "Event: AdBreakFinished" }
             playerEventReporter.onAdFinished()
         } catch (e: Exception) {
             BitmovinLog.e(TAG, e.message, e)
@@ -419,14 +419,13 @@ internal class AnalyticsEventListeners(
 
     private fun onPlayerEventPlaylistTransition(event: PlayerEvent.PlaylistTransition) {
         try {
-            BitmovinLog.d(
-                TAG,
+            BitmovinLog.d(TAG) {
                 "Event PlaylistTransition" +
                     " from: " +
                     event.from.config.url +
                     " to: " +
-                    event.to.config.url,
-            )
+                    event.to.config.url
+            }
 
             // The `sourceChange` will send the remaining sample from the previous
             // source, but the player will already return the new source on
@@ -452,7 +451,7 @@ internal class AnalyticsEventListeners(
     }
 
     private fun onPlayerEventRetryPlaybackAttempt(event: SourceEvent.RetryPlaybackAttempt) {
-        BitmovinLog.d(TAG, "onRetryPlaybackAttempt: action=${event.retryAction}")
+        BitmovinLog.d(TAG) { "onRetryPlaybackAttempt: action=${event.retryAction}" }
         if (event.retryAction == RetryPlaybackAction.SkipToNextSource) {
             val error = event.errorEvent
             handleErrorEvent(error, exceptionMapper.map(error))
@@ -74,7 +74,7 @@ internal class PlaybackEventDataManipulator(
                 drmConfig is WidevineConfig -> data.drmType = DRMType.WIDEVINE.value
                 drmConfig is ClearKeyConfig -> data.drmType = DRMType.CLEARKEY.value
                 drmConfig != null -> {
-                    BitmovinLog.d(TAG, "Warning: unknown DRM Type " + drmConfig.javaClass.simpleName)
+                    BitmovinLog.d(TAG) { "Warning: unknown DRM Type " + drmConfig.javaClass.simpleName }
                 }
             }
         }
@@ -0,0 +1,17 @@
+package com.bitmovin.analytics.cronet
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.bitmovin.analytics.test.utils.HttpTransportContract
+import com.bitmovin.analytics.utils.HttpTransport
+import org.chromium.net.CronetEngine
+import org.junit.runner.RunWith
+import java.util.concurrent.Executors
+
+@RunWith(AndroidJUnit4::class)
+class CronetHttpTransportTest : HttpTransportContract() {
+    override fun createTransport(): HttpTransport {
+        val context = InstrumentationRegistry.getInstrumentation().targetContext
+        return CronetHttpTransport(CronetEngine.Builder(context).build(), Executors.newSingleThreadExecutor())
+    }
+}
@@ -0,0 +1,140 @@
+package com.bitmovin.analytics.cronet
+
+import com.bitmovin.analytics.utils.HttpTransport
+import com.bitmovin.analytics.utils.HttpTransportCallback
+import com.bitmovin.analytics.utils.HttpTransportRequest
+import com.bitmovin.analytics.utils.HttpTransportResponse
+import org.chromium.net.CronetEngine
+import org.chromium.net.CronetException
+import org.chromium.net.UploadDataProviders
+import org.chromium.net.UrlRequest
+import org.chromium.net.UrlResponseInfo
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+
+/**
+ * [HttpTransport] that sends the requests of the collector with Cronet, so they can use HTTP/2 and QUIC
+ * and share the connections of an app that already uses Cronet for its media requests.
+ *
+ * It has to be installed before the collector is created:
+ * ```
+ * CronetHttpTransport.install(cronetEngine)
+ * ```
+ *
+ * Cronet needs the length of an upload upfront, so request bodies are encoded into memory before they
+ * are sent. The bodies are small samples, so this is cheap compared to the request itself.
+ */
+public class CronetHttpTransport
+internal constructor(
+    private val engine: CronetEngine,
+    private val executor: Executor,
+) : HttpTransport {
+    override fun enqueue(
+        request: HttpTransportRequest,
+        callback: HttpTransportCallback,
+    ) {
+        // encoding the body can be costly, so it is kept off the calling thread like with OkHttp
+        executor.execute {
+            // the callback has to be called in any case, otherwise the request window of the collector never gets
+            // its slot back, so any error of encoding the body or starting the request fails the request
+            try {
+                val body = ByteArrayOutputStream().also { request.body.writeTo(it) }.toByteArray()
+                val urlRequestBuilder =
+                    engine.newUrlRequestBuilder(request.url, ResponseCallback(callback), executor)
+                        .setHttpMethod("POST")
+                        .addHeader("Content-Type", request.body.contentType)
+                        .setUploadDataProvider(UploadDataProviders.create(body), executor)
+                request.headers.forEach { (name, value) -> urlRequestBuilder.addHeader(name, value) }
+                urlRequestBuilder.build().start()
+            } catch (e: IOException) {
+                callback.onFailure(e)
+            } catch (e: Throwable) {
+                callback.onFailure(IOException("Cannot send request to ${request.url}", e))
+            }
+        }
+    }
+
+    private class ResponseCallback(private val callback: HttpTransportCallback) : UrlRequest.Callback() {
+        private val responseBody = ByteArrayOutputStream()
+
+        override fun onRedirectReceived(
+            request: UrlRequest,
+            info: UrlResponseInfo,
+            newLocationUrl: String,
+        ) {
+            request.followRedirect()
+        }
+
+        override fun onResponseStarted(
+            request: UrlRequest,
+            info: UrlResponseInfo,
+        ) {
+            request.read(ByteBuffer.allocateDirect(READ_BUFFER_SIZE))
+        }
+
+        override fun onReadCompleted(
+            request: UrlRequest,
+            info: UrlResponseInfo,
+            byteBuffer: ByteBuffer,
+        ) {
+            byteBuffer.flip()
+            val bytes = ByteArray(byteBuffer.remaining())
+            byteBuffer.get(bytes)
+            responseBody.write(bytes)
+            byteBuffer.clear()
+            request.read(byteBuffer)
+        }
+
+        override fun onSucceeded(
+            request: UrlRequest,
+            info: UrlResponseInfo,
+        ) {
+            callback.onResponse(HttpTransportResponse(info.httpStatusCode, info.allHeaders, responseBody.toByteArray()))
+        }
+
+        override fun onFailed(
+            request: UrlRequest,
+            info: UrlResponseInfo?,
+            error: CronetException,
+        ) {
+            callback.onFailure(error)
+        }
+
+        override fun onCanceled(
+            request: UrlRequest,
+            info: UrlResponseInfo?,
+        ) {
+            callback.onFailure(IOException("Request was canceled"))
+        }
+    }
+
+    public companion object {
+        // the ingress responds with small bodies, if any
+        private const val READ_BUFFER_SIZE = 16 * 1024
+
+        /**
+         * Sends all requests of collectors created from now on with the [engine].
+         *
+         * @param executor runs the Cronet callbacks and encodes the request bodies. It should not be the main thread.
+         */
+        @JvmStatic
+        @JvmOverloads
+        public fun install(
+            engine: CronetEngine,
+            executor: Executor = Executors.newSingleThreadExecutor(),
+        ) {
+            HttpTransport.install(CronetHttpTransport(engine, executor))
+        }
+
+        /**
+         * Restores the default network stack for collectors created from now on.
+         */
+        @JvmStatic
+        public fun uninstall() {
+            HttpTransport.install(null)
+        }
+    }
+}
@@ -175,16 +175,10 @@ internal class Media3ExoPlayerAdapter(
         if (isBufferingAndWillAutoPlay || isAlreadyPlaying) {
             playbackInfoProvider.isPlaying = true
             val position = playerContext.position
-            BitmovinLog.d(
-                TAG,
-                "Collector was attached while media source was already loading, transitioning to startup state.",
-            )
+            BitmovinLog.d(TAG) { "Collector was attached while media source was already loading, transitioning to startup state." }
             startup(position)
             if (playbackState == Player.STATE_READY) {
-                BitmovinLog.d(
-                    TAG,
-                    "Collector was attached while media source was already playing, transitioning to playing state",
-                )
+                BitmovinLog.d(TAG) { "Collector was attached while media source was already playing, transitioning to playing state" }
 
                 // We need to add at least one ms here because code executes so fast that time tracked between startup and played could be 0ms
                 // this prevents cases where we run into videoStartupTime = 0
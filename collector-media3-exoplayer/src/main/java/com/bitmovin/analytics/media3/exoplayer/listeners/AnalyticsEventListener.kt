@@ -41,15 +41,14 @@ internal class AnalyticsEventListener(
         playWhenReady: Boolean,
         reason: Int,
     ) {
-        BitmovinLog.d(
-            TAG,
+        BitmovinLog.d(TAG) {
             String.format(
                 Locale.US,
                 "onPlayWhenReadyChanged: %b, %d",
                 playWhenReady,
                 reason,
-            ),
-        )
+            )
+        }
 
         // if player preload is setup without autoplay being enabled
         // this gets triggered after user clicks play
@@ -74,7 +73,7 @@ internal class AnalyticsEventListener(
         isPlaying: Boolean,
     ) {
         try {
-            BitmovinLog.d(TAG, "onIsPlayingChanged $isPlaying")
+            BitmovinLog.d(TAG) { "onIsPlayingChanged $isPlaying" }
             this.playbackInfoProvider.isPlaying = isPlaying
             if (isPlaying) {
                 stateMachine.transitionState(PlayerStates.PLAYING, position)
@@ -95,15 +94,14 @@ internal class AnalyticsEventListener(
         try {
             val videoTime = position
 
-            BitmovinLog.d(
-                TAG,
+            BitmovinLog.d(TAG) {
                 String.format(
                     "onPlaybackStateChanged: %s playWhenready: %b isPlaying: %b",
                     Media3ExoPlayerUtil.exoStateToString(state),
                     exoPlayerContext.playWhenReady,
                     exoPlayerContext.isPlaying(),
-                ),
-            )
+                )
+            }
 
             when (state) {
                 Player.STATE_READY -> // if autoplay is enabled startup state is not yet finished
@@ -144,7 +142,7 @@ internal class AnalyticsEventListener(
                 Player.STATE_ENDED -> {
                 }
                 else -> {
-                    BitmovinLog.d(TAG, "Unknown Player PlayerState encountered")
+                    BitmovinLog.d(TAG) { "Unknown Player PlayerState encountered" }
                 }
             }
         } catch (e: Exception) {
@@ -155,7 +153,7 @@ internal class AnalyticsEventListener(
     override fun onSeekStarted(eventTime: AnalyticsListener.EventTime) {
         try {
             val videoTime = eventTime.currentPlaybackPositionMs
-            BitmovinLog.d(TAG, "onSeekStarted on position: $videoTime")
+            BitmovinLog.d(TAG) { "onSeekStarted on position: $videoTime" }
             stateMachine.seekStarted(videoTime)
         } catch (e: Exception) {
             BitmovinLog.e(TAG, e.message, e)
@@ -196,7 +194,7 @@ internal class AnalyticsEventListener(
         format: Format,
         decoderReuseEvaluation: DecoderReuseEvaluation?,
     ) {
-        BitmovinLog.d(TAG, String.format(Locale.US, "onAudioInputFormatChanged: Bitrate: %d", format.bitrate))
+        BitmovinLog.d(TAG) { String.format(Locale.US, "onAudioInputFormatChanged: Bitrate: %d", format.bitrate) }
 
         try {
             stateMachine.videoQualityChanged(
@@ -213,7 +211,7 @@ internal class AnalyticsEventListener(
         format: Format,
         decoderReuseEvaluation: DecoderReuseEvaluation?,
     ) {
-        BitmovinLog.d(TAG, String.format(Locale.US, "onVideoInputFormatChanged: Bitrate: %d", format.bitrate))
+        BitmovinLog.d(TAG) { String.format(Locale.US, "onVideoInputFormatChanged: Bitrate: %d", format.bitrate) }
 
         try {
             stateMachine.videoQualityChanged(
@@ -227,7 +225,7 @@ internal class AnalyticsEventListener(
 
     override fun onPlayerReleased(eventTime: AnalyticsListener.EventTime) {
         try {
-            BitmovinLog.d(TAG, "On Destroy")
+            BitmovinLog.d(TAG) { "On Destroy" }
             if (stateMachine.isInStartupState()) {
                 stateMachine.exitBeforeVideoStart(position)
             }
@@ -262,7 +260,7 @@ internal class AnalyticsEventListener(
     ) {
         try {
             drmInfoProvider.drmLoadStartedAt(eventTime.realtimeMs)
-            BitmovinLog.d(TAG, String.format("DRM Session aquired %d", eventTime.realtimeMs))
+            BitmovinLog.d(TAG) { String.format("DRM Session aquired %d", eventTime.realtimeMs) }
         } catch (e: Exception) {
             BitmovinLog.e(TAG, e.message, e)
         }
@@ -271,7 +269,7 @@ internal class AnalyticsEventListener(
     override fun onDrmKeysLoaded(eventTime: AnalyticsListener.EventTime) {
         try {
             drmInfoProvider.drmLoadFinishedAt(eventTime.realtimeMs)
-            BitmovinLog.d(TAG, String.format(Locale.US, "DRM Keys loaded %d", eventTime.realtimeMs))
+            BitmovinLog.d(TAG) { String.format(Locale.US, "DRM Keys loaded %d", eventTime.realtimeMs) }
         } catch (e: Exception) {
             BitmovinLog.e(TAG, e.message, e)
         }
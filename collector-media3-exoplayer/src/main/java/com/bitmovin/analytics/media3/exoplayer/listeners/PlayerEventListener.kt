@@ -14,7 +14,7 @@ internal class PlayerEventListener(
 ) : Player.Listener {
     override fun onPlayerError(error: PlaybackException) {
         try {
-            BitmovinLog.d(TAG, "onPlayerError")
+            BitmovinLog.d(TAG) { "onPlayerError" }
 
             val videoTime = exoPlayerContext.position
             error.printStackTrace()
@@ -43,7 +43,7 @@ internal class TheoPlayerAdAdapter(
     private val adBreakBeginListener =
         EventListener<AdBreakBeginEvent> { event ->
             try {
-                BitmovinLog.d(TAG, "ad break begin")
+                BitmovinLog.d(TAG) { "ad break begin" }
                 val nativeAdBreak = event.adBreak ?: return@EventListener
                 currentTheoAdBreak = nativeAdBreak
                 val extractedAdBreakMetadata = AdBreakMapper.fromTheoAdBreak(nativeAdBreak)
@@ -65,7 +65,7 @@ internal class TheoPlayerAdAdapter(
     private val adBeginListener =
         EventListener<AdBeginEvent> { event ->
             try {
-                BitmovinLog.d(TAG, "ad begin")
+                BitmovinLog.d(TAG) { "ad begin" }
                 val theoAd = event.ad ?: return@EventListener
 
                 // non-linear ads are not tracked
@@ -100,7 +100,7 @@ internal class TheoPlayerAdAdapter(
         EventListener<AdEndEvent> { event ->
             try {
                 // according to NFL, adEnd is signaling completion of an ad (for ssai and csai)
-                BitmovinLog.d(TAG, "ad end")
+                BitmovinLog.d(TAG) { "ad end" }
                 val theoAd = event.ad ?: return@EventListener
 
                 // non-linear ads are not tracked
@@ -119,7 +119,7 @@ internal class TheoPlayerAdAdapter(
     private val adBreakEndListener =
         EventListener<AdBreakEndEvent> { event ->
             try {
-                BitmovinLog.d(TAG, "ad break end")
+                BitmovinLog.d(TAG) { "ad break end" }
                 currentTheoAdBreak = null
 
                 if (TheoPlayerUtils.isClientSideAd(event.adBreak.integration)) {
@@ -135,7 +135,7 @@ internal class TheoPlayerAdAdapter(
     private val adSkipListener =
         EventListener<AdSkipEvent> { event ->
             try {
-                BitmovinLog.d(TAG, "ad skipped")
+                BitmovinLog.d(TAG) { "ad skipped" }
                 val theoAd = event.ad ?: return@EventListener
 
                 if (TheoPlayerUtils.isClientSideAd(theoAd.integration)) {
@@ -149,7 +149,7 @@ internal class TheoPlayerAdAdapter(
     private val adErrorListener =
         EventListener<AdErrorEvent> { event ->
             try {
-                BitmovinLog.d(TAG, "ad error")
+                BitmovinLog.d(TAG) { "ad error" }
                 val theoAdBreak = event.ad?.adBreak ?: currentTheoAdBreak
                 val adBreak =
                     if (theoAdBreak != null) {
@@ -175,7 +175,7 @@ internal class TheoPlayerAdAdapter(
     private val adFirstQuartileListener =
         EventListener<AdFirstQuartileEvent> { event ->
             try {
-                BitmovinLog.d(TAG, "ad first quartile")
+                BitmovinLog.d(TAG) { "ad first quartile" }
                 if (TheoPlayerUtils.isClientSideAd(event.ad?.integration)) {
                     observableSupport.notify { it.onAdQuartile(AdQuartile.FIRST_QUARTILE) }
                 } else {
@@ -189,7 +189,7 @@ internal class TheoPlayerAdAdapter(
     private val adMidpointListener =
         EventListener<AdMidpointEvent> { event ->
             try {
-                BitmovinLog.d(TAG, "ad midpoint")
+                BitmovinLog.d(TAG) { "ad midpoint" }
 
                 if (TheoPlayerUtils.isClientSideAd(event.ad?.integration)) {
                     observableSupport.notify { it.onAdQuartile(AdQuartile.MIDPOINT) }
@@ -204,7 +204,7 @@ internal class TheoPlayerAdAdapter(
     private val adThirdQuartileListener =
         EventListener<AdThirdQuartileEvent> { event ->
             try {
-                BitmovinLog.d(TAG, "ad third quartile")
+                BitmovinLog.d(TAG) { "ad third quartile" }
 
                 if (TheoPlayerUtils.isClientSideAd(event.ad?.integration)) {
                     observableSupport.notify { it.onAdQuartile(AdQuartile.THIRD_QUARTILE) }
@@ -219,7 +219,7 @@ internal class TheoPlayerAdAdapter(
     private val adClickedListener =
         EventListener<AdClickedEvent> { it ->
             try {
-                BitmovinLog.d(TAG, "ad clicked")
+                BitmovinLog.d(TAG) { "ad clicked" }
 
                 if (TheoPlayerUtils.isClientSideAd(it.ad?.integration)) {
                     observableSupport.notify { it.onAdClicked(null) }
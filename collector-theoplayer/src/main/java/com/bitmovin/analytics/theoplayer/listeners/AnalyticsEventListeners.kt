@@ -58,35 +58,35 @@ internal class AnalyticsEventListeners(
     private val playListener = EventListener<PlayEvent> { event -> handlePlayEvent(event) }
     private val playingListener = EventListener<PlayingEvent> { event -> handlePlayingEvent(event) }
     private val pauseListener = EventListener<PauseEvent> { event -> onPause(event) }
-    private val endedListener = EventListener<EndedEvent> { BitmovinLog.d(TAG, "Event: ENDED") }
+    private val endedListener = EventListener<EndedEvent> { BitmovinLog.d(TAG) { "Event: ENDED" } }
     private val errorListener = EventListener<ErrorEvent> { event -> handleErrorEvent(event) }
     private val seekedListener = EventListener<SeekedEvent> { event -> onSeeked(event) }
     private val seekingListener = EventListener<SeekingEvent> { event -> onSeeking(event) }
     private val waitingListener = EventListener<WaitingEvent> { event -> onBuffering(event) }
     private val sourceChangeListener = EventListener<SourceChangeEvent> { event -> handleSourceChange(event) }
-    private val rateChangeListener = EventListener<RateChangeEvent> { BitmovinLog.d(TAG, "Event: RATECHANGE") }
-    private val volumeChangeListener = EventListener<VolumeChangeEvent> { BitmovinLog.d(TAG, "Event: VOLUMECHANGE") }
-    private val progressListener = EventListener<ProgressEvent> { BitmovinLog.d(TAG, "Event: PROGRESS") }
-    private val durationChangeListener = EventListener<DurationChangeEvent> { BitmovinLog.d(TAG, "Event: DURATIONCHANGE") }
-    private val readyStateChangeListener = EventListener<ReadyStateChangeEvent> { BitmovinLog.d(TAG, "Event: READYSTATECHANGE") }
+    private val rateChangeListener = EventListener<RateChangeEvent> { BitmovinLog.d(TAG) { "Event: RATECHANGE" } }
+    private val volumeChangeListener = EventListener<VolumeChangeEvent> { BitmovinLog.d(TAG) { "Event: VOLUMECHANGE" } }
+    private val progressListener = EventListener<ProgressEvent> { BitmovinLog.d(TAG) { "Event: PROGRESS" } }
+    private val durationChangeListener = EventListener<DurationChangeEvent> { BitmovinLog.d(TAG) { "Event: DURATIONCHANGE" } }
+    private val readyStateChangeListener = EventListener<ReadyStateChangeEvent> { BitmovinLog.d(TAG) { "Event: READYSTATECHANGE" } }
     private val timeUpdateListener = EventListener<TimeUpdateEvent> { event -> handleTimeUpdateEvent(event) }
-    private val loadedMetadataListener = EventListener<LoadedMetadataEvent> { BitmovinLog.d(TAG, "Event: LOADEDMETADATA") }
-    private val loadedDataListener = EventListener<LoadedDataEvent> { BitmovinLog.d(TAG, "Event: LOADEDDATA") }
-    private val canPlayListener = EventListener<CanPlayEvent> { BitmovinLog.d(TAG, "Event: CANPLAY") }
-    private val canPlayThroughListener = EventListener<CanPlayThroughEvent> { BitmovinLog.d(TAG, "Event: CANPLAYTHROUGH") }
-    private val segmentNotFoundListener = EventListener<SegmentNotFoundEvent> { BitmovinLog.d(TAG, "Event: SEGMENTNOTFOUND") }
-    private val encryptedListener = EventListener<MediaEncryptedEvent> { BitmovinLog.d(TAG, "Event: ENCRYPTED") }
+    private val loadedMetadataListener = EventListener<LoadedMetadataEvent> { BitmovinLog.d(TAG) { "Event: LOADEDMETADATA" } }
+    private val loadedDataListener = EventListener<LoadedDataEvent> { BitmovinLog.d(TAG) { "Event: LOADEDDATA" } }
+    private val canPlayListener = EventListener<CanPlayEvent> { BitmovinLog.d(TAG) { "Event: CANPLAY" } }
+    private val canPlayThroughListener = EventListener<CanPlayThroughEvent> { BitmovinLog.d(TAG) { "Event: CANPLAYTHROUGH" } }
+    private val segmentNotFoundListener = EventListener<SegmentNotFoundEvent> { BitmovinLog.d(TAG) { "Event: SEGMENTNOTFOUND" } }
+    private val encryptedListener = EventListener<MediaEncryptedEvent> { BitmovinLog.d(TAG) { "Event: ENCRYPTED" } }
     private val contentProtectionErrorListener =
-        EventListener<ContentProtectionErrorEvent> { BitmovinLog.d(TAG, "Event: CONTENTPROTECTIONERROR") }
+        EventListener<ContentProtectionErrorEvent> { BitmovinLog.d(TAG) { "Event: CONTENTPROTECTIONERROR" } }
     private val contentProtectionSuccessListener =
-        EventListener<ContentProtectionSuccessEvent> { BitmovinLog.d(TAG, "Event: CONTENTPROTECTIONSUCCESS") }
+        EventListener<ContentProtectionSuccessEvent> { BitmovinLog.d(TAG) { "Event: CONTENTPROTECTIONSUCCESS" } }
     private val noSupportedRepresentationFoundListener =
-        EventListener<NoSupportedRepresentationFoundEvent> { BitmovinLog.d(TAG, "Event: NOSUPPORTEDREPRESENTATIONFOUND") }
+        EventListener<NoSupportedRepresentationFoundEvent> { BitmovinLog.d(TAG) { "Event: NOSUPPORTEDREPRESENTATIONFOUND" } }
     private val presentationModeChangeListener =
-        EventListener<PresentationModeChange> { BitmovinLog.d(TAG, "Event: PRESENTATIONMODECHANGE") }
+        EventListener<PresentationModeChange> { BitmovinLog.d(TAG) { "Event: PRESENTATIONMODECHANGE" } }
     private val destroyListener = EventListener<DestroyEvent> { event -> onDestroy(event) }
-    private val loadStartListener = EventListener<LoadStartEvent> { BitmovinLog.d(TAG, "Event: LOADSTART") }
-    private val resizeListener = EventListener<ResizeEvent> { BitmovinLog.d(TAG, "Event: RESIZE") }
+    private val loadStartListener = EventListener<LoadStartEvent> { BitmovinLog.d(TAG) { "Event: LOADSTART" } }
+    private val resizeListener = EventListener<ResizeEvent> { BitmovinLog.d(TAG) { "Event: RESIZE" } }
 
     internal fun registerEventListeners() {
         player.addEventListener(PlayerEventTypes.PLAY, playListener)
@@ -155,7 +155,7 @@ internal class AnalyticsEventListeners(
     }
 
     private fun handlePlayEvent(playEvent: PlayEvent) {
-        BitmovinLog.d(TAG, "Event: PlayEvent")
+        BitmovinLog.d(TAG) { "Event: PlayEvent" }
 
         if (!stateMachine.isStartupFinished) {
             val currentTimeMs = Util.secondsToMillis(playEvent.currentTime)
@@ -164,7 +164,7 @@ internal class AnalyticsEventListeners(
     }
 
     private fun handleSourceChange(sourceChangeEvent: SourceChangeEvent) {
-        BitmovinLog.d(TAG, "Event: SourceChange")
+        BitmovinLog.d(TAG) { "Event: SourceChange" }
         stateMachine.triggerLastSampleOfSession(SampleTriggerReason.SOURCE_CHANGE)
         stateMachine.resetStateMachine()
     }
@@ -175,7 +175,7 @@ internal class AnalyticsEventListeners(
     }
 
     private fun onSeeked(seekedEvent: SeekedEvent) {
-        BitmovinLog.d(TAG, "Event: SEEKED")
+        BitmovinLog.d(TAG) { "Event: SEEKED" }
 
         if (player.isPaused) {
             stateMachine.transitionState(PlayerStates.PAUSE, player.currentPositionInMs())
@@ -183,7 +183,7 @@ internal class AnalyticsEventListeners(
     }
 
     private fun onSeeking(seekingEvent: SeekingEvent) {
-        BitmovinLog.d(TAG, "Event: SEEKING")
+        BitmovinLog.d(TAG) { "Event: SEEKING" }
         // for some reason the seekingEvent contains the currentTime it was seeked to
         // and not the original position it was seeked from, therefore
         // we use a workaround and just use the last updated position
@@ -193,17 +193,17 @@ internal class AnalyticsEventListeners(
     }
 
     private fun handlePlayingEvent(playingEvent: PlayingEvent) {
-        BitmovinLog.d(TAG, "Event: PlayingEvent")
+        BitmovinLog.d(TAG) { "Event: PlayingEvent" }
         stateMachine.transitionState(PlayerStates.PLAYING, player.currentPositionInMs())
     }
 
     private fun onDestroy(destroyEvent: DestroyEvent) {
-        BitmovinLog.d(TAG, "Event DestroyEvent")
+        BitmovinLog.d(TAG) { "Event DestroyEvent" }
         bitmovinAnalytics.detachPlayer(true)
     }
 
     private fun onPause(pauseEvent: PauseEvent) {
-        BitmovinLog.d(TAG, "Event: PauseEvent")
+        BitmovinLog.d(TAG) { "Event: PauseEvent" }
         stateMachine.pause(player.currentPositionInMs())
     }
 
@@ -213,7 +213,7 @@ internal class AnalyticsEventListeners(
     }
 
     private fun onBuffering(waitingEvent: WaitingEvent) {
-        BitmovinLog.d(TAG, "Event: waitingEvent")
+        BitmovinLog.d(TAG) { "Event: waitingEvent" }
         // optiview player emits waiting event while seeking, thus we don't want to move to buffering
         if (stateMachine.currentState == PlayerStates.SEEKING) {
             return
@@ -222,7 +222,7 @@ internal class AnalyticsEventListeners(
     }
 
     private fun handleErrorEvent(originalNativeError: ErrorEvent) {
-        BitmovinLog.d(TAG, "Event: ErrorEvent")
+        BitmovinLog.d(TAG) { "Event: ErrorEvent" }
         try {
             val videoTime = player.currentPositionInMs()
             val errorCode = TheoPlayerExceptionMapper.map(originalNativeError)
@@ -235,7 +235,7 @@ internal class AnalyticsEventListeners(
     private val adBreakBeginListener =
         EventListener<AdBreakBeginEvent> { event ->
             try {
-                BitmovinLog.d(TAG, "ad break begin")
+                BitmovinLog.d(TAG) { "ad break begin" }
                 if (TheoPlayerUtils.isClientSideAd(event.adBreak.integration)) {
                     stateMachine.startAd(player.currentPositionInMs())
                 }
@@ -247,7 +247,7 @@ internal class AnalyticsEventListeners(
     private val adBreakEndListener =
         EventListener<AdBreakEndEvent> { event ->
             try {
-                BitmovinLog.d(TAG, "ad break end")
+                BitmovinLog.d(TAG) { "ad break end" }
                 if (TheoPlayerUtils.isClientSideAd(event.adBreak.integration)) {
                     stateMachine.endAd()
 
@@ -2,22 +2,32 @@ package com.bitmovin.analytics
 
 import android.app.Activity
 import android.app.Application
+import android.content.ComponentCallbacks2
+import android.content.res.Configuration
 import android.os.Bundle
+import com.bitmovin.analytics.data.IEventDataDispatcher
 import com.bitmovin.analytics.ssai.SsaiService
 
 /**
  * This class is used to listen to Activity Lifecycles and act upon it
  * Main purpose is to send out ssai adsamples that are collected, in case the app
- * goes into Pause
+ * goes into Pause, and to flush samples that are held back by the dispatcher (e.g. batching)
+ * Samples held back by the dispatcher are also flushed when the system trims the memory of the app,
+ * since the process might be killed afterwards. Flushing runs on the main thread, it commits the bounded
+ * write-behind buffer of the event queue to the database and sends out the samples held back by the backends.
  *
  * Attention: This class is listening on all activity pauses of an APP, not only the one activity
  * where the player is currently used and thus very likely over reporting.
- * Since we only want to flush existing ssai ad samples, multiple calls
+ * Since we only want to flush existing ssai ad samples and pending samples, multiple calls
  * are not a problem. This class shouldn't be used to create new samples and send them out.
  */
-internal class ActivityLifecycleCallbacks(private val ssaiService: SsaiService) : Application.ActivityLifecycleCallbacks {
+internal class ActivityLifecycleCallbacks(
+    private val ssaiService: SsaiService,
+    private val eventDataDispatcher: IEventDataDispatcher,
+) : Application.ActivityLifecycleCallbacks, ComponentCallbacks2 {
     override fun onActivityPaused(activity: Activity) {
         ssaiService.flushCurrentActiveAd(false)
+        eventDataDispatcher.flush()
     }
 
     override fun onActivityCreated(
@@ -49,4 +59,17 @@ internal class ActivityLifecycleCallbacks(private val ssaiService: SsaiService)
     override fun onActivityDestroyed(activity: Activity) {
         // do nothing
     }
+
+    override fun onTrimMemory(level: Int) {
+        eventDataDispatcher.flush()
+    }
+
+    override fun onConfigurationChanged(newConfig: Configuration) {
+        // do nothing
+    }
+
+    @Deprecated("Deprecated in Java")
+    override fun onLowMemory() {
+        // do nothing, onTrimMemory is called as well
+    }
 }
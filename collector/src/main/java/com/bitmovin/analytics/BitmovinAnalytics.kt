@@ -5,6 +5,7 @@ import android.content.Context
 import com.bitmovin.analytics.adapters.PlayerAdapter
 import com.bitmovin.analytics.api.AnalyticsConfig
 import com.bitmovin.analytics.api.CustomData
+import com.bitmovin.analytics.data.ConnectionPrewarmer
 import com.bitmovin.analytics.data.EventDataDispatcherFactory
 import com.bitmovin.analytics.data.SEQUENCE_NUMBER_LIMIT
 import com.bitmovin.analytics.data.SequenceNumberAndImpressionIdProvider
@@ -43,6 +44,7 @@ class BitmovinAnalytics(
         if (!config.adTrackingDisabled) BitmovinAdAnalytics(this) else null
 
     private val cacheService = CacheService()
+    private val connectionPrewarmer = ConnectionPrewarmer(config, licenseKeyProvider)
 
     private var playerAdapter: PlayerAdapter? = null
 
@@ -63,6 +65,7 @@ class BitmovinAnalytics(
         adapter.stateMachine.subscribe(stateMachineListener)
         this.stateMachineListener = stateMachineListener
         eventDataDispatcher.enable()
+        connectionPrewarmer.prewarm()
         val features = adapter.init()
         featureManager.registerFeatures(features)
         registerActivityPauseListener(adapter.ssaiService)
@@ -138,7 +141,7 @@ class BitmovinAnalytics(
     fun sendCustomDataEvent(customData: CustomData) {
         val playerAdapter = this.playerAdapter
         if (playerAdapter == null) {
-            BitmovinLog.d(TAG, "Custom data event could not be sent because player is not attached")
+            BitmovinLog.d(TAG) { "Custom data event could not be sent because player is not attached" }
             return
         }
 
@@ -157,7 +160,7 @@ class BitmovinAnalytics(
 
         // Do not send events with sequence number greater than the limit, the limit is in sync with the limit on ingress side
         if (data.sequenceNumber > SEQUENCE_NUMBER_LIMIT) {
-            BitmovinLog.d("BitmovinAnalytics", "Event with sequence number ${data.sequenceNumber} is not sent.")
+            BitmovinLog.d("BitmovinAnalytics") { "Event with sequence number ${data.sequenceNumber} is not sent." }
             return
         }
 
@@ -195,10 +198,11 @@ class BitmovinAnalytics(
     }
 
     private fun registerActivityPauseListener(ssaiService: SsaiService) {
-        val lifecycleCallbacks = ActivityLifecycleCallbacks(ssaiService)
+        val lifecycleCallbacks = ActivityLifecycleCallbacks(ssaiService, eventDataDispatcher)
         try {
             val application = this.context.applicationContext as Application
             application.registerActivityLifecycleCallbacks(lifecycleCallbacks)
+            application.registerComponentCallbacks(lifecycleCallbacks)
             this.lifecycleCallbacks = lifecycleCallbacks
         } catch (e: Exception) {
             BitmovinLog.e(TAG, "Something went wrong while registering lifecycle callbacks", e)
@@ -211,6 +215,7 @@ class BitmovinAnalytics(
             if (lifecycleCallbacks != null) {
                 val application = this.context.applicationContext as Application
                 application.unregisterActivityLifecycleCallbacks(lifecycleCallbacks)
+                application.unregisterComponentCallbacks(lifecycleCallbacks)
                 this.lifecycleCallbacks = null
             }
         } catch (e: Exception) {
@@ -71,6 +71,7 @@ abstract class DefaultCollector<TPlayer> protected constructor(
                 metadataProvider.deprecatedBitmovinAnalyticsConfigIsSet()
             ) {
                 setCustomDataOnDeprecatedBitmovinConfig(value)
+                metadataProvider.deprecatedBitmovinAnalyticsConfigChanged()
                 return
             }
 
@@ -85,6 +86,8 @@ abstract class DefaultCollector<TPlayer> protected constructor(
 
     override fun attachPlayer(player: TPlayer) {
         analytics.detachPlayer()
+        // the deprecated config might have been modified since the last attach
+        metadataProvider.deprecatedBitmovinAnalyticsConfigChanged()
         val adapter = createAdapter(player, analytics)
         analytics.attach(adapter)
     }
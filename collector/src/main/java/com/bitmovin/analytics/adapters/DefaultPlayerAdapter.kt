@@ -126,6 +126,6 @@ abstract class DefaultPlayerAdapter(
         }
 
     override fun getCurrentSourceMetadata(): SourceMetadata {
-        return metadataProvider.getSourceMetadata() ?: SourceMetadata()
+        return metadataProvider.getSourceMetadata() ?: MetadataProvider.EMPTY_SOURCE_METADATA
     }
 }
@@ -59,6 +59,13 @@ data class AnalyticsConfig(
     @IgnoredOnParcel
     @Transient
     val errorTransformerCallback: ErrorTransformerCallback? = null,
+    /**
+     * Config to define how samples are transmitted to the analytics backend.
+     * See [TransmissionConfig] for the available settings.
+     *
+     * Default is a [TransmissionConfig] with all optimizations disabled.
+     */
+    val transmissionConfig: TransmissionConfig = TransmissionConfig(),
 ) : Parcelable {
     @JvmOverloads
     constructor(
@@ -202,6 +209,67 @@ data class AnalyticsConfig(
         errorTransformerCallback = null,
     )
 
+    constructor(
+        /**
+         * The analytics license key
+         */
+        licenseKey: String,
+        /**
+         * Value indicating if ad tracking is disabled.
+         *
+         * Default is `false`
+         */
+        adTrackingDisabled: Boolean = false,
+        /**
+         * Generate a random UserId for the session
+         *
+         * Default is `false`
+         */
+        randomizeUserId: Boolean = false,
+        /**
+         * Specifies the retry behavior in case an analytics request cannot be sent to the analytics backend.
+         * See [RetryPolicy] for the available settings.
+         *
+         * Default is [RetryPolicy.NO_RETRY]
+         */
+        retryPolicy: RetryPolicy = RetryPolicy.NO_RETRY,
+        /**
+         * The URL of the Bitmovin Analytics backend.
+         *
+         * Default is the bitmovin backend URL
+         */
+        backendUrl: String = DEFAULT_BACKEND_URL,
+        /**
+         * Config to define the log level of the SDK.
+         *
+         * Default is ERROR, which means only error logs are printed.
+         */
+        logLevel: LogLevel = LogLevel.ERROR,
+        /**
+         * Config to enable tracking of SSAI engagement metrics (quartile level)
+         * This is an opt in feature and off by default.
+         *
+         * It also needs to be enabled on account level,
+         * please contact Bitmovin Support to enable it for your account.
+         */
+        ssaiEngagementTrackingEnabled: Boolean = false,
+        /**
+         * Callback to transform errors before they are sent to the analytics backend.
+         * This can be used to modify the error code, message or severity.
+         */
+        errorTransformerCallback: ErrorTransformerCallback? = null,
+    ) : this(
+        licenseKey = licenseKey,
+        adTrackingDisabled = adTrackingDisabled,
+        randomizeUserId = randomizeUserId,
+        retryPolicy = retryPolicy,
+        backendUrl = backendUrl,
+        logLevel = logLevel,
+        ssaiEngagementTrackingEnabled = ssaiEngagementTrackingEnabled,
+        errorTransformerCallback = errorTransformerCallback,
+        transmissionConfig = TransmissionConfig(),
+    )
+
     companion object {
         internal const val DEFAULT_BACKEND_URL = "https://analytics-ingress-global.bitmovin.com/"
     }
@@ -214,6 +282,7 @@ data class AnalyticsConfig(
         private var logLevel: LogLevel = LogLevel.ERROR
         private var ssaiEngagementTrackingEnabled: Boolean = false
         private var errorTransformerCallback: ErrorTransformerCallback? = null
+        private var transmissionConfig: TransmissionConfig = TransmissionConfig()
 
         fun setAdTrackingDisabled(adTrackingDisabled: Boolean) = apply { this.adTrackingDisabled = adTrackingDisabled }
 
@@ -235,6 +304,8 @@ data class AnalyticsConfig(
                 this.errorTransformerCallback = errorTransformerCallback
             }
 
+        fun setTransmissionConfig(transmissionConfig: TransmissionConfig) = apply { this.transmissionConfig = transmissionConfig }
+
         fun build(): AnalyticsConfig {
             return AnalyticsConfig(
                 licenseKey = licenseKey,
@@ -245,6 +316,7 @@ data class AnalyticsConfig(
                 logLevel = logLevel,
                 ssaiEngagementTrackingEnabled = ssaiEngagementTrackingEnabled,
                 errorTransformerCallback = errorTransformerCallback,
+                transmissionConfig = transmissionConfig,
             )
         }
     }
@@ -1,6 +1,8 @@
 package com.bitmovin.analytics.api
 
 import android.os.Parcelable
+import com.bitmovin.analytics.utils.CustomDataSlots
+import kotlinx.parcelize.IgnoredOnParcel
 import kotlinx.parcelize.Parcelize
 
 /**
@@ -1037,6 +1039,11 @@ data class CustomData(
         customData61 = null,
     )
 
+    // array backed view used by the custom data merge, see CustomDataSlots
+    @IgnoredOnParcel
+    @Volatile
+    internal var cachedSlots: CustomDataSlots? = null
+
     fun buildUpon(): Builder {
         return Builder(this)
     }
@@ -0,0 +1,282 @@
+package com.bitmovin.analytics.api
+
+import android.os.Parcelable
+import kotlinx.parcelize.Parcelize
+
+/**
+ * Configuration of how analytics samples are transmitted to the analytics backend.
+ *
+ * All options are opt in and require support on the analytics backend,
+ * please contact Bitmovin Support before enabling them.
+ */
+@Parcelize
+data class TransmissionConfig(
+    /**
+     * Collect samples and send them together as a JSON array in a single request
+     * instead of issuing one request per sample.
+     * A batch is sent out once one of the thresholds below is reached,
+     * when the collector is detached or when the app goes to background.
+     *
+     * Default is `false`
+     */
+    val batchingEnabled: Boolean = false,
+    /**
+     * Maximum number of samples in one batch.
+     *
+     * Default is [DEFAULT_MAX_BATCH_SIZE]
+     */
+    val maxBatchSize: Int = DEFAULT_MAX_BATCH_SIZE,
+    /**
+     * Maximum size of the serialized samples of one batch in bytes.
+     *
+     * Default is [DEFAULT_MAX_BATCH_BYTES]
+     */
+    val maxBatchBytes: Int = DEFAULT_MAX_BATCH_BYTES,
+    /**
+     * Maximum time in milliseconds a sample is held back before the batch it belongs to is sent.
+     *
+     * Default is [DEFAULT_MAX_BATCH_DELAY_MS]
+     */
+    val maxBatchDelayMs: Long = DEFAULT_MAX_BATCH_DELAY_MS,
+    /**
+     * Send request bodies gzip compressed (`Content-Encoding: gzip`).
+     * Applies to analytics, ad, license and error detail requests.
+     *
+     * Default is `false`
+     */
+    val requestCompressionEnabled: Boolean = false,
+    /**
+     * Request bodies smaller than this size in bytes are sent uncompressed,
+     * since compressing them doesn't pay off.
+     *
+     * Default is [DEFAULT_REQUEST_COMPRESSION_THRESHOLD_BYTES]
+     */
+    val requestCompressionThresholdBytes: Int = DEFAULT_REQUEST_COMPRESSION_THRESHOLD_BYTES,
+    /**
+     * Open a connection to the analytics backend as soon as the collector is attached,
+     * so the startup sample doesn't have to wait for DNS, TCP and TLS setup.
+     *
+     * Default is `false`
+     */
+    val connectionPrewarmingEnabled: Boolean = false,
+    /**
+     * Send the first sample of an impression in full and only the fields that changed compared to it
+     * with every later sample of the impression. Fields that are constant for an impression,
+     * like the user agent, device information or custom data, are then sent only once.
+     *
+     * Default is `false`
+     */
+    val sessionDeltaEncodingEnabled: Boolean = false,
+    /**
+     * Format samples and error details are encoded with.
+     * Session delta encoding only applies to [WireFormat.JSON].
+     *
+     * Default is [WireFormat.JSON]
+     */
+    val wireFormat: WireFormat = WireFormat.JSON,
+    /**
+     * Hold back non-urgent samples like heartbeats and quality changes while on a cellular or metered network
+     * and send them together with the next urgent sample, so the cellular radio isn't woken up for each of them.
+     * On Wi-Fi samples are sent as usual. Requires the `ACCESS_NETWORK_STATE` permission, without it
+     * samples are always sent right away.
+     *
+     * Default is `false`
+     */
+    val networkAwareSchedulingEnabled: Boolean = false,
+    /**
+     * Maximum time in milliseconds a non-urgent sample is held back on a cellular or metered network.
+     *
+     * Default is [DEFAULT_MAX_CELLULAR_HOLD_MS]
+     */
+    val maxCellularHoldMs: Long = DEFAULT_MAX_CELLULAR_HOLD_MS,
+    /**
+     * Maximum number of concurrent requests per endpoint (analytics, ads and error details) of a collector.
+     * Further requests wait in a queue until a request completes. Urgent samples like startup
+     * and error samples are never queued. The limit applies to each collector separately, and starts
+     * over when the collector is attached again.
+     *
+     * Default is [DEFAULT_MAX_IN_FLIGHT_REQUESTS_PER_ENDPOINT]
+     */
+    val maxInFlightRequestsPerEndpoint: Int = DEFAULT_MAX_IN_FLIGHT_REQUESTS_PER_ENDPOINT,
+    /**
+     * Maximum number of requests per endpoint waiting for a free in-flight slot. Only applies if
+     * [requestQueueOverflowPolicy] drops requests.
+     *
+     * Default is [DEFAULT_MAX_QUEUED_REQUESTS_PER_ENDPOINT]
+     */
+    val maxQueuedRequestsPerEndpoint: Int = DEFAULT_MAX_QUEUED_REQUESTS_PER_ENDPOINT,
+    /**
+     * Which request is dropped when the queue of an endpoint is full. Dropped samples are handled
+     * like failed ones, i.e. they are persisted when using [RetryPolicy.LONG_TERM], and are lost otherwise.
+     *
+     * Default is [RequestQueueOverflowPolicy.QUEUE_ALL]
+     */
+    val requestQueueOverflowPolicy: RequestQueueOverflowPolicy = RequestQueueOverflowPolicy.QUEUE_ALL,
+    /**
+     * Leave out the fields of JSON samples that are equal to their declared default, like `0` counters
+     * and `false` flags. The analytics backend has to confirm that it re-applies the defaults first,
+     * samples are sent in full until it did. Only applies to [WireFormat.JSON].
+     *
+     * Default is `false`
+     */
+    val omitDefaultValuesEnabled: Boolean = false,
+    /**
+     * Store the samples that are cached for [RetryPolicy.LONG_TERM] in append-only log files instead of
+     * a SQLite database, which is cheaper per cached sample. Samples cached in the other storage, e.g. by
+     * a previous app start with a different setting, are moved over in the background.
+     *
+     * Default is `false`
+     */
+    val segmentLogEventQueueEnabled: Boolean = false,
+) : Parcelable {
+    /**
+     * The size from which on request bodies are compressed, or `null` if compression is disabled.
+     */
+    internal val compressionThresholdBytes: Int?
+        get() = if (requestCompressionEnabled) requestCompressionThresholdBytes else null
+
+    internal val useProtoBuf: Boolean
+        get() = wireFormat == WireFormat.PROTOBUF
+
+    companion object {
+        const val DEFAULT_MAX_BATCH_SIZE = 20
+        const val DEFAULT_MAX_BATCH_BYTES = 64 * 1024
+        const val DEFAULT_MAX_BATCH_DELAY_MS = 10_000L
+        const val DEFAULT_REQUEST_COMPRESSION_THRESHOLD_BYTES = 1024
+        const val DEFAULT_MAX_CELLULAR_HOLD_MS = 30_000L
+        const val DEFAULT_MAX_IN_FLIGHT_REQUESTS_PER_ENDPOINT = 4
+        const val DEFAULT_MAX_QUEUED_REQUESTS_PER_ENDPOINT = 256
+    }
+
+    class Builder {
+        private var batchingEnabled: Boolean = false
+        private var maxBatchSize: Int = DEFAULT_MAX_BATCH_SIZE
+        private var maxBatchBytes: Int = DEFAULT_MAX_BATCH_BYTES
+        private var maxBatchDelayMs: Long = DEFAULT_MAX_BATCH_DELAY_MS
+        private var requestCompressionEnabled: Boolean = false
+        private var requestCompressionThresholdBytes: Int = DEFAULT_REQUEST_COMPRESSION_THRESHOLD_BYTES
+        private var connectionPrewarmingEnabled: Boolean = false
+        private var sessionDeltaEncodingEnabled: Boolean = false
+        private var wireFormat: WireFormat = WireFormat.JSON
+        private var networkAwareSchedulingEnabled: Boolean = false
+        private var maxCellularHoldMs: Long = DEFAULT_MAX_CELLULAR_HOLD_MS
+        private var maxInFlightRequestsPerEndpoint: Int = DEFAULT_MAX_IN_FLIGHT_REQUESTS_PER_ENDPOINT
+        private var maxQueuedRequestsPerEndpoint: Int = DEFAULT_MAX_QUEUED_REQUESTS_PER_ENDPOINT
+        private var requestQueueOverflowPolicy: RequestQueueOverflowPolicy = RequestQueueOverflowPolicy.QUEUE_ALL
+        private var omitDefaultValuesEnabled: Boolean = false
+        private var segmentLogEventQueueEnabled: Boolean = false
+
+        fun setBatchingEnabled(batchingEnabled: Boolean) = apply { this.batchingEnabled = batchingEnabled }
+
+        fun setMaxBatchSize(maxBatchSize: Int) = apply { this.maxBatchSize = maxBatchSize }
+
+        fun setMaxBatchBytes(maxBatchBytes: Int) = apply { this.maxBatchBytes = maxBatchBytes }
+
+        fun setMaxBatchDelayMs(maxBatchDelayMs: Long) = apply { this.maxBatchDelayMs = maxBatchDelayMs }
+
+        fun setRequestCompressionEnabled(requestCompressionEnabled: Boolean) =
+            apply {
+                this.requestCompressionEnabled = requestCompressionEnabled
+            }
+
+        fun setRequestCompressionThresholdBytes(requestCompressionThresholdBytes: Int) =
+            apply {
+                this.requestCompressionThresholdBytes = requestCompressionThresholdBytes
+            }
+
+        fun setConnectionPrewarmingEnabled(connectionPrewarmingEnabled: Boolean) =
+            apply {
+                this.connectionPrewarmingEnabled = connectionPrewarmingEnabled
+            }
+
+        fun setSessionDeltaEncodingEnabled(sessionDeltaEncodingEnabled: Boolean) =
+            apply {
+                this.sessionDeltaEncodingEnabled = sessionDeltaEncodingEnabled
+            }
+
+        fun setWireFormat(wireFormat: WireFormat) = apply { this.wireFormat = wireFormat }
+
+        fun setNetworkAwareSchedulingEnabled(networkAwareSchedulingEnabled: Boolean) =
+            apply {
+                this.networkAwareSchedulingEnabled = networkAwareSchedulingEnabled
+            }
+
+        fun setMaxCellularHoldMs(maxCellularHoldMs: Long) = apply { this.maxCellularHoldMs = maxCellularHoldMs }
+
+        fun setMaxInFlightRequestsPerEndpoint(maxInFlightRequestsPerEndpoint: Int) =
+            apply {
+                this.maxInFlightRequestsPerEndpoint = maxInFlightRequestsPerEndpoint
+            }
+
+        fun setMaxQueuedRequestsPerEndpoint(maxQueuedRequestsPerEndpoint: Int) =
+            apply {
+                this.maxQueuedRequestsPerEndpoint = maxQueuedRequestsPerEndpoint
+            }
+
+        fun setRequestQueueOverflowPolicy(requestQueueOverflowPolicy: RequestQueueOverflowPolicy) =
+            apply {
+                this.requestQueueOverflowPolicy = requestQueueOverflowPolicy
+            }
+
+        fun setOmitDefaultValuesEnabled(omitDefaultValuesEnabled: Boolean) =
+            apply {
+                this.omitDefaultValuesEnabled = omitDefaultValuesEnabled
+            }
+
+        fun setSegmentLogEventQueueEnabled(segmentLogEventQueueEnabled: Boolean) =
+            apply {
+                this.segmentLogEventQueueEnabled = segmentLogEventQueueEnabled
+            }
+
+        fun build(): TransmissionConfig {
+            return TransmissionConfig(
+                batchingEnabled = batchingEnabled,
+                maxBatchSize = maxBatchSize,
+                maxBatchBytes = maxBatchBytes,
+                maxBatchDelayMs = maxBatchDelayMs,
+                requestCompressionEnabled = requestCompressionEnabled,
+                requestCompressionThresholdBytes = requestCompressionThresholdBytes,
+                connectionPrewarmingEnabled = connectionPrewarmingEnabled,
+                sessionDeltaEncodingEnabled = sessionDeltaEncodingEnabled,
+                wireFormat = wireFormat,
+                networkAwareSchedulingEnabled = networkAwareSchedulingEnabled,
+                maxCellularHoldMs = maxCellularHoldMs,
+                maxInFlightRequestsPerEndpoint = maxInFlightRequestsPerEndpoint,
+                maxQueuedRequestsPerEndpoint = maxQueuedRequestsPerEndpoint,
+                requestQueueOverflowPolicy = requestQueueOverflowPolicy,
+                omitDefaultValuesEnabled = omitDefaultValuesEnabled,
+                segmentLogEventQueueEnabled = segmentLogEventQueueEnabled,
+            )
+        }
+    }
+}
+
+enum class WireFormat {
+    /**
+     * Samples are sent as JSON (`application/json`)
+     */
+    JSON,
+
+    /**
+     * Samples are sent as Protocol Buffers (`application/x-protobuf`), which omits the field names
+     * and encodes numbers compactly. The field numbers are defined on the sample classes.
+     */
+    PROTOBUF,
+}
+
+enum class RequestQueueOverflowPolicy {
+    /**
+     * No request is dropped, the queue grows beyond the maximum number of queued requests
+     */
+    QUEUE_ALL,
+
+    /**
+     * The request that waited the longest is dropped in favor of the new one
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new request is dropped
+     */
+    DROP_NEWEST,
+}
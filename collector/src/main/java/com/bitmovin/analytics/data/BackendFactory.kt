@@ -8,6 +8,7 @@ import com.bitmovin.analytics.persistence.ConsumeOnlyPersistentCacheBackend
 import com.bitmovin.analytics.persistence.PersistentCacheBackend
 import com.bitmovin.analytics.persistence.queue.AnalyticsEventQueue
 import com.bitmovin.analytics.retryBackend.RetryBackend
+import com.bitmovin.analytics.utils.NetworkInfoProvider
 import kotlinx.coroutines.CoroutineScope
 
 class BackendFactory(
@@ -18,13 +19,26 @@ class BackendFactory(
         context: Context,
         ioScope: CoroutineScope,
     ): Backend {
+        val transmissionConfig = config.transmissionConfig
+        val httpBackend = HttpBackend(config, context)
+        val batchingBackend: CallbackBackend =
+            if (transmissionConfig.batchingEnabled) {
+                BatchingBackend(httpBackend, ioScope, transmissionConfig)
+            } else {
+                httpBackend
+            }
+        val sendingBackend: CallbackBackend =
+            if (transmissionConfig.networkAwareSchedulingEnabled) {
+                NetworkAwareBackend(batchingBackend, NetworkInfoProvider(context), ioScope, transmissionConfig.maxCellularHoldMs)
+            } else {
+                batchingBackend
+            }
+
         val innerBackend =
-            HttpBackend(config, context).let {
-                if (config.retryPolicy == RetryPolicy.LONG_TERM) {
-                    PersistentCacheBackend(it, eventQueue)
-                } else {
-                    it
-                }
+            if (config.retryPolicy == RetryPolicy.LONG_TERM) {
+                PersistentCacheBackend(sendingBackend, eventQueue)
+            } else {
+                sendingBackend
             }
 
         val backend =
@@ -32,6 +46,9 @@ class BackendFactory(
                 ioScope,
                 innerBackend,
                 eventQueue,
+                // when batching, cached events are drained in batches so they don't wait for the batch delay one by one
+                drainBatchSize = if (transmissionConfig.batchingEnabled) transmissionConfig.maxBatchSize else 1,
+                drainBatchBytes = if (transmissionConfig.batchingEnabled) transmissionConfig.maxBatchBytes else Int.MAX_VALUE,
             )
         // The persistent event cache already tries resending events
         // The RetryBackend and the PersistentCacheBackend may not be mixed,
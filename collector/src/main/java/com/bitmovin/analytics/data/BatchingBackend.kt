@@ -0,0 +1,189 @@
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.api.TransmissionConfig
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.enums.AdType
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import okio.ByteString
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Collects samples and sends them as one batch through the [HttpBackend].
+ *
+ * A batch is sent out as soon as it reaches [TransmissionConfig.maxBatchSize] samples or
+ * [TransmissionConfig.maxBatchBytes] bytes, or when the oldest sample in it was held back
+ * for [TransmissionConfig.maxBatchDelayMs]. [flush] sends out all pending samples immediately.
+ *
+ * Samples are split into separate requests per endpoint and routing, so SSAI related samples
+ * are still sent with the ssai routing param. Within a batch, samples of an impression are
+ * ordered by their sequence number. [SamplePriority.URGENT] samples are never batched but sent right away.
+ * The pending samples of their impression are sent first, like urgent samples, and the urgent sample follows
+ * once they completed, so it never overtakes them.
+ */
+internal class BatchingBackend(
+    private val httpBackend: HttpBackend,
+    private val ioScope: CoroutineScope,
+    private val transmissionConfig: TransmissionConfig,
+) : Backend, CallbackBackend, FlushableBackend {
+    private val pendingSamples = mutableListOf<PendingSample>()
+    private var pendingBytes = 0
+    private var scheduledFlush: Job? = null
+
+    override fun send(eventData: EventData) = send(eventData, null, null)
+
+    override fun sendAd(eventData: AdEventData) = sendAd(eventData, null, null)
+
+    override fun send(
+        eventData: EventData,
+        success: OnSuccessCallback?,
+        failure: OnFailureCallback?,
+    ) {
+        if (eventData.priority == SamplePriority.URGENT) {
+            // the pending samples of the impression would otherwise wait for a free slot of the request window
+            val pendingSamplesOfImpression = synchronized(this) { takePendingSamplesOf(eventData.impressionId) }
+            sendOut(pendingSamplesOfImpression, isUrgent = true) {
+                httpBackend.send(eventData, success, failure)
+            }
+            return
+        }
+        val serializedSample = httpBackend.serializeSample(eventData)
+        enqueue(
+            PendingSample(
+                serializedSample = serializedSample,
+                batchKey = BatchKey(isAdBatch = false, useSsaiRouting = eventData.ssaiRelatedSample),
+                impressionId = eventData.impressionId,
+                sequenceNumber = eventData.sequenceNumber,
+                success = httpBackend.sampleSuccessCallback(eventData, success),
+                failure = httpBackend.sampleFailureCallback(eventData, failure),
+            ),
+        )
+    }
+
+    override fun sendAd(
+        eventData: AdEventData,
+        success: OnSuccessCallback?,
+        failure: OnFailureCallback?,
+    ) {
+        val serializedSample = httpBackend.serializeAdSample(eventData)
+        enqueue(
+            PendingSample(
+                serializedSample = serializedSample,
+                batchKey = BatchKey(isAdBatch = true, useSsaiRouting = eventData.adType == AdType.SERVER_SIDE.value),
+                impressionId = eventData.videoImpressionId,
+                // ad samples don't have a sequence number, they keep the order they were added in
+                sequenceNumber = 0,
+                success = success,
+                failure = failure,
+            ),
+        )
+    }
+
+    override fun flush() {
+        sendOut(synchronized(this) { takePendingSamples() })
+    }
+
+    private fun enqueue(sample: PendingSample) {
+        val readyBatches =
+            synchronized(this) {
+                val readyBatches = mutableListOf<List<PendingSample>>()
+                // a sample that doesn't fit into the current batch anymore starts a new one
+                if (pendingSamples.isNotEmpty() && pendingBytes + sample.size > transmissionConfig.maxBatchBytes) {
+                    readyBatches.add(takePendingSamples())
+                }
+                pendingSamples.add(sample)
+                pendingBytes += sample.size
+
+                if (pendingSamples.size >= transmissionConfig.maxBatchSize || pendingBytes >= transmissionConfig.maxBatchBytes) {
+                    readyBatches.add(takePendingSamples())
+                } else if (scheduledFlush == null) {
+                    scheduledFlush =
+                        ioScope.launch {
+                            delay(transmissionConfig.maxBatchDelayMs)
+                            flush()
+                        }
+                }
+                readyBatches
+            }
+        readyBatches.forEach { sendOut(it) }
+    }
+
+    private fun takePendingSamples(): List<PendingSample> {
+        scheduledFlush?.cancel()
+        scheduledFlush = null
+        val samples = pendingSamples.toList()
+        pendingSamples.clear()
+        pendingBytes = 0
+        return samples
+    }
+
+    private fun takePendingSamplesOf(impressionId: String): List<PendingSample> {
+        val samples = pendingSamples.filter { it.impressionId == impressionId }
+        if (samples.size == pendingSamples.size) {
+            return takePendingSamples()
+        }
+        pendingSamples.removeAll(samples)
+        pendingBytes -= samples.sumOf { it.size }
+        return samples
+    }
+
+    /**
+     * @param onCompleted is called once all batches of [samples] were sent or failed, right away if there are none
+     */
+    private fun sendOut(
+        samples: List<PendingSample>,
+        isUrgent: Boolean = false,
+        onCompleted: (() -> Unit)? = null,
+    ) {
+        val batches = samples.groupBy { it.batchKey }
+        if (batches.isEmpty()) {
+            onCompleted?.invoke()
+            return
+        }
+        val remainingBatches = AtomicInteger(batches.size)
+        val completeBatch = {
+            if (remainingBatches.decrementAndGet() == 0) {
+                onCompleted?.invoke()
+            }
+        }
+        batches.forEach { (batchKey, batch) ->
+            val orderedBatch = batch.inImpressionOrder()
+            httpBackend.sendBatch(
+                serializedSamples = orderedBatch.map { it.serializedSample },
+                isAdBatch = batchKey.isAdBatch,
+                useSsaiRouting = batchKey.useSsaiRouting,
+                success = {
+                    orderedBatch.forEach { it.success?.onSuccess() }
+                    completeBatch()
+                },
+                failure = { e, cancel ->
+                    orderedBatch.forEach { it.failure?.onFailure(e, cancel) }
+                    completeBatch()
+                },
+                isUrgent = isUrgent,
+            )
+        }
+    }
+
+    // groupBy keeps the order of the first occurrence of each impression and sortedBy is stable
+    private fun List<PendingSample>.inImpressionOrder() =
+        groupBy { it.impressionId }
+            .values
+            .flatMap { samplesOfImpression -> samplesOfImpression.sortedBy { it.sequenceNumber } }
+
+    private data class BatchKey(val isAdBatch: Boolean, val useSsaiRouting: Boolean)
+
+    private class PendingSample(
+        val serializedSample: ByteString,
+        val batchKey: BatchKey,
+        val impressionId: String,
+        val sequenceNumber: Int,
+        val success: OnSuccessCallback?,
+        val failure: OnFailureCallback?,
+    ) {
+        val size: Int get() = serializedSample.size
+    }
+}
@@ -0,0 +1,84 @@
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.api.AnalyticsConfig
+import com.bitmovin.analytics.license.LicenseKeyProvider
+import com.bitmovin.analytics.license.LicenseKeyState
+import com.bitmovin.analytics.utils.BitmovinLog
+import com.bitmovin.analytics.utils.ClientFactory
+import com.bitmovin.analytics.utils.HttpTransport
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+import java.io.IOException
+
+/**
+ * Opens a connection to the analytics backend ahead of the first sample.
+ *
+ * Every attach starts with a license request to the backend, which opens the connection itself. It is sent
+ * as soon as the license key is known, and a separate request at the same time would only race it with a
+ * second handshake. So the connection is only pre-warmed while the license request waits for a deferred
+ * license key: a HEAD request is issued on the shared client, which leaves the connection in the shared
+ * connection pool for the license request and the startup sample.
+ * This only applies to the default transport, an installed [HttpTransport] manages its own connections.
+ */
+internal class ConnectionPrewarmer(
+    private val config: AnalyticsConfig,
+    private val licenseKeyProvider: LicenseKeyProvider,
+    private val clientFactory: ClientFactory = ClientFactory(),
+) {
+    fun prewarm() {
+        if (!config.transmissionConfig.connectionPrewarmingEnabled || HttpTransport.installed != null) {
+            return
+        }
+        if (licenseKeyProvider.licenseKey.value is LicenseKeyState.Result) {
+            BitmovinLog.d(TAG) { "The license request opens the connection to ${config.backendUrl}" }
+            return
+        }
+
+        val client = clientFactory.createClient(config)
+        // a pooled connection to the host is re-used by the HEAD request, but one that is still being opened
+        // for another request isn't, so requests in flight to the host are not raced
+        if (hasCallsTo(client, config.backendUrl.toHttpUrl().host)) {
+            BitmovinLog.d(TAG) { "Connection to ${config.backendUrl} is already being used" }
+            return
+        }
+
+        val request =
+            Request.Builder()
+                .url(config.backendUrl)
+                .head()
+                .build()
+
+        client.newCall(request)
+            .enqueue(
+                object : Callback {
+                    override fun onFailure(
+                        call: Call,
+                        e: IOException,
+                    ) {
+                        // not critical, the first sample will open the connection
+                        BitmovinLog.d(TAG) { "Prewarming connection to ${config.backendUrl} failed: $e" }
+                    }
+
+                    override fun onResponse(
+                        call: Call,
+                        response: Response,
+                    ) {
+                        response.close()
+                    }
+                },
+            )
+    }
+
+    private fun hasCallsTo(
+        client: OkHttpClient,
+        host: String,
+    ): Boolean = (client.dispatcher.runningCalls() + client.dispatcher.queuedCalls()).any { it.request().url.host == host }
+
+    companion object {
+        private const val TAG = "ConnectionPrewarmer"
+    }
+}
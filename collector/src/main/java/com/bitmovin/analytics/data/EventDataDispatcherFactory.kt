@@ -3,7 +3,8 @@ package com.bitmovin.analytics.data
 import android.content.Context
 import com.bitmovin.analytics.api.AnalyticsConfig
 import com.bitmovin.analytics.api.RetryPolicy
-import com.bitmovin.analytics.data.persistence.EventDatabase
+import com.bitmovin.analytics.data.persistence.EventDatabaseFactory
+import com.bitmovin.analytics.data.persistence.EventDatabaseType
 import com.bitmovin.analytics.license.DefaultLicenseCall
 import com.bitmovin.analytics.license.LicenseCallback
 import com.bitmovin.analytics.license.LicenseKeyProvider
@@ -17,13 +18,22 @@ class EventDataDispatcherFactory(
     private val context: Context,
     private val config: AnalyticsConfig,
     licenseKeyProvider: LicenseKeyProvider,
+) {
+    private val scopeProvider = ScopeProvider.create()
+
+    // Shared by the dispatchers of this factory across enable and disable. Its scope only runs the delayed commits
+    // of the write-behind buffer, which the dispatcher flushes when it is disabled, so nothing is left running then.
     private val eventQueue: AnalyticsEventQueue =
         EventQueueFactory.createPersistentEventQueue(
             EventQueueConfig(),
-            EventDatabase.getInstance(context),
-        ),
-) {
-    private val scopeProvider = ScopeProvider.create()
+            EventDatabaseFactory.getInstance(
+                context,
+                if (config.transmissionConfig.segmentLogEventQueueEnabled) EventDatabaseType.SEGMENT_LOG else EventDatabaseType.SQLITE,
+                // only runs the one-off move of the entries of the other database
+                scopeProvider.createIoScope(),
+            ),
+            scopeProvider.createIoScope(),
+        )
     private val licenseCall = DefaultLicenseCall(config, licenseKeyProvider, context)
     private val backendFactory = BackendFactory(eventQueue)
 
@@ -21,6 +21,9 @@ class EventDataFactory(
 ) : EventDataManipulatorPipeline {
     private val eventDataManipulators = mutableListOf<EventDataManipulator>()
 
+    @Volatile
+    private var lastMetadataSnapshot: MetadataSnapshot? = null
+
     fun create(
         impressionId: String,
         sourceMetadata: SourceMetadata,
@@ -29,15 +32,13 @@ class EventDataFactory(
         playerInfo: PlayerInfo,
         ssaiAdMetadata: AdMetadata?,
     ): EventData {
-        var mergedCustomData = ApiV3Utils.mergeCustomData(sourceMetadata.customData, defaultMetadata.customData)
-        mergedCustomData = ApiV3Utils.mergeCustomData(ssaiAdMetadata?.customData, mergedCustomData)
-        val mergedCdnProvider = sourceMetadata.cdnProvider ?: defaultMetadata.cdnProvider
+        val metadata = metadataSnapshot(sourceMetadata, defaultMetadata, ssaiAdMetadata)
 
         val eventData =
             EventData(
                 deviceInformation,
                 playerInfo,
-                mergedCustomData,
+                metadata.customData,
                 impressionId,
                 userIdProvider.userId(),
                 licenseKeyProvider.licenseKeyOrNull,
@@ -45,7 +46,7 @@ class EventDataFactory(
                 sourceMetadata.title,
                 defaultMetadata.customUserId,
                 sourceMetadata.path,
-                mergedCdnProvider,
+                metadata.cdnProvider,
                 userAgentProvider.userAgent,
             )
 
@@ -64,15 +65,13 @@ class EventDataFactory(
         playerInfo: PlayerInfo,
         ssaiAdMetadata: AdMetadata?,
     ): EventData {
-        var mergedCustomData = ApiV3Utils.mergeCustomData(sourceMetadata.customData, defaultMetadata.customData)
-        mergedCustomData = ApiV3Utils.mergeCustomData(ssaiAdMetadata?.customData, mergedCustomData)
-        val mergedCdnProvider = sourceMetadata.cdnProvider ?: defaultMetadata.cdnProvider
+        val metadata = metadataSnapshot(sourceMetadata, defaultMetadata, ssaiAdMetadata)
 
         val eventData =
             EventData(
                 deviceInformation,
                 playerInfo,
-                mergedCustomData,
+                metadata.customData,
                 impressionId,
                 userIdProvider.userId(),
                 licenseKeyProvider.licenseKeyOrNull,
@@ -80,7 +79,7 @@ class EventDataFactory(
                 sourceMetadata.title,
                 defaultMetadata.customUserId,
                 sourceMetadata.path,
-                mergedCdnProvider,
+                metadata.cdnProvider,
                 userAgentProvider.userAgent,
             )
 
@@ -91,6 +90,20 @@ class EventDataFactory(
         return eventData
     }
 
+    // the metadata instances only change when the metadata is changed, see MetadataProvider,
+    // so in steady state playback the merged metadata of the previous sample is re-used
+    private fun metadataSnapshot(
+        sourceMetadata: SourceMetadata,
+        defaultMetadata: DefaultMetadata,
+        ssaiAdMetadata: AdMetadata?,
+    ): MetadataSnapshot {
+        val snapshot = lastMetadataSnapshot
+        if (snapshot != null && snapshot.isFor(sourceMetadata, defaultMetadata, ssaiAdMetadata)) {
+            return snapshot
+        }
+        return MetadataSnapshot(sourceMetadata, defaultMetadata, ssaiAdMetadata).also { lastMetadataSnapshot = it }
+    }
+
     override fun clearEventDataManipulators() {
         eventDataManipulators.clear()
     }
@@ -99,3 +112,25 @@ class EventDataFactory(
         eventDataManipulators.add(manipulator)
     }
 }
+
+/**
+ * Immutable merge of the source, default and SSAI ad metadata of a sample.
+ */
+private class MetadataSnapshot(
+    private val sourceMetadata: SourceMetadata,
+    private val defaultMetadata: DefaultMetadata,
+    private val ssaiAdMetadata: AdMetadata?,
+) {
+    val customData =
+        ApiV3Utils.mergeCustomData(
+            ssaiAdMetadata?.customData,
+            ApiV3Utils.mergeCustomData(sourceMetadata.customData, defaultMetadata.customData),
+        )
+    val cdnProvider = sourceMetadata.cdnProvider ?: defaultMetadata.cdnProvider
+
+    fun isFor(
+        sourceMetadata: SourceMetadata,
+        defaultMetadata: DefaultMetadata,
+        ssaiAdMetadata: AdMetadata?,
+    ) = sourceMetadata === this.sourceMetadata && defaultMetadata === this.defaultMetadata && ssaiAdMetadata === this.ssaiAdMetadata
+}
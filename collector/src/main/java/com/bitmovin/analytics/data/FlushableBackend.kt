@@ -0,0 +1,12 @@
+package com.bitmovin.analytics.data
+
+/**
+ * A backend that might hold back samples before they are sent out.
+ * Wrapping backends forward [flush] to the backend they wrap.
+ */
+interface FlushableBackend {
+    /**
+     * Sends out all samples that are currently held back.
+     */
+    fun flush()
+}
@@ -7,19 +7,46 @@ import com.bitmovin.analytics.dtos.AdEventData
 import com.bitmovin.analytics.dtos.EventData
 import com.bitmovin.analytics.enums.AdType
 import com.bitmovin.analytics.utils.BitmovinLog
+import com.bitmovin.analytics.utils.CachingEventDataEncoder
 import com.bitmovin.analytics.utils.ClientFactory
-import com.bitmovin.analytics.utils.DataSerializerKotlinX.serialize
+import com.bitmovin.analytics.utils.DataSerializerProtoBuf
+import com.bitmovin.analytics.utils.DtoJsonWriters
 import com.bitmovin.analytics.utils.HttpClient
-import okhttp3.Call
-import okhttp3.Callback
-import okhttp3.Response
+import com.bitmovin.analytics.utils.HttpClient.Companion.JSON_CONTENT_TYPE
+import com.bitmovin.analytics.utils.HttpClient.Companion.PROTOBUF_BATCH_CONTENT_TYPE
+import com.bitmovin.analytics.utils.HttpClient.Companion.PROTOBUF_CONTENT_TYPE
+import com.bitmovin.analytics.utils.HttpTransportCallback
+import com.bitmovin.analytics.utils.HttpTransportResponse
+import com.bitmovin.analytics.utils.OmitDefaultsProfile
+import com.bitmovin.analytics.utils.RequestWindow
+import com.bitmovin.analytics.utils.createRequestWindow
+import com.bitmovin.analytics.utils.releaseOnCompletion
+import okio.Buffer
+import okio.ByteString
+import okio.ByteString.Companion.encodeUtf8
 import java.io.IOException
 import java.util.Locale
 
 class HttpBackend(config: AnalyticsConfig, context: Context) : Backend, CallbackBackend {
     private val httpClient: HttpClient
+    private val urgentHttpClient: HttpClient
     private val analyticsBackendUrl: String
     private val adsAnalyticsBackendUrl: String
+    private val sessionDeltaEncoder: SessionDeltaEncoder? =
+        if (config.transmissionConfig.sessionDeltaEncodingEnabled) SessionDeltaEncoder() else null
+    private val useProtoBuf = config.transmissionConfig.useProtoBuf
+    private val jsonEncoder = CachingEventDataEncoder()
+    private val omitDefaultValuesEnabled = config.transmissionConfig.omitDefaultValuesEnabled && !useProtoBuf
+
+    // set once the ingress confirmed the omit defaults profile, it is never reset again, since samples
+    // that were already serialized without their defaults might still be waiting in a batch
+    @Volatile
+    private var omitDefaults = false
+
+    // urgent samples bypass the windows, they have their own in-flight slots anyway
+    internal val analyticsRequestWindow = config.transmissionConfig.createRequestWindow("analytics")
+    internal val adsRequestWindow = config.transmissionConfig.createRequestWindow("ads")
+    private val ingressThrottle = IngressThrottle.shared
 
     init {
         analyticsBackendUrl =
@@ -35,12 +62,20 @@ class HttpBackend(config: AnalyticsConfig, context: Context) : Backend, Callback
                 .build()
                 .toString()
 
-        BitmovinLog.d(
-            TAG,
-            String.format("Initialized Analytics HTTP Backend with %s", analyticsBackendUrl),
-        )
+        BitmovinLog.d(TAG) { String.format("Initialized Analytics HTTP Backend with %s", analyticsBackendUrl) }
 
-        httpClient = HttpClient(context, ClientFactory().createClient(config))
+        httpClient =
+            HttpClient(
+                context,
+                ClientFactory().createTransport(config),
+                config.transmissionConfig.compressionThresholdBytes,
+            )
+        urgentHttpClient =
+            HttpClient(
+                context,
+                ClientFactory().createUrgentTransport(config),
+                config.transmissionConfig.compressionThresholdBytes,
+            )
     }
 
     override fun send(eventData: EventData) = send(eventData, null, null)
@@ -52,8 +87,7 @@ class HttpBackend(config: AnalyticsConfig, context: Context) : Backend, Callback
         success: OnSuccessCallback?,
         failure: OnFailureCallback?,
     ) {
-        BitmovinLog.d(
-            TAG,
+        BitmovinLog.d(TAG) {
             String.format(
                 Locale.US,
                 "Sending sample: %s (state: %s, videoId: %s, startupTime: %d, videoStartupTime: %d, buffered: %d, audioLanguage: %s)",
@@ -64,29 +98,31 @@ class HttpBackend(config: AnalyticsConfig, context: Context) : Backend, Callback
                 eventData.videoStartupTime,
                 eventData.buffered,
                 eventData.audioLanguage,
-            ),
-        )
-
-        httpClient.post(
-            analyticsBackendUrl,
-            serialize(eventData),
-            object : Callback {
-                override fun onFailure(
-                    call: Call,
-                    e: IOException,
-                ) {
-                    failure?.onFailure(e) { call.cancel() }
-                }
+            )
+        }
 
-                override fun onResponse(
-                    call: Call,
-                    response: Response,
-                ) {
-                    success?.onSuccess()
+        val useSsaiRouting = eventData.ssaiRelatedSample
+        // urgent samples have their own in-flight slots, so a backlog of other samples can't delay them
+        val isUrgent = eventData.priority == SamplePriority.URGENT
+        val client = if (isUrgent) urgentHttpClient else httpClient
+        val sampleSuccess = sampleSuccessCallback(eventData, success)
+        val sampleFailure = sampleFailureCallback(eventData, failure)
+        submit(if (isUrgent) null else analyticsRequestWindow, sampleFailure) { release ->
+            val callback = releaseOnCompletion(release, createCallback(sampleSuccess, sampleFailure))
+            val omitDefaults = this.omitDefaults
+            when {
+                useProtoBuf ->
+                    client.postBytes(analyticsBackendUrl, serializeSample(eventData), PROTOBUF_CONTENT_TYPE, callback, useSsaiRouting)
+                sessionDeltaEncoder != null -> {
+                    val body = sessionDeltaEncoder.encode(eventData, omitDefaults)
+                    client.post(analyticsBackendUrl, body, callback, useSsaiRouting, jsonProfileHeaders(omitDefaults))
+                }
+                else -> {
+                    val body = jsonEncoder.requestBody(eventData, omitDefaults)
+                    client.postJson(analyticsBackendUrl, body, callback, useSsaiRouting, jsonProfileHeaders(omitDefaults))
                 }
-            },
-            eventData.ssaiRelatedSample,
-        )
+            }
+        }
     }
 
     override fun sendAd(
@@ -94,38 +130,186 @@ class HttpBackend(config: AnalyticsConfig, context: Context) : Backend, Callback
         success: OnSuccessCallback?,
         failure: OnFailureCallback?,
     ) {
-        BitmovinLog.d(
-            TAG,
+        BitmovinLog.d(TAG) {
             String.format(
                 "Sending ad sample: %s (videoImpressionId: %s, adImpressionId: %s)",
                 eventData.adImpressionId,
                 eventData.videoImpressionId,
                 eventData.adImpressionId,
-            ),
-        )
+            )
+        }
 
         val useSsaiRouting = eventData.adType == AdType.SERVER_SIDE.value
+        submit(adsRequestWindow, failure) { release ->
+            val callback = releaseOnCompletion(release, createCallback(success, failure))
+            if (useProtoBuf) {
+                httpClient.postBytes(adsAnalyticsBackendUrl, serializeAdSample(eventData), PROTOBUF_CONTENT_TYPE, callback, useSsaiRouting)
+            } else {
+                val omitDefaults = this.omitDefaults
+                val body = DtoJsonWriters.requestBody(eventData, omitDefaults)
+                httpClient.postJson(adsAnalyticsBackendUrl, body, callback, useSsaiRouting, jsonProfileHeaders(omitDefaults))
+            }
+        }
+    }
 
-        httpClient.post(
-            adsAnalyticsBackendUrl,
-            serialize(eventData),
-            object : Callback {
-                override fun onFailure(
-                    call: Call,
-                    e: IOException,
-                ) {
-                    failure?.onFailure(e) { call.cancel() }
-                }
+    /**
+     * Serializes a sample the way it is sent on its own, to send it as part of a batch later on.
+     */
+    fun serializeSample(eventData: EventData): ByteString =
+        when {
+            useProtoBuf -> DataSerializerProtoBuf.serialize(EventData.serializer(), eventData)
+            sessionDeltaEncoder != null -> sessionDeltaEncoder.encode(eventData, omitDefaults).encodeUtf8()
+            else -> jsonEncoder.encode(eventData, omitDefaults)
+        }
+
+    /**
+     * Wraps the [success] callback of [eventData], so the base sample of the session delta encoding is only
+     * used once it was sent.
+     */
+    internal fun sampleSuccessCallback(
+        eventData: EventData,
+        success: OnSuccessCallback?,
+    ): OnSuccessCallback? {
+        if (sessionDeltaEncoder == null || !eventData.isDeltaBase) return success
+        return OnSuccessCallback {
+            sessionDeltaEncoder.onBaseSent(eventData.impressionId)
+            success?.onSuccess()
+        }
+    }
+
+    /**
+     * Wraps the [failure] callback of [eventData], so later samples are sent in full if the base sample of
+     * the session delta encoding didn't make it to the ingress.
+     */
+    internal fun sampleFailureCallback(
+        eventData: EventData,
+        failure: OnFailureCallback?,
+    ): OnFailureCallback? {
+        if (sessionDeltaEncoder == null || !eventData.isDeltaBase) return failure
+        return OnFailureCallback { e, cancel ->
+            sessionDeltaEncoder.onBaseFailed(eventData.impressionId)
+            failure?.onFailure(e, cancel)
+        }
+    }
+
+    private val EventData.isDeltaBase: Boolean
+        get() = sequenceNumber == SessionDeltaEncoder.BASE_SEQUENCE_NUMBER
+
+    /**
+     * Serializes an ad sample the way it is sent on its own, to send it as part of a batch later on.
+     */
+    fun serializeAdSample(adEventData: AdEventData): ByteString =
+        if (useProtoBuf) {
+            DataSerializerProtoBuf.serialize(AdEventData.serializer(), adEventData)
+        } else {
+            DtoJsonWriters.encode(adEventData, omitDefaults)
+        }
 
-                override fun onResponse(
-                    call: Call,
-                    response: Response,
-                ) {
+    /**
+     * Sends multiple samples serialized with [serializeSample] or [serializeAdSample] in a single request,
+     * as JSON array or as ProtoBuf batch message. The callbacks are called once for the whole batch.
+     *
+     * @param isUrgent sends the batch like an urgent sample, on the urgent client and without waiting for the window
+     */
+    fun sendBatch(
+        serializedSamples: List<ByteString>,
+        isAdBatch: Boolean,
+        useSsaiRouting: Boolean,
+        success: OnSuccessCallback?,
+        failure: OnFailureCallback?,
+        isUrgent: Boolean = false,
+    ) {
+        BitmovinLog.d(TAG) { "Sending batch of ${serializedSamples.size} ${if (isAdBatch) "ad samples" else "samples"}" }
+
+        val url = if (isAdBatch) adsAnalyticsBackendUrl else analyticsBackendUrl
+        val client = if (isUrgent) urgentHttpClient else httpClient
+        val window =
+            when {
+                isUrgent -> null
+                isAdBatch -> adsRequestWindow
+                else -> analyticsRequestWindow
+            }
+        submit(window, failure) { release ->
+            val callback = releaseOnCompletion(release, createCallback(success, failure))
+            if (useProtoBuf) {
+                val batch = DataSerializerProtoBuf.serializeBatch(serializedSamples)
+                client.postBytes(url, batch, PROTOBUF_BATCH_CONTENT_TYPE, callback, useSsaiRouting)
+            } else {
+                // the profile is never revoked, so samples of the batch that were serialized in full are fine as well,
+                // re-applying the defaults doesn't change them
+                val headers = jsonProfileHeaders(omitDefaults)
+                client.postBytes(url, serializedSamples.toJsonArray(), JSON_CONTENT_TYPE, callback, useSsaiRouting, headers)
+            }
+        }
+    }
+
+    /**
+     * Posts right away without a [window], otherwise once the window has a free slot.
+     * Requests dropped by the window, or not sent because the ingress is throttling, are reported as failed.
+     */
+    private fun submit(
+        window: RequestWindow?,
+        failure: OnFailureCallback?,
+        post: (release: () -> Unit) -> Unit,
+    ) {
+        val throttledPost: (release: () -> Unit) -> Unit = { release ->
+            val remainingThrottleMs = ingressThrottle.remainingThrottleMs()
+            if (remainingThrottleMs > 0) {
+                release()
+                failure?.onFailure(IngressThrottledException(remainingThrottleMs)) {}
+            } else {
+                post(release)
+            }
+        }
+        if (window == null) {
+            try {
+                throttledPost {}
+            } catch (e: Exception) {
+                BitmovinLog.e(TAG, "Sending urgent sample failed", e)
+                failure?.onFailure(e) {}
+            }
+            return
+        }
+        window.submit(throttledPost) { e -> failure?.onFailure(e) {} }
+    }
+
+    private fun jsonProfileHeaders(omitDefaults: Boolean): Map<String, String> =
+        if (omitDefaultValuesEnabled) OmitDefaultsProfile.requestHeaders(omitDefaults) else emptyMap()
+
+    private fun List<ByteString>.toJsonArray(): ByteString {
+        val buffer = Buffer().writeUtf8("[")
+        forEachIndexed { index, sample ->
+            if (index > 0) buffer.writeUtf8(",")
+            buffer.write(sample)
+        }
+        return buffer.writeUtf8("]").readByteString()
+    }
+
+    private fun createCallback(
+        success: OnSuccessCallback?,
+        failure: OnFailureCallback?,
+    ) = object : HttpTransportCallback {
+        override fun onFailure(e: IOException) {
+            failure?.onFailure(e) {}
+        }
+
+        override fun onResponse(response: HttpTransportResponse) {
+            when {
+                IngressThrottle.isThrottlingResponse(response.code) -> {
+                    val retryAfterMs = ingressThrottle.onThrottled(response.header("Retry-After"))
+                    failure?.onFailure(IngressThrottledException(retryAfterMs)) {}
+                }
+                response.code >= 500 -> failure?.onFailure(IngressServerErrorException(response.code)) {}
+                else -> {
+                    // besides 2xx also the other 4xx responses, resending the same sample won't change them
+                    ingressThrottle.onSuccess()
+                    if (omitDefaultValuesEnabled && OmitDefaultsProfile.isConfirmed(response)) {
+                        omitDefaults = true
+                    }
                     success?.onSuccess()
                 }
-            },
-            useSsaiRouting,
-        )
+            }
+        }
     }
 
     companion object {
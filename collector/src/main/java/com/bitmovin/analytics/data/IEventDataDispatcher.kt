@@ -13,6 +13,11 @@ interface IEventDataDispatcher {
 
     fun disable()
 
+    /**
+     * Sends out all samples that are currently held back by the dispatcher or its backends.
+     */
+    fun flush()
+
     fun add(data: EventData)
 
     fun addAd(data: AdEventData)
@@ -0,0 +1,110 @@
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.utils.BitmovinLog
+import com.bitmovin.analytics.utils.SystemTimeService
+import java.io.IOException
+import java.text.ParseException
+import java.text.SimpleDateFormat
+import java.util.Locale
+import java.util.TimeZone
+
+/**
+ * Client side throttling of requests to the analytics ingress.
+ *
+ * When the ingress answers with `429 Too Many Requests` or `503 Service Unavailable`, no further samples
+ * are sent until the `Retry-After` time passed. Without a `Retry-After` header, the throttle time doubles
+ * with every consecutive throttled response. The state is shared by all collectors of the process via [shared],
+ * so a single overloaded response slows down every collector instead of each one finding out on its own.
+ */
+internal class IngressThrottle(
+    private val timeService: SystemTimeService = SystemTimeService(),
+) {
+    private var throttledUntilMs = 0L
+    private var consecutiveThrottles = 0
+
+    /**
+     * Time in milliseconds until requests may be sent again, 0 if they may be sent right away.
+     */
+    @Synchronized
+    fun remainingThrottleMs(): Long = maxOf(0L, throttledUntilMs - timeService.currentTimeMillis())
+
+    /**
+     * Records a throttled response.
+     *
+     * @return the time in milliseconds requests are throttled from now on
+     */
+    @Synchronized
+    fun onThrottled(retryAfterHeader: String?): Long {
+        consecutiveThrottles++
+        val now = timeService.currentTimeMillis()
+        val throttleMs =
+            (parseRetryAfterMs(retryAfterHeader, now) ?: backoffMs(consecutiveThrottles))
+                .coerceIn(0L, MAX_THROTTLE_MS)
+        throttledUntilMs = maxOf(throttledUntilMs, now + throttleMs)
+        BitmovinLog.d(TAG) { "Ingress is overloaded, throttling requests for $throttleMs ms" }
+        return remainingThrottleMs()
+    }
+
+    @Synchronized
+    fun onSuccess() {
+        consecutiveThrottles = 0
+    }
+
+    @Synchronized
+    fun reset() {
+        throttledUntilMs = 0
+        consecutiveThrottles = 0
+    }
+
+    private fun backoffMs(consecutiveThrottles: Int): Long =
+        INITIAL_BACKOFF_MS shl (consecutiveThrottles - 1).coerceAtMost(MAX_BACKOFF_DOUBLINGS)
+
+    companion object {
+        private const val TAG = "IngressThrottle"
+        private const val INITIAL_BACKOFF_MS = 1_000L
+        private const val MAX_BACKOFF_DOUBLINGS = 8
+        private const val MAX_THROTTLE_MS = 5 * 60 * 1_000L
+
+        val shared = IngressThrottle()
+
+        fun isThrottlingResponse(code: Int) = code == 429 || code == 503
+
+        /**
+         * Parses the `Retry-After` header, which is either a number of seconds or an HTTP date.
+         */
+        fun parseRetryAfterMs(
+            retryAfterHeader: String?,
+            nowMs: Long,
+        ): Long? {
+            val value = retryAfterHeader?.trim()?.takeIf { it.isNotEmpty() } ?: return null
+            value.toLongOrNull()?.let { return it * 1_000 }
+            return try {
+                val httpDateFormat =
+                    SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US).apply {
+                        timeZone = TimeZone.getTimeZone("GMT")
+                    }
+                httpDateFormat.parse(value)?.let { it.time - nowMs }
+            } catch (e: ParseException) {
+                null
+            }
+        }
+    }
+}
+
+/**
+ * The sample was not sent, or not accepted, because the ingress is overloaded.
+ */
+internal class IngressThrottledException(val retryAfterMs: Long) :
+    IOException("Ingress is throttling requests, retry in $retryAfterMs ms")
+
+/**
+ * The ingress answered with a server error other than a throttling response.
+ *
+ * Unlike network errors, the same sample may fail again and again, so it is only retried [MAX_RETRIES] times.
+ */
+internal class IngressServerErrorException(val code: Int) :
+    IOException("Ingress responded with $code") {
+    companion object {
+        const val MAX_RETRIES = 3
+    }
+}
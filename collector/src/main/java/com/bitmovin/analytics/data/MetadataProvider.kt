@@ -7,18 +7,39 @@ import com.bitmovin.analytics.api.DefaultMetadata
 import com.bitmovin.analytics.api.SourceMetadata
 import com.bitmovin.analytics.utils.ApiV3Utils
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
 import java.util.concurrent.atomic.AtomicReference
 
+/**
+ * Holds the source and default metadata of a collector.
+ *
+ * Every change bumps [version]. The metadata derived from the deprecated [BitmovinAnalyticsConfig] is only
+ * extracted again after a change, so reading the metadata returns the same instances until then and the
+ * merged metadata of the samples can be re-used, see [EventDataFactory].
+ */
 class MetadataProvider {
     private val sourceMetadataMap = ConcurrentHashMap<Any, SourceMetadata?>()
     private val internalDefaultMetadata: AtomicReference<DefaultMetadata?> = AtomicReference(null)
     private val deprecatedBitmovinAnalyticsConfig: AtomicReference<BitmovinAnalyticsConfig?> = AtomicReference(null)
 
+    private val versionStamp = AtomicLong(0)
+    private val derivedSourceMetadata = ConcurrentHashMap<Any, Derived<SourceMetadata>>()
+
+    @Volatile
+    private var derivedDefaultMetadata: Derived<DefaultMetadata>? = null
+
+    /**
+     * Monotonically increasing stamp, bumped by every change of the metadata.
+     */
+    internal val version: Long
+        get() = versionStamp.get()
+
     fun setSourceMetadata(
         source: Any,
         sourceMetadata: SourceMetadata?,
     ) {
         sourceMetadataMap[source] = sourceMetadata
+        versionStamp.incrementAndGet()
     }
 
     fun setSourceMetadata(sourceMetadata: SourceMetadata?) {
@@ -44,12 +65,16 @@ class MetadataProvider {
     // For backwards compatibility reason we extract the data from the deprecatedAnalyticsConfig
     // in case there is no source metadata
     fun getSourceMetadata(source: Any): SourceMetadata? {
+        val version = versionStamp.get()
         val sourceMetadata = sourceMetadataMap[source]
         val deprecatedOldConfig = deprecatedBitmovinAnalyticsConfig.get()
 
         if (deprecatedOldConfig != null) {
+            derivedSourceMetadata[source]?.takeIf { it.version == version }?.let { return it.value }
             val oldSourceMetadata = ApiV3Utils.extractSourceMetadata(deprecatedOldConfig)
-            return ApiV3Utils.mergeSourceMetadata(sourceMetadata ?: SourceMetadata(), oldSourceMetadata)
+            val mergedSourceMetadata = ApiV3Utils.mergeSourceMetadata(sourceMetadata ?: SourceMetadata(), oldSourceMetadata)
+            derivedSourceMetadata[source] = Derived(version, mergedSourceMetadata)
+            return mergedSourceMetadata
         }
 
         return sourceMetadata
@@ -74,19 +99,31 @@ class MetadataProvider {
                 return explicitSetDefaultMetadata
             }
 
+            val version = versionStamp.get()
             val config = deprecatedBitmovinAnalyticsConfig.get()
             if (config != null) {
-                return ApiV3Utils.extractDefaultMetadata(config)
+                derivedDefaultMetadata?.takeIf { it.version == version }?.let { return it.value }
+                return ApiV3Utils.extractDefaultMetadata(config).also { derivedDefaultMetadata = Derived(version, it) }
             }
 
-            return DefaultMetadata()
+            return EMPTY_DEFAULT_METADATA
         }
         set(value) {
             internalDefaultMetadata.set(value)
+            versionStamp.incrementAndGet()
         }
 
     fun setDeprecatedBitmovinAnalyticsConfig(bitmovinAnalyticsConfig: BitmovinAnalyticsConfig) {
         deprecatedBitmovinAnalyticsConfig.set(bitmovinAnalyticsConfig)
+        versionStamp.incrementAndGet()
+    }
+
+    /**
+     * Needs to be called after the deprecated [BitmovinAnalyticsConfig] was modified, so the metadata
+     * is extracted from it again.
+     */
+    fun deprecatedBitmovinAnalyticsConfigChanged() {
+        versionStamp.incrementAndGet()
     }
 
     fun deprecatedBitmovinAnalyticsConfigIsSet(): Boolean {
@@ -97,7 +134,17 @@ class MetadataProvider {
         return deprecatedBitmovinAnalyticsConfig.get()
     }
 
+    // the version is read before the metadata, so a value derived from metadata that changed in between
+    // is stored with an outdated version and not used
+    private class Derived<T>(val version: Long, val value: T)
+
     companion object {
         private val DEFAULT_KEY = Any()
+        private val EMPTY_DEFAULT_METADATA = DefaultMetadata()
+
+        /**
+         * Source metadata of sources without metadata, shared so it can be compared by identity.
+         */
+        internal val EMPTY_SOURCE_METADATA = SourceMetadata()
     }
 }
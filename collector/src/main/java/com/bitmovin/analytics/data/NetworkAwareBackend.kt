@@ -0,0 +1,124 @@
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.utils.BitmovinLog
+import com.bitmovin.analytics.utils.NetworkInfoProvider
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+
+/**
+ * Aligns the sending of non-urgent samples with radio activity on cellular and metered networks.
+ *
+ * Every request wakes up the cellular radio, which then stays in a high power state for a few seconds.
+ * While on such a network, [SamplePriority.DEFERRABLE] samples are held back and sent together with
+ * the next sample that is sent right away, or after [maxHoldMs] at the latest.
+ * On Wi-Fi all samples are sent right away.
+ *
+ * Held samples are sent out on [flush], so they are not lost on detach or when the app goes to background.
+ */
+internal class NetworkAwareBackend(
+    private val backend: CallbackBackend,
+    private val networkInfoProvider: NetworkInfoProvider,
+    private val ioScope: CoroutineScope,
+    private val maxHoldMs: Long,
+) : Backend, CallbackBackend, FlushableBackend {
+    private val heldSamples = mutableListOf<HeldSample>()
+    private var scheduledRelease: Job? = null
+
+    /**
+     * Number of radio wake-ups that were avoided by sending held samples together with other samples.
+     */
+    @Volatile
+    var avoidedRadioWakeups = 0
+        private set
+
+    override fun send(eventData: EventData) = send(eventData, null, null)
+
+    override fun sendAd(eventData: AdEventData) = sendAd(eventData, null, null)
+
+    override fun send(
+        eventData: EventData,
+        success: OnSuccessCallback?,
+        failure: OnFailureCallback?,
+    ) {
+        if (eventData.priority == SamplePriority.DEFERRABLE && networkInfoProvider.isCellularOrMetered()) {
+            hold(HeldSample(eventData, success, failure))
+            return
+        }
+        // the radio is woken up by this sample anyway, so the held samples piggy-back on it
+        val releasedSamples = releaseHeldSamples(piggyBacked = true)
+        backend.send(eventData, success, failure)
+        flushIfReleased(releasedSamples)
+    }
+
+    override fun sendAd(
+        eventData: AdEventData,
+        success: OnSuccessCallback?,
+        failure: OnFailureCallback?,
+    ) {
+        val releasedSamples = releaseHeldSamples(piggyBacked = true)
+        backend.sendAd(eventData, success, failure)
+        flushIfReleased(releasedSamples)
+    }
+
+    override fun flush() {
+        releaseHeldSamples(piggyBacked = false)
+        (backend as? FlushableBackend)?.flush()
+    }
+
+    private fun hold(sample: HeldSample) {
+        synchronized(this) {
+            heldSamples.add(sample)
+            if (scheduledRelease == null) {
+                scheduledRelease =
+                    ioScope.launch {
+                        delay(maxHoldMs)
+                        flush()
+                    }
+            }
+        }
+    }
+
+    /**
+     * @return the number of released samples
+     */
+    private fun releaseHeldSamples(piggyBacked: Boolean): Int {
+        val samples =
+            synchronized(this) {
+                scheduledRelease?.cancel()
+                scheduledRelease = null
+                val samples = heldSamples.toList()
+                heldSamples.clear()
+                // without piggy-backing, the first of the released samples wakes up the radio
+                if (samples.isNotEmpty()) {
+                    avoidedRadioWakeups += if (piggyBacked) samples.size else samples.size - 1
+                }
+                samples
+            }
+        if (samples.isNotEmpty()) {
+            BitmovinLog.d(TAG) { "Releasing ${samples.size} held samples, avoided $avoidedRadioWakeups radio wake-ups so far" }
+            samples.forEach { backend.send(it.eventData, it.success, it.failure) }
+        }
+        return samples.size
+    }
+
+    // a batching backend would hold the released samples back once more
+    private fun flushIfReleased(releasedSamples: Int) {
+        if (releasedSamples > 0) {
+            (backend as? FlushableBackend)?.flush()
+        }
+    }
+
+    private class HeldSample(
+        val eventData: EventData,
+        val success: OnSuccessCallback?,
+        val failure: OnFailureCallback?,
+    )
+
+    companion object {
+        private const val TAG = "NetworkAwareBackend"
+    }
+}
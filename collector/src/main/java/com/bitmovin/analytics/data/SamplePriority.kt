@@ -0,0 +1,35 @@
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.stateMachines.PlayerStates
+
+/**
+ * How fast a sample has to reach the analytics backend.
+ */
+internal enum class SamplePriority {
+    /**
+     * Startup, error and videostart failed samples. They bypass batching and any other delay
+     * and are sent on their own in-flight slot.
+     */
+    URGENT,
+
+    /**
+     * Heartbeats, quality changes and all other samples, which can be held back for a while.
+     */
+    DEFERRABLE,
+}
+
+private val URGENT_STATES =
+    setOf(
+        PlayerStates.STARTUP.name,
+        PlayerStates.ERROR.name,
+        PlayerStates.VIDEOSTART_FAILED.name,
+    )
+
+internal val EventData.priority: SamplePriority
+    get() =
+        if (state in URGENT_STATES || videoStartFailed || errorCode != null) {
+            SamplePriority.URGENT
+        } else {
+            SamplePriority.DEFERRABLE
+        }
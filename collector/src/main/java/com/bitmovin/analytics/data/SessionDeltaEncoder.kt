@@ -0,0 +1,113 @@
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.utils.DataSerializerKotlinX
+import com.bitmovin.analytics.utils.OmitDefaultsProfile
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonNull
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.jsonObject
+
+/**
+ * Encodes samples of an impression as delta to the first sample of that impression.
+ *
+ * The sample with sequence number 0 is sent in full and kept as base. Later samples of the impression
+ * only contain the fields that differ from the base, the impression id, the sequence number and
+ * [DELTA_BASE_KEY] which references the base sample. Fields of the base that are missing in a later
+ * sample are sent as explicit `null`.
+ *
+ * The base is only used once the request carrying it succeeded ([onBaseSent]), and it is forgotten if that
+ * request failed ([onBaseFailed]), so the ingress always has the base of a delta. Until then, and for
+ * impressions without a known base (e.g. after the collector was re-attached), samples are sent in full.
+ * Deltas always refer to the first sample and never to the previous one, so a lost or reordered
+ * later sample doesn't affect the reconstruction of the others.
+ */
+internal class SessionDeltaEncoder(
+    private val maxTrackedImpressions: Int = DEFAULT_MAX_TRACKED_IMPRESSIONS,
+) {
+    private val baseSamples =
+        object : LinkedHashMap<String, BaseSample>() {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, BaseSample>?) = size > maxTrackedImpressions
+        }
+
+    /**
+     * @param omitDefaults leaves out the fields that are equal to their default, see [OmitDefaultsProfile].
+     * A field that is left out of a delta but not of the base is sent as `null`, so its default is re-applied.
+     */
+    @Synchronized
+    fun encode(
+        eventData: EventData,
+        omitDefaults: Boolean = false,
+    ): String {
+        val encoded = DataSerializerKotlinX.jsonInstance.encodeToJsonElement(EventData.serializer(), eventData).jsonObject
+        val sample = if (omitDefaults) OmitDefaultsProfile.eventDataDefaults.omitDefaults(encoded) else encoded
+        if (eventData.sequenceNumber == BASE_SEQUENCE_NUMBER) {
+            baseSamples[eventData.impressionId] = BaseSample(sample)
+            return sample.toString()
+        }
+
+        val baseSample = baseSamples[eventData.impressionId]?.takeIf { it.isSent } ?: return sample.toString()
+        return encodeDelta(baseSample.sample, sample).toString()
+    }
+
+    /**
+     * Called once the request carrying the base sample of [impressionId] succeeded, later samples of the
+     * impression are delta encoded from then on.
+     */
+    @Synchronized
+    fun onBaseSent(impressionId: String) {
+        baseSamples[impressionId]?.isSent = true
+    }
+
+    /**
+     * Called if the request carrying the base sample of [impressionId] failed, later samples of the impression
+     * are sent in full.
+     */
+    @Synchronized
+    fun onBaseFailed(impressionId: String) {
+        if (baseSamples[impressionId]?.isSent == false) {
+            baseSamples.remove(impressionId)
+        }
+    }
+
+    private fun encodeDelta(
+        baseSample: JsonObject,
+        sample: JsonObject,
+    ): JsonObject {
+        val delta = LinkedHashMap<String, JsonElement>()
+        delta[IMPRESSION_ID_KEY] = sample.getValue(IMPRESSION_ID_KEY)
+        delta[SEQUENCE_NUMBER_KEY] = sample.getValue(SEQUENCE_NUMBER_KEY)
+        delta[DELTA_BASE_KEY] = JsonPrimitive(BASE_SEQUENCE_NUMBER)
+
+        sample.forEach { (key, value) ->
+            if (baseSample[key] != value) {
+                delta[key] = value
+            }
+        }
+        baseSample.keys.forEach { key ->
+            if (key !in sample) {
+                delta[key] = JsonNull
+            }
+        }
+        return JsonObject(delta)
+    }
+
+    private class BaseSample(val sample: JsonObject) {
+        var isSent = false
+    }
+
+    companion object {
+        /**
+         * Key of the sequence number of the sample a delta encoded sample is based on.
+         * Samples without it are sent in full.
+         */
+        const val DELTA_BASE_KEY = "deltaBaseSequenceNumber"
+        const val IMPRESSION_ID_KEY = "impressionId"
+        const val SEQUENCE_NUMBER_KEY = "sequenceNumber"
+        const val BASE_SEQUENCE_NUMBER = 0
+
+        // samples of older impressions are sent in full again
+        private const val DEFAULT_MAX_TRACKED_IMPRESSIONS = 10
+    }
+}
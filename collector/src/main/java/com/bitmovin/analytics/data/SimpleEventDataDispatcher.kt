@@ -67,12 +67,17 @@ internal class SimpleEventDataDispatcher(
     }
 
     override fun disable() {
+        flush()
         data.clear()
         adData.clear()
         ioScope.cancel()
         enabled = false
     }
 
+    override fun flush() {
+        (backend as? FlushableBackend)?.flush()
+    }
+
     override fun add(data: EventData) {
         if (enabled) {
             backend.send(data)
@@ -90,13 +95,19 @@ internal class SimpleEventDataDispatcher(
     }
 
     private fun forwardQueuedEvents(licenseKey: String) {
-        val it = data.iterator()
-        while (it.hasNext()) {
-            val eventData = it.next()
+        // impressions with urgent samples are forwarded first, so they don't wait behind the samples queued during
+        // the license call. The samples of an impression keep their order, sortedByDescending is stable
+        val queuedData =
+            generateSequence { data.poll() }
+                .toList()
+                .groupBy { it.impressionId }
+                .values
+                .sortedByDescending { samples -> samples.any { it.priority == SamplePriority.URGENT } }
+                .flatten()
+        queuedData.forEach { eventData ->
             backend.send(
                 if (eventData.key == null) eventData.copy(key = licenseKey) else eventData,
             )
-            it.remove()
         }
         val adIt = adData.iterator()
         while (adIt.hasNext()) {
@@ -4,14 +4,21 @@ import android.content.Context
 import android.database.sqlite.SQLiteDatabase
 import android.database.sqlite.SQLiteOpenHelper
 import androidx.annotation.VisibleForTesting
+import com.bitmovin.analytics.utils.Util
 import kotlin.concurrent.Volatile
 import kotlin.time.Duration
 import kotlin.time.Duration.Companion.days
 
-private const val VERSION = 1
+// 1: initial schema
+// 2: session id and event timestamp index, payload size column
+// 3: compressed payloads, payload format column
+private const val VERSION = 3
 private val DEFAULT_AGE_LIMIT: Duration = 14.days
 private const val DEFAULT_MAX_ENTRIES = 5_000
 
+// safety net in case the cached table statistics ever drift from the database
+private const val PERIODIC_SESSION_SEARCH_OPERATIONS = 1_000
+
 internal data class RetentionConfig(
     /**
      * The limit on the age of a session. Age of a sessions is counted from the first event in it.
@@ -36,12 +43,17 @@ internal class EventDatabase private constructor(context: Context) : EventDataba
             // context
             context.applicationContext,
             // name
-            "eventDatabase.sqlite",
+            DATABASE_NAME,
             // factory
             null,
             // version
             VERSION,
         ) {
+            init {
+                // a commit only appends to the log instead of rewriting the pages in place and syncing a rollback journal
+                setWriteAheadLoggingEnabled(true)
+            }
+
             override fun onCreate(db: SQLiteDatabase) {
                 EventDatabaseTable.allTables.forEach { it.create(db) }
             }
@@ -51,42 +63,122 @@ internal class EventDatabase private constructor(context: Context) : EventDataba
                 oldVersion: Int,
                 newVersion: Int,
             ) {
-                // nothing to do yet
+                EventDatabaseTable.allTables.forEach { it.upgrade(db, oldVersion) }
             }
         }
 
-    var retentionConfig: RetentionConfig = RetentionConfig(DEFAULT_AGE_LIMIT, DEFAULT_MAX_ENTRIES)
+    override var retentionConfig: RetentionConfig = RetentionConfig(DEFAULT_AGE_LIMIT, DEFAULT_MAX_ENTRIES)
+
+    private val tableStatistics = EventDatabaseTable.allTables.associateWith { TableStatistics(it) }
+    private var operationsSinceSessionSearch = 0
 
-    override fun push(entry: EventDatabaseEntry): Boolean =
-        dbHelper.catchingTransaction {
+    // the payloads are compressed before the transaction, so the producers don't hold the database lock for it
+    override fun push(entry: EventDatabaseEntry): Boolean {
+        val encoded = listOf(entry.encode())
+        return transaction {
             cleanupWithRetentionPolicy()
-            EventDatabaseTable.Events.push(transaction = this, entry = entry)
+            push(EventDatabaseTable.Events, encoded) == 1
         } ?: false
+    }
 
-    override fun pushAd(entry: EventDatabaseEntry): Boolean =
-        dbHelper.catchingTransaction {
+    override fun pushAd(entry: EventDatabaseEntry): Boolean {
+        val encoded = listOf(entry.encode())
+        return transaction {
             cleanupWithRetentionPolicy()
-            EventDatabaseTable.AdEvents.push(transaction = this, entry = entry)
+            push(EventDatabaseTable.AdEvents, encoded) == 1
         } ?: false
+    }
+
+    override fun pushAll(entries: List<EventDatabaseEntry>): Int {
+        val encoded = entries.map { it.encode() }
+        return transaction {
+            cleanupWithRetentionPolicy()
+            push(EventDatabaseTable.Events, encoded)
+        } ?: 0
+    }
+
+    override fun pushAllAd(entries: List<EventDatabaseEntry>): Int {
+        val encoded = entries.map { it.encode() }
+        return transaction {
+            cleanupWithRetentionPolicy()
+            push(EventDatabaseTable.AdEvents, encoded)
+        } ?: 0
+    }
 
     override fun pop(): EventDatabaseEntry? =
-        dbHelper.catchingTransaction {
+        transaction {
             cleanupWithRetentionPolicy()
             EventDatabaseTable.Events.pop(transaction = this)
+                .also { tableStatistics.getValue(EventDatabaseTable.Events).onPopped(if (it == null) 0 else 1) }
         }
 
     override fun popAd(): EventDatabaseEntry? =
-        dbHelper.catchingTransaction {
+        transaction {
             cleanupWithRetentionPolicy()
             EventDatabaseTable.AdEvents.pop(transaction = this)
+                .also { tableStatistics.getValue(EventDatabaseTable.AdEvents).onPopped(if (it == null) 0 else 1) }
         }
 
+    override fun popBatch(
+        limit: Int,
+        maxBytes: Int,
+    ): List<EventDatabaseEntry> =
+        transaction {
+            cleanupWithRetentionPolicy()
+            EventDatabaseTable.Events.popBatch(transaction = this, limit = limit, maxBytes = maxBytes)
+                .also { tableStatistics.getValue(EventDatabaseTable.Events).onPopped(it.size) }
+        } ?: emptyList()
+
+    override fun popAdBatch(
+        limit: Int,
+        maxBytes: Int,
+    ): List<EventDatabaseEntry> =
+        transaction {
+            cleanupWithRetentionPolicy()
+            EventDatabaseTable.AdEvents.popBatch(transaction = this, limit = limit, maxBytes = maxBytes)
+                .also { tableStatistics.getValue(EventDatabaseTable.AdEvents).onPopped(it.size) }
+        } ?: emptyList()
+
     override fun purge(): Int =
-        dbHelper.catchingTransaction {
+        transaction {
             EventDatabaseTable.allTables.sumOf { it.purge(transaction = this) }
+                .also { tableStatistics.values.forEach { it.onPurged() } }
         } ?: 0
 
+    // Runs the block while holding the lock of the table statistics, which are only valid if the transaction is committed.
+    // This serializes push, pop and purge, which costs no concurrency: every one of them writes, and SQLite only
+    // ever lets one write transaction run at a time, WAL only keeps readers from waiting for it.
+    private fun <T> transaction(block: Transaction.() -> T): T? =
+        synchronized(tableStatistics) {
+            val committed = dbHelper.catchingTransaction { Committed(block()) }
+            if (committed == null) {
+                tableStatistics.values.forEach { it.invalidate() }
+            }
+            committed?.value
+        }
+
+    private fun Transaction.push(
+        table: EventDatabaseTable,
+        entries: List<EncodedEventDatabaseEntry>,
+    ): Int {
+        val pushedCount = table.pushEncoded(transaction = this, entries = entries)
+        if (pushedCount == entries.size) {
+            tableStatistics.getValue(table).onPushed(entries.map { it.entry })
+        } else {
+            tableStatistics.getValue(table).invalidate()
+        }
+        return pushedCount
+    }
+
+    /**
+     * Searches the sessions violating the retention policy only when the cached statistics show that one of the
+     * limits is crossed, or every [PERIODIC_SESSION_SEARCH_OPERATIONS] operations.
+     */
     private fun Transaction.cleanupWithRetentionPolicy() {
+        operationsSinceSessionSearch++
+        if (!isRetentionLimitCrossed() && operationsSinceSessionSearch < PERIODIC_SESSION_SEARCH_OPERATIONS) return
+        operationsSinceSessionSearch = 0
+
         val deletableSessionIds =
             retentionConfig
                 .tablesUsedToFindSessions
@@ -102,17 +194,34 @@ internal class EventDatabase private constructor(context: Context) : EventDataba
                 transaction = this,
                 sessions = deletableSessionIds,
             )
+            tableStatistics.getValue(table).invalidate()
+        }
+    }
+
+    private fun Transaction.isRetentionLimitCrossed(): Boolean {
+        val ageLimitTimestamp = Util.timestamp - retentionConfig.ageLimit.inWholeMilliseconds
+        return retentionConfig.tablesUsedToFindSessions.any { table ->
+            val statistics = tableStatistics.getValue(table)
+            statistics.count(transaction = this) > retentionConfig.maximumEntriesPerType ||
+                statistics.oldestEventTimestamp(transaction = this) <= ageLimitTimestamp
         }
     }
 
+    private class Committed<T>(val value: T)
+
     @VisibleForTesting
     fun close() {
         // this is only necessary for robolectric tests.
         // otherwise (during normal app runtime) the connection to the database stays alive the whole app lifetime!
         dbHelper.close()
+        synchronized(tableStatistics) {
+            tableStatistics.values.forEach { it.invalidate() }
+        }
     }
 
     companion object {
+        const val DATABASE_NAME = "eventDatabase.sqlite"
+
         @Volatile
         private var instance: EventDatabase? = null
 
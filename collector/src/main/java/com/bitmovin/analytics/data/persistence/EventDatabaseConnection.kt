@@ -7,6 +7,11 @@ internal data class EventDatabaseEntry(
 )
 
 internal interface EventDatabaseConnection {
+    /**
+     * The limits on the age and count of the stored entries, enforced before every operation
+     */
+    var retentionConfig: RetentionConfig
+
     /**
      * Adds the passed [EventDatabaseEntry] into the database
      * @return true if the data was stored successfully, otherwise false
@@ -19,6 +24,18 @@ internal interface EventDatabaseConnection {
      */
     fun pushAd(entry: EventDatabaseEntry): Boolean
 
+    /**
+     * Adds the passed [EventDatabaseEntry]s into the database in one transaction
+     * @return the number of entries that were stored successfully
+     */
+    fun pushAll(entries: List<EventDatabaseEntry>): Int
+
+    /**
+     * Adds the passed [EventDatabaseEntry]s into the database in one transaction
+     * @return the number of entries that were stored successfully
+     */
+    fun pushAllAd(entries: List<EventDatabaseEntry>): Int
+
     /**
      * Pops the database (**removes the very first entry**)
      * @return the very first entry which was added to the db (FIFO), or null if the database is empty
@@ -31,6 +48,26 @@ internal interface EventDatabaseConnection {
      */
     fun popAd(): EventDatabaseEntry?
 
+    /**
+     * Pops up to [limit] entries of the database in one transaction (**removes them**).
+     * Stops before the entry that would exceed [maxBytes] of data, the first entry is always popped.
+     * @return the very first entries which were added to the db (FIFO), or an empty list if the database is empty
+     */
+    fun popBatch(
+        limit: Int,
+        maxBytes: Int = Int.MAX_VALUE,
+    ): List<EventDatabaseEntry>
+
+    /**
+     * Pops up to [limit] entries of the database in one transaction (**removes them**).
+     * Stops before the entry that would exceed [maxBytes] of data, the first entry is always popped.
+     * @return the very first entries which were added to the db (FIFO), or an empty list if the database is empty
+     */
+    fun popAdBatch(
+        limit: Int,
+        maxBytes: Int = Int.MAX_VALUE,
+    ): List<EventDatabaseEntry>
+
     /**
      * Clears the database
      * @return number of rows affected
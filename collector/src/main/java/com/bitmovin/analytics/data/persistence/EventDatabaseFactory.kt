@@ -0,0 +1,95 @@
+package com.bitmovin.analytics.data.persistence
+
+import android.content.Context
+import androidx.annotation.VisibleForTesting
+import com.bitmovin.analytics.utils.BitmovinLog
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
+
+private const val MIGRATION_BATCH_SIZE = 100
+
+internal enum class EventDatabaseType {
+    SQLITE,
+    SEGMENT_LOG,
+}
+
+internal object EventDatabaseFactory {
+    private const val TAG = "EventDatabaseFactory"
+
+    /**
+     * The [SegmentLogEventDatabase] is only used when it is selected by [type], see
+     * [com.bitmovin.analytics.api.TransmissionConfig.segmentLogEventQueueEnabled]. If its segments can't be opened,
+     * e.g. when the disk is full, the [EventDatabase] is used instead.
+     *
+     * Entries left in the other database by an app version or configuration that used it are moved into the
+     * returned one on [migrationScope], so switching between them doesn't lose the cached samples.
+     */
+    fun getInstance(
+        context: Context,
+        type: EventDatabaseType,
+        migrationScope: CoroutineScope,
+    ): EventDatabaseConnection {
+        val database =
+            when (type) {
+                EventDatabaseType.SQLITE -> EventDatabase.getInstance(context)
+                EventDatabaseType.SEGMENT_LOG ->
+                    try {
+                        SegmentLogEventDatabase.getInstance(context)
+                    } catch (e: Exception) {
+                        BitmovinLog.e(TAG, "Cannot open the segment log, falling back to SQLite", e)
+                        EventDatabase.getInstance(context)
+                    }
+            }
+        migrationScope.launch {
+            val previousDatabase = openPreviousDatabase(context, database) ?: return@launch
+            val movedCount = moveEntries(from = previousDatabase, to = database)
+            if (movedCount > 0) {
+                BitmovinLog.d(TAG) { "Moved $movedCount cached entries into the selected event database" }
+            }
+        }
+        return database
+    }
+
+    /**
+     * Opens the database that is not [database], but only if it was created before, so the unused one is not
+     * created on every start.
+     */
+    private fun openPreviousDatabase(
+        context: Context,
+        database: EventDatabaseConnection,
+    ): EventDatabaseConnection? =
+        try {
+            when {
+                database is SegmentLogEventDatabase ->
+                    if (context.getDatabasePath(EventDatabase.DATABASE_NAME).exists()) EventDatabase.getInstance(context) else null
+                SegmentLogEventDatabase.directory(context).exists() -> SegmentLogEventDatabase.getInstance(context)
+                else -> null
+            }
+        } catch (e: Exception) {
+            BitmovinLog.e(TAG, "Cannot open the previous event database, its cached entries are not moved", e)
+            null
+        }
+
+    /**
+     * Pops all entries of [from] and pushes them into [to], in batches, so a failure only loses the current batch.
+     * @return the number of entries that were stored in [to]
+     */
+    @VisibleForTesting
+    fun moveEntries(
+        from: EventDatabaseConnection,
+        to: EventDatabaseConnection,
+    ): Int {
+        var movedCount = 0
+        var entries = from.popBatch(MIGRATION_BATCH_SIZE)
+        while (entries.isNotEmpty()) {
+            movedCount += to.pushAll(entries)
+            entries = from.popBatch(MIGRATION_BATCH_SIZE)
+        }
+        var adEntries = from.popAdBatch(MIGRATION_BATCH_SIZE)
+        while (adEntries.isNotEmpty()) {
+            movedCount += to.pushAllAd(adEntries)
+            adEntries = from.popAdBatch(MIGRATION_BATCH_SIZE)
+        }
+        return movedCount
+    }
+}
@@ -1,19 +1,60 @@
 package com.bitmovin.analytics.data.persistence
 
 import android.database.Cursor
+import android.database.DatabaseUtils
 import android.database.sqlite.SQLiteDatabase
 import android.database.sqlite.SQLiteException
-import androidx.core.content.contentValuesOf
+import androidx.annotation.VisibleForTesting
+import com.bitmovin.analytics.utils.BitmovinLog
 import com.bitmovin.analytics.utils.Util
+import java.util.zip.DataFormatException
 
 private const val COLUMN_INTERNAL_ID: String = "_id"
 private const val COLUMN_SESSION_ID: String = "session_id"
 private const val COLUMN_EVENT_TIMESTAMP: String = "event_timestamp"
 private const val COLUMN_EVENT_DATA: String = "event_data"
+private const val COLUMN_EVENT_DATA_SIZE: String = "event_data_size"
+private const val COLUMN_EVENT_DATA_FORMAT: String = "event_data_format"
 
 internal sealed class EventDatabaseTable(
     val tableName: String,
 ) : EventDatabaseTableOperation {
+    private val statements = StatementCache()
+
+    private val insertSql =
+        "INSERT INTO $tableName ($COLUMN_SESSION_ID, $COLUMN_EVENT_TIMESTAMP, $COLUMN_EVENT_DATA, $COLUMN_EVENT_DATA_SIZE, " +
+            "$COLUMN_EVENT_DATA_FORMAT) VALUES (?, ?, ?, ?, ?)"
+
+    // the SQL of the queue and retention queries is visible to the tests, which check that every one uses an index
+
+    @VisibleForTesting
+    internal val deleteRowSql = "DELETE FROM $tableName WHERE $COLUMN_INTERNAL_ID = ?"
+
+    // a query can't be a compiled statement, but the connection keeps the prepared statement of the same SQL,
+    // the internal id keeps the insertion order of entries with the same timestamp
+    @VisibleForTesting
+    internal val oldestRowsSql =
+        "SELECT $COLUMN_INTERNAL_ID, $COLUMN_SESSION_ID, $COLUMN_EVENT_TIMESTAMP, $COLUMN_EVENT_DATA, $COLUMN_EVENT_DATA_SIZE, " +
+            "$COLUMN_EVENT_DATA_FORMAT FROM $tableName ORDER BY $COLUMN_EVENT_TIMESTAMP ASC, $COLUMN_INTERNAL_ID ASC LIMIT ?"
+
+    @VisibleForTesting
+    internal val countSql = "SELECT COUNT(*) FROM $tableName"
+
+    @VisibleForTesting
+    internal val oldestEventTimestampSql = "SELECT MIN($COLUMN_EVENT_TIMESTAMP) FROM $tableName"
+
+    // the session of the entry at the count limit, counted from the newest entry
+    @VisibleForTesting
+    internal val sessionAtCountLimitSql =
+        "SELECT $COLUMN_SESSION_ID FROM $tableName ORDER BY $COLUMN_EVENT_TIMESTAMP DESC LIMIT ?,1"
+
+    @VisibleForTesting
+    internal val sessionsBeyondAgeLimitSql =
+        "SELECT $COLUMN_SESSION_ID FROM $tableName WHERE $COLUMN_EVENT_TIMESTAMP <= ? GROUP BY $COLUMN_SESSION_ID"
+
+    @VisibleForTesting
+    internal fun deleteSessionsSql(sessionCount: Int) =
+        "DELETE FROM $tableName WHERE $COLUMN_SESSION_ID in (${List(sessionCount) { "?" }.joinToString()})"
 
     object Events : EventDatabaseTable(tableName = "events")
     object AdEvents : EventDatabaseTable(tableName = "adEvents")
@@ -26,56 +67,81 @@ internal sealed class EventDatabaseTable(
             $COLUMN_INTERNAL_ID INTEGER PRIMARY KEY AUTOINCREMENT,
              $COLUMN_SESSION_ID TEXT,
              $COLUMN_EVENT_TIMESTAMP INTEGER,
-             $COLUMN_EVENT_DATA TEXT
+             $COLUMN_EVENT_DATA TEXT,
+             $COLUMN_EVENT_DATA_SIZE INTEGER NOT NULL DEFAULT 0,
+             $COLUMN_EVENT_DATA_FORMAT INTEGER NOT NULL DEFAULT 0
             );
             """.trimIndent(),
         )
 
+        createIndexes(database)
+    }
+
+    override fun upgrade(database: SQLiteDatabase, oldVersion: Int) = with(database) {
+        if (oldVersion < 2) {
+            execSQL("ALTER TABLE $tableName ADD COLUMN $COLUMN_EVENT_DATA_SIZE INTEGER NOT NULL DEFAULT 0;")
+            execSQL(
+                """
+                UPDATE $tableName
+                SET $COLUMN_EVENT_DATA_SIZE = coalesce(length(CAST($COLUMN_EVENT_DATA AS BLOB)), 0);
+                """.trimIndent(),
+            )
+            createIndexes(database)
+        }
+        if (oldVersion < 3) {
+            // the existing entries keep their text payload
+            execSQL("ALTER TABLE $tableName ADD COLUMN $COLUMN_EVENT_DATA_FORMAT INTEGER NOT NULL DEFAULT 0;")
+        }
+    }
+
+    private fun createIndexes(database: SQLiteDatabase) = with(database) {
         execSQL(
             """
             CREATE INDEX IF NOT EXISTS ${tableName}_$COLUMN_EVENT_TIMESTAMP
             ON $tableName($COLUMN_EVENT_TIMESTAMP);
             """.trimIndent(),
         )
-    }
 
-    override fun push(transaction: Transaction, entry: EventDatabaseEntry): Boolean {
-        val rowId = transaction.insert(
-            tableName = tableName,
-            values = contentValuesOf(
-                COLUMN_SESSION_ID to entry.sessionId,
-                COLUMN_EVENT_TIMESTAMP to entry.eventTimestamp,
-                COLUMN_EVENT_DATA to entry.data,
-            ),
+        // used to delete sessions and to find the sessions beyond the age limit
+        execSQL(
+            """
+            CREATE INDEX IF NOT EXISTS ${tableName}_${COLUMN_SESSION_ID}_$COLUMN_EVENT_TIMESTAMP
+            ON $tableName($COLUMN_SESSION_ID, $COLUMN_EVENT_TIMESTAMP);
+            """.trimIndent(),
         )
-        return rowId != -1L
     }
 
-    override fun pop(transaction: Transaction): EventDatabaseEntry? {
-        val rows = transaction.query(
-            tableName = tableName,
-            columns = listOf(
-                COLUMN_INTERNAL_ID,
-                COLUMN_SESSION_ID,
-                COLUMN_EVENT_TIMESTAMP,
-                COLUMN_EVENT_DATA,
-            ),
-            orderBy = "$COLUMN_EVENT_TIMESTAMP ASC",
-            limit = "1",
-        ).use {
-            it.getAllRows()
+    override fun push(transaction: Transaction, entry: EventDatabaseEntry, payloadFormat: EventPayloadFormat): Boolean =
+        pushEncoded(transaction, listOf(entry.encode(payloadFormat))) == 1
+
+    override fun pushAll(transaction: Transaction, entries: List<EventDatabaseEntry>, payloadFormat: EventPayloadFormat): Int =
+        pushEncoded(transaction, entries.map { it.encode(payloadFormat) })
+
+    override fun pushEncoded(transaction: Transaction, entries: List<EncodedEventDatabaseEntry>): Int {
+        val statement = statements.get(transaction, insertSql)
+        return entries.count { (entry, payload) ->
+            statement.bindString(1, entry.sessionId)
+            statement.bindLong(2, entry.eventTimestamp)
+            when (val value = payload.value) {
+                is ByteArray -> statement.bindBlob(3, value)
+                else -> statement.bindString(3, value as String)
+            }
+            // the size of the uncompressed payload, which is what a batch of entries is sent as
+            statement.bindLong(4, payload.size)
+            statement.bindLong(5, payload.format.id.toLong())
+            statement.executeInsert() != -1L
         }
+    }
+
+    override fun pop(transaction: Transaction): EventDatabaseEntry? {
+        val rows = queryOldestRows(transaction, limit = 1)
 
         if (rows.size != 1) {
             return null
         }
         val row = rows.first()
 
-        val affectedRows = transaction.delete(
-            tableName = tableName,
-            whereClause = "$COLUMN_INTERNAL_ID = ?",
-            whereArgs = listOf(row.internalId.toString()),
-        )
+        val affectedRows = deleteRows(transaction, rows)
         if (affectedRows != 1) {
             // Deletion didn't work -> throw to cancel the transaction
             throw SQLiteException("Cannot delete row")
@@ -83,10 +149,57 @@ internal sealed class EventDatabaseTable(
         return row.entry
     }
 
+    override fun popBatch(transaction: Transaction, limit: Int, maxBytes: Int): List<EventDatabaseEntry> {
+        if (limit <= 0) {
+            return emptyList()
+        }
+        val batch = ArrayList<Row>()
+        var batchBytes = 0L
+        for (row in queryOldestRows(transaction, limit)) {
+            batchBytes += row.dataSize
+            if (batch.isNotEmpty() && batchBytes > maxBytes) {
+                break
+            }
+            batch.add(row)
+        }
+
+        val affectedRows = deleteRows(transaction, batch)
+        if (affectedRows != batch.size) {
+            // Deletion didn't work -> throw to cancel the transaction
+            throw SQLiteException("Cannot delete rows")
+        }
+        return batch.map { it.entry }
+    }
+
+    private fun queryOldestRows(transaction: Transaction, limit: Int): List<Row> = transaction.rawQuery(
+        sql = oldestRowsSql,
+        selectionArgs = listOf(limit.toString()),
+    ).use {
+        it.getAllRows()
+    }
+
+    // the compiled delete of a single row, executed for every row instead of compiling a statement per batch size
+    private fun deleteRows(transaction: Transaction, rows: List<Row>): Int {
+        val statement = statements.get(transaction, deleteRowSql)
+        return rows.sumOf { row ->
+            statement.bindLong(1, row.internalId)
+            statement.executeUpdateDelete()
+        }
+    }
+
     override fun purge(transaction: Transaction): Int {
         return transaction.delete(tableName)
     }
 
+    override fun count(transaction: Transaction): Long =
+        DatabaseUtils.longForQuery(transaction.db, countSql, null)
+
+    override fun oldestEventTimestamp(transaction: Transaction): Long? = transaction.rawQuery(
+        sql = oldestEventTimestampSql,
+    ).use {
+        if (!it.moveToFirst() || it.isNull(0)) null else it.getLong(0)
+    }
+
     override fun deleteSessions(transaction: Transaction, sessions: List<String>) {
         // it is not possible to delete more than 999 elements at a time by ID
         // this number is hardcoded in `sqlite3.c`
@@ -94,13 +207,7 @@ internal sealed class EventDatabaseTable(
         sessions
             .chunked(999)
             .forEach { sessionIdsToDelete ->
-                transaction.delete(
-                    tableName = tableName,
-                    whereClause = "$COLUMN_SESSION_ID in (${
-                        sessionIdsToDelete.joinToString { "?" }
-                    })",
-                    whereArgs = sessionIdsToDelete,
-                )
+                transaction.db.execSQL(deleteSessionsSql(sessionIdsToDelete.size), sessionIdsToDelete.toTypedArray())
             }
     }
 
@@ -115,11 +222,9 @@ internal sealed class EventDatabaseTable(
     private fun findSessionsOutsideTheCountLimit(
         transaction: Transaction,
         retentionConfig: RetentionConfig,
-    ): List<String> = transaction.query(
-        tableName = tableName,
-        columns = listOf(COLUMN_SESSION_ID),
-        orderBy = "$COLUMN_EVENT_TIMESTAMP DESC",
-        limit = "${retentionConfig.maximumEntriesPerType},1",
+    ): List<String> = transaction.rawQuery(
+        sql = sessionAtCountLimitSql,
+        selectionArgs = listOf(retentionConfig.maximumEntriesPerType.toString()),
     ).use {
         if (!it.moveToLast()) null else it.getString(it.getColumnIndexOrThrow(COLUMN_SESSION_ID))
     }?.let {
@@ -131,20 +236,17 @@ internal sealed class EventDatabaseTable(
         retentionConfig: RetentionConfig,
     ): List<String> {
         val now = Util.timestamp
-        return transaction.query(
-            tableName = tableName,
-            columns = listOf(COLUMN_SESSION_ID),
-            selection = "$COLUMN_EVENT_TIMESTAMP <= ?",
+        return transaction.rawQuery(
+            sql = sessionsBeyondAgeLimitSql,
             selectionArgs = listOf(
                 (now - retentionConfig.ageLimit.inWholeMilliseconds).toString(),
             ),
-            groupBy = COLUMN_SESSION_ID,
         ).use {
             it.getStrings(it.getColumnIndexOrThrow(COLUMN_SESSION_ID))
         }
     }
 
-    private data class Row(val internalId: Long, val entry: EventDatabaseEntry)
+    private data class Row(val internalId: Long, val dataSize: Long, val entry: EventDatabaseEntry)
 
     private fun Cursor.getStrings(columnIndex: Int): List<String> {
         if (!moveToFirst()) {
@@ -168,10 +270,12 @@ internal sealed class EventDatabaseTable(
             val internalId = getLong(getColumnIndexOrThrow(COLUMN_INTERNAL_ID))
             val sessionId = getString(getColumnIndexOrThrow(COLUMN_SESSION_ID))
             val eventTimestamp = getLong(getColumnIndexOrThrow(COLUMN_EVENT_TIMESTAMP))
-            val eventData = getString(getColumnIndexOrThrow(COLUMN_EVENT_DATA))
+            val eventDataSize = getLong(getColumnIndexOrThrow(COLUMN_EVENT_DATA_SIZE))
+            val eventData = getEventData(eventDataSize)
             rows.add(
                 Row(
                     internalId,
+                    eventDataSize,
                     EventDatabaseEntry(
                         sessionId = sessionId,
                         eventTimestamp = eventTimestamp,
@@ -184,6 +288,22 @@ internal sealed class EventDatabaseTable(
         return rows
     }
 
+    private fun Cursor.getEventData(size: Long): String {
+        val dataIndex = getColumnIndexOrThrow(COLUMN_EVENT_DATA)
+        val formatId = getInt(getColumnIndexOrThrow(COLUMN_EVENT_DATA_FORMAT))
+        return try {
+            when (EventPayloadFormat.of(formatId)) {
+                EventPayloadFormat.JSON_TEXT -> getString(dataIndex)
+                EventPayloadFormat.DEFLATE_DICTIONARY_1 -> EventPayloadCodec.decompress(getBlob(dataIndex), size.toInt())
+                null -> throw DataFormatException("Unknown payload format $formatId")
+            }
+        } catch (e: DataFormatException) {
+            // an unreadable entry is still popped, the queue drops it since it can't be deserialized
+            BitmovinLog.e("EventDatabaseTable", "Cannot read payload of $tableName entry", e)
+            ""
+        }
+    }
+
     companion object {
         val allTables = listOf(Events, AdEvents)
     }
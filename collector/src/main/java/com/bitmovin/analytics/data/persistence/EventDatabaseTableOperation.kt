@@ -9,10 +9,35 @@ internal interface EventDatabaseTableOperation {
     fun create(database: SQLiteDatabase)
 
     /**
-     * Adds the passed [EventDatabaseEntry] into the database
+     * Migrates the table in place from the schema of the database version [oldVersion] to the current one
+     */
+    fun upgrade(database: SQLiteDatabase, oldVersion: Int)
+
+    /**
+     * Adds the passed [EventDatabaseEntry] into the database, with its payload stored in [payloadFormat]
      * @return true if the data was stored successfully, otherwise false
      */
-    fun push(transaction: Transaction, entry: EventDatabaseEntry): Boolean
+    fun push(
+        transaction: Transaction,
+        entry: EventDatabaseEntry,
+        payloadFormat: EventPayloadFormat = EventPayloadFormat.DEFLATE_DICTIONARY_1,
+    ): Boolean
+
+    /**
+     * Adds the passed [EventDatabaseEntry]s into the database, with their payloads stored in [payloadFormat]
+     * @return the number of entries that were stored successfully
+     */
+    fun pushAll(
+        transaction: Transaction,
+        entries: List<EventDatabaseEntry>,
+        payloadFormat: EventPayloadFormat = EventPayloadFormat.DEFLATE_DICTIONARY_1,
+    ): Int
+
+    /**
+     * Adds the passed entries, whose payloads were encoded before the transaction, into the database
+     * @return the number of entries that were stored successfully
+     */
+    fun pushEncoded(transaction: Transaction, entries: List<EncodedEventDatabaseEntry>): Int
 
     /**
      * Pops the database (**removes the very first entry**)
@@ -20,12 +45,29 @@ internal interface EventDatabaseTableOperation {
      */
     fun pop(transaction: Transaction): EventDatabaseEntry?
 
+    /**
+     * Pops up to [limit] entries of the database (**removes them**), stopping before the entry that would
+     * exceed [maxBytes] of data. The first entry is always popped, regardless of its size.
+     * @return the very first entries which were added to the db (FIFO), or an empty list if the database is empty
+     */
+    fun popBatch(transaction: Transaction, limit: Int, maxBytes: Int): List<EventDatabaseEntry>
+
     /**
      * Clears the database
      * @return number of rows affected
      */
     fun purge(transaction: Transaction): Int
 
+    /**
+     * Counts the entries
+     */
+    fun count(transaction: Transaction): Long
+
+    /**
+     * @return the timestamp of the oldest entry, or null if the table is empty
+     */
+    fun oldestEventTimestamp(transaction: Transaction): Long?
+
     /**
      * Removes all entries associated to the session.
      */
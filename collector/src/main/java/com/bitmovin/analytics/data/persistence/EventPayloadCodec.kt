@@ -0,0 +1,123 @@
+package com.bitmovin.analytics.data.persistence
+
+import okio.utf8Size
+import java.io.ByteArrayOutputStream
+import java.util.zip.DataFormatException
+import java.util.zip.Deflater
+import java.util.zip.Inflater
+
+/**
+ * Formats of the stored event payloads, [id] is the value of the format column of a row.
+ *
+ * Entries written by older versions of the collector stay in the database across updates, so a released
+ * format must never change.
+ */
+internal enum class EventPayloadFormat(val id: Int) {
+    /**
+     * The UTF-8 JSON as TEXT. All entries written before database version 3 have this format.
+     */
+    JSON_TEXT(0),
+
+    /**
+     * The UTF-8 JSON as zlib BLOB, deflated with [EventPayloadDictionary.V1] as preset dictionary.
+     */
+    DEFLATE_DICTIONARY_1(1),
+    ;
+
+    companion object {
+        fun of(id: Int): EventPayloadFormat? = entries.firstOrNull { it.id == id }
+    }
+}
+
+/**
+ * Payload of an entry as it is stored, either a [String] or a [ByteArray] depending on the [format].
+ * [size] is the size of the uncompressed UTF-8 payload.
+ */
+internal class EncodedEventPayload(val format: EventPayloadFormat, val value: Any, val size: Long)
+
+/**
+ * An entry with its payload already encoded, so the compression doesn't happen while holding the database lock.
+ */
+internal data class EncodedEventDatabaseEntry(val entry: EventDatabaseEntry, val payload: EncodedEventPayload)
+
+internal fun EventDatabaseEntry.encode(payloadFormat: EventPayloadFormat = EventPayloadFormat.DEFLATE_DICTIONARY_1) =
+    EncodedEventDatabaseEntry(this, EventPayloadCodec.encode(data, payloadFormat))
+
+/**
+ * Compresses the JSON payloads of the event database.
+ *
+ * A single [Deflater] and [Inflater] are shared, instead of holding the native memory of one pair per thread.
+ * Payloads are inflated within the serialized database transactions, while the producers deflate them before
+ * their transaction and only wait for each other.
+ */
+internal object EventPayloadCodec {
+    private val deflater = Deflater(Deflater.DEFAULT_COMPRESSION)
+    private val inflater = Inflater()
+
+    /**
+     * Encodes [data] in [format]. Payloads that don't get smaller by compressing them are stored as text.
+     */
+    fun encode(
+        data: String,
+        format: EventPayloadFormat = EventPayloadFormat.DEFLATE_DICTIONARY_1,
+    ): EncodedEventPayload {
+        if (format == EventPayloadFormat.JSON_TEXT) {
+            return EncodedEventPayload(EventPayloadFormat.JSON_TEXT, data, data.utf8Size())
+        }
+        val utf8 = data.encodeToByteArray()
+        val compressed = deflate(utf8)
+        return if (compressed.size < utf8.size) {
+            EncodedEventPayload(format, compressed, utf8.size.toLong())
+        } else {
+            EncodedEventPayload(EventPayloadFormat.JSON_TEXT, data, utf8.size.toLong())
+        }
+    }
+
+    /**
+     * Inflates a [EventPayloadFormat.DEFLATE_DICTIONARY_1] payload of [size] UTF-8 bytes.
+     * @throws DataFormatException if the payload is corrupt or doesn't match its size
+     */
+    fun decompress(
+        compressed: ByteArray,
+        size: Int,
+    ): String =
+        synchronized(inflater) {
+            inflater.reset()
+            inflater.setInput(compressed)
+            // one spare byte to detect payloads that are larger than their size
+            val output = ByteArray(size + 1)
+            var length = 0
+            while (!inflater.finished()) {
+                if (inflater.needsDictionary()) {
+                    inflater.setDictionary(EventPayloadDictionary.V1)
+                    continue
+                }
+                val inflated = inflater.inflate(output, length, output.size - length)
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw DataFormatException("Payload is truncated")
+                }
+                length += inflated
+                if (length > size) {
+                    throw DataFormatException("Payload is larger than its size of $size bytes")
+                }
+            }
+            if (length != size) {
+                throw DataFormatException("Payload is smaller than its size of $size bytes")
+            }
+            output.decodeToString(endIndex = length)
+        }
+
+    private fun deflate(utf8: ByteArray): ByteArray =
+        synchronized(deflater) {
+            deflater.reset()
+            deflater.setDictionary(EventPayloadDictionary.V1)
+            deflater.setInput(utf8)
+            deflater.finish()
+            val output = ByteArrayOutputStream(utf8.size / 4 + 64)
+            val chunk = ByteArray(4096)
+            while (!deflater.finished()) {
+                output.write(chunk, 0, deflater.deflate(chunk))
+            }
+            output.toByteArray()
+        }
+}
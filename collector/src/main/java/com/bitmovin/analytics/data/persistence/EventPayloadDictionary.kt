@@ -0,0 +1,76 @@
+package com.bitmovin.analytics.data.persistence
+
+/**
+ * Preset dictionaries of the compressed [EventPayloadFormat]s.
+ *
+ * A dictionary is part of the stored format: entries written with it can only be inflated with the exact
+ * same bytes. It must never be changed once released, an improved dictionary requires a new format.
+ */
+internal object EventPayloadDictionary {
+    /**
+     * Dictionary of [EventPayloadFormat.DEFLATE_DICTIONARY_1], built from the samples of the collector:
+     * the keys of the ad samples, the values shared by most samples and the skeleton of a heartbeat sample
+     * in the order of the generated JSON writer.
+     *
+     * Deflate reaches the end of the dictionary with the shortest distances, so it ends with the most
+     * frequent content.
+     */
+    val V1: ByteArray by lazy {
+        buildString {
+            append(AD_SAMPLE_KEYS_V1.lines().joinToString(""))
+            append(COMMON_VALUES_V1.lines().joinToString(""))
+            append(SAMPLE_SKELETON_V1.lines().joinToString(""))
+            (1..100).forEach { append(""","customData$it":""""") }
+            append(""","experimentName":""}""")
+        }.encodeToByteArray()
+    }
+
+    private val AD_SAMPLE_KEYS_V1 =
+        """
+        "wrapperAdsCount":"adSkippable":"adSkippableAfter":"adClickthroughUrl":"adDescription":
+        "adDuration":"adImpressionId":"adPlaybackHeight":"adPlaybackWidth":"adStartupTime":
+        "adTitle":"advertiserName":"apiFramework":"clicked":"clickPosition":
+        "closed":"closePosition":"completed":"creativeAdId":"creativeId":
+        "dealId":"isLinear":"mediaPath":"mediaServer":"mediaUrl":
+        "midpoint":"minSuggestedDuration":"quartile1":"quartile3":"skipped":
+        "skipPosition":"started":"surveyUrl":"timePlayed":"universalAdIdRegistry":
+        "universalAdIdValue":"adPodPosition":"exitPosition":"playPercentage":"skipPercentage":
+        "clickPercentage":"closePercentage":"errorPosition":"errorPercentage":"timeToContent":
+        "timeFromContent":"adOffset":"adScheduleTime":"adReplaceContentDuration":"adPreloadOffset":
+        "adTagPath":"adTagServer":"adTagType":"adTagUrl":"adIsPersistent":
+        "adIdPlayer":"manifestDownloadTime":"adFallbackIndex":"adModule":"adModuleVersion":
+        "videoImpressionId":
+        """.trimIndent()
+
+    private val COMMON_VALUES_V1 =
+        """
+        "ready""source_changed""startup""adfinished""buffering""error""videostart_failed"
+        "pause""qualitychange""customdatachange""audiotrackchange""subtitlechange""seeking"
+        "hls""progressive""smooth""application/x-mpegURL""video/mp4"".m3u8"".mpd"
+        "com.widevine.alpha""widevine""playready""clearkey""hevc""hvc1.""vp09.""av01."
+        "Mozilla/5.0 (Linux; Android ""; wv) AppleWebKit/537.36 (KHTML, like Gecko) ""Mobile Safari/537.36"
+        "ExoPlayer/""ExoPlayerLib/""Android:Exoplayer""Android:Media3""bitmovin""Bitmovin Player"
+        "TV""Tablet""Phone""Google""samsung""Pixel ""https://"
+        """.trimIndent()
+
+    private val SAMPLE_SKELETON_V1 =
+        """
+        {"impressionId":"","userId":"","key":"","videoId":"","videoTitle":"","customUserId":"","path":"",
+        "cdnProvider":"","userAgent":"","deviceInformation":{"manufacturer":"","model":"","isTV":false,
+        "operatingSystem":"Android","operatingSystemMajor":"","operatingSystemMinor":"","deviceClass":"Phone"},
+        "language":"en_US","analyticsVersion":"","playerTech":"","domain":"","screenHeight":0,"screenWidth":0,
+        "autoplay":false,"isLive":false,"isCasting":false,"castTech":"","videoDuration":0,"time":17,
+        "videoWindowWidth":0,"videoWindowHeight":0,"droppedFrames":0,"played":0,"buffered":0,"paused":0,"ad":0,
+        "adPosition":"","adId":"","adSystem":"","adIndex":0,"seeked":0,"videoPlaybackWidth":0,
+        "videoPlaybackHeight":0,"videoBitrate":0,"audioBitrate":0,"videoTimeStart":0,"videoTimeEnd":0,
+        "videoStartupTime":0,"duration":0,"startupTime":0,"state":"playing","errorCode":0,"errorMessage":"",
+        "errorData":"","errorSeverity":"","playerStartupTime":0,"pageLoadType":1,"pageLoadTime":0,"version":"",
+        "streamFormat":"dash","mpdUrl":"https://","m3u8Url":"https://","progUrl":"https://","isMuted":false,
+        "sequenceNumber":0,"platform":"android","videoCodec":"avc1.","audioCodec":"mp4a.40.2",
+        "supportedVideoCodecs":["avc","hevc","vp9","av1"],"subtitleEnabled":false,"subtitleLanguage":"",
+        "audioLanguage":"en","drmType":"","drmLoadTime":0,"videoStartFailed":false,"videoStartFailedReason":"",
+        "isProgramChange":false,"downloadSpeedInfo":{"segmentsDownloadCount":0,"segmentsDownloadSize":0,
+        "segmentsDownloadTime":0,"avgDownloadSpeed":0.0,"maxDownloadSpeed":0.0,"minDownloadSpeed":0.0,
+        "avgTimeToFirstByte":0.0},"retryCount":0,"player":"bitmovin","playerKey":""
+        """.trimIndent()
+}
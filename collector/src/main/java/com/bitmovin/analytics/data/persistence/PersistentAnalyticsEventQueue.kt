@@ -5,10 +5,11 @@ import com.bitmovin.analytics.dtos.EventData
 import com.bitmovin.analytics.persistence.EventQueueConfig
 import com.bitmovin.analytics.persistence.queue.AnalyticsEventQueue
 import com.bitmovin.analytics.utils.DataSerializerKotlinX
+import com.bitmovin.analytics.utils.DtoJsonWriters
 
 internal class PersistentAnalyticsEventQueue(
     eventQueueConfig: EventQueueConfig,
-    private val eventDatabase: EventDatabase,
+    private val eventDatabase: EventDatabaseConnection,
 ) : AnalyticsEventQueue {
     init {
         eventDatabase.retentionConfig =
@@ -26,23 +27,45 @@ internal class PersistentAnalyticsEventQueue(
         eventDatabase.pushAd(event.toEventDatabaseEntry())
     }
 
+    override fun pushEvents(events: List<EventData>) {
+        eventDatabase.pushAll(events.map { it.toEventDatabaseEntry() })
+    }
+
+    override fun pushAdEvents(events: List<AdEventData>) {
+        eventDatabase.pushAllAd(events.map { it.toEventDatabaseEntry() })
+    }
+
     override fun clear() {
         eventDatabase.purge()
     }
 
     override fun popEvent() =
         eventDatabase.popUntilTransformationIsSuccessful(
-            EventDatabase::pop,
+            EventDatabaseConnection::pop,
         ) { toEventData() }
 
     override fun popAdEvent() =
         eventDatabase.popUntilTransformationIsSuccessful(
-            EventDatabase::popAd,
+            EventDatabaseConnection::popAd,
         ) { toAdEventData() }
+
+    override fun popEvents(
+        limit: Int,
+        maxBytes: Int,
+    ) = eventDatabase.popBatchUntilTransformationIsSuccessful(
+        { popBatch(limit, maxBytes) },
+    ) { toEventData() }
+
+    override fun popAdEvents(
+        limit: Int,
+        maxBytes: Int,
+    ) = eventDatabase.popBatchUntilTransformationIsSuccessful(
+        { popAdBatch(limit, maxBytes) },
+    ) { toAdEventData() }
 }
 
-private fun <T> EventDatabase.popUntilTransformationIsSuccessful(
-    popBlock: EventDatabase.() -> EventDatabaseEntry?,
+private fun <T> EventDatabaseConnection.popUntilTransformationIsSuccessful(
+    popBlock: EventDatabaseConnection.() -> EventDatabaseEntry?,
     transform: EventDatabaseEntry.() -> T,
 ): T? {
     var event: T?
@@ -53,11 +76,24 @@ private fun <T> EventDatabase.popUntilTransformationIsSuccessful(
     return event
 }
 
+// entries that can't be transformed are dropped, an empty list is only returned once the database is empty
+private fun <T : Any> EventDatabaseConnection.popBatchUntilTransformationIsSuccessful(
+    popBatchBlock: EventDatabaseConnection.() -> List<EventDatabaseEntry>,
+    transform: EventDatabaseEntry.() -> T?,
+): List<T> {
+    var events: List<T>
+    do {
+        val databaseEntries = popBatchBlock().ifEmpty { return emptyList() }
+        events = databaseEntries.mapNotNull { it.transform() }
+    } while (events.isEmpty())
+    return events
+}
+
 private fun EventData.toEventDatabaseEntry() =
     EventDatabaseEntry(
         sessionId = impressionId,
         eventTimestamp = time,
-        data = DataSerializerKotlinX.serialize(this)!!,
+        data = DtoJsonWriters.encodeToString(this),
     )
 
 private fun EventDatabaseEntry.toEventData() =
@@ -70,7 +106,7 @@ private fun AdEventData.toEventDatabaseEntry() =
     EventDatabaseEntry(
         sessionId = videoImpressionId,
         eventTimestamp = time,
-        data = DataSerializerKotlinX.serialize(this)!!,
+        data = DtoJsonWriters.encodeToString(this),
     )
 
 private fun EventDatabaseEntry.toAdEventData() =
@@ -6,7 +6,9 @@ import com.bitmovin.analytics.utils.BitmovinLog
 
 internal fun <T> SQLiteOpenHelper.catchingTransaction(block: Transaction.() -> T): T? {
     return try {
-        writableDatabase.transaction {
+        // every transaction writes, Android starts a non-exclusive transaction with BEGIN IMMEDIATE, which takes the
+        // write lock up front instead of failing when upgrading a read lock later
+        writableDatabase.transaction(exclusive = false) {
             Transaction(this).block()
         }
     } catch (e: Exception) {
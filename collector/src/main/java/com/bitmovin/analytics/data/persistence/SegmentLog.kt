@@ -0,0 +1,424 @@
+package com.bitmovin.analytics.data.persistence
+
+import com.bitmovin.analytics.utils.BitmovinLog
+import java.io.File
+import java.io.IOException
+import java.io.RandomAccessFile
+import java.nio.ByteBuffer
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.util.zip.CRC32
+
+// record layout: body length (0 marks the end of the segment), CRC32 of the body, state, body
+private const val RECORD_HEADER_SIZE = 9
+private const val CRC_OFFSET = 4
+private const val STATE_OFFSET = 8
+
+// body layout: event timestamp, session id length, session id, payload format, payload size, stored length, payload
+private const val BODY_FIXED_SIZE = 8 + 2 + 1 + 8 + 4
+
+private const val STATE_LIVE: Byte = 1
+private const val STATE_POPPED: Byte = 2
+private const val STATE_DELETED: Byte = 3
+
+private const val SEGMENT_FILE_PREFIX = "segment-"
+private const val SEGMENT_FILE_SUFFIX = ".log"
+private const val ALLOCATION_CHUNK_SIZE = 64 * 1024
+
+/**
+ * FIFO of [EventDatabaseEntry]s, appended to fixed-size, memory-mapped segment files.
+ *
+ * Records are never moved or rewritten. Popping or deleting a record only flips its state byte, and a segment
+ * file is deleted as a whole once none of its records is live anymore. The length of a record is written last
+ * and its body is checked against a CRC32 on recovery, so a record that was torn by a crash or power loss
+ * ends the segment.
+ *
+ * The log is not thread safe, [SegmentLogEventDatabase] serializes the access. Opening a new segment throws an
+ * [IOException] if its file can't be created or allocated, e.g. when the disk is full.
+ */
+internal class SegmentLog(
+    private val directory: File,
+    private val segmentSize: Int,
+) {
+    // ordered by id, the last one is the one records are appended to
+    private val segments = LinkedHashMap<Long, Segment>()
+
+    // references of the records in append order, popped and deleted ones are skipped when they reach the head
+    private val queue = ArrayDeque<Long>()
+
+    // ordered by the first push of a session since the log was opened
+    private val sessions = LinkedHashMap<String, SessionRecords>()
+    private val crc = CRC32()
+    private var scratch = ByteArray(1024)
+
+    var liveCount = 0
+        private set
+
+    private val activeSegment: Segment
+        get() = segments.values.last()
+
+    init {
+        directory.mkdirs()
+        recover()
+        if (segments.isEmpty()) {
+            openSegment(0)
+        }
+    }
+
+    /**
+     * @return false if the entry doesn't fit into a single segment
+     * @throws IOException if a new segment is needed and can't be opened
+     */
+    fun append(encoded: EncodedEventDatabaseEntry): Boolean {
+        val entry = encoded.entry
+        val sessionId = entry.sessionId.encodeToByteArray()
+        val payload =
+            when (val value = encoded.payload.value) {
+                is ByteArray -> value
+                else -> value.toString().encodeToByteArray()
+            }
+        val bodySize = BODY_FIXED_SIZE + sessionId.size + payload.size
+        // the 4 zero bytes after the last record mark the end of a segment
+        if (sessionId.size > Short.MAX_VALUE || RECORD_HEADER_SIZE + bodySize + 4 > segmentSize) {
+            return false
+        }
+
+        var segment = activeSegment
+        if (segment.writePosition + RECORD_HEADER_SIZE + bodySize + 4 > segment.buffer.capacity()) {
+            val fullSegment = segment
+            segment = openSegment(fullSegment.id + 1)
+            if (fullSegment.liveCount == 0) {
+                dropSegment(fullSegment)
+            }
+        }
+        val body = scratch(bodySize)
+        ByteBuffer.wrap(body).apply {
+            putLong(entry.eventTimestamp)
+            putShort(sessionId.size.toShort())
+            put(sessionId)
+            put(encoded.payload.format.id.toByte())
+            putLong(encoded.payload.size)
+            putInt(payload.size)
+            put(payload)
+        }
+        crc.reset()
+        crc.update(body, 0, bodySize)
+
+        val offset = segment.writePosition
+        segment.buffer.position(offset + RECORD_HEADER_SIZE)
+        segment.buffer.put(body, 0, bodySize)
+        segment.buffer.put(offset + STATE_OFFSET, STATE_LIVE)
+        segment.buffer.putInt(offset + CRC_OFFSET, crc.value.toInt())
+        segment.buffer.putInt(offset, bodySize)
+        segment.writePosition = offset + RECORD_HEADER_SIZE + bodySize
+
+        onLive(segment, offset, entry.sessionId, entry.eventTimestamp)
+        return true
+    }
+
+    /**
+     * Pops up to [limit] records, stopping before the record whose payload would exceed [maxBytes].
+     * The first record is always popped.
+     */
+    fun pop(
+        limit: Int,
+        maxBytes: Int,
+    ): List<EventDatabaseEntry> {
+        val entries = mutableListOf<EventDatabaseEntry>()
+        var bytes = 0L
+        while (entries.size < limit) {
+            val reference = queue.firstOrNull() ?: break
+            val segment = segments[reference.segmentId]
+            val offset = reference.offset
+            if (segment == null || segment.buffer.get(offset + STATE_OFFSET) != STATE_LIVE) {
+                queue.removeFirst()
+                continue
+            }
+            val record = read(segment.buffer, offset)
+            bytes += record.payloadSize
+            if (entries.isNotEmpty() && bytes > maxBytes) break
+
+            queue.removeFirst()
+            sessions[record.sessionId]?.let {
+                it.liveCount--
+                if (it.liveCount == 0) sessions.remove(record.sessionId)
+            }
+            onDead(segment, offset, STATE_POPPED)
+            entries.add(EventDatabaseEntry(record.sessionId, record.eventTimestamp, record.data()))
+        }
+        return entries
+    }
+
+    /**
+     * Finds the sessions that started at or before [ageLimitTimestamp], and the oldest sessions that have to go
+     * to get down to [maximumEntries] records.
+     */
+    fun findPurgeableSessions(
+        ageLimitTimestamp: Long,
+        maximumEntries: Int,
+    ): List<String> {
+        val purgeableSessions = mutableListOf<String>()
+        var remainingCount = liveCount
+        // stops at the first session that is in the limits, sessions are pushed in the order they started
+        for ((sessionId, records) in sessions) {
+            if (records.firstEventTimestamp > ageLimitTimestamp && remainingCount <= maximumEntries) break
+            purgeableSessions.add(sessionId)
+            remainingCount -= records.liveCount
+        }
+        return purgeableSessions
+    }
+
+    /**
+     * Tombstones the live records of the [sessionIds], segments without live records left are deleted.
+     * @return number of records deleted
+     */
+    fun deleteSessions(sessionIds: Collection<String>): Int {
+        var deletedCount = 0
+        sessionIds.forEach { sessionId ->
+            val records = sessions.remove(sessionId) ?: return@forEach
+            for (index in 0 until records.size) {
+                val reference = records.references[index]
+                val segment = segments[reference.segmentId] ?: continue
+                if (segment.buffer.get(reference.offset + STATE_OFFSET) == STATE_LIVE) {
+                    onDead(segment, reference.offset, STATE_DELETED)
+                    deletedCount++
+                }
+            }
+        }
+        return deletedCount
+    }
+
+    /**
+     * Deletes all segment files.
+     * @return number of records deleted
+     * @throws IOException if the new segment can't be opened, nothing is deleted then
+     */
+    fun purge(): Int {
+        val deletedCount = liveCount
+        val purgedSegments = segments.values.toList()
+        // opened first, so the log is left unchanged if it fails
+        openSegment(activeSegment.id + 1)
+        purgedSegments.forEach { dropSegment(it) }
+        queue.clear()
+        sessions.clear()
+        liveCount = 0
+        return deletedCount
+    }
+
+    /**
+     * Writes the mapped segments back to their files.
+     */
+    fun force() {
+        segments.values.forEach { it.buffer.force() }
+    }
+
+    private fun recover() {
+        val segmentFiles =
+            directory.listFiles()
+                .orEmpty()
+                .mapNotNull { file -> file.segmentId()?.let { it to file } }
+                .sortedBy { it.first }
+        segmentFiles.forEach { (id, file) ->
+            val segment = mapSegment(id, file, size = file.length().toInt().coerceAtLeast(segmentSize), allocate = false)
+            segments[id] = segment
+            recover(segment)
+        }
+        // empty segments are only kept to append to
+        val lastId = segments.values.lastOrNull()?.id
+        segments.values.filter { it.liveCount == 0 && it.id != lastId }.forEach { dropSegment(it) }
+    }
+
+    private fun recover(segment: Segment) {
+        val buffer = segment.buffer
+        var offset = 0
+        while (offset + RECORD_HEADER_SIZE + 4 <= buffer.capacity()) {
+            val bodySize = buffer.getInt(offset)
+            if (bodySize == 0) break
+            if (!isValidRecord(buffer, offset, bodySize)) {
+                BitmovinLog.e("SegmentLog", "Dropping torn tail of ${segment.file.name} at offset $offset")
+                for (index in offset until buffer.capacity()) {
+                    buffer.put(index, 0.toByte())
+                }
+                break
+            }
+            if (buffer.get(offset + STATE_OFFSET) == STATE_LIVE) {
+                val record = read(buffer, offset)
+                onLive(segment, offset, record.sessionId, record.eventTimestamp)
+            }
+            offset += RECORD_HEADER_SIZE + bodySize
+        }
+        segment.writePosition = offset
+    }
+
+    private fun isValidRecord(
+        buffer: MappedByteBuffer,
+        offset: Int,
+        bodySize: Int,
+    ): Boolean {
+        if (bodySize < BODY_FIXED_SIZE || offset + RECORD_HEADER_SIZE + bodySize + 4 > buffer.capacity()) return false
+        val body = scratch(bodySize)
+        buffer.position(offset + RECORD_HEADER_SIZE)
+        buffer.get(body, 0, bodySize)
+        crc.reset()
+        crc.update(body, 0, bodySize)
+        return crc.value.toInt() == buffer.getInt(offset + CRC_OFFSET)
+    }
+
+    private fun read(
+        buffer: MappedByteBuffer,
+        offset: Int,
+    ): Record {
+        val body = buffer.duplicate()
+        body.position(offset + RECORD_HEADER_SIZE)
+        val eventTimestamp = body.getLong()
+        val sessionId = ByteArray(body.getShort().toInt()).also { body.get(it) }.decodeToString()
+        val formatId = body.get().toInt()
+        val payloadSize = body.getLong()
+        val payload = ByteArray(body.getInt()).also { body.get(it) }
+        return Record(sessionId, eventTimestamp, formatId, payloadSize, payload)
+    }
+
+    private fun onLive(
+        segment: Segment,
+        offset: Int,
+        sessionId: String,
+        eventTimestamp: Long,
+    ) {
+        val reference = reference(segment.id, offset)
+        queue.addLast(reference)
+        val records = sessions.getOrPut(sessionId) { SessionRecords(eventTimestamp) }
+        records.add(reference)
+        records.firstEventTimestamp = minOf(records.firstEventTimestamp, eventTimestamp)
+        segment.liveCount++
+        liveCount++
+    }
+
+    private fun onDead(
+        segment: Segment,
+        offset: Int,
+        state: Byte,
+    ) {
+        segment.buffer.put(offset + STATE_OFFSET, state)
+        segment.liveCount--
+        liveCount--
+        if (segment.liveCount == 0 && segment !== activeSegment) {
+            dropSegment(segment)
+        }
+    }
+
+    private fun openSegment(id: Long): Segment =
+        mapSegment(id, File(directory, "$SEGMENT_FILE_PREFIX$id$SEGMENT_FILE_SUFFIX"), segmentSize, allocate = true).also {
+            segments[id] = it
+        }
+
+    private fun dropSegment(segment: Segment) {
+        segments.remove(segment.id)
+        deleteFile(segment)
+    }
+
+    // A mapping can't be released explicitly, it stays until its buffer is garbage collected, and so would the disk
+    // space of a deleted file. Truncating the file first frees the space right away. The buffer must never be
+    // accessed afterwards, which holds as segments are only reached through [segments].
+    private fun deleteFile(segment: Segment) {
+        try {
+            RandomAccessFile(segment.file, "rw").use { it.setLength(0) }
+        } catch (e: IOException) {
+            BitmovinLog.e("SegmentLog", "Cannot truncate ${segment.file.name}", e)
+        }
+        if (!segment.file.delete()) {
+            BitmovinLog.e("SegmentLog", "Cannot delete ${segment.file.name}")
+        }
+    }
+
+    private fun scratch(size: Int): ByteArray {
+        if (scratch.size < size) {
+            scratch = ByteArray(maxOf(size, scratch.size * 2))
+        }
+        return scratch
+    }
+
+    private fun File.segmentId(): Long? =
+        name.takeIf { it.startsWith(SEGMENT_FILE_PREFIX) && it.endsWith(SEGMENT_FILE_SUFFIX) }
+            ?.removePrefix(SEGMENT_FILE_PREFIX)
+            ?.removeSuffix(SEGMENT_FILE_SUFFIX)
+            ?.toLongOrNull()
+
+    private class Segment(val id: Long, val file: File, val buffer: MappedByteBuffer) {
+        var writePosition = 0
+        var liveCount = 0
+    }
+
+    /**
+     * The per-session index, with the references of all records of the session that were live when they were added.
+     */
+    private class SessionRecords(var firstEventTimestamp: Long) {
+        var references = LongArray(4)
+        var size = 0
+        var liveCount = 0
+
+        fun add(reference: Long) {
+            if (size == references.size) {
+                references = references.copyOf(size * 2)
+            }
+            references[size++] = reference
+            liveCount++
+        }
+    }
+
+    private class Record(
+        val sessionId: String,
+        val eventTimestamp: Long,
+        private val formatId: Int,
+        val payloadSize: Long,
+        private val payload: ByteArray,
+    ) {
+        fun data(): String =
+            try {
+                when (EventPayloadFormat.of(formatId)) {
+                    EventPayloadFormat.JSON_TEXT -> payload.decodeToString()
+                    EventPayloadFormat.DEFLATE_DICTIONARY_1 -> EventPayloadCodec.decompress(payload, payloadSize.toInt())
+                    null -> throw IllegalStateException("Unknown payload format $formatId")
+                }
+            } catch (e: Exception) {
+                BitmovinLog.e("SegmentLog", "Cannot read payload of entry", e)
+                // an empty payload can't be transformed into a sample and is dropped by the queue
+                ""
+            }
+    }
+
+    companion object {
+        private fun mapSegment(
+            id: Long,
+            file: File,
+            size: Int,
+            allocate: Boolean,
+        ): Segment =
+            RandomAccessFile(file, "rw").use { randomAccessFile ->
+                if (allocate) {
+                    // writes the blocks instead of leaving a sparse file, so a full disk fails here with an IOException,
+                    // and not with a SIGBUS once the mapped memory is written
+                    val zeros = ByteArray(minOf(size, ALLOCATION_CHUNK_SIZE))
+                    var remaining = size
+                    while (remaining > 0) {
+                        val length = minOf(remaining, zeros.size)
+                        randomAccessFile.write(zeros, 0, length)
+                        remaining -= length
+                    }
+                }
+                randomAccessFile.setLength(size.toLong())
+                // the mapping stays valid after the channel is closed
+                Segment(id, file, randomAccessFile.channel.map(FileChannel.MapMode.READ_WRITE, 0, size.toLong()))
+            }
+
+        private fun reference(
+            segmentId: Long,
+            offset: Int,
+        ): Long = (segmentId shl 32) or offset.toLong()
+
+        private val Long.segmentId: Long
+            get() = this ushr 32
+
+        private val Long.offset: Int
+            get() = (this and 0xFFFFFFFFL).toInt()
+    }
+}
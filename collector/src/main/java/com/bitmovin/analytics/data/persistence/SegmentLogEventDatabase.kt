@@ -0,0 +1,146 @@
+package com.bitmovin.analytics.data.persistence
+
+import android.content.Context
+import com.bitmovin.analytics.utils.BitmovinLog
+import com.bitmovin.analytics.utils.Util
+import java.io.File
+import kotlin.concurrent.Volatile
+
+private const val DEFAULT_SEGMENT_SIZE = 1024 * 1024
+
+/**
+ * [EventDatabaseConnection] that stores the entries in one append-only [SegmentLog] per event type in [directory],
+ * instead of a SQLite database.
+ *
+ * The payloads are compressed like the ones of [EventDatabase]. Entries are popped in the order they were pushed,
+ * and the [retentionConfig] is enforced by tombstoning whole sessions, in all logs, before every operation.
+ * Everything the retention needs is kept in the in-memory session index, which is rebuilt from the segments
+ * when the database is opened.
+ *
+ * The mapped segments are written back to their files by the OS, also after the process died. Records that were
+ * not completely written back on a power loss are detected by their checksum and dropped on the next start.
+ *
+ * The SQLite based [EventDatabase] stays the default, this one is selected by
+ * [com.bitmovin.analytics.api.TransmissionConfig.segmentLogEventQueueEnabled], see [EventDatabaseFactory].
+ */
+internal class SegmentLogEventDatabase(
+    directory: File,
+    segmentSize: Int = DEFAULT_SEGMENT_SIZE,
+) : EventDatabaseConnection {
+    private val logs =
+        EventDatabaseTable.allTables.associateWith {
+            SegmentLog(File(directory, it.tableName), segmentSize)
+        }
+    private val events = logs.getValue(EventDatabaseTable.Events)
+    private val adEvents = logs.getValue(EventDatabaseTable.AdEvents)
+
+    override var retentionConfig: RetentionConfig = RetentionConfig()
+
+    // the payloads are compressed before taking the lock, like in EventDatabase
+    override fun push(entry: EventDatabaseEntry): Boolean = append(events, listOf(entry.encode())) == 1
+
+    override fun pushAd(entry: EventDatabaseEntry): Boolean = append(adEvents, listOf(entry.encode())) == 1
+
+    override fun pushAll(entries: List<EventDatabaseEntry>): Int = append(events, entries.map { it.encode() })
+
+    override fun pushAllAd(entries: List<EventDatabaseEntry>): Int = append(adEvents, entries.map { it.encode() })
+
+    override fun pop(): EventDatabaseEntry? = pop(events, limit = 1, maxBytes = Int.MAX_VALUE).firstOrNull()
+
+    override fun popAd(): EventDatabaseEntry? = pop(adEvents, limit = 1, maxBytes = Int.MAX_VALUE).firstOrNull()
+
+    override fun popBatch(
+        limit: Int,
+        maxBytes: Int,
+    ): List<EventDatabaseEntry> = pop(events, limit, maxBytes)
+
+    override fun popAdBatch(
+        limit: Int,
+        maxBytes: Int,
+    ): List<EventDatabaseEntry> = pop(adEvents, limit, maxBytes)
+
+    @Synchronized
+    override fun purge(): Int =
+        logs.values.sumOf {
+            try {
+                it.purge()
+            } catch (e: Exception) {
+                BitmovinLog.e(TAG, "Purging the segment log failed", e)
+                0
+            }
+        }
+
+    /**
+     * Writes all mapped segments back to their files.
+     */
+    @Synchronized
+    fun force() {
+        logs.values.forEach { it.force() }
+    }
+
+    // like a failed transaction of EventDatabase, an I/O error, e.g. a full disk, drops the entries not stored yet
+    @Synchronized
+    private fun append(
+        log: SegmentLog,
+        entries: List<EncodedEventDatabaseEntry>,
+    ): Int {
+        cleanupWithRetentionPolicy()
+        var appendedCount = 0
+        try {
+            entries.forEach { if (log.append(it)) appendedCount++ }
+        } catch (e: Exception) {
+            BitmovinLog.e(TAG, "Appending to the segment log failed", e)
+        }
+        return appendedCount
+    }
+
+    @Synchronized
+    private fun pop(
+        log: SegmentLog,
+        limit: Int,
+        maxBytes: Int,
+    ): List<EventDatabaseEntry> {
+        cleanupWithRetentionPolicy()
+        return log.pop(limit, maxBytes)
+    }
+
+    private fun cleanupWithRetentionPolicy() {
+        val ageLimitTimestamp = Util.timestamp - retentionConfig.ageLimit.inWholeMilliseconds
+        val deletableSessionIds =
+            retentionConfig
+                .tablesUsedToFindSessions
+                .flatMap {
+                    logs.getValue(it).findPurgeableSessions(
+                        ageLimitTimestamp = ageLimitTimestamp,
+                        maximumEntries = retentionConfig.maximumEntriesPerType,
+                    )
+                }
+        if (deletableSessionIds.isEmpty()) return
+        val sessionIds = deletableSessionIds.toSet()
+        logs.values.forEach { it.deleteSessions(sessionIds) }
+    }
+
+    companion object {
+        private const val TAG = "SegmentLogEventDatabase"
+        private const val DIRECTORY_NAME = "eventLog"
+
+        @Volatile
+        private var instance: SegmentLogEventDatabase? = null
+
+        fun directory(context: Context): File = File(context.applicationContext.filesDir, DIRECTORY_NAME)
+
+        /**
+         * @throws java.io.IOException if the segments can't be opened
+         */
+        fun getInstance(context: Context): SegmentLogEventDatabase {
+            if (instance == null) {
+                synchronized(SegmentLogEventDatabase::class) {
+                    if (instance == null) {
+                        instance = SegmentLogEventDatabase(directory(context))
+                    }
+                }
+            }
+            return instance!!
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.bitmovin.analytics.data.persistence
+
+/**
+ * Cached row count and oldest event timestamp of an [EventDatabaseTable], kept up to date on inserts and
+ * deletes so the retention policy doesn't need to scan the table on every operation.
+ *
+ * Values that can't be derived from an operation, e.g. after deleting whole sessions, are invalidated and
+ * read from the table again on their next use.
+ */
+internal class TableStatistics(private val table: EventDatabaseTable) {
+    private var count: Long? = null
+
+    // Long.MAX_VALUE when the table is empty
+    private var oldestEventTimestamp: Long? = null
+
+    fun count(transaction: Transaction): Long = count ?: table.count(transaction).also { count = it }
+
+    fun oldestEventTimestamp(transaction: Transaction): Long =
+        oldestEventTimestamp ?: (table.oldestEventTimestamp(transaction) ?: Long.MAX_VALUE).also { oldestEventTimestamp = it }
+
+    fun onPushed(entries: List<EventDatabaseEntry>) {
+        if (entries.isEmpty()) return
+        count = count?.plus(entries.size)
+        oldestEventTimestamp = oldestEventTimestamp?.coerceAtMost(entries.minOf { it.eventTimestamp })
+    }
+
+    fun onPopped(poppedCount: Int) {
+        if (poppedCount == 0) return
+        count = count?.minus(poppedCount)
+        // the popped entries were the oldest ones
+        oldestEventTimestamp = null
+    }
+
+    fun onPurged() {
+        count = 0
+        oldestEventTimestamp = Long.MAX_VALUE
+    }
+
+    fun invalidate() {
+        count = null
+        oldestEventTimestamp = null
+    }
+}
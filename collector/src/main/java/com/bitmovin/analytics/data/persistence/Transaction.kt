@@ -1,39 +1,17 @@
 package com.bitmovin.analytics.data.persistence
 
-import android.content.ContentValues
 import android.database.sqlite.SQLiteDatabase
+import android.database.sqlite.SQLiteStatement
 
 @JvmInline
 internal value class Transaction(val db: SQLiteDatabase)
 
-internal fun Transaction.insert(
-    tableName: String,
-    nullColumnHack: String? = null,
-    values: ContentValues,
-) = db.insert(
-    tableName,
-    nullColumnHack,
-    values,
-)
-
-internal fun Transaction.query(
-    tableName: String,
-    columns: List<String>,
-    selection: String? = null,
+internal fun Transaction.rawQuery(
+    sql: String,
     selectionArgs: List<String>? = null,
-    groupBy: String? = null,
-    having: String? = null,
-    orderBy: String? = null,
-    limit: String? = null,
-) = db.query(
-    tableName,
-    columns.toTypedArray(),
-    selection,
+) = db.rawQuery(
+    sql,
     selectionArgs?.toTypedArray(),
-    groupBy,
-    having,
-    orderBy,
-    limit,
 )
 
 internal fun Transaction.delete(
@@ -45,3 +23,32 @@ internal fun Transaction.delete(
     whereClause,
     whereArgs?.toTypedArray(),
 )
+
+/**
+ * Compiled statements of an [EventDatabaseTable], re-used by the transactions instead of compiling the same SQL
+ * for every operation.
+ *
+ * The tables are singletons, so the cache isn't bound to a database: it holds the statements of the database of
+ * the last transaction and compiles them again once a transaction runs on another one, e.g. after re-opening it.
+ */
+internal class StatementCache {
+    private var database: SQLiteDatabase? = null
+    private val statements = HashMap<String, SQLiteStatement>()
+
+    /**
+     * The compiled [sql] of the [Transaction.db], without bound arguments
+     */
+    @Synchronized
+    fun get(
+        transaction: Transaction,
+        sql: String,
+    ): SQLiteStatement {
+        if (transaction.db !== database) {
+            // the database was re-opened, the statements of the closed one can't be used anymore
+            statements.values.forEach { it.close() }
+            statements.clear()
+            database = transaction.db
+        }
+        return statements.getOrPut(sql) { transaction.db.compileStatement(sql) }.apply { clearBindings() }
+    }
+}
@@ -6,225 +6,229 @@ import com.bitmovin.analytics.api.error.ErrorSeverity
 import com.bitmovin.analytics.data.AdSample
 import com.bitmovin.analytics.enums.AdType
 import com.bitmovin.analytics.utils.Util
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.Serializable
+import kotlinx.serialization.protobuf.ProtoNumber
 
+// The ProtoBuf field numbers are part of the wire format, never change or reuse them
+@OptIn(ExperimentalSerializationApi::class)
 @Serializable
 data class AdEventData(
-    var wrapperAdsCount: Int? = null,
-    var adSkippable: Boolean? = null,
-    var adSkippableAfter: Long? = null,
-    var adClickthroughUrl: String? = null,
-    var adDescription: String? = null,
-    var adDuration: Long? = null,
-    var adId: String? = null,
-    var adImpressionId: String? = null,
-    var adPlaybackHeight: Int? = null,
-    var adPlaybackWidth: Int? = null,
-    var adStartupTime: Long? = null,
-    var adSystem: String? = null,
-    var adTitle: String? = null,
-    var advertiserName: String? = null,
-    var apiFramework: String? = null,
-    var clicked: Long? = 0,
-    var clickPosition: Long? = null,
-    var closed: Long? = 0,
-    var closePosition: Long? = null,
-    var completed: Long? = 0,
-    var creativeAdId: String? = null,
-    var creativeId: String? = null,
-    var dealId: String? = null,
-    var isLinear: Boolean? = null,
-    var mediaPath: String? = null,
-    var mediaServer: String? = null,
-    var mediaUrl: String? = null,
-    var midpoint: Long? = 0,
-    var minSuggestedDuration: Long? = null,
-    var quartile1: Long? = 0,
-    var quartile3: Long? = 0,
-    var skipped: Long? = 0,
-    var skipPosition: Long? = null,
-    var started: Long? = 0,
-    var streamFormat: String? = null,
-    var surveyUrl: String? = null,
-    val time: Long = Util.timestamp,
-    var timePlayed: Long? = null,
-    var universalAdIdRegistry: String? = null,
-    var universalAdIdValue: String? = null,
-    var videoBitrate: Int? = null,
-    var adPodPosition: Int? = null,
-    var exitPosition: Long? = null,
-    var playPercentage: Int? = null,
-    var skipPercentage: Int? = null,
-    var clickPercentage: Int? = null,
-    var closePercentage: Int? = null,
-    var errorPosition: Long? = null,
-    var errorPercentage: Int? = null,
-    var timeToContent: Long? = null,
-    var timeFromContent: Long? = null,
-    var adPosition: String? = null,
-    var adOffset: String? = null,
-    var adScheduleTime: Long? = null,
-    var adReplaceContentDuration: Long? = null,
-    var adPreloadOffset: Long? = null,
-    var adTagPath: String? = null,
-    var adTagServer: String? = null,
-    var adTagType: String? = null,
-    var adTagUrl: String? = null,
-    var adIsPersistent: Boolean? = null,
-    var adIdPlayer: String? = null,
-    var manifestDownloadTime: Long? = null,
-    var errorCode: Int? = null,
-    var errorData: String? = null,
-    var errorMessage: String? = null,
-    var errorSeverity: ErrorSeverity? = null,
-    var adFallbackIndex: Long = 0,
-    var adModule: String? = null,
-    var adModuleVersion: String? = null,
-    var videoImpressionId: String,
-    var userAgent: String,
-    var language: String,
-    var cdnProvider: String? = null,
-    var customData1: String? = null,
-    var customData2: String? = null,
-    var customData3: String? = null,
-    var customData4: String? = null,
-    var customData5: String? = null,
-    var customData6: String? = null,
-    var customData7: String? = null,
-    var customData8: String? = null,
-    var customData9: String? = null,
-    var customData10: String? = null,
-    var customData11: String? = null,
-    var customData12: String? = null,
-    var customData13: String? = null,
-    var customData14: String? = null,
-    var customData15: String? = null,
-    var customData16: String? = null,
-    var customData17: String? = null,
-    var customData18: String? = null,
-    var customData19: String? = null,
-    var customData20: String? = null,
-    var customData21: String? = null,
-    var customData22: String? = null,
-    var customData23: String? = null,
-    var customData24: String? = null,
-    var customData25: String? = null,
-    var customData26: String? = null,
-    var customData27: String? = null,
-    var customData28: String? = null,
-    var customData29: String? = null,
-    var customData30: String? = null,
-    var customData31: String? = null,
-    var customData32: String? = null,
-    var customData33: String? = null,
-    var customData34: String? = null,
-    var customData35: String? = null,
-    var customData36: String? = null,
-    var customData37: String? = null,
-    var customData38: String? = null,
-    var customData39: String? = null,
-    var customData40: String? = null,
-    var customData41: String? = null,
-    var customData42: String? = null,
-    var customData43: String? = null,
-    var customData44: String? = null,
-    var customData45: String? = null,
-    var customData46: String? = null,
-    var customData47: String? = null,
-    var customData48: String? = null,
-    var customData49: String? = null,
-    var customData50: String? = null,
-    var customData51: String? = null,
-    var customData52: String? = null,
-    var customData53: String? = null,
-    var customData54: String? = null,
-    var customData55: String? = null,
-    var customData56: String? = null,
-    var customData57: String? = null,
-    var customData58: String? = null,
-    var customData59: String? = null,
-    var customData60: String? = null,
-    var customData61: String? = null,
-    var customData62: String? = null,
-    var customData63: String? = null,
-    var customData64: String? = null,
-    var customData65: String? = null,
-    var customData66: String? = null,
-    var customData67: String? = null,
-    var customData68: String? = null,
-    var customData69: String? = null,
-    var customData70: String? = null,
-    var customData71: String? = null,
-    var customData72: String? = null,
-    var customData73: String? = null,
-    var customData74: String? = null,
-    var customData75: String? = null,
-    var customData76: String? = null,
-    var customData77: String? = null,
-    var customData78: String? = null,
-    var customData79: String? = null,
-    var customData80: String? = null,
-    var customData81: String? = null,
-    var customData82: String? = null,
-    var customData83: String? = null,
-    var customData84: String? = null,
-    var customData85: String? = null,
-    var customData86: String? = null,
-    var customData87: String? = null,
-    var customData88: String? = null,
-    var customData89: String? = null,
-    var customData90: String? = null,
-    var customData91: String? = null,
-    var customData92: String? = null,
-    var customData93: String? = null,
-    var customData94: String? = null,
-    var customData95: String? = null,
-    var customData96: String? = null,
-    var customData97: String? = null,
-    var customData98: String? = null,
-    var customData99: String? = null,
-    var customData100: String? = null,
-    var customUserId: String? = null,
-    var domain: String,
-    var experimentName: String? = null,
-    var key: String? = null,
-    var path: String? = null,
-    var player: String,
-    var playerKey: String? = null,
-    var playerTech: String,
-    var screenHeight: Int,
-    var screenWidth: Int,
-    var version: String? = null,
-    var userId: String,
-    var videoId: String? = null,
-    var videoTitle: String? = null,
-    var videoWindowHeight: Int,
-    var videoWindowWidth: Int,
-    var analyticsVersion: String? = null,
-    var autoplay: Boolean? = null,
-    var platform: String,
-    var audioCodec: String? = null,
-    var audioBitrate: Int? = null,
-    var videoCodec: String? = null,
-    var retryCount: Int = 0,
-    var adIndex: Int? = null,
-    var adType: Int,
-    var quartile1FailedBeaconUrl: String? = null,
-    var midpointFailedBeaconUrl: String? = null,
-    var quartile3FailedBeaconUrl: String? = null,
-    var completedFailedBeaconUrl: String? = null,
-    var timeSinceAdStartedInMs: Long? = null,
-    var isSlate: Boolean = false,
-    var expectedPaidAds: Int? = null,
-    var expectedSlates: Int? = null,
-    var completedPaidAds: Int? = null,
-    var completedSlates: Int? = null,
+    @ProtoNumber(1) var wrapperAdsCount: Int? = null,
+    @ProtoNumber(2) var adSkippable: Boolean? = null,
+    @ProtoNumber(3) var adSkippableAfter: Long? = null,
+    @ProtoNumber(4) var adClickthroughUrl: String? = null,
+    @ProtoNumber(5) var adDescription: String? = null,
+    @ProtoNumber(6) var adDuration: Long? = null,
+    @ProtoNumber(7) var adId: String? = null,
+    @ProtoNumber(8) var adImpressionId: String? = null,
+    @ProtoNumber(9) var adPlaybackHeight: Int? = null,
+    @ProtoNumber(10) var adPlaybackWidth: Int? = null,
+    @ProtoNumber(11) var adStartupTime: Long? = null,
+    @ProtoNumber(12) var adSystem: String? = null,
+    @ProtoNumber(13) var adTitle: String? = null,
+    @ProtoNumber(14) var advertiserName: String? = null,
+    @ProtoNumber(15) var apiFramework: String? = null,
+    @ProtoNumber(16) var clicked: Long? = 0,
+    @ProtoNumber(17) var clickPosition: Long? = null,
+    @ProtoNumber(18) var closed: Long? = 0,
+    @ProtoNumber(19) var closePosition: Long? = null,
+    @ProtoNumber(20) var completed: Long? = 0,
+    @ProtoNumber(21) var creativeAdId: String? = null,
+    @ProtoNumber(22) var creativeId: String? = null,
+    @ProtoNumber(23) var dealId: String? = null,
+    @ProtoNumber(24) var isLinear: Boolean? = null,
+    @ProtoNumber(25) var mediaPath: String? = null,
+    @ProtoNumber(26) var mediaServer: String? = null,
+    @ProtoNumber(27) var mediaUrl: String? = null,
+    @ProtoNumber(28) var midpoint: Long? = 0,
+    @ProtoNumber(29) var minSuggestedDuration: Long? = null,
+    @ProtoNumber(30) var quartile1: Long? = 0,
+    @ProtoNumber(31) var quartile3: Long? = 0,
+    @ProtoNumber(32) var skipped: Long? = 0,
+    @ProtoNumber(33) var skipPosition: Long? = null,
+    @ProtoNumber(34) var started: Long? = 0,
+    @ProtoNumber(35) var streamFormat: String? = null,
+    @ProtoNumber(36) var surveyUrl: String? = null,
+    @ProtoNumber(37) val time: Long = Util.timestamp,
+    @ProtoNumber(38) var timePlayed: Long? = null,
+    @ProtoNumber(39) var universalAdIdRegistry: String? = null,
+    @ProtoNumber(40) var universalAdIdValue: String? = null,
+    @ProtoNumber(41) var videoBitrate: Int? = null,
+    @ProtoNumber(42) var adPodPosition: Int? = null,
+    @ProtoNumber(43) var exitPosition: Long? = null,
+    @ProtoNumber(44) var playPercentage: Int? = null,
+    @ProtoNumber(45) var skipPercentage: Int? = null,
+    @ProtoNumber(46) var clickPercentage: Int? = null,
+    @ProtoNumber(47) var closePercentage: Int? = null,
+    @ProtoNumber(48) var errorPosition: Long? = null,
+    @ProtoNumber(49) var errorPercentage: Int? = null,
+    @ProtoNumber(50) var timeToContent: Long? = null,
+    @ProtoNumber(51) var timeFromContent: Long? = null,
+    @ProtoNumber(52) var adPosition: String? = null,
+    @ProtoNumber(53) var adOffset: String? = null,
+    @ProtoNumber(54) var adScheduleTime: Long? = null,
+    @ProtoNumber(55) var adReplaceContentDuration: Long? = null,
+    @ProtoNumber(56) var adPreloadOffset: Long? = null,
+    @ProtoNumber(57) var adTagPath: String? = null,
+    @ProtoNumber(58) var adTagServer: String? = null,
+    @ProtoNumber(59) var adTagType: String? = null,
+    @ProtoNumber(60) var adTagUrl: String? = null,
+    @ProtoNumber(61) var adIsPersistent: Boolean? = null,
+    @ProtoNumber(62) var adIdPlayer: String? = null,
+    @ProtoNumber(63) var manifestDownloadTime: Long? = null,
+    @ProtoNumber(64) var errorCode: Int? = null,
+    @ProtoNumber(65) var errorData: String? = null,
+    @ProtoNumber(66) var errorMessage: String? = null,
+    @ProtoNumber(67) var errorSeverity: ErrorSeverity? = null,
+    @ProtoNumber(68) var adFallbackIndex: Long = 0,
+    @ProtoNumber(69) var adModule: String? = null,
+    @ProtoNumber(70) var adModuleVersion: String? = null,
+    @ProtoNumber(71) var videoImpressionId: String,
+    @ProtoNumber(72) var userAgent: String,
+    @ProtoNumber(73) var language: String,
+    @ProtoNumber(74) var cdnProvider: String? = null,
+    @ProtoNumber(75) var customData1: String? = null,
+    @ProtoNumber(76) var customData2: String? = null,
+    @ProtoNumber(77) var customData3: String? = null,
+    @ProtoNumber(78) var customData4: String? = null,
+    @ProtoNumber(79) var customData5: String? = null,
+    @ProtoNumber(80) var customData6: String? = null,
+    @ProtoNumber(81) var customData7: String? = null,
+    @ProtoNumber(82) var customData8: String? = null,
+    @ProtoNumber(83) var customData9: String? = null,
+    @ProtoNumber(84) var customData10: String? = null,
+    @ProtoNumber(85) var customData11: String? = null,
+    @ProtoNumber(86) var customData12: String? = null,
+    @ProtoNumber(87) var customData13: String? = null,
+    @ProtoNumber(88) var customData14: String? = null,
+    @ProtoNumber(89) var customData15: String? = null,
+    @ProtoNumber(90) var customData16: String? = null,
+    @ProtoNumber(91) var customData17: String? = null,
+    @ProtoNumber(92) var customData18: String? = null,
+    @ProtoNumber(93) var customData19: String? = null,
+    @ProtoNumber(94) var customData20: String? = null,
+    @ProtoNumber(95) var customData21: String? = null,
+    @ProtoNumber(96) var customData22: String? = null,
+    @ProtoNumber(97) var customData23: String? = null,
+    @ProtoNumber(98) var customData24: String? = null,
+    @ProtoNumber(99) var customData25: String? = null,
+    @ProtoNumber(100) var customData26: String? = null,
+    @ProtoNumber(101) var customData27: String? = null,
+    @ProtoNumber(102) var customData28: String? = null,
+    @ProtoNumber(103) var customData29: String? = null,
+    @ProtoNumber(104) var customData30: String? = null,
+    @ProtoNumber(105) var customData31: String? = null,
+    @ProtoNumber(106) var customData32: String? = null,
+    @ProtoNumber(107) var customData33: String? = null,
+    @ProtoNumber(108) var customData34: String? = null,
+    @ProtoNumber(109) var customData35: String? = null,
+    @ProtoNumber(110) var customData36: String? = null,
+    @ProtoNumber(111) var customData37: String? = null,
+    @ProtoNumber(112) var customData38: String? = null,
+    @ProtoNumber(113) var customData39: String? = null,
+    @ProtoNumber(114) var customData40: String? = null,
+    @ProtoNumber(115) var customData41: String? = null,
+    @ProtoNumber(116) var customData42: String? = null,
+    @ProtoNumber(117) var customData43: String? = null,
+    @ProtoNumber(118) var customData44: String? = null,
+    @ProtoNumber(119) var customData45: String? = null,
+    @ProtoNumber(120) var customData46: String? = null,
+    @ProtoNumber(121) var customData47: String? = null,
+    @ProtoNumber(122) var customData48: String? = null,
+    @ProtoNumber(123) var customData49: String? = null,
+    @ProtoNumber(124) var customData50: String? = null,
+    @ProtoNumber(125) var customData51: String? = null,
+    @ProtoNumber(126) var customData52: String? = null,
+    @ProtoNumber(127) var customData53: String? = null,
+    @ProtoNumber(128) var customData54: String? = null,
+    @ProtoNumber(129) var customData55: String? = null,
+    @ProtoNumber(130) var customData56: String? = null,
+    @ProtoNumber(131) var customData57: String? = null,
+    @ProtoNumber(132) var customData58: String? = null,
+    @ProtoNumber(133) var customData59: String? = null,
+    @ProtoNumber(134) var customData60: String? = null,
+    @ProtoNumber(135) var customData61: String? = null,
+    @ProtoNumber(136) var customData62: String? = null,
+    @ProtoNumber(137) var customData63: String? = null,
+    @ProtoNumber(138) var customData64: String? = null,
+    @ProtoNumber(139) var customData65: String? = null,
+    @ProtoNumber(140) var customData66: String? = null,
+    @ProtoNumber(141) var customData67: String? = null,
+    @ProtoNumber(142) var customData68: String? = null,
+    @ProtoNumber(143) var customData69: String? = null,
+    @ProtoNumber(144) var customData70: String? = null,
+    @ProtoNumber(145) var customData71: String? = null,
+    @ProtoNumber(146) var customData72: String? = null,
+    @ProtoNumber(147) var customData73: String? = null,
+    @ProtoNumber(148) var customData74: String? = null,
+    @ProtoNumber(149) var customData75: String? = null,
+    @ProtoNumber(150) var customData76: String? = null,
+    @ProtoNumber(151) var customData77: String? = null,
+    @ProtoNumber(152) var customData78: String? = null,
+    @ProtoNumber(153) var customData79: String? = null,
+    @ProtoNumber(154) var customData80: String? = null,
+    @ProtoNumber(155) var customData81: String? = null,
+    @ProtoNumber(156) var customData82: String? = null,
+    @ProtoNumber(157) var customData83: String? = null,
+    @ProtoNumber(158) var customData84: String? = null,
+    @ProtoNumber(159) var customData85: String? = null,
+    @ProtoNumber(160) var customData86: String? = null,
+    @ProtoNumber(161) var customData87: String? = null,
+    @ProtoNumber(162) var customData88: String? = null,
+    @ProtoNumber(163) var customData89: String? = null,
+    @ProtoNumber(164) var customData90: String? = null,
+    @ProtoNumber(165) var customData91: String? = null,
+    @ProtoNumber(166) var customData92: String? = null,
+    @ProtoNumber(167) var customData93: String? = null,
+    @ProtoNumber(168) var customData94: String? = null,
+    @ProtoNumber(169) var customData95: String? = null,
+    @ProtoNumber(170) var customData96: String? = null,
+    @ProtoNumber(171) var customData97: String? = null,
+    @ProtoNumber(172) var customData98: String? = null,
+    @ProtoNumber(173) var customData99: String? = null,
+    @ProtoNumber(174) var customData100: String? = null,
+    @ProtoNumber(175) var customUserId: String? = null,
+    @ProtoNumber(176) var domain: String,
+    @ProtoNumber(177) var experimentName: String? = null,
+    @ProtoNumber(178) var key: String? = null,
+    @ProtoNumber(179) var path: String? = null,
+    @ProtoNumber(180) var player: String,
+    @ProtoNumber(181) var playerKey: String? = null,
+    @ProtoNumber(182) var playerTech: String,
+    @ProtoNumber(183) var screenHeight: Int,
+    @ProtoNumber(184) var screenWidth: Int,
+    @ProtoNumber(185) var version: String? = null,
+    @ProtoNumber(186) var userId: String,
+    @ProtoNumber(187) var videoId: String? = null,
+    @ProtoNumber(188) var videoTitle: String? = null,
+    @ProtoNumber(189) var videoWindowHeight: Int,
+    @ProtoNumber(190) var videoWindowWidth: Int,
+    @ProtoNumber(191) var analyticsVersion: String? = null,
+    @ProtoNumber(192) var autoplay: Boolean? = null,
+    @ProtoNumber(193) var platform: String,
+    @ProtoNumber(194) var audioCodec: String? = null,
+    @ProtoNumber(195) var audioBitrate: Int? = null,
+    @ProtoNumber(196) var videoCodec: String? = null,
+    @ProtoNumber(197) var retryCount: Int = 0,
+    @ProtoNumber(198) var adIndex: Int? = null,
+    @ProtoNumber(199) var adType: Int,
+    @ProtoNumber(200) var quartile1FailedBeaconUrl: String? = null,
+    @ProtoNumber(201) var midpointFailedBeaconUrl: String? = null,
+    @ProtoNumber(202) var quartile3FailedBeaconUrl: String? = null,
+    @ProtoNumber(203) var completedFailedBeaconUrl: String? = null,
+    @ProtoNumber(204) var timeSinceAdStartedInMs: Long? = null,
+    @ProtoNumber(205) var isSlate: Boolean = false,
+    @ProtoNumber(206) var expectedPaidAds: Int? = null,
+    @ProtoNumber(207) var expectedSlates: Int? = null,
+    @ProtoNumber(208) var completedPaidAds: Int? = null,
+    @ProtoNumber(209) var completedSlates: Int? = null,
     // Flags the last ad sample sent out in an ad break; combined with completion counters
     // this is used to detect ad break abandonment on the backend.
-    var exitedAdBreak: Boolean? = null,
+    @ProtoNumber(210) var exitedAdBreak: Boolean? = null,
     // This is hardcoded to 1 (FOREGROUND), since we need to mimic the behavior of web
     // and there is no background mode in android that we specifically track
-    val pageLoadType: Int = 1,
+    @ProtoNumber(211) val pageLoadType: Int = 1,
 ) {
     companion object {
         fun fromEventData(
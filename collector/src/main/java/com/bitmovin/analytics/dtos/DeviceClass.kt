@@ -1,14 +1,26 @@
 package com.bitmovin.analytics.dtos
 
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.Serializable
+import kotlinx.serialization.protobuf.ProtoNumber
 
+// the ProtoBuf wire format encodes the entries by their number, not by their order,
+// numbers of existing entries must not change and new entries need a new number
+@OptIn(ExperimentalSerializationApi::class)
 @Serializable
 enum class DeviceClass(val value: String) {
+    @ProtoNumber(0)
     TV("TV"),
+    @ProtoNumber(1)
     Phone("Phone"),
+    @ProtoNumber(2)
     Other("Other"),
+    @ProtoNumber(3)
     Tablet("Tablet"),
+    @ProtoNumber(4)
     Wearable("Wearable"),
+    @ProtoNumber(5)
     Desktop("Desktop"),
+    @ProtoNumber(6)
     Console("Console"),
 }
@@ -1,14 +1,18 @@
 package com.bitmovin.analytics.dtos
 
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.Serializable
+import kotlinx.serialization.protobuf.ProtoNumber
 
+// The ProtoBuf field numbers are part of the wire format, never change or reuse them
+@OptIn(ExperimentalSerializationApi::class)
 @Serializable
 data class DeviceInformationDto(
-    val manufacturer: String,
-    val model: String,
-    val isTV: Boolean,
-    val operatingSystem: String? = null,
-    val operatingSystemMajor: String? = null,
-    val operatingSystemMinor: String? = null,
-    val deviceClass: String?,
+    @ProtoNumber(1) val manufacturer: String,
+    @ProtoNumber(2) val model: String,
+    @ProtoNumber(3) val isTV: Boolean,
+    @ProtoNumber(4) val operatingSystem: String? = null,
+    @ProtoNumber(5) val operatingSystemMajor: String? = null,
+    @ProtoNumber(6) val operatingSystemMinor: String? = null,
+    @ProtoNumber(7) val deviceClass: String?,
 )
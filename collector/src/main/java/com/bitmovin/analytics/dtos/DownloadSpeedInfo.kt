@@ -1,21 +1,25 @@
 package com.bitmovin.analytics.dtos
 
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.Serializable
+import kotlinx.serialization.protobuf.ProtoNumber
 
+// The ProtoBuf field numbers are part of the wire format, never change or reuse them
+@OptIn(ExperimentalSerializationApi::class)
 @Serializable
 class DownloadSpeedInfo(
     // Number of completed segment downloads
-    val segmentsDownloadCount: Int = 0,
+    @ProtoNumber(1) val segmentsDownloadCount: Int = 0,
     // Total download size in bytes
-    val segmentsDownloadSize: Long = 0,
+    @ProtoNumber(2) val segmentsDownloadSize: Long = 0,
     // Total time spent downloading segments in milliseconds
-    val segmentsDownloadTime: Long = 0,
+    @ProtoNumber(3) val segmentsDownloadTime: Long = 0,
     // Average download speed in kbps / null when there is no segment downloaded or not supported by the player
-    val avgDownloadSpeed: Float? = null,
+    @ProtoNumber(4) val avgDownloadSpeed: Float? = null,
     // Maximum download speed in kbps / null when there is no segment downloaded or not supported by the player
-    val maxDownloadSpeed: Float? = null,
+    @ProtoNumber(5) val maxDownloadSpeed: Float? = null,
     // Minimum download speed in kbps / null when there is no segment downloaded or not supported by the player
-    val minDownloadSpeed: Float? = null,
+    @ProtoNumber(6) val minDownloadSpeed: Float? = null,
     // Average time to first byte in milliseconds / null when there is no segment downloaded or not supported by the player
-    val avgTimeToFirstByte: Float? = null,
+    @ProtoNumber(7) val avgTimeToFirstByte: Float? = null,
 )
@@ -1,13 +1,17 @@
 package com.bitmovin.analytics.dtos
 
 import com.bitmovin.analytics.utils.extractStackTraceForErrorTracking
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.Serializable
+import kotlinx.serialization.protobuf.ProtoNumber
 
+// The ProtoBuf field numbers are part of the wire format, never change or reuse them
+@OptIn(ExperimentalSerializationApi::class)
 @Serializable
 data class ErrorData(
-    val exceptionMessage: String? = null,
-    val exceptionStacktrace: Collection<String>? = null,
-    val additionalData: String? = null,
+    @ProtoNumber(1) val exceptionMessage: String? = null,
+    @ProtoNumber(2) val exceptionStacktrace: Collection<String>? = null,
+    @ProtoNumber(3) val additionalData: String? = null,
 ) {
     companion object {
         fun fromThrowable(
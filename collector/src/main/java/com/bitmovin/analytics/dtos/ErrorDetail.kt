@@ -2,20 +2,24 @@ package com.bitmovin.analytics.dtos
 
 import com.bitmovin.analytics.api.error.ErrorSeverity
 import com.bitmovin.analytics.utils.Util
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.Serializable
+import kotlinx.serialization.protobuf.ProtoNumber
 
+// The ProtoBuf field numbers are part of the wire format, never change or reuse them
+@OptIn(ExperimentalSerializationApi::class)
 @Serializable
 data class ErrorDetail(
-    val platform: String,
-    val licenseKey: String?,
-    val domain: String,
-    val impressionId: String,
-    val errorId: Long,
-    val timestamp: Long,
-    val code: Int?,
-    val message: String?,
-    val data: ErrorData,
-    val httpRequests: List<HttpRequest>?,
-    val analyticsVersion: String = Util.analyticsVersion,
-    val severity: ErrorSeverity = ErrorSeverity.CRITICAL,
+    @ProtoNumber(1) val platform: String,
+    @ProtoNumber(2) val licenseKey: String?,
+    @ProtoNumber(3) val domain: String,
+    @ProtoNumber(4) val impressionId: String,
+    @ProtoNumber(5) val errorId: Long,
+    @ProtoNumber(6) val timestamp: Long,
+    @ProtoNumber(7) val code: Int?,
+    @ProtoNumber(8) val message: String?,
+    @ProtoNumber(9) val data: ErrorData,
+    @ProtoNumber(10) val httpRequests: List<HttpRequest>?,
+    @ProtoNumber(11) val analyticsVersion: String = Util.analyticsVersion,
+    @ProtoNumber(12) val severity: ErrorSeverity = ErrorSeverity.CRITICAL,
 )
@@ -5,192 +5,196 @@ import com.bitmovin.analytics.api.error.ErrorSeverity
 import com.bitmovin.analytics.data.DeviceInformation
 import com.bitmovin.analytics.data.PlayerInfo
 import com.bitmovin.analytics.utils.Util
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.Serializable
 import kotlinx.serialization.Transient
+import kotlinx.serialization.protobuf.ProtoNumber
 
+// The ProtoBuf field numbers are part of the wire format, never change or reuse them
+@OptIn(ExperimentalSerializationApi::class)
 @Serializable
 data class EventData(
-    val impressionId: String,
-    val userId: String,
-    val key: String?,
-    val videoId: String?,
-    val videoTitle: String?,
-    val customUserId: String?,
-    val path: String?,
-    val cdnProvider: String?,
-    val userAgent: String,
-    val deviceInformation: DeviceInformationDto,
-    val language: String,
-    val analyticsVersion: String = Util.analyticsVersion,
-    val playerTech: String,
-    val domain: String,
-    val screenHeight: Int,
-    val screenWidth: Int,
-    var autoplay: Boolean? = null,
-    var isLive: Boolean = false,
-    var isCasting: Boolean = false,
-    var castTech: String? = null,
-    var videoDuration: Long = 0,
-    var time: Long = Util.timestamp,
-    var videoWindowWidth: Int = 0,
-    var videoWindowHeight: Int = 0,
-    var droppedFrames: Int = 0,
-    var played: Long = 0,
-    var buffered: Long = 0,
-    var paused: Long = 0,
-    var ad: Int = 0,
-    var adPosition: String? = null,
-    var adId: String? = null,
-    var adSystem: String? = null,
-    var adIndex: Int? = null,
-    var seeked: Long = 0,
-    var videoPlaybackWidth: Int = 0,
-    var videoPlaybackHeight: Int = 0,
-    var videoBitrate: Int = 0,
-    var audioBitrate: Int = 0,
-    var videoTimeStart: Long = 0,
-    var videoTimeEnd: Long = 0,
-    var videoStartupTime: Long = 0,
-    var duration: Long = 0,
-    var startupTime: Long = 0,
-    var state: String? = null,
-    var errorCode: Int? = null,
-    var errorMessage: String? = null,
-    var errorData: String? = null,
-    var errorSeverity: ErrorSeverity? = null,
+    @ProtoNumber(1) val impressionId: String,
+    @ProtoNumber(2) val userId: String,
+    @ProtoNumber(3) val key: String?,
+    @ProtoNumber(4) val videoId: String?,
+    @ProtoNumber(5) val videoTitle: String?,
+    @ProtoNumber(6) val customUserId: String?,
+    @ProtoNumber(7) val path: String?,
+    @ProtoNumber(8) val cdnProvider: String?,
+    @ProtoNumber(9) val userAgent: String,
+    @ProtoNumber(10) val deviceInformation: DeviceInformationDto,
+    @ProtoNumber(11) val language: String,
+    @ProtoNumber(12) val analyticsVersion: String = Util.analyticsVersion,
+    @ProtoNumber(13) val playerTech: String,
+    @ProtoNumber(14) val domain: String,
+    @ProtoNumber(15) val screenHeight: Int,
+    @ProtoNumber(16) val screenWidth: Int,
+    @ProtoNumber(17) var autoplay: Boolean? = null,
+    @ProtoNumber(18) var isLive: Boolean = false,
+    @ProtoNumber(19) var isCasting: Boolean = false,
+    @ProtoNumber(20) var castTech: String? = null,
+    @ProtoNumber(21) var videoDuration: Long = 0,
+    @ProtoNumber(22) var time: Long = Util.timestamp,
+    @ProtoNumber(23) var videoWindowWidth: Int = 0,
+    @ProtoNumber(24) var videoWindowHeight: Int = 0,
+    @ProtoNumber(25) var droppedFrames: Int = 0,
+    @ProtoNumber(26) var played: Long = 0,
+    @ProtoNumber(27) var buffered: Long = 0,
+    @ProtoNumber(28) var paused: Long = 0,
+    @ProtoNumber(29) var ad: Int = 0,
+    @ProtoNumber(30) var adPosition: String? = null,
+    @ProtoNumber(31) var adId: String? = null,
+    @ProtoNumber(32) var adSystem: String? = null,
+    @ProtoNumber(33) var adIndex: Int? = null,
+    @ProtoNumber(34) var seeked: Long = 0,
+    @ProtoNumber(35) var videoPlaybackWidth: Int = 0,
+    @ProtoNumber(36) var videoPlaybackHeight: Int = 0,
+    @ProtoNumber(37) var videoBitrate: Int = 0,
+    @ProtoNumber(38) var audioBitrate: Int = 0,
+    @ProtoNumber(39) var videoTimeStart: Long = 0,
+    @ProtoNumber(40) var videoTimeEnd: Long = 0,
+    @ProtoNumber(41) var videoStartupTime: Long = 0,
+    @ProtoNumber(42) var duration: Long = 0,
+    @ProtoNumber(43) var startupTime: Long = 0,
+    @ProtoNumber(44) var state: String? = null,
+    @ProtoNumber(45) var errorCode: Int? = null,
+    @ProtoNumber(46) var errorMessage: String? = null,
+    @ProtoNumber(47) var errorData: String? = null,
+    @ProtoNumber(48) var errorSeverity: ErrorSeverity? = null,
     /**
      * A time in milliseconds, how long did it take to start up the player.
      *
      * Deprecated with https://bitmovin.atlassian.net/browse/AN-5322
      */
     @Deprecated("Should be set to 1 only for the startup sample")
-    var playerStartupTime: Long? = null,
-    var pageLoadType: Int = 1,
-    var pageLoadTime: Int = 0,
-    var version: String? = null,
-    var streamFormat: String? = null,
-    var mpdUrl: String? = null,
-    var m3u8Url: String? = null,
-    var progUrl: String? = null,
-    var isMuted: Boolean = false,
-    var sequenceNumber: Int = 0,
-    val platform: String,
-    var videoCodec: String? = null,
-    var audioCodec: String? = null,
-    var supportedVideoCodecs: List<String>? = null,
-    var subtitleEnabled: Boolean = false,
-    var subtitleLanguage: String? = null,
-    var audioLanguage: String? = null,
-    var drmType: String? = null,
-    var drmLoadTime: Long? = null,
-    var videoStartFailed: Boolean = false,
-    var videoStartFailedReason: String? = null,
-    var isProgramChange: Boolean? = null,
-    var downloadSpeedInfo: DownloadSpeedInfo? = null,
-    var retryCount: Int = 0,
-    val player: String,
-    var playerKey: String? = null,
-    val customData1: String? = null,
-    val customData2: String? = null,
-    val customData3: String? = null,
-    val customData4: String? = null,
-    val customData5: String? = null,
-    val customData6: String? = null,
-    val customData7: String? = null,
-    val customData8: String? = null,
-    val customData9: String? = null,
-    val customData10: String? = null,
-    val customData11: String? = null,
-    val customData12: String? = null,
-    val customData13: String? = null,
-    val customData14: String? = null,
-    val customData15: String? = null,
-    val customData16: String? = null,
-    val customData17: String? = null,
-    val customData18: String? = null,
-    val customData19: String? = null,
-    val customData20: String? = null,
-    val customData21: String? = null,
-    val customData22: String? = null,
-    val customData23: String? = null,
-    val customData24: String? = null,
-    val customData25: String? = null,
-    val customData26: String? = null,
-    val customData27: String? = null,
-    val customData28: String? = null,
-    val customData29: String? = null,
-    val customData30: String? = null,
-    val customData31: String? = null,
-    val customData32: String? = null,
-    val customData33: String? = null,
-    val customData34: String? = null,
-    val customData35: String? = null,
-    val customData36: String? = null,
-    val customData37: String? = null,
-    val customData38: String? = null,
-    val customData39: String? = null,
-    val customData40: String? = null,
-    val customData41: String? = null,
-    val customData42: String? = null,
-    val customData43: String? = null,
-    val customData44: String? = null,
-    val customData45: String? = null,
-    val customData46: String? = null,
-    val customData47: String? = null,
-    val customData48: String? = null,
-    val customData49: String? = null,
-    val customData50: String? = null,
-    val customData51: String? = null,
-    val customData52: String? = null,
-    val customData53: String? = null,
-    val customData54: String? = null,
-    val customData55: String? = null,
-    val customData56: String? = null,
-    val customData57: String? = null,
-    val customData58: String? = null,
-    val customData59: String? = null,
-    val customData60: String? = null,
-    val customData61: String? = null,
-    val customData62: String? = null,
-    val customData63: String? = null,
-    val customData64: String? = null,
-    val customData65: String? = null,
-    val customData66: String? = null,
-    val customData67: String? = null,
-    val customData68: String? = null,
-    val customData69: String? = null,
-    val customData70: String? = null,
-    val customData71: String? = null,
-    val customData72: String? = null,
-    val customData73: String? = null,
-    val customData74: String? = null,
-    val customData75: String? = null,
-    val customData76: String? = null,
-    val customData77: String? = null,
-    val customData78: String? = null,
-    val customData79: String? = null,
-    val customData80: String? = null,
-    val customData81: String? = null,
-    val customData82: String? = null,
-    val customData83: String? = null,
-    val customData84: String? = null,
-    val customData85: String? = null,
-    val customData86: String? = null,
-    val customData87: String? = null,
-    val customData88: String? = null,
-    val customData89: String? = null,
-    val customData90: String? = null,
-    val customData91: String? = null,
-    val customData92: String? = null,
-    val customData93: String? = null,
-    val customData94: String? = null,
-    val customData95: String? = null,
-    val customData96: String? = null,
-    val customData97: String? = null,
-    val customData98: String? = null,
-    val customData99: String? = null,
-    val customData100: String? = null,
-    val experimentName: String? = null,
+    @ProtoNumber(49) var playerStartupTime: Long? = null,
+    @ProtoNumber(50) var pageLoadType: Int = 1,
+    @ProtoNumber(51) var pageLoadTime: Int = 0,
+    @ProtoNumber(52) var version: String? = null,
+    @ProtoNumber(53) var streamFormat: String? = null,
+    @ProtoNumber(54) var mpdUrl: String? = null,
+    @ProtoNumber(55) var m3u8Url: String? = null,
+    @ProtoNumber(56) var progUrl: String? = null,
+    @ProtoNumber(57) var isMuted: Boolean = false,
+    @ProtoNumber(58) var sequenceNumber: Int = 0,
+    @ProtoNumber(59) val platform: String,
+    @ProtoNumber(60) var videoCodec: String? = null,
+    @ProtoNumber(61) var audioCodec: String? = null,
+    @ProtoNumber(62) var supportedVideoCodecs: List<String>? = null,
+    @ProtoNumber(63) var subtitleEnabled: Boolean = false,
+    @ProtoNumber(64) var subtitleLanguage: String? = null,
+    @ProtoNumber(65) var audioLanguage: String? = null,
+    @ProtoNumber(66) var drmType: String? = null,
+    @ProtoNumber(67) var drmLoadTime: Long? = null,
+    @ProtoNumber(68) var videoStartFailed: Boolean = false,
+    @ProtoNumber(69) var videoStartFailedReason: String? = null,
+    @ProtoNumber(70) var isProgramChange: Boolean? = null,
+    @ProtoNumber(71) var downloadSpeedInfo: DownloadSpeedInfo? = null,
+    @ProtoNumber(72) var retryCount: Int = 0,
+    @ProtoNumber(73) val player: String,
+    @ProtoNumber(74) var playerKey: String? = null,
+    @ProtoNumber(75) val customData1: String? = null,
+    @ProtoNumber(76) val customData2: String? = null,
+    @ProtoNumber(77) val customData3: String? = null,
+    @ProtoNumber(78) val customData4: String? = null,
+    @ProtoNumber(79) val customData5: String? = null,
+    @ProtoNumber(80) val customData6: String? = null,
+    @ProtoNumber(81) val customData7: String? = null,
+    @ProtoNumber(82) val customData8: String? = null,
+    @ProtoNumber(83) val customData9: String? = null,
+    @ProtoNumber(84) val customData10: String? = null,
+    @ProtoNumber(85) val customData11: String? = null,
+    @ProtoNumber(86) val customData12: String? = null,
+    @ProtoNumber(87) val customData13: String? = null,
+    @ProtoNumber(88) val customData14: String? = null,
+    @ProtoNumber(89) val customData15: String? = null,
+    @ProtoNumber(90) val customData16: String? = null,
+    @ProtoNumber(91) val customData17: String? = null,
+    @ProtoNumber(92) val customData18: String? = null,
+    @ProtoNumber(93) val customData19: String? = null,
+    @ProtoNumber(94) val customData20: String? = null,
+    @ProtoNumber(95) val customData21: String? = null,
+    @ProtoNumber(96) val customData22: String? = null,
+    @ProtoNumber(97) val customData23: String? = null,
+    @ProtoNumber(98) val customData24: String? = null,
+    @ProtoNumber(99) val customData25: String? = null,
+    @ProtoNumber(100) val customData26: String? = null,
+    @ProtoNumber(101) val customData27: String? = null,
+    @ProtoNumber(102) val customData28: String? = null,
+    @ProtoNumber(103) val customData29: String? = null,
+    @ProtoNumber(104) val customData30: String? = null,
+    @ProtoNumber(105) val customData31: String? = null,
+    @ProtoNumber(106) val customData32: String? = null,
+    @ProtoNumber(107) val customData33: String? = null,
+    @ProtoNumber(108) val customData34: String? = null,
+    @ProtoNumber(109) val customData35: String? = null,
+    @ProtoNumber(110) val customData36: String? = null,
+    @ProtoNumber(111) val customData37: String? = null,
+    @ProtoNumber(112) val customData38: String? = null,
+    @ProtoNumber(113) val customData39: String? = null,
+    @ProtoNumber(114) val customData40: String? = null,
+    @ProtoNumber(115) val customData41: String? = null,
+    @ProtoNumber(116) val customData42: String? = null,
+    @ProtoNumber(117) val customData43: String? = null,
+    @ProtoNumber(118) val customData44: String? = null,
+    @ProtoNumber(119) val customData45: String? = null,
+    @ProtoNumber(120) val customData46: String? = null,
+    @ProtoNumber(121) val customData47: String? = null,
+    @ProtoNumber(122) val customData48: String? = null,
+    @ProtoNumber(123) val customData49: String? = null,
+    @ProtoNumber(124) val customData50: String? = null,
+    @ProtoNumber(125) val customData51: String? = null,
+    @ProtoNumber(126) val customData52: String? = null,
+    @ProtoNumber(127) val customData53: String? = null,
+    @ProtoNumber(128) val customData54: String? = null,
+    @ProtoNumber(129) val customData55: String? = null,
+    @ProtoNumber(130) val customData56: String? = null,
+    @ProtoNumber(131) val customData57: String? = null,
+    @ProtoNumber(132) val customData58: String? = null,
+    @ProtoNumber(133) val customData59: String? = null,
+    @ProtoNumber(134) val customData60: String? = null,
+    @ProtoNumber(135) val customData61: String? = null,
+    @ProtoNumber(136) val customData62: String? = null,
+    @ProtoNumber(137) val customData63: String? = null,
+    @ProtoNumber(138) val customData64: String? = null,
+    @ProtoNumber(139) val customData65: String? = null,
+    @ProtoNumber(140) val customData66: String? = null,
+    @ProtoNumber(141) val customData67: String? = null,
+    @ProtoNumber(142) val customData68: String? = null,
+    @ProtoNumber(143) val customData69: String? = null,
+    @ProtoNumber(144) val customData70: String? = null,
+    @ProtoNumber(145) val customData71: String? = null,
+    @ProtoNumber(146) val customData72: String? = null,
+    @ProtoNumber(147) val customData73: String? = null,
+    @ProtoNumber(148) val customData74: String? = null,
+    @ProtoNumber(149) val customData75: String? = null,
+    @ProtoNumber(150) val customData76: String? = null,
+    @ProtoNumber(151) val customData77: String? = null,
+    @ProtoNumber(152) val customData78: String? = null,
+    @ProtoNumber(153) val customData79: String? = null,
+    @ProtoNumber(154) val customData80: String? = null,
+    @ProtoNumber(155) val customData81: String? = null,
+    @ProtoNumber(156) val customData82: String? = null,
+    @ProtoNumber(157) val customData83: String? = null,
+    @ProtoNumber(158) val customData84: String? = null,
+    @ProtoNumber(159) val customData85: String? = null,
+    @ProtoNumber(160) val customData86: String? = null,
+    @ProtoNumber(161) val customData87: String? = null,
+    @ProtoNumber(162) val customData88: String? = null,
+    @ProtoNumber(163) val customData89: String? = null,
+    @ProtoNumber(164) val customData90: String? = null,
+    @ProtoNumber(165) val customData91: String? = null,
+    @ProtoNumber(166) val customData92: String? = null,
+    @ProtoNumber(167) val customData93: String? = null,
+    @ProtoNumber(168) val customData94: String? = null,
+    @ProtoNumber(169) val customData95: String? = null,
+    @ProtoNumber(170) val customData96: String? = null,
+    @ProtoNumber(171) val customData97: String? = null,
+    @ProtoNumber(172) val customData98: String? = null,
+    @ProtoNumber(173) val customData99: String? = null,
+    @ProtoNumber(174) val customData100: String? = null,
+    @ProtoNumber(175) val experimentName: String? = null,
     // Field used to mark a sample that is ssai related as such
     // this is needed since ssai samples on live events
     // are globally synchronized in terms of when they are happening
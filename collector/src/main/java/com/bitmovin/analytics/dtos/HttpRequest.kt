@@ -1,19 +1,23 @@
 package com.bitmovin.analytics.dtos
 
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.Serializable
+import kotlinx.serialization.protobuf.ProtoNumber
 
+// The ProtoBuf field numbers are part of the wire format, never change or reuse them
+@OptIn(ExperimentalSerializationApi::class)
 @Serializable
 data class HttpRequest(
-    val timestamp: Long,
-    val type: String,
-    val url: String?,
-    val lastRedirectLocation: String?,
-    val httpStatus: Int,
+    @ProtoNumber(1) val timestamp: Long,
+    @ProtoNumber(2) val type: String,
+    @ProtoNumber(3) val url: String?,
+    @ProtoNumber(4) val lastRedirectLocation: String?,
+    @ProtoNumber(5) val httpStatus: Int,
     /**
      * Total time elapsed since the request was opened (including TTFB).
      */
-    val downloadTime: Long,
-    val timeToFirstByte: Long?,
-    val size: Long?,
-    val success: Boolean,
+    @ProtoNumber(6) val downloadTime: Long,
+    @ProtoNumber(7) val timeToFirstByte: Long?,
+    @ProtoNumber(8) val size: Long?,
+    @ProtoNumber(9) val success: Boolean,
 )
@@ -1,22 +1,42 @@
 package com.bitmovin.analytics.dtos
 
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.Serializable
+import kotlinx.serialization.protobuf.ProtoNumber
 
+// the ProtoBuf wire format encodes the entries by their number, not by their order,
+// numbers of existing entries must not change and new entries need a new number
+@OptIn(ExperimentalSerializationApi::class)
 @Serializable
 enum class HttpRequestType(val value: String) {
+    @ProtoNumber(0)
     DRM_LICENSE_WIDEVINE("DRM_LICENSE_WIDEVINE"),
+    @ProtoNumber(1)
     DRM_OTHER("DRM_OTHER"),
+    @ProtoNumber(2)
     MEDIA_THUMBNAILS("MEDIA_THUMBNAILS"),
+    @ProtoNumber(3)
     MEDIA_VIDEO("MEDIA_VIDEO"),
+    @ProtoNumber(4)
     MEDIA_AUDIO("MEDIA_AUDIO"),
+    @ProtoNumber(5)
     MEDIA_PROGRESSIVE("MEDIA_PROGRESSIVE"),
+    @ProtoNumber(6)
     MEDIA_SUBTITLES("MEDIA_SUBTITLES"),
+    @ProtoNumber(7)
     MANIFEST_DASH("MANIFEST_DASH"),
+    @ProtoNumber(8)
     MANIFEST_HLS("MANIFEST_HLS"),
+    @ProtoNumber(9)
     MANIFEST_HLS_MASTER("MANIFEST_HLS_MASTER"),
+    @ProtoNumber(10)
     MANIFEST_HLS_VARIANT("MANIFEST_HLS_VARIANT"),
+    @ProtoNumber(11)
     MANIFEST_SMOOTH("MANIFEST_SMOOTH"),
+    @ProtoNumber(12)
     MANIFEST("MANIFEST"),
+    @ProtoNumber(13)
     KEY_HLS_AES("KEY_HLS_AES"),
+    @ProtoNumber(14)
     UNKNOWN("UNKNOWN"),
 }
@@ -37,10 +37,7 @@ class FeatureManager<TConfigContainer> {
                 val it = iterator.next()
                 val config = it.configure(true, featureConfigs)
                 if (config?.enabled != true) {
-                    BitmovinLog.d(
-                        TAG,
-                        "Disabling feature ${it.javaClass.simpleName} as it isn't enabled according to license callback.",
-                    )
+                    BitmovinLog.d(TAG) { "Disabling feature ${it.javaClass.simpleName} as it isn't enabled according to license callback." }
                     it.disable()
                     iterator.remove()
                 }
@@ -54,10 +51,7 @@ class FeatureManager<TConfigContainer> {
         LicensingState.Unauthenticated -> {
             features.forEach {
                 it.configure(false, featureConfigs)
-                BitmovinLog.d(
-                    TAG,
-                    "Disabling feature ${it.javaClass.simpleName} as it isn't enabled according to license callback.",
-                )
+                BitmovinLog.d(TAG) { "Disabling feature ${it.javaClass.simpleName} as it isn't enabled according to license callback." }
                 it.disable()
             }
         }
@@ -2,21 +2,33 @@ package com.bitmovin.analytics.features.errordetails
 
 import android.content.Context
 import com.bitmovin.analytics.api.AnalyticsConfig
+import com.bitmovin.analytics.data.IngressThrottle
 import com.bitmovin.analytics.dtos.ErrorData
 import com.bitmovin.analytics.dtos.ErrorDetail
 import com.bitmovin.analytics.dtos.HttpRequest
+import com.bitmovin.analytics.utils.BitmovinLog
+import com.bitmovin.analytics.utils.ClientFactory
 import com.bitmovin.analytics.utils.DataSerializerKotlinX
+import com.bitmovin.analytics.utils.DataSerializerProtoBuf
 import com.bitmovin.analytics.utils.HttpClient
+import com.bitmovin.analytics.utils.createRequestWindow
+import com.bitmovin.analytics.utils.releaseOnCompletion
 import com.bitmovin.analytics.utils.Util
-import okhttp3.OkHttpClient
 import java.util.LinkedList
 
 class ErrorDetailBackend(
     config: AnalyticsConfig,
     context: Context,
-    private val httpClient: HttpClient = HttpClient(context, OkHttpClient()),
+    private val httpClient: HttpClient =
+        HttpClient(
+            context,
+            ClientFactory().createTransport(),
+            config.transmissionConfig.compressionThresholdBytes,
+        ),
 ) {
     private val backendUrl = Util.joinUrl(config.backendUrl, "/analytics/error")
+    private val useProtoBuf = config.transmissionConfig.useProtoBuf
+    internal val requestWindow = config.transmissionConfig.createRequestWindow("error details")
     private val _queue = LinkedList<ErrorDetail>()
     val queue: List<ErrorDetail> = _queue
 
@@ -38,11 +50,26 @@ class ErrorDetailBackend(
                 errorDetail.copyTruncateStringsAndUrls(MAX_ADDITIONAL_DATA_LENGTH)
             }
 
-        if (enabled) {
-            httpClient.post(backendUrl, DataSerializerKotlinX.serialize(errorDetailCopy), null)
-        } else {
+        if (!enabled) {
             _queue.add(errorDetailCopy)
+            return
         }
+        requestWindow.submit(
+            { release ->
+                val callback = releaseOnCompletion(release)
+                if (IngressThrottle.shared.remainingThrottleMs() > 0) {
+                    BitmovinLog.d(TAG) { "Ingress is throttling requests, dropping error detail" }
+                    release()
+                } else if (useProtoBuf) {
+                    val body = DataSerializerProtoBuf.serialize(ErrorDetail.serializer(), errorDetailCopy)
+                    httpClient.postBytes(backendUrl, body, HttpClient.PROTOBUF_CONTENT_TYPE, callback)
+                } else {
+                    httpClient.post(backendUrl, DataSerializerKotlinX.serialize(errorDetailCopy), callback)
+                }
+            },
+            // error details are best effort, they are never retried
+            onDropped = { e -> BitmovinLog.d(TAG) { "Dropping error detail: ${e.message}" } },
+        )
     }
 
     fun flush(licenseKey: String) {
@@ -61,6 +88,7 @@ class ErrorDetailBackend(
     }
 
     companion object {
+        private const val TAG = "ErrorDetailBackend"
         const val MAX_URL_LENGTH = 200
         const val MAX_ERROR_MESSAGE_LENGTH = 400
         const val MAX_ADDITIONAL_DATA_LENGTH = 2000
@@ -13,10 +13,9 @@ import com.bitmovin.analytics.utils.ClientFactory
 import com.bitmovin.analytics.utils.DataSerializerKotlinX.deserialize
 import com.bitmovin.analytics.utils.DataSerializerKotlinX.serialize
 import com.bitmovin.analytics.utils.HttpClient
+import com.bitmovin.analytics.utils.HttpTransportCallback
+import com.bitmovin.analytics.utils.HttpTransportResponse
 import com.bitmovin.analytics.utils.Util
-import okhttp3.Call
-import okhttp3.Callback
-import okhttp3.Response
 import java.io.IOException
 
 internal class DefaultLicenseCall(
@@ -26,7 +25,8 @@ internal class DefaultLicenseCall(
     private val httpClient: HttpClient =
         HttpClient(
             context,
-            ClientFactory().createClient(config),
+            ClientFactory().createTransport(config),
+            config.transmissionConfig.compressionThresholdBytes,
         ),
     private val backendUrl: String =
         Uri.parse(config.backendUrl)
@@ -36,7 +36,7 @@ internal class DefaultLicenseCall(
             .toString(),
 ) : LicenseCall {
     init {
-        BitmovinLog.d(TAG, String.format("Initialized license call with backendUrl: %s", backendUrl))
+        BitmovinLog.d(TAG) { String.format("Initialized license call with backendUrl: %s", backendUrl) }
     }
 
     override suspend fun authenticate(callback: AuthenticationCallback) {
@@ -46,12 +46,12 @@ internal class DefaultLicenseCall(
             }
 
             is LicenseKeyState.Timeout -> {
-                BitmovinLog.d(TAG, "License call failed due to license key not being provided in time")
+                BitmovinLog.d(TAG) { "License call failed due to license key not being provided in time" }
                 callback.authenticationCompleted(Error)
             }
 
             is LicenseKeyState.NotProvided -> {
-                BitmovinLog.d(TAG, "License call failed due to license key not being provided")
+                BitmovinLog.d(TAG) { "License call failed due to license key not being provided" }
                 callback.authenticationCompleted(Error)
             }
         }
@@ -73,45 +73,38 @@ internal class DefaultLicenseCall(
 private class LicenseRequestCallback(
     private val licenseKey: String,
     private val callback: AuthenticationCallback,
-) : Callback {
-    override fun onFailure(
-        call: Call,
-        e: IOException,
-    ) {
+) : HttpTransportCallback {
+    override fun onFailure(e: IOException) {
         BitmovinLog.e(TAG, "License call failed due to connectivity issues", e)
         callback.authenticationCompleted(Error)
     }
 
-    @Throws(IOException::class)
-    override fun onResponse(
-        call: Call,
-        response: Response,
-    ) {
-        val body = response.body
+    override fun onResponse(response: HttpTransportResponse) {
+        val body = response.bodyAsString()
 
         if (body == null) {
-            BitmovinLog.d(TAG, "License call was denied without providing a response body")
+            BitmovinLog.d(TAG) { "License call was denied without providing a response body" }
             callback.authenticationCompleted(Error)
             return
         }
 
-        val licenseResponse = deserialize(body.string(), LicenseResponse::class.java)
+        val licenseResponse = deserialize(body, LicenseResponse::class.java)
         if (licenseResponse == null) {
-            BitmovinLog.d(TAG, "License call was denied without providing a valid response body")
+            BitmovinLog.d(TAG) { "License call was denied without providing a valid response body" }
             callback.authenticationCompleted(Error)
             return
         }
         if (licenseResponse.status == null) {
-            BitmovinLog.d(TAG, "License response was denied without status")
+            BitmovinLog.d(TAG) { "License response was denied without status" }
             callback.authenticationCompleted(Error)
             return
         }
         if (licenseResponse.status != "granted") {
-            BitmovinLog.d(TAG, "License response was denied: ${licenseResponse.message}")
+            BitmovinLog.d(TAG) { "License response was denied: ${licenseResponse.message}" }
             callback.authenticationCompleted(Denied(licenseResponse.message))
             return
         }
-        BitmovinLog.d(TAG, "License response was granted")
+        BitmovinLog.d(TAG) { "License response was granted" }
         callback.authenticationCompleted(Granted(licenseKey, licenseResponse.features))
     }
 }
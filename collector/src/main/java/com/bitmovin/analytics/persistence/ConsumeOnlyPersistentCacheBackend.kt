@@ -3,19 +3,19 @@ package com.bitmovin.analytics.persistence
 import com.bitmovin.analytics.data.Backend
 import com.bitmovin.analytics.data.CacheConsumingBackend
 import com.bitmovin.analytics.data.CallbackBackend
+import com.bitmovin.analytics.data.FlushableBackend
 import com.bitmovin.analytics.data.OnFailureCallback
 import com.bitmovin.analytics.data.OnSuccessCallback
 import com.bitmovin.analytics.dtos.AdEventData
 import com.bitmovin.analytics.dtos.EventData
 import com.bitmovin.analytics.persistence.queue.ConsumeOnlyAnalyticsEventQueue
+import kotlinx.coroutines.CompletableDeferred
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.flow.consumeAsFlow
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
-import kotlin.coroutines.Continuation
-import kotlin.coroutines.resume
-import kotlin.coroutines.suspendCoroutine
 
 private typealias Signal = Unit
 
@@ -23,7 +23,15 @@ internal class ConsumeOnlyPersistentCacheBackend(
     ioScope: CoroutineScope,
     private val backend: CallbackBackend,
     private val eventQueue: ConsumeOnlyAnalyticsEventQueue,
-) : Backend, CacheConsumingBackend {
+    /**
+     * The maximum number of cached events that are sent out at once before waiting for their results.
+     */
+    private val drainBatchSize: Int = 1,
+    /**
+     * The maximum size of the cached events that are popped at once, see [drainBatchSize].
+     */
+    private val drainBatchBytes: Int = Int.MAX_VALUE,
+) : Backend, CacheConsumingBackend, FlushableBackend {
     // A channel that can only hold one element. Can be used
     // to conflate multiple signals into one.
     // Allows for self sustaining sequential flush loop as long the consuming code is blocking.
@@ -33,7 +41,7 @@ internal class ConsumeOnlyPersistentCacheBackend(
         cacheFlushChannel
             .consumeAsFlow()
             .onEach {
-                sendNextCachedEvent()
+                sendNextCachedEvents()
             }
             .launchIn(ioScope)
     }
@@ -68,42 +76,57 @@ internal class ConsumeOnlyPersistentCacheBackend(
 
     override fun sendAd(eventData: AdEventData) = sendAd(eventData, null, null)
 
-    private suspend fun sendNextCachedEvent() =
-        eventQueue.popEvent()?.let { eventData ->
-            sendSuspended(eventData)
-        } ?: eventQueue.popAdEvent()?.let { adEventData ->
-            sendAdSuspended(adEventData)
-        } ?: false
+    // Sends up to [drainBatchSize] cached events (events first, then ad events)
+    // and suspends until all of them are either sent or failed.
+    private suspend fun sendNextCachedEvents(): Boolean {
+        val results = mutableListOf<CompletableDeferred<Boolean>>()
+        popEvents(drainBatchSize).forEach { results.add(sendDeferred(it)) }
+        if (results.size < drainBatchSize) {
+            popAdEvents(drainBatchSize - results.size).forEach { results.add(sendAdDeferred(it)) }
+        }
+        return results.awaitAll().any { it }
+    }
+
+    // batches are popped from the queue at once, in a single database transaction
+    private fun popEvents(limit: Int) =
+        if (limit == 1) listOfNotNull(eventQueue.popEvent()) else eventQueue.popEvents(limit, drainBatchBytes)
+
+    private fun popAdEvents(limit: Int) =
+        if (limit == 1) listOfNotNull(eventQueue.popAdEvent()) else eventQueue.popAdEvents(limit, drainBatchBytes)
 
     override fun startCacheFlushing() {
         cacheFlushChannel.trySend(Signal)
     }
-}
 
-private suspend fun CallbackBackend.sendSuspended(eventData: EventData): Boolean =
-    suspendCoroutine { continuation ->
-        val callback = ContinuationCallback(continuation)
-        send(eventData, callback, callback)
+    override fun flush() {
+        (backend as? FlushableBackend)?.flush()
     }
+}
 
-private suspend fun CallbackBackend.sendAdSuspended(adEventData: AdEventData): Boolean =
-    suspendCoroutine { continuation ->
-        val callback = ContinuationCallback(continuation)
-        sendAd(adEventData, callback, callback)
-    }
+private fun CallbackBackend.sendDeferred(eventData: EventData): CompletableDeferred<Boolean> {
+    val callback = DeferredCallback()
+    send(eventData, callback, callback)
+    return callback.result
+}
+
+private fun CallbackBackend.sendAdDeferred(adEventData: AdEventData): CompletableDeferred<Boolean> {
+    val callback = DeferredCallback()
+    sendAd(adEventData, callback, callback)
+    return callback.result
+}
+
+private class DeferredCallback : OnFailureCallback, OnSuccessCallback {
+    val result = CompletableDeferred<Boolean>()
 
-private class ContinuationCallback(
-    private val continuation: Continuation<Boolean>,
-) : OnFailureCallback, OnSuccessCallback {
     override fun onFailure(
         e: Exception,
         cancel: () -> Unit,
     ) {
         cancel()
-        continuation.resume(false)
+        result.complete(false)
     }
 
     override fun onSuccess() {
-        continuation.resume(true)
+        result.complete(true)
     }
 }
@@ -1,18 +1,24 @@
 package com.bitmovin.analytics.persistence
 
-import com.bitmovin.analytics.data.persistence.EventDatabase
+import com.bitmovin.analytics.data.persistence.EventDatabaseConnection
 import com.bitmovin.analytics.data.persistence.PersistentAnalyticsEventQueue
 import com.bitmovin.analytics.persistence.queue.FilteringEventQueue
+import com.bitmovin.analytics.persistence.queue.WriteBehindEventQueue
+import kotlinx.coroutines.CoroutineScope
 
 internal object EventQueueFactory {
     fun createPersistentEventQueue(
         eventQueueConfig: EventQueueConfig,
-        eventDatabase: EventDatabase,
-    ) = FilteringEventQueue(
-        eventQueueConfig,
-        PersistentAnalyticsEventQueue(
+        eventDatabase: EventDatabaseConnection,
+        ioScope: CoroutineScope,
+    ) = WriteBehindEventQueue(
+        FilteringEventQueue(
             eventQueueConfig,
-            eventDatabase,
+            PersistentAnalyticsEventQueue(
+                eventQueueConfig,
+                eventDatabase,
+            ),
         ),
+        ioScope,
     )
 }
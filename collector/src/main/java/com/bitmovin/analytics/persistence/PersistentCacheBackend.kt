@@ -2,6 +2,8 @@ package com.bitmovin.analytics.persistence
 
 import com.bitmovin.analytics.data.Backend
 import com.bitmovin.analytics.data.CallbackBackend
+import com.bitmovin.analytics.data.FlushableBackend
+import com.bitmovin.analytics.data.IngressServerErrorException
 import com.bitmovin.analytics.data.OnFailureCallback
 import com.bitmovin.analytics.data.OnSuccessCallback
 import com.bitmovin.analytics.dtos.AdEventData
@@ -12,7 +14,10 @@ import com.bitmovin.analytics.utils.BitmovinLog
 internal class PersistentCacheBackend(
     private val backend: CallbackBackend,
     private val eventQueue: AnalyticsEventQueue,
-) : Backend, CallbackBackend {
+) : Backend, CallbackBackend, FlushableBackend {
+    // the server errors per sample, kept apart from the retryCount of the samples, which is sent to the ingress
+    private val serverErrorCounts = ServerErrorCounts()
+
     override fun send(eventData: EventData) = send(eventData, null, null)
 
     override fun sendAd(eventData: AdEventData) = sendAd(eventData, null, null)
@@ -25,11 +30,14 @@ internal class PersistentCacheBackend(
         backend.send(
             eventData,
             success = {
+                serverErrorCounts.remove(eventData.sampleKey)
                 success?.onSuccess()
             },
             failure = { e, cancel ->
-                BitmovinLog.d(TAG, "Failed to send ${eventData.sequenceNumber}")
-                eventQueue.push(eventData)
+                BitmovinLog.d(TAG) { "Failed to send ${eventData.sequenceNumber}" }
+                if (shouldPersist(e, eventData.sampleKey)) {
+                    eventQueue.push(eventData)
+                }
                 failure?.onFailure(e, cancel)
             },
         )
@@ -43,15 +51,66 @@ internal class PersistentCacheBackend(
         backend.sendAd(
             eventData,
             success = {
+                serverErrorCounts.remove(eventData.sampleKey)
                 success?.onSuccess()
             },
             failure = { e, cancel ->
                 BitmovinLog.e(TAG, "Failed to send ${eventData.adId}")
-                eventQueue.push(eventData)
+                if (shouldPersist(e, eventData.sampleKey)) {
+                    eventQueue.push(eventData)
+                }
                 failure?.onFailure(e, cancel)
             },
         )
     }
+
+    override fun flush() {
+        (backend as? FlushableBackend)?.flush()
+    }
+
+    // a sample the ingress keeps rejecting with a server error would otherwise be persisted and re-sent forever,
+    // other failures, like being offline or throttled, don't count towards the limit
+    private fun shouldPersist(
+        e: Exception,
+        sampleKey: String,
+    ): Boolean {
+        if (e !is IngressServerErrorException) return true
+        val serverErrorCount = serverErrorCounts.increment(sampleKey)
+        if (serverErrorCount <= IngressServerErrorException.MAX_RETRIES) return true
+        serverErrorCounts.remove(sampleKey)
+        BitmovinLog.w(TAG, "Dropping sample after ${serverErrorCount - 1} retries: ${e.message}")
+        return false
+    }
+
+    private val EventData.sampleKey: String
+        get() = "$impressionId/$sequenceNumber"
+
+    private val AdEventData.sampleKey: String
+        get() = "$adImpressionId/$time"
+}
+
+/**
+ * Number of server errors per sample, in memory only, so the limit starts over after a restart of the app.
+ * Samples that are never sent again, e.g. since the retention of the event database deleted them, are
+ * evicted once there are more than [MAX_TRACKED_SAMPLES].
+ */
+private class ServerErrorCounts {
+    private val counts =
+        object : LinkedHashMap<String, Int>() {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Int>?) = size > MAX_TRACKED_SAMPLES
+        }
+
+    @Synchronized
+    fun increment(sampleKey: String): Int = (counts.getOrElse(sampleKey) { 0 } + 1).also { counts[sampleKey] = it }
+
+    @Synchronized
+    fun remove(sampleKey: String) {
+        counts.remove(sampleKey)
+    }
+
+    companion object {
+        private const val MAX_TRACKED_SAMPLES = 1_000
+    }
 }
 
 private const val TAG = "PersistentCacheBackend"
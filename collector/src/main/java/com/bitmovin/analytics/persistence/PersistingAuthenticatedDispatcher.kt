@@ -5,6 +5,7 @@ import com.bitmovin.analytics.api.AnalyticsConfig
 import com.bitmovin.analytics.data.Backend
 import com.bitmovin.analytics.data.BackendFactory
 import com.bitmovin.analytics.data.CacheConsumingBackend
+import com.bitmovin.analytics.data.FlushableBackend
 import com.bitmovin.analytics.data.IEventDataDispatcher
 import com.bitmovin.analytics.dtos.AdEventData
 import com.bitmovin.analytics.dtos.EventData
@@ -17,6 +18,7 @@ import com.bitmovin.analytics.persistence.OperationMode.Authenticated
 import com.bitmovin.analytics.persistence.OperationMode.Disabled
 import com.bitmovin.analytics.persistence.OperationMode.Unauthenticated
 import com.bitmovin.analytics.persistence.queue.AnalyticsEventQueue
+import com.bitmovin.analytics.persistence.queue.FlushableEventQueue
 import com.bitmovin.analytics.utils.ScopeProvider
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.cancel
@@ -83,10 +85,17 @@ internal class PersistingAuthenticatedDispatcher(
     }
 
     override fun disable() {
+        flush()
         ioScope.cancel()
         operationMode = Disabled
     }
 
+    override fun flush() {
+        // commits the samples that were pushed while unauthenticated, e.g. before the app is paused or detached
+        (eventQueue as? FlushableEventQueue)?.flush()
+        (backend as? FlushableBackend)?.flush()
+    }
+
     override fun add(data: EventData) {
         when (operationMode) {
             Disabled -> return
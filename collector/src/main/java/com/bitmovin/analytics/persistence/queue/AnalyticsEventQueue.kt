@@ -8,5 +8,9 @@ interface AnalyticsEventQueue : ConsumeOnlyAnalyticsEventQueue {
 
     fun push(event: AdEventData)
 
+    fun pushEvents(events: List<EventData>) = events.forEach { push(it) }
+
+    fun pushAdEvents(events: List<AdEventData>) = events.forEach { push(it) }
+
     fun clear()
 }
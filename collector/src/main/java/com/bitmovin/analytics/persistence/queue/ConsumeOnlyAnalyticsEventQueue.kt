@@ -7,4 +7,22 @@ interface ConsumeOnlyAnalyticsEventQueue {
     fun popEvent(): EventData?
 
     fun popAdEvent(): AdEventData?
+
+    /**
+     * Pops up to [limit] events, stopping before the event that would exceed [maxBytes] once stored.
+     * The first event is always popped. Queues that don't store the events encoded only apply the [limit].
+     */
+    fun popEvents(
+        limit: Int,
+        maxBytes: Int = Int.MAX_VALUE,
+    ): List<EventData> = buildList { while (size < limit) add(popEvent() ?: break) }
+
+    /**
+     * Pops up to [limit] ad events, stopping before the ad event that would exceed [maxBytes] once stored.
+     * The first ad event is always popped. Queues that don't store the events encoded only apply the [limit].
+     */
+    fun popAdEvents(
+        limit: Int,
+        maxBytes: Int = Int.MAX_VALUE,
+    ): List<AdEventData> = buildList { while (size < limit) add(popAdEvent() ?: break) }
 }
@@ -11,15 +11,30 @@ internal class FilteringEventQueue(
     private var filteredSession: String? = null
 
     override fun push(event: EventData) {
-        if (event.sequenceNumber > eventQueueConfig.maximumEntriesPerSession) {
-            filteredSession = event.impressionId
-            return
-        }
+        if (isFiltered(event)) return
         analyticsEventQueue.push(event)
     }
 
     override fun push(event: AdEventData) {
-        if (filteredSession == event.videoImpressionId) return
+        if (isFiltered(event)) return
         analyticsEventQueue.push(event)
     }
+
+    override fun pushEvents(events: List<EventData>) {
+        analyticsEventQueue.pushEvents(events.filterNot { isFiltered(it) })
+    }
+
+    override fun pushAdEvents(events: List<AdEventData>) {
+        analyticsEventQueue.pushAdEvents(events.filterNot { isFiltered(it) })
+    }
+
+    private fun isFiltered(event: EventData): Boolean {
+        if (event.sequenceNumber > eventQueueConfig.maximumEntriesPerSession) {
+            filteredSession = event.impressionId
+            return true
+        }
+        return false
+    }
+
+    private fun isFiltered(event: AdEventData) = filteredSession == event.videoImpressionId
 }
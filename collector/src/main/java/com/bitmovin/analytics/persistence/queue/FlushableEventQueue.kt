@@ -0,0 +1,11 @@
+package com.bitmovin.analytics.persistence.queue
+
+/**
+ * An event queue that might hold back pushed samples before they are stored.
+ */
+internal interface FlushableEventQueue {
+    /**
+     * Stores all samples that are currently held back, before returning.
+     */
+    fun flush()
+}
@@ -0,0 +1,126 @@
+package com.bitmovin.analytics.persistence.queue
+
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+
+private const val DEFAULT_MAX_PENDING_ENTRIES = 50
+private const val DEFAULT_MAX_DELAY_MS = 1_000L
+
+/**
+ * Holds pushed samples in memory and group commits them to the [eventQueue], with one transaction per
+ * event type instead of one per sample.
+ *
+ * The pending samples are committed as soon as there are [maxPendingEntries] of them, [maxDelayMs] after the
+ * first of them was pushed, and synchronously on [flush], which the dispatcher calls when the app is paused,
+ * the collector is detached or the system trims the memory of the app. Samples that are pending when the
+ * process is killed without any of these are lost.
+ *
+ * Popping commits the pending samples first, and clearing drops them, so consumers see the same queue as
+ * without the buffer.
+ *
+ * Attention: [flush] compresses and stores the pending samples on the calling thread, which is the main thread
+ * for the lifecycle callbacks. The work is bounded by [maxPendingEntries], at most one transaction per event type.
+ */
+internal class WriteBehindEventQueue(
+    private val eventQueue: AnalyticsEventQueue,
+    private val ioScope: CoroutineScope,
+    private val maxPendingEntries: Int = DEFAULT_MAX_PENDING_ENTRIES,
+    private val maxDelayMs: Long = DEFAULT_MAX_DELAY_MS,
+) : AnalyticsEventQueue, FlushableEventQueue {
+    private val pendingEvents = mutableListOf<EventData>()
+    private val pendingAdEvents = mutableListOf<AdEventData>()
+    private var scheduledCommit: Job? = null
+
+    // serializes the commits, so once flush returns every sample pushed before it is stored
+    private val commitLock = Any()
+
+    override fun push(event: EventData) = enqueue { pendingEvents.add(event) }
+
+    override fun push(event: AdEventData) = enqueue { pendingAdEvents.add(event) }
+
+    override fun pushEvents(events: List<EventData>) = enqueue { pendingEvents.addAll(events) }
+
+    override fun pushAdEvents(events: List<AdEventData>) = enqueue { pendingAdEvents.addAll(events) }
+
+    /**
+     * Commits the pending samples synchronously, at most [maxPendingEntries] of them.
+     */
+    override fun flush() {
+        synchronized(commitLock) {
+            val pending = synchronized(this) { takePending() }
+            if (pending.events.isNotEmpty()) {
+                eventQueue.pushEvents(pending.events)
+            }
+            if (pending.adEvents.isNotEmpty()) {
+                eventQueue.pushAdEvents(pending.adEvents)
+            }
+        }
+    }
+
+    override fun clear() {
+        synchronized(commitLock) {
+            synchronized(this) { takePending() }
+            eventQueue.clear()
+        }
+    }
+
+    override fun popEvent(): EventData? {
+        flush()
+        return eventQueue.popEvent()
+    }
+
+    override fun popAdEvent(): AdEventData? {
+        flush()
+        return eventQueue.popAdEvent()
+    }
+
+    override fun popEvents(
+        limit: Int,
+        maxBytes: Int,
+    ): List<EventData> {
+        flush()
+        return eventQueue.popEvents(limit, maxBytes)
+    }
+
+    override fun popAdEvents(
+        limit: Int,
+        maxBytes: Int,
+    ): List<AdEventData> {
+        flush()
+        return eventQueue.popAdEvents(limit, maxBytes)
+    }
+
+    private fun enqueue(add: () -> Unit) {
+        val isFull =
+            synchronized(this) {
+                add()
+                val isFull = pendingEvents.size + pendingAdEvents.size >= maxPendingEntries
+                if (!isFull && scheduledCommit == null) {
+                    scheduledCommit =
+                        ioScope.launch {
+                            delay(maxDelayMs)
+                            flush()
+                        }
+                }
+                isFull
+            }
+        if (isFull) {
+            flush()
+        }
+    }
+
+    private fun takePending(): Pending {
+        scheduledCommit?.cancel()
+        scheduledCommit = null
+        val pending = Pending(pendingEvents.toList(), pendingAdEvents.toList())
+        pendingEvents.clear()
+        pendingAdEvents.clear()
+        return pending
+    }
+
+    private class Pending(val events: List<EventData>, val adEvents: List<AdEventData>)
+}
@@ -4,6 +4,9 @@ import android.os.Handler
 import android.os.SystemClock
 import com.bitmovin.analytics.data.Backend
 import com.bitmovin.analytics.data.CallbackBackend
+import com.bitmovin.analytics.data.FlushableBackend
+import com.bitmovin.analytics.data.IngressServerErrorException
+import com.bitmovin.analytics.data.IngressThrottledException
 import com.bitmovin.analytics.data.OnFailureCallback
 import com.bitmovin.analytics.dtos.AdEventData
 import com.bitmovin.analytics.dtos.EventData
@@ -15,9 +18,12 @@ import java.net.UnknownHostException
 import java.util.Date
 import kotlin.Exception
 
-class RetryBackend(private val next: CallbackBackend, private val scheduleSampleHandler: Handler) : Backend {
+class RetryBackend(
+    private val next: CallbackBackend,
+    private val scheduleSampleHandler: Handler,
+    private val retryQueue: RetryQueue = RetryQueue(),
+) : Backend, FlushableBackend {
     private var retryDateToken: Date? = null
-    private val retryQueue = RetryQueue()
 
     fun getNextScheduledTime() = retryQueue.getNextScheduleTime()
 
@@ -29,10 +35,29 @@ class RetryBackend(private val next: CallbackBackend, private val scheduleSample
         scheduleSample(RetrySample(eventData, 0, Date(), 0))
     }
 
+    override fun flush() {
+        (next as? FlushableBackend)?.flush()
+    }
+
     private fun scheduleSample(retrySample: RetrySample<Any>) {
         val callback =
             OnFailureCallback { e, cancel ->
                 when (e) {
+                    is IngressThrottledException -> {
+                        cancel()
+                        // rounded up, a retry within the throttle time would fail right away again
+                        retryQueue.addSample(retrySample, minBackOffSeconds = ((e.retryAfterMs + 999) / 1000).toInt())
+                        processQueuedSamples()
+                    }
+                    is IngressServerErrorException -> {
+                        cancel()
+                        if (retrySample.retry < IngressServerErrorException.MAX_RETRIES) {
+                            retryQueue.addSample(retrySample)
+                            processQueuedSamples()
+                        } else {
+                            BitmovinLog.w(TAG, "Dropping sample after ${retrySample.retry} retries: ${e.message}")
+                        }
+                    }
                     is SocketTimeoutException,
                     is ConnectException,
                     is StreamResetException,
@@ -46,17 +71,11 @@ class RetryBackend(private val next: CallbackBackend, private val scheduleSample
             }
 
         if (retrySample.eventData is EventData) {
-            BitmovinLog.d(
-                TAG,
-                "sending sample ${retrySample.eventData.sequenceNumber} retry ${retrySample.retry}",
-            )
+            BitmovinLog.d(TAG) { "sending sample ${retrySample.eventData.sequenceNumber} retry ${retrySample.retry}" }
             retrySample.eventData.retryCount = retrySample.retry
             this.next.send(retrySample.eventData, failure = callback)
         } else if (retrySample.eventData is AdEventData) {
-            BitmovinLog.d(
-                TAG,
-                "sending ad sample ${retrySample.eventData.adId} retry ${retrySample.retry}",
-            )
+            BitmovinLog.d(TAG) { "sending ad sample ${retrySample.eventData.adId} retry ${retrySample.retry}" }
             retrySample.eventData.retryCount = retrySample.retry
             this.next.sendAd(retrySample.eventData, failure = callback)
         }
@@ -97,7 +116,7 @@ class RetryBackend(private val next: CallbackBackend, private val scheduleSample
 
     // TODO: verify why we use finalize, this seems to be a code smell since finalize is not guaranteed to be called ever
     protected fun finalize() { // destroys an instance of RetryBackend
-        BitmovinLog.d(TAG, "finalize")
+        BitmovinLog.d(TAG) { "finalize" }
         scheduleSampleHandler.removeCallbacksAndMessages(null) // removes all callbacks and messages
     }
 
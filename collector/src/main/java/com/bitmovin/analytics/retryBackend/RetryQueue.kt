@@ -24,12 +24,18 @@ class RetryQueue {
             }
         }
 
-    fun addSample(retrySample: RetrySample<Any>) {
+    /**
+     * @param minBackOffSeconds lower bound of the back off, e.g. from a `Retry-After` response header
+     */
+    fun addSample(
+        retrySample: RetrySample<Any>,
+        minBackOffSeconds: Int = 0,
+    ) {
         try {
             lock.lock()
             retrySample.retry++
 
-            val backOffTime = minOf(2.toDouble().pow(retrySample.retry).toInt(), MAX_BACKOFF_INTERVAL)
+            val backOffTime = maxOf(minOf(2.toDouble().pow(retrySample.retry).toInt(), MAX_BACKOFF_INTERVAL), minBackOffSeconds)
             retrySample.totalTime += backOffTime
 
             // more than 5min in queue
@@ -45,11 +51,10 @@ class RetryQueue {
             if (retrySamplesList.size >= getMaxSampleNumber()) {
                 val removeSample = retrySamplesList.last()
                 retrySamplesList.remove(removeSample)
-                BitmovinLog.d(
-                    TAG,
+                BitmovinLog.d(TAG) {
                     "removed sample with highest scheduled time ${removeSample.scheduledTime} " +
-                        "due to queue being over capacity of ${getMaxSampleNumber()}",
-                )
+                        "due to queue being over capacity of ${getMaxSampleNumber()}"
+                }
             }
             retrySamplesList.add(retrySample)
             retrySamplesList.sortWith(sampleComparator)
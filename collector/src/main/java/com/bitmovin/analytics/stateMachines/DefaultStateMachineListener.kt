@@ -32,7 +32,7 @@ class DefaultStateMachineListener(
         stateMachine: PlayerStateMachine,
         videoStartupTime: Long,
     ) {
-        BitmovinLog.d(TAG, String.format("onStartup %s", analytics.impressionId))
+        BitmovinLog.d(TAG) { String.format("onStartup %s", analytics.impressionId) }
         val data = playerAdapter.createEventData()
         data.supportedVideoCodecs = Util.supportedVideoFormats
         data.state = "startup"
@@ -58,7 +58,7 @@ class DefaultStateMachineListener(
         stateMachine: PlayerStateMachine,
         duration: Long,
     ) {
-        BitmovinLog.d(TAG, String.format("onPauseExit %s", analytics.impressionId))
+        BitmovinLog.d(TAG) { String.format("onPauseExit %s", analytics.impressionId) }
         val data = playerAdapter.createEventData()
         data.state = stateMachine.currentState.name
         data.duration = duration
@@ -72,7 +72,7 @@ class DefaultStateMachineListener(
         stateMachine: PlayerStateMachine,
         duration: Long,
     ) {
-        BitmovinLog.d(TAG, String.format("onPlayExit %s", analytics.impressionId))
+        BitmovinLog.d(TAG) { String.format("onPlayExit %s", analytics.impressionId) }
         val data = playerAdapter.createEventData()
         data.state = stateMachine.currentState.name
         data.duration = duration
@@ -87,14 +87,13 @@ class DefaultStateMachineListener(
         duration: Long,
         sampleTriggerReason: SampleTriggerReason,
     ) {
-        BitmovinLog.d(
-            TAG,
+        BitmovinLog.d(TAG) {
             String.format(
                 "onTriggerSample %s %s",
                 stateMachine.currentState.name,
                 analytics.impressionId,
-            ),
-        )
+            )
+        }
         val data = playerAdapter.createEventData()
         data.state = stateMachine.currentState.name
         data.duration = duration
@@ -135,7 +134,7 @@ class DefaultStateMachineListener(
         stateMachine: PlayerStateMachine,
         duration: Long,
     ) {
-        BitmovinLog.d(TAG, String.format("onRebuffering %s", analytics.impressionId))
+        BitmovinLog.d(TAG) { String.format("onRebuffering %s", analytics.impressionId) }
         val data = playerAdapter.createEventData()
         data.state = stateMachine.currentState.name
         data.duration = duration
@@ -149,7 +148,7 @@ class DefaultStateMachineListener(
         stateMachine: PlayerStateMachine,
         errorCode: ErrorCode?,
     ) {
-        BitmovinLog.d(TAG, String.format("onError %s", analytics.impressionId))
+        BitmovinLog.d(TAG) { String.format("onError %s", analytics.impressionId) }
 
         val data = playerAdapter.createEventData()
         data.state = stateMachine.currentState.name
@@ -195,7 +194,7 @@ class DefaultStateMachineListener(
         stateMachine: PlayerStateMachine,
         duration: Long,
     ) {
-        BitmovinLog.d(TAG, String.format("onSeekComplete %s", analytics.impressionId))
+        BitmovinLog.d(TAG) { String.format("onSeekComplete %s", analytics.impressionId) }
         val data = playerAdapter.createEventData()
         data.state = stateMachine.currentState.name
         data.seeked = duration
@@ -209,7 +208,7 @@ class DefaultStateMachineListener(
         stateMachine: PlayerStateMachine,
         duration: Long,
     ) {
-        BitmovinLog.d(TAG, "onAd")
+        BitmovinLog.d(TAG) { "onAd" }
         val data = playerAdapter.createEventData()
         data.state = stateMachine.currentState.name
         data.duration = duration
@@ -220,19 +219,19 @@ class DefaultStateMachineListener(
     }
 
     override fun onMute(stateMachine: PlayerStateMachine) {
-        BitmovinLog.d(TAG, "onMute")
+        BitmovinLog.d(TAG) { "onMute" }
     }
 
     override fun onUnmute(stateMachine: PlayerStateMachine) {
-        BitmovinLog.d(TAG, "onUnmute")
+        BitmovinLog.d(TAG) { "onUnmute" }
     }
 
     override fun onUpdateSample(stateMachine: PlayerStateMachine) {
-        BitmovinLog.d(TAG, "onUpdateSample")
+        BitmovinLog.d(TAG) { "onUpdateSample" }
     }
 
     override fun onQualityChange(stateMachine: PlayerStateMachine) {
-        BitmovinLog.d(TAG, String.format("onQualityChange %s", analytics.impressionId))
+        BitmovinLog.d(TAG) { String.format("onQualityChange %s", analytics.impressionId) }
         val data = playerAdapter.createEventData()
         data.state = stateMachine.currentState.name
         data.duration = 0
@@ -242,14 +241,14 @@ class DefaultStateMachineListener(
     }
 
     override fun onVideoChange(stateMachine: PlayerStateMachine) {
-        BitmovinLog.d(TAG, "onVideoChange")
+        BitmovinLog.d(TAG) { "onVideoChange" }
     }
 
     override fun onSubtitleChange(
         stateMachine: PlayerStateMachine,
         oldValue: SubtitleDto?,
     ) {
-        BitmovinLog.d(TAG, String.format("onSubtitleChange %s", analytics.impressionId))
+        BitmovinLog.d(TAG) { String.format("onSubtitleChange %s", analytics.impressionId) }
         val data = playerAdapter.createEventData()
         data.state = stateMachine.currentState.name
         data.duration = 0
@@ -266,7 +265,7 @@ class DefaultStateMachineListener(
         stateMachine: PlayerStateMachine,
         oldAudioLanguage: String?,
     ) {
-        BitmovinLog.d(TAG, String.format("onAudioTrackChange %s", analytics.impressionId))
+        BitmovinLog.d(TAG) { String.format("onAudioTrackChange %s", analytics.impressionId) }
         val data = playerAdapter.createEventData()
         data.state = stateMachine.currentState.name
         data.duration = 0
@@ -107,7 +107,7 @@ class PlayerStateMachine(
     // last sample of session when collector is detached
     // player destroyed, or source unloaded, or programChange happened
     fun triggerLastSampleOfSession(sampleTriggerReason: SampleTriggerReason) {
-        BitmovinLog.d(TAG, "Last sample triggered $sampleTriggerReason")
+        BitmovinLog.d(TAG) { "Last sample triggered $sampleTriggerReason" }
 
         if (lastSampleTriggered) {
             return
@@ -227,7 +227,7 @@ class PlayerStateMachine(
 
         val elapsedTime = Util.elapsedTime
         videoTimeEnd = videoTime
-        BitmovinLog.d(TAG, "Transitioning from $currentState to $destinationPlayerState")
+        BitmovinLog.d(TAG) { "Transitioning from $currentState to $destinationPlayerState" }
         val durationInState = elapsedTime - elapsedTimeOnEnter
         currentState.onExitState(this, elapsedTime, durationInState, destinationPlayerState)
         elapsedTimeOnEnter = elapsedTime
@@ -440,13 +440,13 @@ class PlayerStateMachine(
         get() = currentState === PlayerStates.PLAYING || currentState === PlayerStates.PAUSE
 
     private fun onVideoStartTimeoutTimerFinished() {
-        BitmovinLog.d(TAG, "VideoStartTimeout finish")
+        BitmovinLog.d(TAG) { "VideoStartTimeout finish" }
         videoStartFailedReason = VideoStartFailedReason.TIMEOUT
         transitionState(PlayerStates.VIDEOSTART_FAILED, 0, null)
     }
 
     private fun onRebufferingTimerFinished() {
-        BitmovinLog.d(TAG, "rebufferingTimeout finish")
+        BitmovinLog.d(TAG) { "rebufferingTimeout finish" }
 
         error(
             playerContext.position,
@@ -92,11 +92,10 @@ class PlayerStates {
                 ) {
                     machine.videoStartTimeoutTimer.cancel()
                     if (data != null && !machine.shouldReportError(data)) {
-                        BitmovinLog.d(
-                            TAG,
+                        BitmovinLog.d(TAG) {
                             "ErrorCode ${data.errorCode} with severity ${data.errorSeverity} " +
-                                "already reported 5 times, not reporting this occurrence!",
-                        )
+                                "already reported 5 times, not reporting this occurrence!"
+                        }
                         return
                     }
 
@@ -30,7 +30,7 @@ class QualityChangeEventLimiter(private val resetTimer: ObservableTimer) {
     }
 
     private fun onResetTimerFinished() {
-        BitmovinLog.d(TAG, "qualityChangeResetTimeout finish")
+        BitmovinLog.d(TAG) { "qualityChangeResetTimeout finish" }
         resetQualityChangeCount()
     }
 
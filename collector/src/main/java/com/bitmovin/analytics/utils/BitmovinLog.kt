@@ -7,15 +7,33 @@ import com.bitmovin.analytics.api.LogLevel
  * Wrapper around the Android Log class to make the log level configurable vie AnalyticsConfig
  */
 object BitmovinLog {
+    @PublishedApi
+    internal val isDebugEnabled: Boolean
+        get() = LogLevelConfig.logLevel == LogLevel.DEBUG
+
     fun d(
         tag: String,
         message: String,
     ) {
-        if (LogLevelConfig.logLevel == LogLevel.DEBUG) {
+        if (isDebugEnabled) {
             Log.d(tag, message)
         }
     }
 
+    /**
+     * Logs the message returned by [message] in case debug logging is enabled.
+     * The message is only built when it is actually logged, and since the function is inlined
+     * no lambda is allocated either, so this is free on hot paths when debug logging is disabled.
+     */
+    inline fun d(
+        tag: String,
+        message: () -> String,
+    ) {
+        if (isDebugEnabled) {
+            Log.d(tag, message())
+        }
+    }
+
     fun w(
         tag: String,
         message: String,
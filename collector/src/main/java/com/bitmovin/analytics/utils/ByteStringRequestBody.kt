@@ -0,0 +1,18 @@
+package com.bitmovin.analytics.utils
+
+import okio.ByteString
+import java.io.OutputStream
+
+/**
+ * Request body of already encoded bytes.
+ */
+internal class ByteStringRequestBody(
+    private val bytes: ByteString,
+    override val contentType: String,
+) : HttpTransportRequestBody {
+    override val contentLength: Long = bytes.size.toLong()
+
+    override fun writeTo(outputStream: OutputStream) {
+        bytes.write(outputStream)
+    }
+}
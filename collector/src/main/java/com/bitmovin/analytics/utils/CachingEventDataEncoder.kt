@@ -0,0 +1,192 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.dtos.EventData
+import okio.ByteString
+import java.io.OutputStream
+
+/**
+ * Encodes [EventData] as JSON, re-using the encoded impression constant fields across the samples of an impression.
+ *
+ * Fields like the device information, the user agent or the custom data are the same for every sample of an
+ * impression, but make up most of the encoding work. They are encoded once into a fragment, and the encoded
+ * runs of the fragment are written in between the encoded per-sample fields. The fragment is kept for the
+ * current impression and re-encoded as soon as one of its values changes, e.g. when the custom data is changed
+ * during the impression.
+ *
+ * The fields are written with the generated [writeEventData], in the order of the serial descriptor, so the
+ * result is byte identical to the one of [DataSerializerKotlinX.jsonInstance].
+ */
+internal class CachingEventDataEncoder {
+    @Volatile
+    private var cachedFragment: StaticFragment? = null
+
+    /**
+     * @param omitDefaults leaves out the fields that are equal to their default, see [OmitDefaultsProfile]
+     */
+    fun encode(
+        eventData: EventData,
+        omitDefaults: Boolean = false,
+    ): ByteString = write(eventData, omitDefaults).toByteString()
+
+    /**
+     * Request body of [eventData], encoded right away on the calling thread. The sample is mutable and an error
+     * while encoding it has to be thrown to the caller, not on the thread of the transport that writes the body.
+     */
+    fun requestBody(
+        eventData: EventData,
+        omitDefaults: Boolean = false,
+    ): HttpTransportRequestBody = ByteStringRequestBody(encode(eventData, omitDefaults), HttpClient.JSON_CONTENT_TYPE)
+
+    fun encodeTo(
+        eventData: EventData,
+        outputStream: OutputStream,
+        omitDefaults: Boolean = false,
+    ) = write(eventData, omitDefaults).writeTo(outputStream)
+
+    private fun write(
+        eventData: EventData,
+        omitDefaults: Boolean,
+    ): JsonUtf8Writer {
+        // none of the static fields has a constant default, so only the per-sample fields are affected
+        val sampleFields =
+            if (omitDefaults) OmitDefaultsProfile.eventDataDefaults.nonDefaultFields(eventData, SAMPLE_FIELDS) else SAMPLE_FIELDS
+        val fragment = staticFragmentFor(eventData)
+        val runWriter = runWriters.get()!!
+        val writer = DtoJsonWriters.writer()
+        writer.beginObject()
+        for (run in FIELD_RUNS) {
+            if (run.staticIndex >= 0) {
+                writer.fields(fragment.runs[run.staticIndex])
+                continue
+            }
+            // the per-sample fields of the run are written as an object of their own and merged into the sample
+            runWriter.writer.reset()
+            runWriter.writer.writeEventData(eventData, runWriter.fieldsOf(run, sampleFields))
+            writer.fieldsOf(runWriter.writer)
+        }
+        writer.endObject()
+        return writer
+    }
+
+    private fun staticFragmentFor(eventData: EventData): StaticFragment {
+        val cached = cachedFragment
+        if (cached != null && cached.impressionId == eventData.impressionId && cached.matches(eventData)) {
+            return cached
+        }
+
+        val values = Array(STATIC_INDICES.size) { eventData.jsonElementValue(STATIC_INDICES[it]) }
+        val writer = JsonUtf8Writer()
+        // only the fields without the surrounding braces are kept
+        val runs =
+            STATIC_RUNS.map { run ->
+                writer.reset()
+                writer.writeEventData(eventData, run.fields)
+                val encoded = writer.toByteString()
+                if (encoded.size > 2) encoded.substring(1, encoded.size - 1).toByteArray() else ByteArray(0)
+            }
+        return StaticFragment(eventData.impressionId, values, runs.toTypedArray()).also { cachedFragment = it }
+    }
+
+    private class StaticFragment(
+        val impressionId: String,
+        val values: Array<Any?>,
+        /**
+         * The encoded fields of each of the [STATIC_RUNS].
+         */
+        val runs: Array<ByteArray>,
+    ) {
+        // the static fields are no primitives, so comparing them doesn't box
+        fun matches(eventData: EventData): Boolean {
+            for (slot in STATIC_INDICES.indices) {
+                if (values[slot] != eventData.jsonElementValue(STATIC_INDICES[slot])) {
+                    return false
+                }
+            }
+            return true
+        }
+    }
+
+    /**
+     * Consecutive elements of the serial descriptor that are either all static or all per-sample fields.
+     *
+     * @param staticIndex index of the run in [STATIC_RUNS], or -1 for a run of per-sample fields
+     */
+    private class FieldRun(
+        val first: Int,
+        val last: Int,
+        val staticIndex: Int,
+    ) {
+        val fields = BooleanArray(STATIC_FIELDS.size) { it in first..last }
+    }
+
+    /**
+     * Writer and field mask of the current thread for the runs of per-sample fields.
+     */
+    private class RunWriter {
+        val writer = JsonUtf8Writer(RUN_WRITER_CAPACITY)
+        private val fields = BooleanArray(STATIC_FIELDS.size)
+
+        fun fieldsOf(
+            run: FieldRun,
+            sampleFields: BooleanArray,
+        ): BooleanArray {
+            fields.fill(false)
+            for (index in run.first..run.last) {
+                fields[index] = sampleFields[index]
+            }
+            return fields
+        }
+    }
+
+    companion object {
+        /**
+         * Fields that are constant within an impression, unless the metadata is changed.
+         */
+        internal val STATIC_FIELD_NAMES =
+            listOf(
+                "userId",
+                "key",
+                "userAgent",
+                "deviceInformation",
+                "language",
+                "analyticsVersion",
+                "playerTech",
+                "domain",
+                "platform",
+                "player",
+                "experimentName",
+            ) + (1..100).map { "customData$it" }
+
+        private val STATIC_FIELDS: BooleanArray =
+            EventData.serializer().descriptor.let { descriptor ->
+                BooleanArray(descriptor.elementsCount) { index -> descriptor.getElementName(index) in STATIC_FIELD_NAMES }
+            }
+
+        private val SAMPLE_FIELDS: BooleanArray = BooleanArray(STATIC_FIELDS.size) { !STATIC_FIELDS[it] }
+
+        // element indices of the static fields
+        private val STATIC_INDICES: IntArray = STATIC_FIELDS.indices.filter { STATIC_FIELDS[it] }.toIntArray()
+
+        private val FIELD_RUNS: Array<FieldRun> =
+            buildList {
+                var first = 0
+                var staticCount = 0
+                for (index in 1..STATIC_FIELDS.size) {
+                    if (index == STATIC_FIELDS.size || STATIC_FIELDS[index] != STATIC_FIELDS[first]) {
+                        add(FieldRun(first, index - 1, if (STATIC_FIELDS[first]) staticCount++ else -1))
+                        first = index
+                    }
+                }
+            }.toTypedArray()
+
+        private val STATIC_RUNS: List<FieldRun> = FIELD_RUNS.filter { it.staticIndex >= 0 }
+
+        // the per-sample fields of a run are a fraction of a sample
+        private const val RUN_WRITER_CAPACITY = 1024
+
+        private val runWriters =
+            object : ThreadLocal<RunWriter>() {
+                override fun initialValue() = RunWriter()
+            }
+    }
+}
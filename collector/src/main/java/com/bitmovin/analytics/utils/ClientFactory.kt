@@ -2,6 +2,7 @@ package com.bitmovin.analytics.utils
 
 import com.bitmovin.analytics.api.AnalyticsConfig
 import com.bitmovin.analytics.api.RetryPolicy
+import okhttp3.Dispatcher
 import okhttp3.OkHttpClient
 import java.util.concurrent.TimeUnit
 
@@ -10,12 +11,68 @@ class ClientFactory {
         // if retry policy is SHORT_TERM we disable the retry from
         // okhttp and handle it ourselves
         return if (config.retryPolicy == RetryPolicy.SHORT_TERM) {
-            OkHttpClient.Builder()
+            shortTermRetryClient
+        } else {
+            sharedClient
+        }
+    }
+
+    fun createClient(): OkHttpClient = sharedClient
+
+    /**
+     * Client for urgent samples. It shares the connection pool with [createClient] but has its own
+     * dispatcher, so urgent requests never wait for a free slot behind other samples.
+     */
+    fun createUrgentClient(config: AnalyticsConfig): OkHttpClient {
+        return if (config.retryPolicy == RetryPolicy.SHORT_TERM) {
+            shortTermRetryUrgentClient
+        } else {
+            urgentClient
+        }
+    }
+
+    /**
+     * Transport for the requests of the collector. A transport installed with [HttpTransport.install] takes
+     * precedence over the OkHttp based default.
+     */
+    fun createTransport(config: AnalyticsConfig): HttpTransport = HttpTransport.installed ?: OkHttpTransport(createClient(config))
+
+    fun createTransport(): HttpTransport = HttpTransport.installed ?: OkHttpTransport(createClient())
+
+    /**
+     * Transport for urgent samples, see [createUrgentClient]. An installed transport is expected to
+     * manage its concurrency on its own and is used for urgent samples as well.
+     */
+    fun createUrgentTransport(config: AnalyticsConfig): HttpTransport =
+        HttpTransport.installed ?: OkHttpTransport(createUrgentClient(config))
+
+    companion object {
+        /**
+         * Process wide client, created on first use. All clients handed out by the factory derive
+         * from it and share its connection pool, and apart from the urgent clients also its dispatcher,
+         * so collectors that are attached and detached repeatedly keep reusing the same threads and (TLS) connections.
+         */
+        private val sharedClient: OkHttpClient by lazy { OkHttpClient() }
+
+        private val shortTermRetryClient: OkHttpClient by lazy {
+            sharedClient.newBuilder()
                 .retryOnConnectionFailure(false)
                 .connectTimeout(15, TimeUnit.SECONDS)
                 .build()
-        } else {
-            OkHttpClient()
+        }
+
+        private val urgentDispatcher: Dispatcher by lazy { Dispatcher() }
+
+        private val urgentClient: OkHttpClient by lazy {
+            sharedClient.newBuilder()
+                .dispatcher(urgentDispatcher)
+                .build()
+        }
+
+        private val shortTermRetryUrgentClient: OkHttpClient by lazy {
+            shortTermRetryClient.newBuilder()
+                .dispatcher(urgentDispatcher)
+                .build()
         }
     }
 }
@@ -0,0 +1,314 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.api.CustomData
+
+/**
+ * Array backed view of a [CustomData] that is used to merge custom data without touching every field.
+ *
+ * Slot `N - 1` holds `customDataN`, the last slot holds [CustomData.experimentName]. The populated slots
+ * are tracked in a bitset, so merges only visit the slots that are set, which are usually a handful.
+ *
+ * Instances are immutable and created at most once per [CustomData], see [of].
+ */
+internal class CustomDataSlots private constructor(
+    private val values: Array<String?>,
+    private val populatedLow: Long,
+    private val populatedHigh: Long,
+) {
+    // last merge with this custom data as main custom data, merging with the same fallback again re-uses it
+    @Volatile
+    private var lastMerge: MergeResult? = null
+
+    operator fun get(slot: Int): String? = values[slot]
+
+    private fun containsAllSlotsOf(other: CustomDataSlots) =
+        other.populatedLow and populatedLow.inv() == 0L && other.populatedHigh and populatedHigh.inv() == 0L
+
+    // whether every populated slot has the same value in [other]
+    private fun isContainedIn(other: CustomDataSlots): Boolean {
+        if (!other.containsAllSlotsOf(this)) return false
+        forEachPopulatedSlot { if (values[it] != other.values[it]) return false }
+        return true
+    }
+
+    private inline fun forEachPopulatedSlot(action: (Int) -> Unit) {
+        var low = populatedLow
+        while (low != 0L) {
+            action(java.lang.Long.numberOfTrailingZeros(low))
+            low = low and (low - 1)
+        }
+        var high = populatedHigh
+        while (high != 0L) {
+            action(Long.SIZE_BITS + java.lang.Long.numberOfTrailingZeros(high))
+            high = high and (high - 1)
+        }
+    }
+
+    private class MergeResult(val fallback: CustomData, val merged: CustomData)
+
+    companion object {
+        const val SLOT_COUNT = 101
+
+        private val EMPTY = CustomData()
+
+        /**
+         * The slots of [customData], computed on first use and kept with the instance.
+         */
+        fun of(customData: CustomData): CustomDataSlots =
+            customData.cachedSlots ?: fromFields(customData).also { customData.cachedSlots = it }
+
+        /**
+         * Merges two custom data, the fields of [main] take precedence over the ones of [fallback].
+         *
+         * Only the populated slots are visited. When the result is equal to one of the inputs, that input is
+         * returned instead of a copy, and merging the same instances again returns the previous result.
+         */
+        fun merge(
+            main: CustomData?,
+            fallback: CustomData?,
+        ): CustomData {
+            if (main == null) return fallback ?: EMPTY
+            if (fallback == null || main === fallback) return main
+            val mainSlots = of(main)
+            val fallbackSlots = of(fallback)
+            if (mainSlots.containsAllSlotsOf(fallbackSlots)) return main
+            if (mainSlots.isContainedIn(fallbackSlots)) return fallback
+
+            val lastMerge = mainSlots.lastMerge
+            if (lastMerge != null && lastMerge.fallback === fallback) return lastMerge.merged
+
+            val values = fallbackSlots.values.copyOf()
+            mainSlots.forEachPopulatedSlot { values[it] = mainSlots.values[it] }
+            val slots =
+                CustomDataSlots(
+                    values,
+                    mainSlots.populatedLow or fallbackSlots.populatedLow,
+                    mainSlots.populatedHigh or fallbackSlots.populatedHigh,
+                )
+            return slots.toCustomData().also { mainSlots.lastMerge = MergeResult(fallback, it) }
+        }
+
+        private fun fromFields(customData: CustomData): CustomDataSlots {
+            val values =
+                arrayOf(
+                    customData.customData1,
+                    customData.customData2,
+                    customData.customData3,
+                    customData.customData4,
+                    customData.customData5,
+                    customData.customData6,
+                    customData.customData7,
+                    customData.customData8,
+                    customData.customData9,
+                    customData.customData10,
+                    customData.customData11,
+                    customData.customData12,
+                    customData.customData13,
+                    customData.customData14,
+                    customData.customData15,
+                    customData.customData16,
+                    customData.customData17,
+                    customData.customData18,
+                    customData.customData19,
+                    customData.customData20,
+                    customData.customData21,
+                    customData.customData22,
+                    customData.customData23,
+                    customData.customData24,
+                    customData.customData25,
+                    customData.customData26,
+                    customData.customData27,
+                    customData.customData28,
+                    customData.customData29,
+                    customData.customData30,
+                    customData.customData31,
+                    customData.customData32,
+                    customData.customData33,
+                    customData.customData34,
+                    customData.customData35,
+                    customData.customData36,
+                    customData.customData37,
+                    customData.customData38,
+                    customData.customData39,
+                    customData.customData40,
+                    customData.customData41,
+                    customData.customData42,
+                    customData.customData43,
+                    customData.customData44,
+                    customData.customData45,
+                    customData.customData46,
+                    customData.customData47,
+                    customData.customData48,
+                    customData.customData49,
+                    customData.customData50,
+                    customData.customData51,
+                    customData.customData52,
+                    customData.customData53,
+                    customData.customData54,
+                    customData.customData55,
+                    customData.customData56,
+                    customData.customData57,
+                    customData.customData58,
+                    customData.customData59,
+                    customData.customData60,
+                    customData.customData61,
+                    customData.customData62,
+                    customData.customData63,
+                    customData.customData64,
+                    customData.customData65,
+                    customData.customData66,
+                    customData.customData67,
+                    customData.customData68,
+                    customData.customData69,
+                    customData.customData70,
+                    customData.customData71,
+                    customData.customData72,
+                    customData.customData73,
+                    customData.customData74,
+                    customData.customData75,
+                    customData.customData76,
+                    customData.customData77,
+                    customData.customData78,
+                    customData.customData79,
+                    customData.customData80,
+                    customData.customData81,
+                    customData.customData82,
+                    customData.customData83,
+                    customData.customData84,
+                    customData.customData85,
+                    customData.customData86,
+                    customData.customData87,
+                    customData.customData88,
+                    customData.customData89,
+                    customData.customData90,
+                    customData.customData91,
+                    customData.customData92,
+                    customData.customData93,
+                    customData.customData94,
+                    customData.customData95,
+                    customData.customData96,
+                    customData.customData97,
+                    customData.customData98,
+                    customData.customData99,
+                    customData.customData100,
+                    customData.experimentName,
+                )
+            var populatedLow = 0L
+            var populatedHigh = 0L
+            for (slot in values.indices) {
+                if (values[slot] == null) continue
+                if (slot < Long.SIZE_BITS) {
+                    populatedLow = populatedLow or (1L shl slot)
+                } else {
+                    populatedHigh = populatedHigh or (1L shl (slot - Long.SIZE_BITS))
+                }
+            }
+            return CustomDataSlots(values, populatedLow, populatedHigh)
+        }
+
+        private fun CustomDataSlots.toCustomData() =
+            CustomData(
+                customData1 = values[0],
+                customData2 = values[1],
+                customData3 = values[2],
+                customData4 = values[3],
+                customData5 = values[4],
+                customData6 = values[5],
+                customData7 = values[6],
+                customData8 = values[7],
+                customData9 = values[8],
+                customData10 = values[9],
+                customData11 = values[10],
+                customData12 = values[11],
+                customData13 = values[12],
+                customData14 = values[13],
+                customData15 = values[14],
+                customData16 = values[15],
+                customData17 = values[16],
+                customData18 = values[17],
+                customData19 = values[18],
+                customData20 = values[19],
+                customData21 = values[20],
+                customData22 = values[21],
+                customData23 = values[22],
+                customData24 = values[23],
+                customData25 = values[24],
+                customData26 = values[25],
+                customData27 = values[26],
+                customData28 = values[27],
+                customData29 = values[28],
+                customData30 = values[29],
+                customData31 = values[30],
+                customData32 = values[31],
+                customData33 = values[32],
+                customData34 = values[33],
+                customData35 = values[34],
+                customData36 = values[35],
+                customData37 = values[36],
+                customData38 = values[37],
+                customData39 = values[38],
+                customData40 = values[39],
+                customData41 = values[40],
+                customData42 = values[41],
+                customData43 = values[42],
+                customData44 = values[43],
+                customData45 = values[44],
+                customData46 = values[45],
+                customData47 = values[46],
+                customData48 = values[47],
+                customData49 = values[48],
+                customData50 = values[49],
+                customData51 = values[50],
+                customData52 = values[51],
+                customData53 = values[52],
+                customData54 = values[53],
+                customData55 = values[54],
+                customData56 = values[55],
+                customData57 = values[56],
+                customData58 = values[57],
+                customData59 = values[58],
+                customData60 = values[59],
+                customData61 = values[60],
+                customData62 = values[61],
+                customData63 = values[62],
+                customData64 = values[63],
+                customData65 = values[64],
+                customData66 = values[65],
+                customData67 = values[66],
+                customData68 = values[67],
+                customData69 = values[68],
+                customData70 = values[69],
+                customData71 = values[70],
+                customData72 = values[71],
+                customData73 = values[72],
+                customData74 = values[73],
+                customData75 = values[74],
+                customData76 = values[75],
+                customData77 = values[76],
+                customData78 = values[77],
+                customData79 = values[78],
+                customData80 = values[79],
+                customData81 = values[80],
+                customData82 = values[81],
+                customData83 = values[82],
+                customData84 = values[83],
+                customData85 = values[84],
+                customData86 = values[85],
+                customData87 = values[86],
+                customData88 = values[87],
+                customData89 = values[88],
+                customData90 = values[89],
+                customData91 = values[90],
+                customData92 = values[91],
+                customData93 = values[92],
+                customData94 = values[93],
+                customData95 = values[94],
+                customData96 = values[95],
+                customData97 = values[96],
+                customData98 = values[97],
+                customData99 = values[98],
+                customData100 = values[99],
+                experimentName = values[100],
+            ).also { it.cachedSlots = this }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bitmovin.analytics.utils
+
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.SerializationStrategy
+import kotlinx.serialization.protobuf.ProtoBuf
+import okio.Buffer
+import okio.ByteString
+import okio.ByteString.Companion.toByteString
+
+/**
+ * Encodes samples as Protocol Buffers, using the field numbers defined on the DTOs.
+ */
+@OptIn(ExperimentalSerializationApi::class)
+object DataSerializerProtoBuf {
+    // encodeDefaults = true mimics the JSON encoding, where also the properties with defaults are sent
+    // since the defaults of the kotlin classes are not known to the receiving side
+    val protoBufInstance: ProtoBuf =
+        ProtoBuf {
+            encodeDefaults = true
+        }
+
+    fun <T> serialize(
+        serializer: SerializationStrategy<T>,
+        data: T,
+    ): ByteString = protoBufInstance.encodeToByteArray(serializer, data).toByteString()
+
+    /**
+     * Combines encoded samples into one batch message, in which the samples are
+     * the repeated field [BATCH_SAMPLES_FIELD_NUMBER].
+     */
+    fun serializeBatch(serializedSamples: List<ByteString>): ByteString {
+        val buffer = Buffer()
+        serializedSamples.forEach {
+            // field key: field number and wire type 2 (length delimited)
+            buffer.writeVarint(((BATCH_SAMPLES_FIELD_NUMBER shl 3) or 2).toLong())
+            buffer.writeVarint(it.size.toLong())
+            buffer.write(it)
+        }
+        return buffer.readByteString()
+    }
+
+    private fun Buffer.writeVarint(value: Long) {
+        var remaining = value
+        while (remaining and 0x7FL.inv() != 0L) {
+            writeByte(((remaining and 0x7F) or 0x80).toInt())
+            remaining = remaining ushr 7
+        }
+        writeByte(remaining.toInt())
+    }
+
+    const val BATCH_SAMPLES_FIELD_NUMBER = 1
+}
@@ -0,0 +1,50 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import okio.ByteString
+
+/**
+ * Encodes the samples with the generated writers of GeneratedJsonWriters.kt instead of the reflection
+ * based kotlinx.serialization encoder. The output is byte identical to [DataSerializerKotlinX.serialize].
+ *
+ * Every thread re-uses its own [JsonUtf8Writer], so encoding a sample doesn't allocate beyond the result.
+ */
+internal object DtoJsonWriters {
+    private val writers =
+        object : ThreadLocal<JsonUtf8Writer>() {
+            override fun initialValue() = JsonUtf8Writer()
+        }
+
+    /**
+     * The writer of the current thread, already reset. Its content is only valid until the next call.
+     */
+    fun writer(): JsonUtf8Writer = writers.get()!!.also { it.reset() }
+
+    fun encode(eventData: EventData): ByteString = writer().apply { writeEventData(eventData) }.toByteString()
+
+    /**
+     * @param omitDefaults leaves out the fields that are equal to their default, see [OmitDefaultsProfile]
+     */
+    fun encode(
+        adEventData: AdEventData,
+        omitDefaults: Boolean = false,
+    ): ByteString = writer().apply { writeAdSample(adEventData, omitDefaults) }.toByteString()
+
+    fun encodeToString(eventData: EventData): String = writer().apply { writeEventData(eventData) }.toUtf8String()
+
+    fun encodeToString(adEventData: AdEventData): String = writer().apply { writeAdEventData(adEventData) }.toUtf8String()
+
+    /**
+     * Request body of [adEventData], encoded right away on the calling thread, see [CachingEventDataEncoder.requestBody].
+     */
+    fun requestBody(
+        adEventData: AdEventData,
+        omitDefaults: Boolean = false,
+    ): HttpTransportRequestBody = ByteStringRequestBody(encode(adEventData, omitDefaults), HttpClient.JSON_CONTENT_TYPE)
+
+    private fun JsonUtf8Writer.writeAdSample(
+        adEventData: AdEventData,
+        omitDefaults: Boolean,
+    ) = writeAdEventData(adEventData, if (omitDefaults) OmitDefaultsProfile.adEventDataDefaults.nonDefaultFields(adEventData) else null)
+}
@@ -0,0 +1,3178 @@
+// Generated by JsonWriterGenerator from the serial descriptors of the DTOs, do not edit.
+// Regenerate with: UPDATE_JSON_WRITERS=true ./gradlew :collector:testDebugUnitTest --tests "*JsonWriterGeneratorTest"
+@file:Suppress("DEPRECATION")
+
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.DeviceInformationDto
+import com.bitmovin.analytics.dtos.DownloadSpeedInfo
+import com.bitmovin.analytics.dtos.EventData
+
+private val AD_EVENT_DATA_KEYS =
+    JsonUtf8Writer.keys(
+        "wrapperAdsCount",
+        "adSkippable",
+        "adSkippableAfter",
+        "adClickthroughUrl",
+        "adDescription",
+        "adDuration",
+        "adId",
+        "adImpressionId",
+        "adPlaybackHeight",
+        "adPlaybackWidth",
+        "adStartupTime",
+        "adSystem",
+        "adTitle",
+        "advertiserName",
+        "apiFramework",
+        "clicked",
+        "clickPosition",
+        "closed",
+        "closePosition",
+        "completed",
+        "creativeAdId",
+        "creativeId",
+        "dealId",
+        "isLinear",
+        "mediaPath",
+        "mediaServer",
+        "mediaUrl",
+        "midpoint",
+        "minSuggestedDuration",
+        "quartile1",
+        "quartile3",
+        "skipped",
+        "skipPosition",
+        "started",
+        "streamFormat",
+        "surveyUrl",
+        "time",
+        "timePlayed",
+        "universalAdIdRegistry",
+        "universalAdIdValue",
+        "videoBitrate",
+        "adPodPosition",
+        "exitPosition",
+        "playPercentage",
+        "skipPercentage",
+        "clickPercentage",
+        "closePercentage",
+        "errorPosition",
+        "errorPercentage",
+        "timeToContent",
+        "timeFromContent",
+        "adPosition",
+        "adOffset",
+        "adScheduleTime",
+        "adReplaceContentDuration",
+        "adPreloadOffset",
+        "adTagPath",
+        "adTagServer",
+        "adTagType",
+        "adTagUrl",
+        "adIsPersistent",
+        "adIdPlayer",
+        "manifestDownloadTime",
+        "errorCode",
+        "errorData",
+        "errorMessage",
+        "errorSeverity",
+        "adFallbackIndex",
+        "adModule",
+        "adModuleVersion",
+        "videoImpressionId",
+        "userAgent",
+        "language",
+        "cdnProvider",
+        "customData1",
+        "customData2",
+        "customData3",
+        "customData4",
+        "customData5",
+        "customData6",
+        "customData7",
+        "customData8",
+        "customData9",
+        "customData10",
+        "customData11",
+        "customData12",
+        "customData13",
+        "customData14",
+        "customData15",
+        "customData16",
+        "customData17",
+        "customData18",
+        "customData19",
+        "customData20",
+        "customData21",
+        "customData22",
+        "customData23",
+        "customData24",
+        "customData25",
+        "customData26",
+        "customData27",
+        "customData28",
+        "customData29",
+        "customData30",
+        "customData31",
+        "customData32",
+        "customData33",
+        "customData34",
+        "customData35",
+        "customData36",
+        "customData37",
+        "customData38",
+        "customData39",
+        "customData40",
+        "customData41",
+        "customData42",
+        "customData43",
+        "customData44",
+        "customData45",
+        "customData46",
+        "customData47",
+        "customData48",
+        "customData49",
+        "customData50",
+        "customData51",
+        "customData52",
+        "customData53",
+        "customData54",
+        "customData55",
+        "customData56",
+        "customData57",
+        "customData58",
+        "customData59",
+        "customData60",
+        "customData61",
+        "customData62",
+        "customData63",
+        "customData64",
+        "customData65",
+        "customData66",
+        "customData67",
+        "customData68",
+        "customData69",
+        "customData70",
+        "customData71",
+        "customData72",
+        "customData73",
+        "customData74",
+        "customData75",
+        "customData76",
+        "customData77",
+        "customData78",
+        "customData79",
+        "customData80",
+        "customData81",
+        "customData82",
+        "customData83",
+        "customData84",
+        "customData85",
+        "customData86",
+        "customData87",
+        "customData88",
+        "customData89",
+        "customData90",
+        "customData91",
+        "customData92",
+        "customData93",
+        "customData94",
+        "customData95",
+        "customData96",
+        "customData97",
+        "customData98",
+        "customData99",
+        "customData100",
+        "customUserId",
+        "domain",
+        "experimentName",
+        "key",
+        "path",
+        "player",
+        "playerKey",
+        "playerTech",
+        "screenHeight",
+        "screenWidth",
+        "version",
+        "userId",
+        "videoId",
+        "videoTitle",
+        "videoWindowHeight",
+        "videoWindowWidth",
+        "analyticsVersion",
+        "autoplay",
+        "platform",
+        "audioCodec",
+        "audioBitrate",
+        "videoCodec",
+        "retryCount",
+        "adIndex",
+        "adType",
+        "quartile1FailedBeaconUrl",
+        "midpointFailedBeaconUrl",
+        "quartile3FailedBeaconUrl",
+        "completedFailedBeaconUrl",
+        "timeSinceAdStartedInMs",
+        "isSlate",
+        "expectedPaidAds",
+        "expectedSlates",
+        "completedPaidAds",
+        "completedSlates",
+        "exitedAdBreak",
+        "pageLoadType",
+    )
+
+/**
+ * Writes [data] like [DataSerializerKotlinX.jsonInstance] does. If [fields] is set, only the elements
+ * whose index is flagged in it are written.
+ */
+internal fun JsonUtf8Writer.writeAdEventData(
+    data: AdEventData,
+    fields: BooleanArray? = null,
+) {
+    beginObject()
+    if (fields == null || fields[0]) {
+        data.wrapperAdsCount?.let {
+            key(AD_EVENT_DATA_KEYS[0])
+            value(it)
+        }
+    }
+    if (fields == null || fields[1]) {
+        data.adSkippable?.let {
+            key(AD_EVENT_DATA_KEYS[1])
+            value(it)
+        }
+    }
+    if (fields == null || fields[2]) {
+        data.adSkippableAfter?.let {
+            key(AD_EVENT_DATA_KEYS[2])
+            value(it)
+        }
+    }
+    if (fields == null || fields[3]) {
+        data.adClickthroughUrl?.let {
+            key(AD_EVENT_DATA_KEYS[3])
+            value(it)
+        }
+    }
+    if (fields == null || fields[4]) {
+        data.adDescription?.let {
+            key(AD_EVENT_DATA_KEYS[4])
+            value(it)
+        }
+    }
+    if (fields == null || fields[5]) {
+        data.adDuration?.let {
+            key(AD_EVENT_DATA_KEYS[5])
+            value(it)
+        }
+    }
+    if (fields == null || fields[6]) {
+        data.adId?.let {
+            key(AD_EVENT_DATA_KEYS[6])
+            value(it)
+        }
+    }
+    if (fields == null || fields[7]) {
+        data.adImpressionId?.let {
+            key(AD_EVENT_DATA_KEYS[7])
+            value(it)
+        }
+    }
+    if (fields == null || fields[8]) {
+        data.adPlaybackHeight?.let {
+            key(AD_EVENT_DATA_KEYS[8])
+            value(it)
+        }
+    }
+    if (fields == null || fields[9]) {
+        data.adPlaybackWidth?.let {
+            key(AD_EVENT_DATA_KEYS[9])
+            value(it)
+        }
+    }
+    if (fields == null || fields[10]) {
+        data.adStartupTime?.let {
+            key(AD_EVENT_DATA_KEYS[10])
+            value(it)
+        }
+    }
+    if (fields == null || fields[11]) {
+        data.adSystem?.let {
+            key(AD_EVENT_DATA_KEYS[11])
+            value(it)
+        }
+    }
+    if (fields == null || fields[12]) {
+        data.adTitle?.let {
+            key(AD_EVENT_DATA_KEYS[12])
+            value(it)
+        }
+    }
+    if (fields == null || fields[13]) {
+        data.advertiserName?.let {
+            key(AD_EVENT_DATA_KEYS[13])
+            value(it)
+        }
+    }
+    if (fields == null || fields[14]) {
+        data.apiFramework?.let {
+            key(AD_EVENT_DATA_KEYS[14])
+            value(it)
+        }
+    }
+    if (fields == null || fields[15]) {
+        data.clicked?.let {
+            key(AD_EVENT_DATA_KEYS[15])
+            value(it)
+        }
+    }
+    if (fields == null || fields[16]) {
+        data.clickPosition?.let {
+            key(AD_EVENT_DATA_KEYS[16])
+            value(it)
+        }
+    }
+    if (fields == null || fields[17]) {
+        data.closed?.let {
+            key(AD_EVENT_DATA_KEYS[17])
+            value(it)
+        }
+    }
+    if (fields == null || fields[18]) {
+        data.closePosition?.let {
+            key(AD_EVENT_DATA_KEYS[18])
+            value(it)
+        }
+    }
+    if (fields == null || fields[19]) {
+        data.completed?.let {
+            key(AD_EVENT_DATA_KEYS[19])
+            value(it)
+        }
+    }
+    if (fields == null || fields[20]) {
+        data.creativeAdId?.let {
+            key(AD_EVENT_DATA_KEYS[20])
+            value(it)
+        }
+    }
+    if (fields == null || fields[21]) {
+        data.creativeId?.let {
+            key(AD_EVENT_DATA_KEYS[21])
+            value(it)
+        }
+    }
+    if (fields == null || fields[22]) {
+        data.dealId?.let {
+            key(AD_EVENT_DATA_KEYS[22])
+            value(it)
+        }
+    }
+    if (fields == null || fields[23]) {
+        data.isLinear?.let {
+            key(AD_EVENT_DATA_KEYS[23])
+            value(it)
+        }
+    }
+    if (fields == null || fields[24]) {
+        data.mediaPath?.let {
+            key(AD_EVENT_DATA_KEYS[24])
+            value(it)
+        }
+    }
+    if (fields == null || fields[25]) {
+        data.mediaServer?.let {
+            key(AD_EVENT_DATA_KEYS[25])
+            value(it)
+        }
+    }
+    if (fields == null || fields[26]) {
+        data.mediaUrl?.let {
+            key(AD_EVENT_DATA_KEYS[26])
+            value(it)
+        }
+    }
+    if (fields == null || fields[27]) {
+        data.midpoint?.let {
+            key(AD_EVENT_DATA_KEYS[27])
+            value(it)
+        }
+    }
+    if (fields == null || fields[28]) {
+        data.minSuggestedDuration?.let {
+            key(AD_EVENT_DATA_KEYS[28])
+            value(it)
+        }
+    }
+    if (fields == null || fields[29]) {
+        data.quartile1?.let {
+            key(AD_EVENT_DATA_KEYS[29])
+            value(it)
+        }
+    }
+    if (fields == null || fields[30]) {
+        data.quartile3?.let {
+            key(AD_EVENT_DATA_KEYS[30])
+            value(it)
+        }
+    }
+    if (fields == null || fields[31]) {
+        data.skipped?.let {
+            key(AD_EVENT_DATA_KEYS[31])
+            value(it)
+        }
+    }
+    if (fields == null || fields[32]) {
+        data.skipPosition?.let {
+            key(AD_EVENT_DATA_KEYS[32])
+            value(it)
+        }
+    }
+    if (fields == null || fields[33]) {
+        data.started?.let {
+            key(AD_EVENT_DATA_KEYS[33])
+            value(it)
+        }
+    }
+    if (fields == null || fields[34]) {
+        data.streamFormat?.let {
+            key(AD_EVENT_DATA_KEYS[34])
+            value(it)
+        }
+    }
+    if (fields == null || fields[35]) {
+        data.surveyUrl?.let {
+            key(AD_EVENT_DATA_KEYS[35])
+            value(it)
+        }
+    }
+    if (fields == null || fields[36]) {
+        key(AD_EVENT_DATA_KEYS[36])
+        value(data.time)
+    }
+    if (fields == null || fields[37]) {
+        data.timePlayed?.let {
+            key(AD_EVENT_DATA_KEYS[37])
+            value(it)
+        }
+    }
+    if (fields == null || fields[38]) {
+        data.universalAdIdRegistry?.let {
+            key(AD_EVENT_DATA_KEYS[38])
+            value(it)
+        }
+    }
+    if (fields == null || fields[39]) {
+        data.universalAdIdValue?.let {
+            key(AD_EVENT_DATA_KEYS[39])
+            value(it)
+        }
+    }
+    if (fields == null || fields[40]) {
+        data.videoBitrate?.let {
+            key(AD_EVENT_DATA_KEYS[40])
+            value(it)
+        }
+    }
+    if (fields == null || fields[41]) {
+        data.adPodPosition?.let {
+            key(AD_EVENT_DATA_KEYS[41])
+            value(it)
+        }
+    }
+    if (fields == null || fields[42]) {
+        data.exitPosition?.let {
+            key(AD_EVENT_DATA_KEYS[42])
+            value(it)
+        }
+    }
+    if (fields == null || fields[43]) {
+        data.playPercentage?.let {
+            key(AD_EVENT_DATA_KEYS[43])
+            value(it)
+        }
+    }
+    if (fields == null || fields[44]) {
+        data.skipPercentage?.let {
+            key(AD_EVENT_DATA_KEYS[44])
+            value(it)
+        }
+    }
+    if (fields == null || fields[45]) {
+        data.clickPercentage?.let {
+            key(AD_EVENT_DATA_KEYS[45])
+            value(it)
+        }
+    }
+    if (fields == null || fields[46]) {
+        data.closePercentage?.let {
+            key(AD_EVENT_DATA_KEYS[46])
+            value(it)
+        }
+    }
+    if (fields == null || fields[47]) {
+        data.errorPosition?.let {
+            key(AD_EVENT_DATA_KEYS[47])
+            value(it)
+        }
+    }
+    if (fields == null || fields[48]) {
+        data.errorPercentage?.let {
+            key(AD_EVENT_DATA_KEYS[48])
+            value(it)
+        }
+    }
+    if (fields == null || fields[49]) {
+        data.timeToContent?.let {
+            key(AD_EVENT_DATA_KEYS[49])
+            value(it)
+        }
+    }
+    if (fields == null || fields[50]) {
+        data.timeFromContent?.let {
+            key(AD_EVENT_DATA_KEYS[50])
+            value(it)
+        }
+    }
+    if (fields == null || fields[51]) {
+        data.adPosition?.let {
+            key(AD_EVENT_DATA_KEYS[51])
+            value(it)
+        }
+    }
+    if (fields == null || fields[52]) {
+        data.adOffset?.let {
+            key(AD_EVENT_DATA_KEYS[52])
+            value(it)
+        }
+    }
+    if (fields == null || fields[53]) {
+        data.adScheduleTime?.let {
+            key(AD_EVENT_DATA_KEYS[53])
+            value(it)
+        }
+    }
+    if (fields == null || fields[54]) {
+        data.adReplaceContentDuration?.let {
+            key(AD_EVENT_DATA_KEYS[54])
+            value(it)
+        }
+    }
+    if (fields == null || fields[55]) {
+        data.adPreloadOffset?.let {
+            key(AD_EVENT_DATA_KEYS[55])
+            value(it)
+        }
+    }
+    if (fields == null || fields[56]) {
+        data.adTagPath?.let {
+            key(AD_EVENT_DATA_KEYS[56])
+            value(it)
+        }
+    }
+    if (fields == null || fields[57]) {
+        data.adTagServer?.let {
+            key(AD_EVENT_DATA_KEYS[57])
+            value(it)
+        }
+    }
+    if (fields == null || fields[58]) {
+        data.adTagType?.let {
+            key(AD_EVENT_DATA_KEYS[58])
+            value(it)
+        }
+    }
+    if (fields == null || fields[59]) {
+        data.adTagUrl?.let {
+            key(AD_EVENT_DATA_KEYS[59])
+            value(it)
+        }
+    }
+    if (fields == null || fields[60]) {
+        data.adIsPersistent?.let {
+            key(AD_EVENT_DATA_KEYS[60])
+            value(it)
+        }
+    }
+    if (fields == null || fields[61]) {
+        data.adIdPlayer?.let {
+            key(AD_EVENT_DATA_KEYS[61])
+            value(it)
+        }
+    }
+    if (fields == null || fields[62]) {
+        data.manifestDownloadTime?.let {
+            key(AD_EVENT_DATA_KEYS[62])
+            value(it)
+        }
+    }
+    if (fields == null || fields[63]) {
+        data.errorCode?.let {
+            key(AD_EVENT_DATA_KEYS[63])
+            value(it)
+        }
+    }
+    if (fields == null || fields[64]) {
+        data.errorData?.let {
+            key(AD_EVENT_DATA_KEYS[64])
+            value(it)
+        }
+    }
+    if (fields == null || fields[65]) {
+        data.errorMessage?.let {
+            key(AD_EVENT_DATA_KEYS[65])
+            value(it)
+        }
+    }
+    if (fields == null || fields[66]) {
+        data.errorSeverity?.let {
+            key(AD_EVENT_DATA_KEYS[66])
+            value(it.name)
+        }
+    }
+    if (fields == null || fields[67]) {
+        key(AD_EVENT_DATA_KEYS[67])
+        value(data.adFallbackIndex)
+    }
+    if (fields == null || fields[68]) {
+        data.adModule?.let {
+            key(AD_EVENT_DATA_KEYS[68])
+            value(it)
+        }
+    }
+    if (fields == null || fields[69]) {
+        data.adModuleVersion?.let {
+            key(AD_EVENT_DATA_KEYS[69])
+            value(it)
+        }
+    }
+    if (fields == null || fields[70]) {
+        key(AD_EVENT_DATA_KEYS[70])
+        value(data.videoImpressionId)
+    }
+    if (fields == null || fields[71]) {
+        key(AD_EVENT_DATA_KEYS[71])
+        value(data.userAgent)
+    }
+    if (fields == null || fields[72]) {
+        key(AD_EVENT_DATA_KEYS[72])
+        value(data.language)
+    }
+    if (fields == null || fields[73]) {
+        data.cdnProvider?.let {
+            key(AD_EVENT_DATA_KEYS[73])
+            value(it)
+        }
+    }
+    if (fields == null || fields[74]) {
+        data.customData1?.let {
+            key(AD_EVENT_DATA_KEYS[74])
+            value(it)
+        }
+    }
+    if (fields == null || fields[75]) {
+        data.customData2?.let {
+            key(AD_EVENT_DATA_KEYS[75])
+            value(it)
+        }
+    }
+    if (fields == null || fields[76]) {
+        data.customData3?.let {
+            key(AD_EVENT_DATA_KEYS[76])
+            value(it)
+        }
+    }
+    if (fields == null || fields[77]) {
+        data.customData4?.let {
+            key(AD_EVENT_DATA_KEYS[77])
+            value(it)
+        }
+    }
+    if (fields == null || fields[78]) {
+        data.customData5?.let {
+            key(AD_EVENT_DATA_KEYS[78])
+            value(it)
+        }
+    }
+    if (fields == null || fields[79]) {
+        data.customData6?.let {
+            key(AD_EVENT_DATA_KEYS[79])
+            value(it)
+        }
+    }
+    if (fields == null || fields[80]) {
+        data.customData7?.let {
+            key(AD_EVENT_DATA_KEYS[80])
+            value(it)
+        }
+    }
+    if (fields == null || fields[81]) {
+        data.customData8?.let {
+            key(AD_EVENT_DATA_KEYS[81])
+            value(it)
+        }
+    }
+    if (fields == null || fields[82]) {
+        data.customData9?.let {
+            key(AD_EVENT_DATA_KEYS[82])
+            value(it)
+        }
+    }
+    if (fields == null || fields[83]) {
+        data.customData10?.let {
+            key(AD_EVENT_DATA_KEYS[83])
+            value(it)
+        }
+    }
+    if (fields == null || fields[84]) {
+        data.customData11?.let {
+            key(AD_EVENT_DATA_KEYS[84])
+            value(it)
+        }
+    }
+    if (fields == null || fields[85]) {
+        data.customData12?.let {
+            key(AD_EVENT_DATA_KEYS[85])
+            value(it)
+        }
+    }
+    if (fields == null || fields[86]) {
+        data.customData13?.let {
+            key(AD_EVENT_DATA_KEYS[86])
+            value(it)
+        }
+    }
+    if (fields == null || fields[87]) {
+        data.customData14?.let {
+            key(AD_EVENT_DATA_KEYS[87])
+            value(it)
+        }
+    }
+    if (fields == null || fields[88]) {
+        data.customData15?.let {
+            key(AD_EVENT_DATA_KEYS[88])
+            value(it)
+        }
+    }
+    if (fields == null || fields[89]) {
+        data.customData16?.let {
+            key(AD_EVENT_DATA_KEYS[89])
+            value(it)
+        }
+    }
+    if (fields == null || fields[90]) {
+        data.customData17?.let {
+            key(AD_EVENT_DATA_KEYS[90])
+            value(it)
+        }
+    }
+    if (fields == null || fields[91]) {
+        data.customData18?.let {
+            key(AD_EVENT_DATA_KEYS[91])
+            value(it)
+        }
+    }
+    if (fields == null || fields[92]) {
+        data.customData19?.let {
+            key(AD_EVENT_DATA_KEYS[92])
+            value(it)
+        }
+    }
+    if (fields == null || fields[93]) {
+        data.customData20?.let {
+            key(AD_EVENT_DATA_KEYS[93])
+            value(it)
+        }
+    }
+    if (fields == null || fields[94]) {
+        data.customData21?.let {
+            key(AD_EVENT_DATA_KEYS[94])
+            value(it)
+        }
+    }
+    if (fields == null || fields[95]) {
+        data.customData22?.let {
+            key(AD_EVENT_DATA_KEYS[95])
+            value(it)
+        }
+    }
+    if (fields == null || fields[96]) {
+        data.customData23?.let {
+            key(AD_EVENT_DATA_KEYS[96])
+            value(it)
+        }
+    }
+    if (fields == null || fields[97]) {
+        data.customData24?.let {
+            key(AD_EVENT_DATA_KEYS[97])
+            value(it)
+        }
+    }
+    if (fields == null || fields[98]) {
+        data.customData25?.let {
+            key(AD_EVENT_DATA_KEYS[98])
+            value(it)
+        }
+    }
+    if (fields == null || fields[99]) {
+        data.customData26?.let {
+            key(AD_EVENT_DATA_KEYS[99])
+            value(it)
+        }
+    }
+    if (fields == null || fields[100]) {
+        data.customData27?.let {
+            key(AD_EVENT_DATA_KEYS[100])
+            value(it)
+        }
+    }
+    if (fields == null || fields[101]) {
+        data.customData28?.let {
+            key(AD_EVENT_DATA_KEYS[101])
+            value(it)
+        }
+    }
+    if (fields == null || fields[102]) {
+        data.customData29?.let {
+            key(AD_EVENT_DATA_KEYS[102])
+            value(it)
+        }
+    }
+    if (fields == null || fields[103]) {
+        data.customData30?.let {
+            key(AD_EVENT_DATA_KEYS[103])
+            value(it)
+        }
+    }
+    if (fields == null || fields[104]) {
+        data.customData31?.let {
+            key(AD_EVENT_DATA_KEYS[104])
+            value(it)
+        }
+    }
+    if (fields == null || fields[105]) {
+        data.customData32?.let {
+            key(AD_EVENT_DATA_KEYS[105])
+            value(it)
+        }
+    }
+    if (fields == null || fields[106]) {
+        data.customData33?.let {
+            key(AD_EVENT_DATA_KEYS[106])
+            value(it)
+        }
+    }
+    if (fields == null || fields[107]) {
+        data.customData34?.let {
+            key(AD_EVENT_DATA_KEYS[107])
+            value(it)
+        }
+    }
+    if (fields == null || fields[108]) {
+        data.customData35?.let {
+            key(AD_EVENT_DATA_KEYS[108])
+            value(it)
+        }
+    }
+    if (fields == null || fields[109]) {
+        data.customData36?.let {
+            key(AD_EVENT_DATA_KEYS[109])
+            value(it)
+        }
+    }
+    if (fields == null || fields[110]) {
+        data.customData37?.let {
+            key(AD_EVENT_DATA_KEYS[110])
+            value(it)
+        }
+    }
+    if (fields == null || fields[111]) {
+        data.customData38?.let {
+            key(AD_EVENT_DATA_KEYS[111])
+            value(it)
+        }
+    }
+    if (fields == null || fields[112]) {
+        data.customData39?.let {
+            key(AD_EVENT_DATA_KEYS[112])
+            value(it)
+        }
+    }
+    if (fields == null || fields[113]) {
+        data.customData40?.let {
+            key(AD_EVENT_DATA_KEYS[113])
+            value(it)
+        }
+    }
+    if (fields == null || fields[114]) {
+        data.customData41?.let {
+            key(AD_EVENT_DATA_KEYS[114])
+            value(it)
+        }
+    }
+    if (fields == null || fields[115]) {
+        data.customData42?.let {
+            key(AD_EVENT_DATA_KEYS[115])
+            value(it)
+        }
+    }
+    if (fields == null || fields[116]) {
+        data.customData43?.let {
+            key(AD_EVENT_DATA_KEYS[116])
+            value(it)
+        }
+    }
+    if (fields == null || fields[117]) {
+        data.customData44?.let {
+            key(AD_EVENT_DATA_KEYS[117])
+            value(it)
+        }
+    }
+    if (fields == null || fields[118]) {
+        data.customData45?.let {
+            key(AD_EVENT_DATA_KEYS[118])
+            value(it)
+        }
+    }
+    if (fields == null || fields[119]) {
+        data.customData46?.let {
+            key(AD_EVENT_DATA_KEYS[119])
+            value(it)
+        }
+    }
+    if (fields == null || fields[120]) {
+        data.customData47?.let {
+            key(AD_EVENT_DATA_KEYS[120])
+            value(it)
+        }
+    }
+    if (fields == null || fields[121]) {
+        data.customData48?.let {
+            key(AD_EVENT_DATA_KEYS[121])
+            value(it)
+        }
+    }
+    if (fields == null || fields[122]) {
+        data.customData49?.let {
+            key(AD_EVENT_DATA_KEYS[122])
+            value(it)
+        }
+    }
+    if (fields == null || fields[123]) {
+        data.customData50?.let {
+            key(AD_EVENT_DATA_KEYS[123])
+            value(it)
+        }
+    }
+    if (fields == null || fields[124]) {
+        data.customData51?.let {
+            key(AD_EVENT_DATA_KEYS[124])
+            value(it)
+        }
+    }
+    if (fields == null || fields[125]) {
+        data.customData52?.let {
+            key(AD_EVENT_DATA_KEYS[125])
+            value(it)
+        }
+    }
+    if (fields == null || fields[126]) {
+        data.customData53?.let {
+            key(AD_EVENT_DATA_KEYS[126])
+            value(it)
+        }
+    }
+    if (fields == null || fields[127]) {
+        data.customData54?.let {
+            key(AD_EVENT_DATA_KEYS[127])
+            value(it)
+        }
+    }
+    if (fields == null || fields[128]) {
+        data.customData55?.let {
+            key(AD_EVENT_DATA_KEYS[128])
+            value(it)
+        }
+    }
+    if (fields == null || fields[129]) {
+        data.customData56?.let {
+            key(AD_EVENT_DATA_KEYS[129])
+            value(it)
+        }
+    }
+    if (fields == null || fields[130]) {
+        data.customData57?.let {
+            key(AD_EVENT_DATA_KEYS[130])
+            value(it)
+        }
+    }
+    if (fields == null || fields[131]) {
+        data.customData58?.let {
+            key(AD_EVENT_DATA_KEYS[131])
+            value(it)
+        }
+    }
+    if (fields == null || fields[132]) {
+        data.customData59?.let {
+            key(AD_EVENT_DATA_KEYS[132])
+            value(it)
+        }
+    }
+    if (fields == null || fields[133]) {
+        data.customData60?.let {
+            key(AD_EVENT_DATA_KEYS[133])
+            value(it)
+        }
+    }
+    if (fields == null || fields[134]) {
+        data.customData61?.let {
+            key(AD_EVENT_DATA_KEYS[134])
+            value(it)
+        }
+    }
+    if (fields == null || fields[135]) {
+        data.customData62?.let {
+            key(AD_EVENT_DATA_KEYS[135])
+            value(it)
+        }
+    }
+    if (fields == null || fields[136]) {
+        data.customData63?.let {
+            key(AD_EVENT_DATA_KEYS[136])
+            value(it)
+        }
+    }
+    if (fields == null || fields[137]) {
+        data.customData64?.let {
+            key(AD_EVENT_DATA_KEYS[137])
+            value(it)
+        }
+    }
+    if (fields == null || fields[138]) {
+        data.customData65?.let {
+            key(AD_EVENT_DATA_KEYS[138])
+            value(it)
+        }
+    }
+    if (fields == null || fields[139]) {
+        data.customData66?.let {
+            key(AD_EVENT_DATA_KEYS[139])
+            value(it)
+        }
+    }
+    if (fields == null || fields[140]) {
+        data.customData67?.let {
+            key(AD_EVENT_DATA_KEYS[140])
+            value(it)
+        }
+    }
+    if (fields == null || fields[141]) {
+        data.customData68?.let {
+            key(AD_EVENT_DATA_KEYS[141])
+            value(it)
+        }
+    }
+    if (fields == null || fields[142]) {
+        data.customData69?.let {
+            key(AD_EVENT_DATA_KEYS[142])
+            value(it)
+        }
+    }
+    if (fields == null || fields[143]) {
+        data.customData70?.let {
+            key(AD_EVENT_DATA_KEYS[143])
+            value(it)
+        }
+    }
+    if (fields == null || fields[144]) {
+        data.customData71?.let {
+            key(AD_EVENT_DATA_KEYS[144])
+            value(it)
+        }
+    }
+    if (fields == null || fields[145]) {
+        data.customData72?.let {
+            key(AD_EVENT_DATA_KEYS[145])
+            value(it)
+        }
+    }
+    if (fields == null || fields[146]) {
+        data.customData73?.let {
+            key(AD_EVENT_DATA_KEYS[146])
+            value(it)
+        }
+    }
+    if (fields == null || fields[147]) {
+        data.customData74?.let {
+            key(AD_EVENT_DATA_KEYS[147])
+            value(it)
+        }
+    }
+    if (fields == null || fields[148]) {
+        data.customData75?.let {
+            key(AD_EVENT_DATA_KEYS[148])
+            value(it)
+        }
+    }
+    if (fields == null || fields[149]) {
+        data.customData76?.let {
+            key(AD_EVENT_DATA_KEYS[149])
+            value(it)
+        }
+    }
+    if (fields == null || fields[150]) {
+        data.customData77?.let {
+            key(AD_EVENT_DATA_KEYS[150])
+            value(it)
+        }
+    }
+    if (fields == null || fields[151]) {
+        data.customData78?.let {
+            key(AD_EVENT_DATA_KEYS[151])
+            value(it)
+        }
+    }
+    if (fields == null || fields[152]) {
+        data.customData79?.let {
+            key(AD_EVENT_DATA_KEYS[152])
+            value(it)
+        }
+    }
+    if (fields == null || fields[153]) {
+        data.customData80?.let {
+            key(AD_EVENT_DATA_KEYS[153])
+            value(it)
+        }
+    }
+    if (fields == null || fields[154]) {
+        data.customData81?.let {
+            key(AD_EVENT_DATA_KEYS[154])
+            value(it)
+        }
+    }
+    if (fields == null || fields[155]) {
+        data.customData82?.let {
+            key(AD_EVENT_DATA_KEYS[155])
+            value(it)
+        }
+    }
+    if (fields == null || fields[156]) {
+        data.customData83?.let {
+            key(AD_EVENT_DATA_KEYS[156])
+            value(it)
+        }
+    }
+    if (fields == null || fields[157]) {
+        data.customData84?.let {
+            key(AD_EVENT_DATA_KEYS[157])
+            value(it)
+        }
+    }
+    if (fields == null || fields[158]) {
+        data.customData85?.let {
+            key(AD_EVENT_DATA_KEYS[158])
+            value(it)
+        }
+    }
+    if (fields == null || fields[159]) {
+        data.customData86?.let {
+            key(AD_EVENT_DATA_KEYS[159])
+            value(it)
+        }
+    }
+    if (fields == null || fields[160]) {
+        data.customData87?.let {
+            key(AD_EVENT_DATA_KEYS[160])
+            value(it)
+        }
+    }
+    if (fields == null || fields[161]) {
+        data.customData88?.let {
+            key(AD_EVENT_DATA_KEYS[161])
+            value(it)
+        }
+    }
+    if (fields == null || fields[162]) {
+        data.customData89?.let {
+            key(AD_EVENT_DATA_KEYS[162])
+            value(it)
+        }
+    }
+    if (fields == null || fields[163]) {
+        data.customData90?.let {
+            key(AD_EVENT_DATA_KEYS[163])
+            value(it)
+        }
+    }
+    if (fields == null || fields[164]) {
+        data.customData91?.let {
+            key(AD_EVENT_DATA_KEYS[164])
+            value(it)
+        }
+    }
+    if (fields == null || fields[165]) {
+        data.customData92?.let {
+            key(AD_EVENT_DATA_KEYS[165])
+            value(it)
+        }
+    }
+    if (fields == null || fields[166]) {
+        data.customData93?.let {
+            key(AD_EVENT_DATA_KEYS[166])
+            value(it)
+        }
+    }
+    if (fields == null || fields[167]) {
+        data.customData94?.let {
+            key(AD_EVENT_DATA_KEYS[167])
+            value(it)
+        }
+    }
+    if (fields == null || fields[168]) {
+        data.customData95?.let {
+            key(AD_EVENT_DATA_KEYS[168])
+            value(it)
+        }
+    }
+    if (fields == null || fields[169]) {
+        data.customData96?.let {
+            key(AD_EVENT_DATA_KEYS[169])
+            value(it)
+        }
+    }
+    if (fields == null || fields[170]) {
+        data.customData97?.let {
+            key(AD_EVENT_DATA_KEYS[170])
+            value(it)
+        }
+    }
+    if (fields == null || fields[171]) {
+        data.customData98?.let {
+            key(AD_EVENT_DATA_KEYS[171])
+            value(it)
+        }
+    }
+    if (fields == null || fields[172]) {
+        data.customData99?.let {
+            key(AD_EVENT_DATA_KEYS[172])
+            value(it)
+        }
+    }
+    if (fields == null || fields[173]) {
+        data.customData100?.let {
+            key(AD_EVENT_DATA_KEYS[173])
+            value(it)
+        }
+    }
+    if (fields == null || fields[174]) {
+        data.customUserId?.let {
+            key(AD_EVENT_DATA_KEYS[174])
+            value(it)
+        }
+    }
+    if (fields == null || fields[175]) {
+        key(AD_EVENT_DATA_KEYS[175])
+        value(data.domain)
+    }
+    if (fields == null || fields[176]) {
+        data.experimentName?.let {
+            key(AD_EVENT_DATA_KEYS[176])
+            value(it)
+        }
+    }
+    if (fields == null || fields[177]) {
+        data.key?.let {
+            key(AD_EVENT_DATA_KEYS[177])
+            value(it)
+        }
+    }
+    if (fields == null || fields[178]) {
+        data.path?.let {
+            key(AD_EVENT_DATA_KEYS[178])
+            value(it)
+        }
+    }
+    if (fields == null || fields[179]) {
+        key(AD_EVENT_DATA_KEYS[179])
+        value(data.player)
+    }
+    if (fields == null || fields[180]) {
+        data.playerKey?.let {
+            key(AD_EVENT_DATA_KEYS[180])
+            value(it)
+        }
+    }
+    if (fields == null || fields[181]) {
+        key(AD_EVENT_DATA_KEYS[181])
+        value(data.playerTech)
+    }
+    if (fields == null || fields[182]) {
+        key(AD_EVENT_DATA_KEYS[182])
+        value(data.screenHeight)
+    }
+    if (fields == null || fields[183]) {
+        key(AD_EVENT_DATA_KEYS[183])
+        value(data.screenWidth)
+    }
+    if (fields == null || fields[184]) {
+        data.version?.let {
+            key(AD_EVENT_DATA_KEYS[184])
+            value(it)
+        }
+    }
+    if (fields == null || fields[185]) {
+        key(AD_EVENT_DATA_KEYS[185])
+        value(data.userId)
+    }
+    if (fields == null || fields[186]) {
+        data.videoId?.let {
+            key(AD_EVENT_DATA_KEYS[186])
+            value(it)
+        }
+    }
+    if (fields == null || fields[187]) {
+        data.videoTitle?.let {
+            key(AD_EVENT_DATA_KEYS[187])
+            value(it)
+        }
+    }
+    if (fields == null || fields[188]) {
+        key(AD_EVENT_DATA_KEYS[188])
+        value(data.videoWindowHeight)
+    }
+    if (fields == null || fields[189]) {
+        key(AD_EVENT_DATA_KEYS[189])
+        value(data.videoWindowWidth)
+    }
+    if (fields == null || fields[190]) {
+        data.analyticsVersion?.let {
+            key(AD_EVENT_DATA_KEYS[190])
+            value(it)
+        }
+    }
+    if (fields == null || fields[191]) {
+        data.autoplay?.let {
+            key(AD_EVENT_DATA_KEYS[191])
+            value(it)
+        }
+    }
+    if (fields == null || fields[192]) {
+        key(AD_EVENT_DATA_KEYS[192])
+        value(data.platform)
+    }
+    if (fields == null || fields[193]) {
+        data.audioCodec?.let {
+            key(AD_EVENT_DATA_KEYS[193])
+            value(it)
+        }
+    }
+    if (fields == null || fields[194]) {
+        data.audioBitrate?.let {
+            key(AD_EVENT_DATA_KEYS[194])
+            value(it)
+        }
+    }
+    if (fields == null || fields[195]) {
+        data.videoCodec?.let {
+            key(AD_EVENT_DATA_KEYS[195])
+            value(it)
+        }
+    }
+    if (fields == null || fields[196]) {
+        key(AD_EVENT_DATA_KEYS[196])
+        value(data.retryCount)
+    }
+    if (fields == null || fields[197]) {
+        data.adIndex?.let {
+            key(AD_EVENT_DATA_KEYS[197])
+            value(it)
+        }
+    }
+    if (fields == null || fields[198]) {
+        key(AD_EVENT_DATA_KEYS[198])
+        value(data.adType)
+    }
+    if (fields == null || fields[199]) {
+        data.quartile1FailedBeaconUrl?.let {
+            key(AD_EVENT_DATA_KEYS[199])
+            value(it)
+        }
+    }
+    if (fields == null || fields[200]) {
+        data.midpointFailedBeaconUrl?.let {
+            key(AD_EVENT_DATA_KEYS[200])
+            value(it)
+        }
+    }
+    if (fields == null || fields[201]) {
+        data.quartile3FailedBeaconUrl?.let {
+            key(AD_EVENT_DATA_KEYS[201])
+            value(it)
+        }
+    }
+    if (fields == null || fields[202]) {
+        data.completedFailedBeaconUrl?.let {
+            key(AD_EVENT_DATA_KEYS[202])
+            value(it)
+        }
+    }
+    if (fields == null || fields[203]) {
+        data.timeSinceAdStartedInMs?.let {
+            key(AD_EVENT_DATA_KEYS[203])
+            value(it)
+        }
+    }
+    if (fields == null || fields[204]) {
+        key(AD_EVENT_DATA_KEYS[204])
+        value(data.isSlate)
+    }
+    if (fields == null || fields[205]) {
+        data.expectedPaidAds?.let {
+            key(AD_EVENT_DATA_KEYS[205])
+            value(it)
+        }
+    }
+    if (fields == null || fields[206]) {
+        data.expectedSlates?.let {
+            key(AD_EVENT_DATA_KEYS[206])
+            value(it)
+        }
+    }
+    if (fields == null || fields[207]) {
+        data.completedPaidAds?.let {
+            key(AD_EVENT_DATA_KEYS[207])
+            value(it)
+        }
+    }
+    if (fields == null || fields[208]) {
+        data.completedSlates?.let {
+            key(AD_EVENT_DATA_KEYS[208])
+            value(it)
+        }
+    }
+    if (fields == null || fields[209]) {
+        data.exitedAdBreak?.let {
+            key(AD_EVENT_DATA_KEYS[209])
+            value(it)
+        }
+    }
+    if (fields == null || fields[210]) {
+        key(AD_EVENT_DATA_KEYS[210])
+        value(data.pageLoadType)
+    }
+    endObject()
+}
+
+/**
+ * Value of the element with the given index of the serial descriptor.
+ */
+internal fun AdEventData.jsonElementValue(index: Int): Any? =
+    when (index) {
+        0 -> wrapperAdsCount
+        1 -> adSkippable
+        2 -> adSkippableAfter
+        3 -> adClickthroughUrl
+        4 -> adDescription
+        5 -> adDuration
+        6 -> adId
+        7 -> adImpressionId
+        8 -> adPlaybackHeight
+        9 -> adPlaybackWidth
+        10 -> adStartupTime
+        11 -> adSystem
+        12 -> adTitle
+        13 -> advertiserName
+        14 -> apiFramework
+        15 -> clicked
+        16 -> clickPosition
+        17 -> closed
+        18 -> closePosition
+        19 -> completed
+        20 -> creativeAdId
+        21 -> creativeId
+        22 -> dealId
+        23 -> isLinear
+        24 -> mediaPath
+        25 -> mediaServer
+        26 -> mediaUrl
+        27 -> midpoint
+        28 -> minSuggestedDuration
+        29 -> quartile1
+        30 -> quartile3
+        31 -> skipped
+        32 -> skipPosition
+        33 -> started
+        34 -> streamFormat
+        35 -> surveyUrl
+        36 -> time
+        37 -> timePlayed
+        38 -> universalAdIdRegistry
+        39 -> universalAdIdValue
+        40 -> videoBitrate
+        41 -> adPodPosition
+        42 -> exitPosition
+        43 -> playPercentage
+        44 -> skipPercentage
+        45 -> clickPercentage
+        46 -> closePercentage
+        47 -> errorPosition
+        48 -> errorPercentage
+        49 -> timeToContent
+        50 -> timeFromContent
+        51 -> adPosition
+        52 -> adOffset
+        53 -> adScheduleTime
+        54 -> adReplaceContentDuration
+        55 -> adPreloadOffset
+        56 -> adTagPath
+        57 -> adTagServer
+        58 -> adTagType
+        59 -> adTagUrl
+        60 -> adIsPersistent
+        61 -> adIdPlayer
+        62 -> manifestDownloadTime
+        63 -> errorCode
+        64 -> errorData
+        65 -> errorMessage
+        66 -> errorSeverity
+        67 -> adFallbackIndex
+        68 -> adModule
+        69 -> adModuleVersion
+        70 -> videoImpressionId
+        71 -> userAgent
+        72 -> language
+        73 -> cdnProvider
+        74 -> customData1
+        75 -> customData2
+        76 -> customData3
+        77 -> customData4
+        78 -> customData5
+        79 -> customData6
+        80 -> customData7
+        81 -> customData8
+        82 -> customData9
+        83 -> customData10
+        84 -> customData11
+        85 -> customData12
+        86 -> customData13
+        87 -> customData14
+        88 -> customData15
+        89 -> customData16
+        90 -> customData17
+        91 -> customData18
+        92 -> customData19
+        93 -> customData20
+        94 -> customData21
+        95 -> customData22
+        96 -> customData23
+        97 -> customData24
+        98 -> customData25
+        99 -> customData26
+        100 -> customData27
+        101 -> customData28
+        102 -> customData29
+        103 -> customData30
+        104 -> customData31
+        105 -> customData32
+        106 -> customData33
+        107 -> customData34
+        108 -> customData35
+        109 -> customData36
+        110 -> customData37
+        111 -> customData38
+        112 -> customData39
+        113 -> customData40
+        114 -> customData41
+        115 -> customData42
+        116 -> customData43
+        117 -> customData44
+        118 -> customData45
+        119 -> customData46
+        120 -> customData47
+        121 -> customData48
+        122 -> customData49
+        123 -> customData50
+        124 -> customData51
+        125 -> customData52
+        126 -> customData53
+        127 -> customData54
+        128 -> customData55
+        129 -> customData56
+        130 -> customData57
+        131 -> customData58
+        132 -> customData59
+        133 -> customData60
+        134 -> customData61
+        135 -> customData62
+        136 -> customData63
+        137 -> customData64
+        138 -> customData65
+        139 -> customData66
+        140 -> customData67
+        141 -> customData68
+        142 -> customData69
+        143 -> customData70
+        144 -> customData71
+        145 -> customData72
+        146 -> customData73
+        147 -> customData74
+        148 -> customData75
+        149 -> customData76
+        150 -> customData77
+        151 -> customData78
+        152 -> customData79
+        153 -> customData80
+        154 -> customData81
+        155 -> customData82
+        156 -> customData83
+        157 -> customData84
+        158 -> customData85
+        159 -> customData86
+        160 -> customData87
+        161 -> customData88
+        162 -> customData89
+        163 -> customData90
+        164 -> customData91
+        165 -> customData92
+        166 -> customData93
+        167 -> customData94
+        168 -> customData95
+        169 -> customData96
+        170 -> customData97
+        171 -> customData98
+        172 -> customData99
+        173 -> customData100
+        174 -> customUserId
+        175 -> domain
+        176 -> experimentName
+        177 -> key
+        178 -> path
+        179 -> player
+        180 -> playerKey
+        181 -> playerTech
+        182 -> screenHeight
+        183 -> screenWidth
+        184 -> version
+        185 -> userId
+        186 -> videoId
+        187 -> videoTitle
+        188 -> videoWindowHeight
+        189 -> videoWindowWidth
+        190 -> analyticsVersion
+        191 -> autoplay
+        192 -> platform
+        193 -> audioCodec
+        194 -> audioBitrate
+        195 -> videoCodec
+        196 -> retryCount
+        197 -> adIndex
+        198 -> adType
+        199 -> quartile1FailedBeaconUrl
+        200 -> midpointFailedBeaconUrl
+        201 -> quartile3FailedBeaconUrl
+        202 -> completedFailedBeaconUrl
+        203 -> timeSinceAdStartedInMs
+        204 -> isSlate
+        205 -> expectedPaidAds
+        206 -> expectedSlates
+        207 -> completedPaidAds
+        208 -> completedSlates
+        209 -> exitedAdBreak
+        210 -> pageLoadType
+        else -> throw IndexOutOfBoundsException("AdEventData has no element $index")
+    }
+
+private val DEVICE_INFORMATION_DTO_KEYS =
+    JsonUtf8Writer.keys(
+        "manufacturer",
+        "model",
+        "isTV",
+        "operatingSystem",
+        "operatingSystemMajor",
+        "operatingSystemMinor",
+        "deviceClass",
+    )
+
+/**
+ * Writes [data] like [DataSerializerKotlinX.jsonInstance] does. If [fields] is set, only the elements
+ * whose index is flagged in it are written.
+ */
+internal fun JsonUtf8Writer.writeDeviceInformationDto(
+    data: DeviceInformationDto,
+    fields: BooleanArray? = null,
+) {
+    beginObject()
+    if (fields == null || fields[0]) {
+        key(DEVICE_INFORMATION_DTO_KEYS[0])
+        value(data.manufacturer)
+    }
+    if (fields == null || fields[1]) {
+        key(DEVICE_INFORMATION_DTO_KEYS[1])
+        value(data.model)
+    }
+    if (fields == null || fields[2]) {
+        key(DEVICE_INFORMATION_DTO_KEYS[2])
+        value(data.isTV)
+    }
+    if (fields == null || fields[3]) {
+        data.operatingSystem?.let {
+            key(DEVICE_INFORMATION_DTO_KEYS[3])
+            value(it)
+        }
+    }
+    if (fields == null || fields[4]) {
+        data.operatingSystemMajor?.let {
+            key(DEVICE_INFORMATION_DTO_KEYS[4])
+            value(it)
+        }
+    }
+    if (fields == null || fields[5]) {
+        data.operatingSystemMinor?.let {
+            key(DEVICE_INFORMATION_DTO_KEYS[5])
+            value(it)
+        }
+    }
+    if (fields == null || fields[6]) {
+        data.deviceClass?.let {
+            key(DEVICE_INFORMATION_DTO_KEYS[6])
+            value(it)
+        }
+    }
+    endObject()
+}
+
+/**
+ * Value of the element with the given index of the serial descriptor.
+ */
+internal fun DeviceInformationDto.jsonElementValue(index: Int): Any? =
+    when (index) {
+        0 -> manufacturer
+        1 -> model
+        2 -> isTV
+        3 -> operatingSystem
+        4 -> operatingSystemMajor
+        5 -> operatingSystemMinor
+        6 -> deviceClass
+        else -> throw IndexOutOfBoundsException("DeviceInformationDto has no element $index")
+    }
+
+private val DOWNLOAD_SPEED_INFO_KEYS =
+    JsonUtf8Writer.keys(
+        "segmentsDownloadCount",
+        "segmentsDownloadSize",
+        "segmentsDownloadTime",
+        "avgDownloadSpeed",
+        "maxDownloadSpeed",
+        "minDownloadSpeed",
+        "avgTimeToFirstByte",
+    )
+
+/**
+ * Writes [data] like [DataSerializerKotlinX.jsonInstance] does. If [fields] is set, only the elements
+ * whose index is flagged in it are written.
+ */
+internal fun JsonUtf8Writer.writeDownloadSpeedInfo(
+    data: DownloadSpeedInfo,
+    fields: BooleanArray? = null,
+) {
+    beginObject()
+    if (fields == null || fields[0]) {
+        key(DOWNLOAD_SPEED_INFO_KEYS[0])
+        value(data.segmentsDownloadCount)
+    }
+    if (fields == null || fields[1]) {
+        key(DOWNLOAD_SPEED_INFO_KEYS[1])
+        value(data.segmentsDownloadSize)
+    }
+    if (fields == null || fields[2]) {
+        key(DOWNLOAD_SPEED_INFO_KEYS[2])
+        value(data.segmentsDownloadTime)
+    }
+    if (fields == null || fields[3]) {
+        data.avgDownloadSpeed?.let {
+            key(DOWNLOAD_SPEED_INFO_KEYS[3])
+            value(it)
+        }
+    }
+    if (fields == null || fields[4]) {
+        data.maxDownloadSpeed?.let {
+            key(DOWNLOAD_SPEED_INFO_KEYS[4])
+            value(it)
+        }
+    }
+    if (fields == null || fields[5]) {
+        data.minDownloadSpeed?.let {
+            key(DOWNLOAD_SPEED_INFO_KEYS[5])
+            value(it)
+        }
+    }
+    if (fields == null || fields[6]) {
+        data.avgTimeToFirstByte?.let {
+            key(DOWNLOAD_SPEED_INFO_KEYS[6])
+            value(it)
+        }
+    }
+    endObject()
+}
+
+/**
+ * Value of the element with the given index of the serial descriptor.
+ */
+internal fun DownloadSpeedInfo.jsonElementValue(index: Int): Any? =
+    when (index) {
+        0 -> segmentsDownloadCount
+        1 -> segmentsDownloadSize
+        2 -> segmentsDownloadTime
+        3 -> avgDownloadSpeed
+        4 -> maxDownloadSpeed
+        5 -> minDownloadSpeed
+        6 -> avgTimeToFirstByte
+        else -> throw IndexOutOfBoundsException("DownloadSpeedInfo has no element $index")
+    }
+
+private val EVENT_DATA_KEYS =
+    JsonUtf8Writer.keys(
+        "impressionId",
+        "userId",
+        "key",
+        "videoId",
+        "videoTitle",
+        "customUserId",
+        "path",
+        "cdnProvider",
+        "userAgent",
+        "deviceInformation",
+        "language",
+        "analyticsVersion",
+        "playerTech",
+        "domain",
+        "screenHeight",
+        "screenWidth",
+        "autoplay",
+        "isLive",
+        "isCasting",
+        "castTech",
+        "videoDuration",
+        "time",
+        "videoWindowWidth",
+        "videoWindowHeight",
+        "droppedFrames",
+        "played",
+        "buffered",
+        "paused",
+        "ad",
+        "adPosition",
+        "adId",
+        "adSystem",
+        "adIndex",
+        "seeked",
+        "videoPlaybackWidth",
+        "videoPlaybackHeight",
+        "videoBitrate",
+        "audioBitrate",
+        "videoTimeStart",
+        "videoTimeEnd",
+        "videoStartupTime",
+        "duration",
+        "startupTime",
+        "state",
+        "errorCode",
+        "errorMessage",
+        "errorData",
+        "errorSeverity",
+        "playerStartupTime",
+        "pageLoadType",
+        "pageLoadTime",
+        "version",
+        "streamFormat",
+        "mpdUrl",
+        "m3u8Url",
+        "progUrl",
+        "isMuted",
+        "sequenceNumber",
+        "platform",
+        "videoCodec",
+        "audioCodec",
+        "supportedVideoCodecs",
+        "subtitleEnabled",
+        "subtitleLanguage",
+        "audioLanguage",
+        "drmType",
+        "drmLoadTime",
+        "videoStartFailed",
+        "videoStartFailedReason",
+        "isProgramChange",
+        "downloadSpeedInfo",
+        "retryCount",
+        "player",
+        "playerKey",
+        "customData1",
+        "customData2",
+        "customData3",
+        "customData4",
+        "customData5",
+        "customData6",
+        "customData7",
+        "customData8",
+        "customData9",
+        "customData10",
+        "customData11",
+        "customData12",
+        "customData13",
+        "customData14",
+        "customData15",
+        "customData16",
+        "customData17",
+        "customData18",
+        "customData19",
+        "customData20",
+        "customData21",
+        "customData22",
+        "customData23",
+        "customData24",
+        "customData25",
+        "customData26",
+        "customData27",
+        "customData28",
+        "customData29",
+        "customData30",
+        "customData31",
+        "customData32",
+        "customData33",
+        "customData34",
+        "customData35",
+        "customData36",
+        "customData37",
+        "customData38",
+        "customData39",
+        "customData40",
+        "customData41",
+        "customData42",
+        "customData43",
+        "customData44",
+        "customData45",
+        "customData46",
+        "customData47",
+        "customData48",
+        "customData49",
+        "customData50",
+        "customData51",
+        "customData52",
+        "customData53",
+        "customData54",
+        "customData55",
+        "customData56",
+        "customData57",
+        "customData58",
+        "customData59",
+        "customData60",
+        "customData61",
+        "customData62",
+        "customData63",
+        "customData64",
+        "customData65",
+        "customData66",
+        "customData67",
+        "customData68",
+        "customData69",
+        "customData70",
+        "customData71",
+        "customData72",
+        "customData73",
+        "customData74",
+        "customData75",
+        "customData76",
+        "customData77",
+        "customData78",
+        "customData79",
+        "customData80",
+        "customData81",
+        "customData82",
+        "customData83",
+        "customData84",
+        "customData85",
+        "customData86",
+        "customData87",
+        "customData88",
+        "customData89",
+        "customData90",
+        "customData91",
+        "customData92",
+        "customData93",
+        "customData94",
+        "customData95",
+        "customData96",
+        "customData97",
+        "customData98",
+        "customData99",
+        "customData100",
+        "experimentName",
+    )
+
+/**
+ * Writes [data] like [DataSerializerKotlinX.jsonInstance] does. If [fields] is set, only the elements
+ * whose index is flagged in it are written.
+ */
+internal fun JsonUtf8Writer.writeEventData(
+    data: EventData,
+    fields: BooleanArray? = null,
+) {
+    beginObject()
+    if (fields == null || fields[0]) {
+        key(EVENT_DATA_KEYS[0])
+        value(data.impressionId)
+    }
+    if (fields == null || fields[1]) {
+        key(EVENT_DATA_KEYS[1])
+        value(data.userId)
+    }
+    if (fields == null || fields[2]) {
+        data.key?.let {
+            key(EVENT_DATA_KEYS[2])
+            value(it)
+        }
+    }
+    if (fields == null || fields[3]) {
+        data.videoId?.let {
+            key(EVENT_DATA_KEYS[3])
+            value(it)
+        }
+    }
+    if (fields == null || fields[4]) {
+        data.videoTitle?.let {
+            key(EVENT_DATA_KEYS[4])
+            value(it)
+        }
+    }
+    if (fields == null || fields[5]) {
+        data.customUserId?.let {
+            key(EVENT_DATA_KEYS[5])
+            value(it)
+        }
+    }
+    if (fields == null || fields[6]) {
+        data.path?.let {
+            key(EVENT_DATA_KEYS[6])
+            value(it)
+        }
+    }
+    if (fields == null || fields[7]) {
+        data.cdnProvider?.let {
+            key(EVENT_DATA_KEYS[7])
+            value(it)
+        }
+    }
+    if (fields == null || fields[8]) {
+        key(EVENT_DATA_KEYS[8])
+        value(data.userAgent)
+    }
+    if (fields == null || fields[9]) {
+        key(EVENT_DATA_KEYS[9])
+        writeDeviceInformationDto(data.deviceInformation)
+    }
+    if (fields == null || fields[10]) {
+        key(EVENT_DATA_KEYS[10])
+        value(data.language)
+    }
+    if (fields == null || fields[11]) {
+        key(EVENT_DATA_KEYS[11])
+        value(data.analyticsVersion)
+    }
+    if (fields == null || fields[12]) {
+        key(EVENT_DATA_KEYS[12])
+        value(data.playerTech)
+    }
+    if (fields == null || fields[13]) {
+        key(EVENT_DATA_KEYS[13])
+        value(data.domain)
+    }
+    if (fields == null || fields[14]) {
+        key(EVENT_DATA_KEYS[14])
+        value(data.screenHeight)
+    }
+    if (fields == null || fields[15]) {
+        key(EVENT_DATA_KEYS[15])
+        value(data.screenWidth)
+    }
+    if (fields == null || fields[16]) {
+        data.autoplay?.let {
+            key(EVENT_DATA_KEYS[16])
+            value(it)
+        }
+    }
+    if (fields == null || fields[17]) {
+        key(EVENT_DATA_KEYS[17])
+        value(data.isLive)
+    }
+    if (fields == null || fields[18]) {
+        key(EVENT_DATA_KEYS[18])
+        value(data.isCasting)
+    }
+    if (fields == null || fields[19]) {
+        data.castTech?.let {
+            key(EVENT_DATA_KEYS[19])
+            value(it)
+        }
+    }
+    if (fields == null || fields[20]) {
+        key(EVENT_DATA_KEYS[20])
+        value(data.videoDuration)
+    }
+    if (fields == null || fields[21]) {
+        key(EVENT_DATA_KEYS[21])
+        value(data.time)
+    }
+    if (fields == null || fields[22]) {
+        key(EVENT_DATA_KEYS[22])
+        value(data.videoWindowWidth)
+    }
+    if (fields == null || fields[23]) {
+        key(EVENT_DATA_KEYS[23])
+        value(data.videoWindowHeight)
+    }
+    if (fields == null || fields[24]) {
+        key(EVENT_DATA_KEYS[24])
+        value(data.droppedFrames)
+    }
+    if (fields == null || fields[25]) {
+        key(EVENT_DATA_KEYS[25])
+        value(data.played)
+    }
+    if (fields == null || fields[26]) {
+        key(EVENT_DATA_KEYS[26])
+        value(data.buffered)
+    }
+    if (fields == null || fields[27]) {
+        key(EVENT_DATA_KEYS[27])
+        value(data.paused)
+    }
+    if (fields == null || fields[28]) {
+        key(EVENT_DATA_KEYS[28])
+        value(data.ad)
+    }
+    if (fields == null || fields[29]) {
+        data.adPosition?.let {
+            key(EVENT_DATA_KEYS[29])
+            value(it)
+        }
+    }
+    if (fields == null || fields[30]) {
+        data.adId?.let {
+            key(EVENT_DATA_KEYS[30])
+            value(it)
+        }
+    }
+    if (fields == null || fields[31]) {
+        data.adSystem?.let {
+            key(EVENT_DATA_KEYS[31])
+            value(it)
+        }
+    }
+    if (fields == null || fields[32]) {
+        data.adIndex?.let {
+            key(EVENT_DATA_KEYS[32])
+            value(it)
+        }
+    }
+    if (fields == null || fields[33]) {
+        key(EVENT_DATA_KEYS[33])
+        value(data.seeked)
+    }
+    if (fields == null || fields[34]) {
+        key(EVENT_DATA_KEYS[34])
+        value(data.videoPlaybackWidth)
+    }
+    if (fields == null || fields[35]) {
+        key(EVENT_DATA_KEYS[35])
+        value(data.videoPlaybackHeight)
+    }
+    if (fields == null || fields[36]) {
+        key(EVENT_DATA_KEYS[36])
+        value(data.videoBitrate)
+    }
+    if (fields == null || fields[37]) {
+        key(EVENT_DATA_KEYS[37])
+        value(data.audioBitrate)
+    }
+    if (fields == null || fields[38]) {
+        key(EVENT_DATA_KEYS[38])
+        value(data.videoTimeStart)
+    }
+    if (fields == null || fields[39]) {
+        key(EVENT_DATA_KEYS[39])
+        value(data.videoTimeEnd)
+    }
+    if (fields == null || fields[40]) {
+        key(EVENT_DATA_KEYS[40])
+        value(data.videoStartupTime)
+    }
+    if (fields == null || fields[41]) {
+        key(EVENT_DATA_KEYS[41])
+        value(data.duration)
+    }
+    if (fields == null || fields[42]) {
+        key(EVENT_DATA_KEYS[42])
+        value(data.startupTime)
+    }
+    if (fields == null || fields[43]) {
+        data.state?.let {
+            key(EVENT_DATA_KEYS[43])
+            value(it)
+        }
+    }
+    if (fields == null || fields[44]) {
+        data.errorCode?.let {
+            key(EVENT_DATA_KEYS[44])
+            value(it)
+        }
+    }
+    if (fields == null || fields[45]) {
+        data.errorMessage?.let {
+            key(EVENT_DATA_KEYS[45])
+            value(it)
+        }
+    }
+    if (fields == null || fields[46]) {
+        data.errorData?.let {
+            key(EVENT_DATA_KEYS[46])
+            value(it)
+        }
+    }
+    if (fields == null || fields[47]) {
+        data.errorSeverity?.let {
+            key(EVENT_DATA_KEYS[47])
+            value(it.name)
+        }
+    }
+    if (fields == null || fields[48]) {
+        data.playerStartupTime?.let {
+            key(EVENT_DATA_KEYS[48])
+            value(it)
+        }
+    }
+    if (fields == null || fields[49]) {
+        key(EVENT_DATA_KEYS[49])
+        value(data.pageLoadType)
+    }
+    if (fields == null || fields[50]) {
+        key(EVENT_DATA_KEYS[50])
+        value(data.pageLoadTime)
+    }
+    if (fields == null || fields[51]) {
+        data.version?.let {
+            key(EVENT_DATA_KEYS[51])
+            value(it)
+        }
+    }
+    if (fields == null || fields[52]) {
+        data.streamFormat?.let {
+            key(EVENT_DATA_KEYS[52])
+            value(it)
+        }
+    }
+    if (fields == null || fields[53]) {
+        data.mpdUrl?.let {
+            key(EVENT_DATA_KEYS[53])
+            value(it)
+        }
+    }
+    if (fields == null || fields[54]) {
+        data.m3u8Url?.let {
+            key(EVENT_DATA_KEYS[54])
+            value(it)
+        }
+    }
+    if (fields == null || fields[55]) {
+        data.progUrl?.let {
+            key(EVENT_DATA_KEYS[55])
+            value(it)
+        }
+    }
+    if (fields == null || fields[56]) {
+        key(EVENT_DATA_KEYS[56])
+        value(data.isMuted)
+    }
+    if (fields == null || fields[57]) {
+        key(EVENT_DATA_KEYS[57])
+        value(data.sequenceNumber)
+    }
+    if (fields == null || fields[58]) {
+        key(EVENT_DATA_KEYS[58])
+        value(data.platform)
+    }
+    if (fields == null || fields[59]) {
+        data.videoCodec?.let {
+            key(EVENT_DATA_KEYS[59])
+            value(it)
+        }
+    }
+    if (fields == null || fields[60]) {
+        data.audioCodec?.let {
+            key(EVENT_DATA_KEYS[60])
+            value(it)
+        }
+    }
+    if (fields == null || fields[61]) {
+        data.supportedVideoCodecs?.let {
+            key(EVENT_DATA_KEYS[61])
+            value(it)
+        }
+    }
+    if (fields == null || fields[62]) {
+        key(EVENT_DATA_KEYS[62])
+        value(data.subtitleEnabled)
+    }
+    if (fields == null || fields[63]) {
+        data.subtitleLanguage?.let {
+            key(EVENT_DATA_KEYS[63])
+            value(it)
+        }
+    }
+    if (fields == null || fields[64]) {
+        data.audioLanguage?.let {
+            key(EVENT_DATA_KEYS[64])
+            value(it)
+        }
+    }
+    if (fields == null || fields[65]) {
+        data.drmType?.let {
+            key(EVENT_DATA_KEYS[65])
+            value(it)
+        }
+    }
+    if (fields == null || fields[66]) {
+        data.drmLoadTime?.let {
+            key(EVENT_DATA_KEYS[66])
+            value(it)
+        }
+    }
+    if (fields == null || fields[67]) {
+        key(EVENT_DATA_KEYS[67])
+        value(data.videoStartFailed)
+    }
+    if (fields == null || fields[68]) {
+        data.videoStartFailedReason?.let {
+            key(EVENT_DATA_KEYS[68])
+            value(it)
+        }
+    }
+    if (fields == null || fields[69]) {
+        data.isProgramChange?.let {
+            key(EVENT_DATA_KEYS[69])
+            value(it)
+        }
+    }
+    if (fields == null || fields[70]) {
+        data.downloadSpeedInfo?.let {
+            key(EVENT_DATA_KEYS[70])
+            writeDownloadSpeedInfo(it)
+        }
+    }
+    if (fields == null || fields[71]) {
+        key(EVENT_DATA_KEYS[71])
+        value(data.retryCount)
+    }
+    if (fields == null || fields[72]) {
+        key(EVENT_DATA_KEYS[72])
+        value(data.player)
+    }
+    if (fields == null || fields[73]) {
+        data.playerKey?.let {
+            key(EVENT_DATA_KEYS[73])
+            value(it)
+        }
+    }
+    if (fields == null || fields[74]) {
+        data.customData1?.let {
+            key(EVENT_DATA_KEYS[74])
+            value(it)
+        }
+    }
+    if (fields == null || fields[75]) {
+        data.customData2?.let {
+            key(EVENT_DATA_KEYS[75])
+            value(it)
+        }
+    }
+    if (fields == null || fields[76]) {
+        data.customData3?.let {
+            key(EVENT_DATA_KEYS[76])
+            value(it)
+        }
+    }
+    if (fields == null || fields[77]) {
+        data.customData4?.let {
+            key(EVENT_DATA_KEYS[77])
+            value(it)
+        }
+    }
+    if (fields == null || fields[78]) {
+        data.customData5?.let {
+            key(EVENT_DATA_KEYS[78])
+            value(it)
+        }
+    }
+    if (fields == null || fields[79]) {
+        data.customData6?.let {
+            key(EVENT_DATA_KEYS[79])
+            value(it)
+        }
+    }
+    if (fields == null || fields[80]) {
+        data.customData7?.let {
+            key(EVENT_DATA_KEYS[80])
+            value(it)
+        }
+    }
+    if (fields == null || fields[81]) {
+        data.customData8?.let {
+            key(EVENT_DATA_KEYS[81])
+            value(it)
+        }
+    }
+    if (fields == null || fields[82]) {
+        data.customData9?.let {
+            key(EVENT_DATA_KEYS[82])
+            value(it)
+        }
+    }
+    if (fields == null || fields[83]) {
+        data.customData10?.let {
+            key(EVENT_DATA_KEYS[83])
+            value(it)
+        }
+    }
+    if (fields == null || fields[84]) {
+        data.customData11?.let {
+            key(EVENT_DATA_KEYS[84])
+            value(it)
+        }
+    }
+    if (fields == null || fields[85]) {
+        data.customData12?.let {
+            key(EVENT_DATA_KEYS[85])
+            value(it)
+        }
+    }
+    if (fields == null || fields[86]) {
+        data.customData13?.let {
+            key(EVENT_DATA_KEYS[86])
+            value(it)
+        }
+    }
+    if (fields == null || fields[87]) {
+        data.customData14?.let {
+            key(EVENT_DATA_KEYS[87])
+            value(it)
+        }
+    }
+    if (fields == null || fields[88]) {
+        data.customData15?.let {
+            key(EVENT_DATA_KEYS[88])
+            value(it)
+        }
+    }
+    if (fields == null || fields[89]) {
+        data.customData16?.let {
+            key(EVENT_DATA_KEYS[89])
+            value(it)
+        }
+    }
+    if (fields == null || fields[90]) {
+        data.customData17?.let {
+            key(EVENT_DATA_KEYS[90])
+            value(it)
+        }
+    }
+    if (fields == null || fields[91]) {
+        data.customData18?.let {
+            key(EVENT_DATA_KEYS[91])
+            value(it)
+        }
+    }
+    if (fields == null || fields[92]) {
+        data.customData19?.let {
+            key(EVENT_DATA_KEYS[92])
+            value(it)
+        }
+    }
+    if (fields == null || fields[93]) {
+        data.customData20?.let {
+            key(EVENT_DATA_KEYS[93])
+            value(it)
+        }
+    }
+    if (fields == null || fields[94]) {
+        data.customData21?.let {
+            key(EVENT_DATA_KEYS[94])
+            value(it)
+        }
+    }
+    if (fields == null || fields[95]) {
+        data.customData22?.let {
+            key(EVENT_DATA_KEYS[95])
+            value(it)
+        }
+    }
+    if (fields == null || fields[96]) {
+        data.customData23?.let {
+            key(EVENT_DATA_KEYS[96])
+            value(it)
+        }
+    }
+    if (fields == null || fields[97]) {
+        data.customData24?.let {
+            key(EVENT_DATA_KEYS[97])
+            value(it)
+        }
+    }
+    if (fields == null || fields[98]) {
+        data.customData25?.let {
+            key(EVENT_DATA_KEYS[98])
+            value(it)
+        }
+    }
+    if (fields == null || fields[99]) {
+        data.customData26?.let {
+            key(EVENT_DATA_KEYS[99])
+            value(it)
+        }
+    }
+    if (fields == null || fields[100]) {
+        data.customData27?.let {
+            key(EVENT_DATA_KEYS[100])
+            value(it)
+        }
+    }
+    if (fields == null || fields[101]) {
+        data.customData28?.let {
+            key(EVENT_DATA_KEYS[101])
+            value(it)
+        }
+    }
+    if (fields == null || fields[102]) {
+        data.customData29?.let {
+            key(EVENT_DATA_KEYS[102])
+            value(it)
+        }
+    }
+    if (fields == null || fields[103]) {
+        data.customData30?.let {
+            key(EVENT_DATA_KEYS[103])
+            value(it)
+        }
+    }
+    if (fields == null || fields[104]) {
+        data.customData31?.let {
+            key(EVENT_DATA_KEYS[104])
+            value(it)
+        }
+    }
+    if (fields == null || fields[105]) {
+        data.customData32?.let {
+            key(EVENT_DATA_KEYS[105])
+            value(it)
+        }
+    }
+    if (fields == null || fields[106]) {
+        data.customData33?.let {
+            key(EVENT_DATA_KEYS[106])
+            value(it)
+        }
+    }
+    if (fields == null || fields[107]) {
+        data.customData34?.let {
+            key(EVENT_DATA_KEYS[107])
+            value(it)
+        }
+    }
+    if (fields == null || fields[108]) {
+        data.customData35?.let {
+            key(EVENT_DATA_KEYS[108])
+            value(it)
+        }
+    }
+    if (fields == null || fields[109]) {
+        data.customData36?.let {
+            key(EVENT_DATA_KEYS[109])
+            value(it)
+        }
+    }
+    if (fields == null || fields[110]) {
+        data.customData37?.let {
+            key(EVENT_DATA_KEYS[110])
+            value(it)
+        }
+    }
+    if (fields == null || fields[111]) {
+        data.customData38?.let {
+            key(EVENT_DATA_KEYS[111])
+            value(it)
+        }
+    }
+    if (fields == null || fields[112]) {
+        data.customData39?.let {
+            key(EVENT_DATA_KEYS[112])
+            value(it)
+        }
+    }
+    if (fields == null || fields[113]) {
+        data.customData40?.let {
+            key(EVENT_DATA_KEYS[113])
+            value(it)
+        }
+    }
+    if (fields == null || fields[114]) {
+        data.customData41?.let {
+            key(EVENT_DATA_KEYS[114])
+            value(it)
+        }
+    }
+    if (fields == null || fields[115]) {
+        data.customData42?.let {
+            key(EVENT_DATA_KEYS[115])
+            value(it)
+        }
+    }
+    if (fields == null || fields[116]) {
+        data.customData43?.let {
+            key(EVENT_DATA_KEYS[116])
+            value(it)
+        }
+    }
+    if (fields == null || fields[117]) {
+        data.customData44?.let {
+            key(EVENT_DATA_KEYS[117])
+            value(it)
+        }
+    }
+    if (fields == null || fields[118]) {
+        data.customData45?.let {
+            key(EVENT_DATA_KEYS[118])
+            value(it)
+        }
+    }
+    if (fields == null || fields[119]) {
+        data.customData46?.let {
+            key(EVENT_DATA_KEYS[119])
+            value(it)
+        }
+    }
+    if (fields == null || fields[120]) {
+        data.customData47?.let {
+            key(EVENT_DATA_KEYS[120])
+            value(it)
+        }
+    }
+    if (fields == null || fields[121]) {
+        data.customData48?.let {
+            key(EVENT_DATA_KEYS[121])
+            value(it)
+        }
+    }
+    if (fields == null || fields[122]) {
+        data.customData49?.let {
+            key(EVENT_DATA_KEYS[122])
+            value(it)
+        }
+    }
+    if (fields == null || fields[123]) {
+        data.customData50?.let {
+            key(EVENT_DATA_KEYS[123])
+            value(it)
+        }
+    }
+    if (fields == null || fields[124]) {
+        data.customData51?.let {
+            key(EVENT_DATA_KEYS[124])
+            value(it)
+        }
+    }
+    if (fields == null || fields[125]) {
+        data.customData52?.let {
+            key(EVENT_DATA_KEYS[125])
+            value(it)
+        }
+    }
+    if (fields == null || fields[126]) {
+        data.customData53?.let {
+            key(EVENT_DATA_KEYS[126])
+            value(it)
+        }
+    }
+    if (fields == null || fields[127]) {
+        data.customData54?.let {
+            key(EVENT_DATA_KEYS[127])
+            value(it)
+        }
+    }
+    if (fields == null || fields[128]) {
+        data.customData55?.let {
+            key(EVENT_DATA_KEYS[128])
+            value(it)
+        }
+    }
+    if (fields == null || fields[129]) {
+        data.customData56?.let {
+            key(EVENT_DATA_KEYS[129])
+            value(it)
+        }
+    }
+    if (fields == null || fields[130]) {
+        data.customData57?.let {
+            key(EVENT_DATA_KEYS[130])
+            value(it)
+        }
+    }
+    if (fields == null || fields[131]) {
+        data.customData58?.let {
+            key(EVENT_DATA_KEYS[131])
+            value(it)
+        }
+    }
+    if (fields == null || fields[132]) {
+        data.customData59?.let {
+            key(EVENT_DATA_KEYS[132])
+            value(it)
+        }
+    }
+    if (fields == null || fields[133]) {
+        data.customData60?.let {
+            key(EVENT_DATA_KEYS[133])
+            value(it)
+        }
+    }
+    if (fields == null || fields[134]) {
+        data.customData61?.let {
+            key(EVENT_DATA_KEYS[134])
+            value(it)
+        }
+    }
+    if (fields == null || fields[135]) {
+        data.customData62?.let {
+            key(EVENT_DATA_KEYS[135])
+            value(it)
+        }
+    }
+    if (fields == null || fields[136]) {
+        data.customData63?.let {
+            key(EVENT_DATA_KEYS[136])
+            value(it)
+        }
+    }
+    if (fields == null || fields[137]) {
+        data.customData64?.let {
+            key(EVENT_DATA_KEYS[137])
+            value(it)
+        }
+    }
+    if (fields == null || fields[138]) {
+        data.customData65?.let {
+            key(EVENT_DATA_KEYS[138])
+            value(it)
+        }
+    }
+    if (fields == null || fields[139]) {
+        data.customData66?.let {
+            key(EVENT_DATA_KEYS[139])
+            value(it)
+        }
+    }
+    if (fields == null || fields[140]) {
+        data.customData67?.let {
+            key(EVENT_DATA_KEYS[140])
+            value(it)
+        }
+    }
+    if (fields == null || fields[141]) {
+        data.customData68?.let {
+            key(EVENT_DATA_KEYS[141])
+            value(it)
+        }
+    }
+    if (fields == null || fields[142]) {
+        data.customData69?.let {
+            key(EVENT_DATA_KEYS[142])
+            value(it)
+        }
+    }
+    if (fields == null || fields[143]) {
+        data.customData70?.let {
+            key(EVENT_DATA_KEYS[143])
+            value(it)
+        }
+    }
+    if (fields == null || fields[144]) {
+        data.customData71?.let {
+            key(EVENT_DATA_KEYS[144])
+            value(it)
+        }
+    }
+    if (fields == null || fields[145]) {
+        data.customData72?.let {
+            key(EVENT_DATA_KEYS[145])
+            value(it)
+        }
+    }
+    if (fields == null || fields[146]) {
+        data.customData73?.let {
+            key(EVENT_DATA_KEYS[146])
+            value(it)
+        }
+    }
+    if (fields == null || fields[147]) {
+        data.customData74?.let {
+            key(EVENT_DATA_KEYS[147])
+            value(it)
+        }
+    }
+    if (fields == null || fields[148]) {
+        data.customData75?.let {
+            key(EVENT_DATA_KEYS[148])
+            value(it)
+        }
+    }
+    if (fields == null || fields[149]) {
+        data.customData76?.let {
+            key(EVENT_DATA_KEYS[149])
+            value(it)
+        }
+    }
+    if (fields == null || fields[150]) {
+        data.customData77?.let {
+            key(EVENT_DATA_KEYS[150])
+            value(it)
+        }
+    }
+    if (fields == null || fields[151]) {
+        data.customData78?.let {
+            key(EVENT_DATA_KEYS[151])
+            value(it)
+        }
+    }
+    if (fields == null || fields[152]) {
+        data.customData79?.let {
+            key(EVENT_DATA_KEYS[152])
+            value(it)
+        }
+    }
+    if (fields == null || fields[153]) {
+        data.customData80?.let {
+            key(EVENT_DATA_KEYS[153])
+            value(it)
+        }
+    }
+    if (fields == null || fields[154]) {
+        data.customData81?.let {
+            key(EVENT_DATA_KEYS[154])
+            value(it)
+        }
+    }
+    if (fields == null || fields[155]) {
+        data.customData82?.let {
+            key(EVENT_DATA_KEYS[155])
+            value(it)
+        }
+    }
+    if (fields == null || fields[156]) {
+        data.customData83?.let {
+            key(EVENT_DATA_KEYS[156])
+            value(it)
+        }
+    }
+    if (fields == null || fields[157]) {
+        data.customData84?.let {
+            key(EVENT_DATA_KEYS[157])
+            value(it)
+        }
+    }
+    if (fields == null || fields[158]) {
+        data.customData85?.let {
+            key(EVENT_DATA_KEYS[158])
+            value(it)
+        }
+    }
+    if (fields == null || fields[159]) {
+        data.customData86?.let {
+            key(EVENT_DATA_KEYS[159])
+            value(it)
+        }
+    }
+    if (fields == null || fields[160]) {
+        data.customData87?.let {
+            key(EVENT_DATA_KEYS[160])
+            value(it)
+        }
+    }
+    if (fields == null || fields[161]) {
+        data.customData88?.let {
+            key(EVENT_DATA_KEYS[161])
+            value(it)
+        }
+    }
+    if (fields == null || fields[162]) {
+        data.customData89?.let {
+            key(EVENT_DATA_KEYS[162])
+            value(it)
+        }
+    }
+    if (fields == null || fields[163]) {
+        data.customData90?.let {
+            key(EVENT_DATA_KEYS[163])
+            value(it)
+        }
+    }
+    if (fields == null || fields[164]) {
+        data.customData91?.let {
+            key(EVENT_DATA_KEYS[164])
+            value(it)
+        }
+    }
+    if (fields == null || fields[165]) {
+        data.customData92?.let {
+            key(EVENT_DATA_KEYS[165])
+            value(it)
+        }
+    }
+    if (fields == null || fields[166]) {
+        data.customData93?.let {
+            key(EVENT_DATA_KEYS[166])
+            value(it)
+        }
+    }
+    if (fields == null || fields[167]) {
+        data.customData94?.let {
+            key(EVENT_DATA_KEYS[167])
+            value(it)
+        }
+    }
+    if (fields == null || fields[168]) {
+        data.customData95?.let {
+            key(EVENT_DATA_KEYS[168])
+            value(it)
+        }
+    }
+    if (fields == null || fields[169]) {
+        data.customData96?.let {
+            key(EVENT_DATA_KEYS[169])
+            value(it)
+        }
+    }
+    if (fields == null || fields[170]) {
+        data.customData97?.let {
+            key(EVENT_DATA_KEYS[170])
+            value(it)
+        }
+    }
+    if (fields == null || fields[171]) {
+        data.customData98?.let {
+            key(EVENT_DATA_KEYS[171])
+            value(it)
+        }
+    }
+    if (fields == null || fields[172]) {
+        data.customData99?.let {
+            key(EVENT_DATA_KEYS[172])
+            value(it)
+        }
+    }
+    if (fields == null || fields[173]) {
+        data.customData100?.let {
+            key(EVENT_DATA_KEYS[173])
+            value(it)
+        }
+    }
+    if (fields == null || fields[174]) {
+        data.experimentName?.let {
+            key(EVENT_DATA_KEYS[174])
+            value(it)
+        }
+    }
+    endObject()
+}
+
+/**
+ * Value of the element with the given index of the serial descriptor.
+ */
+internal fun EventData.jsonElementValue(index: Int): Any? =
+    when (index) {
+        0 -> impressionId
+        1 -> userId
+        2 -> key
+        3 -> videoId
+        4 -> videoTitle
+        5 -> customUserId
+        6 -> path
+        7 -> cdnProvider
+        8 -> userAgent
+        9 -> deviceInformation
+        10 -> language
+        11 -> analyticsVersion
+        12 -> playerTech
+        13 -> domain
+        14 -> screenHeight
+        15 -> screenWidth
+        16 -> autoplay
+        17 -> isLive
+        18 -> isCasting
+        19 -> castTech
+        20 -> videoDuration
+        21 -> time
+        22 -> videoWindowWidth
+        23 -> videoWindowHeight
+        24 -> droppedFrames
+        25 -> played
+        26 -> buffered
+        27 -> paused
+        28 -> ad
+        29 -> adPosition
+        30 -> adId
+        31 -> adSystem
+        32 -> adIndex
+        33 -> seeked
+        34 -> videoPlaybackWidth
+        35 -> videoPlaybackHeight
+        36 -> videoBitrate
+        37 -> audioBitrate
+        38 -> videoTimeStart
+        39 -> videoTimeEnd
+        40 -> videoStartupTime
+        41 -> duration
+        42 -> startupTime
+        43 -> state
+        44 -> errorCode
+        45 -> errorMessage
+        46 -> errorData
+        47 -> errorSeverity
+        48 -> playerStartupTime
+        49 -> pageLoadType
+        50 -> pageLoadTime
+        51 -> version
+        52 -> streamFormat
+        53 -> mpdUrl
+        54 -> m3u8Url
+        55 -> progUrl
+        56 -> isMuted
+        57 -> sequenceNumber
+        58 -> platform
+        59 -> videoCodec
+        60 -> audioCodec
+        61 -> supportedVideoCodecs
+        62 -> subtitleEnabled
+        63 -> subtitleLanguage
+        64 -> audioLanguage
+        65 -> drmType
+        66 -> drmLoadTime
+        67 -> videoStartFailed
+        68 -> videoStartFailedReason
+        69 -> isProgramChange
+        70 -> downloadSpeedInfo
+        71 -> retryCount
+        72 -> player
+        73 -> playerKey
+        74 -> customData1
+        75 -> customData2
+        76 -> customData3
+        77 -> customData4
+        78 -> customData5
+        79 -> customData6
+        80 -> customData7
+        81 -> customData8
+        82 -> customData9
+        83 -> customData10
+        84 -> customData11
+        85 -> customData12
+        86 -> customData13
+        87 -> customData14
+        88 -> customData15
+        89 -> customData16
+        90 -> customData17
+        91 -> customData18
+        92 -> customData19
+        93 -> customData20
+        94 -> customData21
+        95 -> customData22
+        96 -> customData23
+        97 -> customData24
+        98 -> customData25
+        99 -> customData26
+        100 -> customData27
+        101 -> customData28
+        102 -> customData29
+        103 -> customData30
+        104 -> customData31
+        105 -> customData32
+        106 -> customData33
+        107 -> customData34
+        108 -> customData35
+        109 -> customData36
+        110 -> customData37
+        111 -> customData38
+        112 -> customData39
+        113 -> customData40
+        114 -> customData41
+        115 -> customData42
+        116 -> customData43
+        117 -> customData44
+        118 -> customData45
+        119 -> customData46
+        120 -> customData47
+        121 -> customData48
+        122 -> customData49
+        123 -> customData50
+        124 -> customData51
+        125 -> customData52
+        126 -> customData53
+        127 -> customData54
+        128 -> customData55
+        129 -> customData56
+        130 -> customData57
+        131 -> customData58
+        132 -> customData59
+        133 -> customData60
+        134 -> customData61
+        135 -> customData62
+        136 -> customData63
+        137 -> customData64
+        138 -> customData65
+        139 -> customData66
+        140 -> customData67
+        141 -> customData68
+        142 -> customData69
+        143 -> customData70
+        144 -> customData71
+        145 -> customData72
+        146 -> customData73
+        147 -> customData74
+        148 -> customData75
+        149 -> customData76
+        150 -> customData77
+        151 -> customData78
+        152 -> customData79
+        153 -> customData80
+        154 -> customData81
+        155 -> customData82
+        156 -> customData83
+        157 -> customData84
+        158 -> customData85
+        159 -> customData86
+        160 -> customData87
+        161 -> customData88
+        162 -> customData89
+        163 -> customData90
+        164 -> customData91
+        165 -> customData92
+        166 -> customData93
+        167 -> customData94
+        168 -> customData95
+        169 -> customData96
+        170 -> customData97
+        171 -> customData98
+        172 -> customData99
+        173 -> customData100
+        174 -> experimentName
+        else -> throw IndexOutOfBoundsException("EventData has no element $index")
+    }
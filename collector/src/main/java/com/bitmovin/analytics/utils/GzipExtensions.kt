@@ -0,0 +1,20 @@
+package com.bitmovin.analytics.utils
+
+import okio.Buffer
+import okio.ByteString
+import okio.GzipSink
+import okio.buffer
+
+/**
+ * Encodes the string as UTF-8 and compresses it with gzip.
+ */
+internal fun String.gzipUtf8(): ByteString = Buffer().writeUtf8(this).gzip()
+
+/**
+ * Compresses the content of the buffer with gzip. The buffer is consumed.
+ */
+internal fun Buffer.gzip(): ByteString {
+    val compressed = Buffer()
+    GzipSink(compressed).buffer().use { it.writeAll(this) }
+    return compressed.readByteString()
+}
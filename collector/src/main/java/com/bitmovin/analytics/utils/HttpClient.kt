@@ -1,26 +1,109 @@
 package com.bitmovin.analytics.utils
 
 import android.content.Context
-import okhttp3.Call
-import okhttp3.Callback
 import okhttp3.HttpUrl.Companion.toHttpUrl
-import okhttp3.MediaType
-import okhttp3.MediaType.Companion.toMediaType
 import okhttp3.OkHttpClient
-import okhttp3.Request
-import okhttp3.RequestBody.Companion.toRequestBody
-import okhttp3.Response
+import okio.Buffer
+import okio.ByteString
+import okio.ByteString.Companion.encodeUtf8
 import java.io.IOException
 
-class HttpClient(private val context: Context, private val client: OkHttpClient) {
+class HttpClient(
+    private val context: Context,
+    private val transport: HttpTransport,
+    /**
+     * Request bodies of at least this size are sent gzip compressed. `null` disables compression.
+     */
+    private val compressionThresholdBytes: Int? = null,
+) {
+    @JvmOverloads
+    constructor(
+        context: Context,
+        client: OkHttpClient,
+        compressionThresholdBytes: Int? = null,
+    ) : this(context, OkHttpTransport(client), compressionThresholdBytes)
+
     fun post(
         url: String,
         postBody: String?,
-        callback: Callback?,
+        callback: HttpTransportCallback?,
+        useSsaiRouting: Boolean = false,
+        headers: Map<String, String> = emptyMap(),
+    ) {
+        BitmovinLog.d(TAG) { String.format("Posting Analytics JSON: \n%s\n", postBody) }
+
+        val body = postBody.orEmpty()
+        val compressBody = compressionThresholdBytes != null && body.length >= compressionThresholdBytes
+        val requestBody =
+            if (compressBody) {
+                ByteStringRequestBody(body.gzipUtf8(), JSON_CONTENT_TYPE)
+            } else {
+                ByteStringRequestBody(body.encodeUtf8(), JSON_CONTENT_TYPE)
+            }
+        enqueue(url, requestBody, compressBody, callback, useSsaiRouting, headers)
+    }
+
+    /**
+     * Posts a JSON body, e.g. a sample encoded by [CachingEventDataEncoder.requestBody].
+     */
+    internal fun postJson(
+        url: String,
+        jsonBody: HttpTransportRequestBody,
+        callback: HttpTransportCallback?,
+        useSsaiRouting: Boolean = false,
+        headers: Map<String, String> = emptyMap(),
+    ) {
+        BitmovinLog.d(TAG) { "Posting Analytics JSON: \n${Buffer().also { jsonBody.writeTo(it.outputStream()) }.readUtf8()}\n" }
+
+        if (compressionThresholdBytes == null) {
+            enqueue(url, jsonBody, false, callback, useSsaiRouting, headers)
+            return
+        }
+
+        // the size is only known once the data is encoded, so it is encoded upfront into a buffer
+        val buffer = Buffer().also { jsonBody.writeTo(it.outputStream()) }
+        val compressBody = buffer.size >= compressionThresholdBytes
+        val requestBody =
+            if (compressBody) {
+                ByteStringRequestBody(buffer.gzip(), JSON_CONTENT_TYPE)
+            } else {
+                // snapshot shares the segments of the buffer instead of copying them
+                ByteStringRequestBody(buffer.snapshot(), JSON_CONTENT_TYPE)
+            }
+        enqueue(url, requestBody, compressBody, callback, useSsaiRouting, headers)
+    }
+
+    /**
+     * Posts an already encoded body, e.g. a batch of samples or ProtoBuf encoded samples.
+     */
+    internal fun postBytes(
+        url: String,
+        body: ByteString,
+        contentType: String,
+        callback: HttpTransportCallback?,
         useSsaiRouting: Boolean = false,
+        headers: Map<String, String> = emptyMap(),
     ) {
-        BitmovinLog.d(TAG, String.format("Posting Analytics JSON: \n%s\n", postBody))
+        BitmovinLog.d(TAG) { "Posting ${body.size} bytes of $contentType" }
 
+        val compressBody = compressionThresholdBytes != null && body.size >= compressionThresholdBytes
+        val requestBody =
+            if (compressBody) {
+                ByteStringRequestBody(Buffer().write(body).gzip(), contentType)
+            } else {
+                ByteStringRequestBody(body, contentType)
+            }
+        enqueue(url, requestBody, compressBody, callback, useSsaiRouting, headers)
+    }
+
+    private fun enqueue(
+        url: String,
+        requestBody: HttpTransportRequestBody,
+        isCompressed: Boolean,
+        callback: HttpTransportCallback?,
+        useSsaiRouting: Boolean,
+        additionalHeaders: Map<String, String>,
+    ) {
         val urlWithRouting =
             if (useSsaiRouting) {
                 val urlBuilder = url.toHttpUrl().newBuilder()
@@ -30,38 +113,34 @@ class HttpClient(private val context: Context, private val client: OkHttpClient)
                 url
             }
 
-        val request =
-            Request.Builder()
-                .url(urlWithRouting)
-                .header("Origin", String.format("http://%s", context.packageName))
-                .post(postBody.orEmpty().toRequestBody(JSON_CONTENT_TYPE))
-                .build()
+        val headers =
+            buildMap {
+                put("Origin", String.format("http://%s", context.packageName))
+                if (isCompressed) put("Content-Encoding", "gzip")
+                putAll(additionalHeaders)
+            }
 
-        client.newCall(request)
-            .enqueue(
-                object : Callback {
-                    override fun onFailure(
-                        call: Call,
-                        e: IOException,
-                    ) {
-                        BitmovinLog.e(TAG, "HTTP Error: ", e)
-                        callback?.onFailure(call, e)
-                    }
+        transport.enqueue(
+            HttpTransportRequest(urlWithRouting, headers, requestBody),
+            object : HttpTransportCallback {
+                override fun onFailure(e: IOException) {
+                    BitmovinLog.e(TAG, "HTTP Error: ", e)
+                    callback?.onFailure(e)
+                }
 
-                    @Throws(IOException::class)
-                    override fun onResponse(
-                        call: Call,
-                        response: Response,
-                    ) {
-                        callback?.onResponse(call, response)
-                        response.close()
-                    }
-                },
-            )
+                override fun onResponse(response: HttpTransportResponse) {
+                    callback?.onResponse(response)
+                }
+            },
+        )
     }
 
     companion object {
-        private val JSON_CONTENT_TYPE: MediaType = "application/json; charset=utf-8".toMediaType()
+        internal const val JSON_CONTENT_TYPE = "application/json; charset=utf-8"
+        internal const val PROTOBUF_CONTENT_TYPE = "application/x-protobuf"
+
+        // a batch message can't be told apart from a single sample by its bytes, unlike a JSON array
+        internal const val PROTOBUF_BATCH_CONTENT_TYPE = "application/x-protobuf; type=batch"
         private const val TAG = "HttpClient"
     }
 }
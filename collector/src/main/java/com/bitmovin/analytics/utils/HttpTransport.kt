@@ -0,0 +1,93 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.internal.InternalBitmovinApi
+import java.io.IOException
+import java.io.OutputStream
+
+/**
+ * Network stack used by the collector to send its requests.
+ *
+ * [OkHttpTransport] is used by default. Another implementation, e.g. one based on Cronet
+ * to send the samples over QUIC, can be set with [install] before the collector is created.
+ *
+ * This is an internal extension point for the modules of the collector, like `collector-cronet`, apps install
+ * a transport through the API of such a module.
+ */
+@InternalBitmovinApi
+interface HttpTransport {
+    /**
+     * Sends [request] asynchronously. Exactly one of the methods of [callback] is called once
+     * the request completed, on a thread of the transport. This includes any exception thrown
+     * while writing the body, which is reported as an [IOException].
+     */
+    fun enqueue(
+        request: HttpTransportRequest,
+        callback: HttpTransportCallback,
+    )
+
+    companion object {
+        @Volatile
+        private var installedTransport: HttpTransport? = null
+
+        /**
+         * Sends all requests of collectors created from now on with [transport].
+         * `null` restores the default [OkHttpTransport].
+         */
+        @JvmStatic
+        fun install(transport: HttpTransport?) {
+            installedTransport = transport
+        }
+
+        internal val installed: HttpTransport?
+            get() = installedTransport
+    }
+}
+
+@InternalBitmovinApi
+class HttpTransportRequest(
+    val url: String,
+    /**
+     * Request headers besides Content-Type and Content-Length, which are set from the [body].
+     */
+    val headers: Map<String, String>,
+    val body: HttpTransportRequestBody,
+)
+
+@InternalBitmovinApi
+interface HttpTransportRequestBody {
+    val contentType: String
+
+    /**
+     * Length of the body in bytes, or -1 if it is unknown upfront and the body has to be streamed.
+     */
+    val contentLength: Long
+
+    /**
+     * Writes the body to [outputStream]. Can be called more than once, e.g. when a request is retried.
+     */
+    fun writeTo(outputStream: OutputStream)
+}
+
+@InternalBitmovinApi
+class HttpTransportResponse(
+    val code: Int,
+    private val headers: Map<String, List<String>>,
+    val body: ByteArray?,
+) {
+    val isSuccessful: Boolean
+        get() = code in 200..299
+
+    /**
+     * First value of the header with the given name, which is matched case-insensitively.
+     */
+    fun header(name: String): String? = headers.entries.firstOrNull { it.key.equals(name, ignoreCase = true) }?.value?.firstOrNull()
+
+    fun bodyAsString(): String? = body?.toString(Charsets.UTF_8)
+}
+
+@InternalBitmovinApi
+interface HttpTransportCallback {
+    fun onResponse(response: HttpTransportResponse)
+
+    fun onFailure(e: IOException)
+}
@@ -0,0 +1,241 @@
+package com.bitmovin.analytics.utils
+
+import kotlinx.serialization.SerializationException
+import okio.ByteString
+import okio.ByteString.Companion.toByteString
+import java.io.OutputStream
+import java.util.Locale
+
+/**
+ * Minimal JSON writer for the generated DTO writers (see GeneratedJsonWriters.kt).
+ *
+ * Values are written straight as UTF-8 into a growing byte array that is meant to be reused across samples,
+ * with the same escaping and number formatting as [DataSerializerKotlinX.jsonInstance], so the output is byte
+ * identical. Keys are passed pre-encoded, including quotes and colon, see [keys].
+ */
+internal class JsonUtf8Writer(private val initialCapacity: Int = DEFAULT_CAPACITY) {
+    private var buffer = ByteArray(initialCapacity)
+    private var firstInObject = true
+
+    var size = 0
+        private set
+
+    /**
+     * Clears the writer. A buffer that grew beyond [MAX_RETAINED_CAPACITY] is released.
+     */
+    fun reset() {
+        if (buffer.size > MAX_RETAINED_CAPACITY) {
+            buffer = ByteArray(initialCapacity)
+        }
+        size = 0
+        firstInObject = true
+    }
+
+    fun beginObject() {
+        writeByte('{'.code)
+        firstInObject = true
+    }
+
+    fun endObject() {
+        writeByte('}'.code)
+        // an object is always the value of an element of the enclosing object
+        firstInObject = false
+    }
+
+    fun key(key: ByteArray) {
+        if (!firstInObject) {
+            writeByte(','.code)
+        }
+        firstInObject = false
+        writeBytes(key, 0, key.size)
+    }
+
+    fun value(string: String) {
+        // worst case is an escaped control character (6 bytes) for every char
+        ensureCapacity(2 + 6 * string.length)
+        val bytes = buffer
+        var position = size
+        bytes[position++] = '"'.code.toByte()
+        var index = 0
+        while (index < string.length) {
+            val char = string[index].code
+            when {
+                char < 0x80 -> {
+                    val escape = if (char < ESCAPES.size) ESCAPES[char] else null
+                    if (escape == null) {
+                        bytes[position++] = char.toByte()
+                    } else {
+                        escape.copyInto(bytes, position)
+                        position += escape.size
+                    }
+                }
+                char < 0x800 -> {
+                    bytes[position++] = (0xC0 or (char shr 6)).toByte()
+                    bytes[position++] = (0x80 or (char and 0x3F)).toByte()
+                }
+                Character.isHighSurrogate(string[index]) && index + 1 < string.length && Character.isLowSurrogate(string[index + 1]) -> {
+                    val codePoint = Character.toCodePoint(string[index], string[index + 1])
+                    bytes[position++] = (0xF0 or (codePoint shr 18)).toByte()
+                    bytes[position++] = (0x80 or ((codePoint shr 12) and 0x3F)).toByte()
+                    bytes[position++] = (0x80 or ((codePoint shr 6) and 0x3F)).toByte()
+                    bytes[position++] = (0x80 or (codePoint and 0x3F)).toByte()
+                    index++
+                }
+                Character.isSurrogate(string[index]) -> {
+                    // unpaired surrogates can't be encoded, like String.toByteArray they are replaced
+                    bytes[position++] = '?'.code.toByte()
+                }
+                else -> {
+                    bytes[position++] = (0xE0 or (char shr 12)).toByte()
+                    bytes[position++] = (0x80 or ((char shr 6) and 0x3F)).toByte()
+                    bytes[position++] = (0x80 or (char and 0x3F)).toByte()
+                }
+            }
+            index++
+        }
+        bytes[position++] = '"'.code.toByte()
+        size = position
+    }
+
+    fun value(boolean: Boolean) {
+        if (boolean) writeBytes(TRUE, 0, TRUE.size) else writeBytes(FALSE, 0, FALSE.size)
+    }
+
+    fun value(number: Int) = value(number.toLong())
+
+    fun value(number: Long) {
+        if (number == Long.MIN_VALUE) {
+            writeAscii(number.toString())
+            return
+        }
+        // at most 19 digits and the sign
+        ensureCapacity(20)
+        var remaining = if (number < 0) -number else number
+        val digits = if (remaining == 0L) 1 else digitCount(remaining)
+        var position = size + digits + (if (number < 0) 1 else 0)
+        val end = position
+        do {
+            buffer[--position] = ('0'.code + (remaining % 10).toInt()).toByte()
+            remaining /= 10
+        } while (remaining != 0L)
+        if (number < 0) {
+            buffer[--position] = '-'.code.toByte()
+        }
+        size = end
+    }
+
+    fun value(number: Float) {
+        if (!number.isFinite()) throw SerializationException("Unexpected special floating-point value $number")
+        writeAscii(number.toString())
+    }
+
+    fun value(number: Double) {
+        if (!number.isFinite()) throw SerializationException("Unexpected special floating-point value $number")
+        writeAscii(number.toString())
+    }
+
+    fun value(strings: List<String>) {
+        writeByte('['.code)
+        strings.forEachIndexed { index, element ->
+            if (index > 0) writeByte(','.code)
+            value(element)
+        }
+        writeByte(']'.code)
+    }
+
+    /**
+     * Writes already encoded elements of an object, `"key":value` pairs separated by commas, into the open object.
+     */
+    fun fields(bytes: ByteArray) = fields(bytes, 0, bytes.size)
+
+    /**
+     * Writes the elements of the object written to [objectWriter] into the open object.
+     */
+    fun fieldsOf(objectWriter: JsonUtf8Writer) = fields(objectWriter.buffer, 1, objectWriter.size - 2)
+
+    private fun fields(
+        bytes: ByteArray,
+        offset: Int,
+        length: Int,
+    ) {
+        if (length <= 0) {
+            return
+        }
+        if (!firstInObject) {
+            writeByte(','.code)
+        }
+        firstInObject = false
+        writeBytes(bytes, offset, length)
+    }
+
+    fun writeTo(outputStream: OutputStream) = outputStream.write(buffer, 0, size)
+
+    fun toByteString(): ByteString = buffer.toByteString(0, size)
+
+    fun toUtf8String(): String = String(buffer, 0, size, Charsets.UTF_8)
+
+    private fun writeByte(byte: Int) {
+        ensureCapacity(1)
+        buffer[size++] = byte.toByte()
+    }
+
+    private fun writeBytes(
+        bytes: ByteArray,
+        offset: Int,
+        length: Int,
+    ) {
+        ensureCapacity(length)
+        bytes.copyInto(buffer, size, offset, offset + length)
+        size += length
+    }
+
+    private fun writeAscii(value: String) {
+        ensureCapacity(value.length)
+        for (char in value) {
+            buffer[size++] = char.code.toByte()
+        }
+    }
+
+    private fun ensureCapacity(additionalBytes: Int) {
+        if (size + additionalBytes > buffer.size) {
+            buffer = buffer.copyOf(maxOf(buffer.size * 2, size + additionalBytes))
+        }
+    }
+
+    private fun digitCount(value: Long): Int {
+        var count = 0
+        var remaining = value
+        while (remaining != 0L) {
+            remaining /= 10
+            count++
+        }
+        return count
+    }
+
+    companion object {
+        private const val DEFAULT_CAPACITY = 4 * 1024
+        private const val MAX_RETAINED_CAPACITY = 64 * 1024
+        private val TRUE = "true".toByteArray(Charsets.US_ASCII)
+        private val FALSE = "false".toByteArray(Charsets.US_ASCII)
+
+        // same escaping as kotlinx.serialization: control characters, quote and backslash
+        private val ESCAPES: Array<ByteArray?> =
+            arrayOfNulls<ByteArray>(93).apply {
+                for (char in 0..0x1f) {
+                    this[char] = String.format(Locale.ROOT, "\\u%04x", char).toByteArray(Charsets.US_ASCII)
+                }
+                this['"'.code] = "\\\"".toByteArray(Charsets.US_ASCII)
+                this['\\'.code] = "\\\\".toByteArray(Charsets.US_ASCII)
+                this['\t'.code] = "\\t".toByteArray(Charsets.US_ASCII)
+                this['\b'.code] = "\\b".toByteArray(Charsets.US_ASCII)
+                this['\n'.code] = "\\n".toByteArray(Charsets.US_ASCII)
+                this['\r'.code] = "\\r".toByteArray(Charsets.US_ASCII)
+                this[0x0c] = "\\f".toByteArray(Charsets.US_ASCII)
+            }
+
+        /**
+         * Pre-encodes the keys of an object as `"name":`.
+         */
+        fun keys(vararg names: String): Array<ByteArray> = Array(names.size) { "\"${names[it]}\":".toByteArray(Charsets.UTF_8) }
+    }
+}
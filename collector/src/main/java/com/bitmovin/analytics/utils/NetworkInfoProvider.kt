@@ -0,0 +1,49 @@
+package com.bitmovin.analytics.utils
+
+import android.Manifest
+import android.content.Context
+import android.content.pm.PackageManager
+import android.net.ConnectivityManager
+import android.net.NetworkCapabilities
+
+/**
+ * Provides the type of the network samples are currently sent over.
+ */
+internal class NetworkInfoProvider(context: Context) {
+    private val context = context.applicationContext
+    private val connectivityManager = context.getSystemService(Context.CONNECTIVITY_SERVICE) as ConnectivityManager?
+
+    /**
+     * Whether the active network is a cellular network, which wakes up the cellular radio on every send,
+     * or another metered network. Wi-Fi and ethernet never count as such.
+     *
+     * Returns `false` if the network is unknown, e.g. because the `ACCESS_NETWORK_STATE` permission is missing.
+     */
+    fun isCellularOrMetered(): Boolean {
+        val capabilities = activeNetworkCapabilities() ?: return false
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI) ||
+            capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)
+        ) {
+            return false
+        }
+        return capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR) ||
+            !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED)
+    }
+
+    private fun activeNetworkCapabilities(): NetworkCapabilities? {
+        if (context.checkSelfPermission(Manifest.permission.ACCESS_NETWORK_STATE) != PackageManager.PERMISSION_GRANTED) {
+            return null
+        }
+        return try {
+            connectivityManager?.let { it.getNetworkCapabilities(it.activeNetwork) }
+        } catch (e: SecurityException) {
+            // some vendors throw even though the permission is granted
+            BitmovinLog.e(TAG, "Could not get the capabilities of the active network", e)
+            null
+        }
+    }
+
+    companion object {
+        private const val TAG = "NetworkInfoProvider"
+    }
+}
@@ -0,0 +1,72 @@
+package com.bitmovin.analytics.utils
+
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.MediaType
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.RequestBody
+import okhttp3.Response
+import okio.BufferedSink
+import java.io.IOException
+
+/**
+ * Default [HttpTransport], sending the requests with an [OkHttpClient] of the [ClientFactory].
+ */
+class OkHttpTransport(private val client: OkHttpClient) : HttpTransport {
+    override fun enqueue(
+        request: HttpTransportRequest,
+        callback: HttpTransportCallback,
+    ) {
+        val okHttpRequest =
+            Request.Builder()
+                .url(request.url)
+                .apply { request.headers.forEach { (name, value) -> header(name, value) } }
+                .post(TransportRequestBody(request.body))
+                .build()
+
+        client.newCall(okHttpRequest)
+            .enqueue(
+                object : Callback {
+                    override fun onFailure(
+                        call: Call,
+                        e: IOException,
+                    ) {
+                        callback.onFailure(e)
+                    }
+
+                    override fun onResponse(
+                        call: Call,
+                        response: Response,
+                    ) {
+                        val transportResponse =
+                            response.use {
+                                HttpTransportResponse(it.code, it.headers.toMultimap(), it.body.bytes())
+                            }
+                        callback.onResponse(transportResponse)
+                    }
+                },
+            )
+    }
+
+    // streams the body into the request sink, so it is not copied into an intermediate buffer
+    private class TransportRequestBody(private val body: HttpTransportRequestBody) : RequestBody() {
+        private val contentType = body.contentType.toMediaType()
+
+        override fun contentType(): MediaType = contentType
+
+        override fun contentLength(): Long = body.contentLength
+
+        // OkHttp only reports IOExceptions to the callback, any other exception would leave the request unanswered
+        override fun writeTo(sink: BufferedSink) {
+            try {
+                body.writeTo(sink.outputStream())
+            } catch (e: IOException) {
+                throw e
+            } catch (e: Exception) {
+                throw IOException("Cannot write request body", e)
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.descriptors.PrimitiveKind
+import kotlinx.serialization.descriptors.SerialDescriptor
+import kotlinx.serialization.descriptors.SerialKind
+import kotlinx.serialization.descriptors.StructureKind
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.jsonObject
+
+/**
+ * JSON profile that leaves out the fields of a sample which are equal to their declared default.
+ *
+ * The analytics backend has to re-apply the defaults, so the profile is negotiated: requests advertise it
+ * with [ACCEPT_HEADER] and the backend confirms it by responding with [PROFILE_HEADER]. Only then samples
+ * are sent without their defaults, with [PROFILE_HEADER] set on the request.
+ *
+ * The defaults are part of the profile, changing a default of [EventData] or [AdEventData] requires a new
+ * profile [NAME].
+ */
+internal object OmitDefaultsProfile {
+    const val NAME = "omit-defaults-1"
+    const val PROFILE_HEADER = "X-Bitmovin-Json-Profile"
+    const val ACCEPT_HEADER = "X-Bitmovin-Accept-Json-Profile"
+
+    val eventDataDefaults by lazy { DefaultValueTable(EventData.serializer()) { jsonElementValue(it) } }
+
+    val adEventDataDefaults by lazy { DefaultValueTable(AdEventData.serializer()) { jsonElementValue(it) } }
+
+    /**
+     * Request headers for samples that are encoded with or without the profile.
+     */
+    fun requestHeaders(omitDefaults: Boolean): Map<String, String> =
+        if (omitDefaults) mapOf(ACCEPT_HEADER to NAME, PROFILE_HEADER to NAME) else mapOf(ACCEPT_HEADER to NAME)
+
+    fun isConfirmed(response: HttpTransportResponse) = response.header(PROFILE_HEADER) == NAME
+}
+
+/**
+ * Declared default values of the optional elements of a serializable class.
+ *
+ * The defaults are taken from an instance decoded from an object that only contains the required elements.
+ * Defaults that are evaluated at runtime, like the timestamp, can't be re-applied by the backend and are
+ * therefore never left out, see [KEPT_DEFAULTS].
+ */
+@OptIn(ExperimentalSerializationApi::class)
+internal class DefaultValueTable<T>(
+    serializer: KSerializer<T>,
+    private val elementValue: T.(index: Int) -> Any?,
+) {
+    private val elementsCount = serializer.descriptor.elementsCount
+    private val indices: IntArray
+    private val values: Array<Any?>
+
+    /**
+     * The defaults as they are encoded, by element name.
+     */
+    val encodedDefaults: Map<String, JsonElement>
+
+    init {
+        val descriptor = serializer.descriptor
+        val json = DataSerializerKotlinX.jsonInstance
+        val defaults = json.decodeFromJsonElement(serializer, requiredElements(descriptor))
+        indices =
+            (0 until elementsCount).filter {
+                descriptor.isElementOptional(it) &&
+                    descriptor.getElementName(it) !in KEPT_DEFAULTS &&
+                    defaults.elementValue(it) != null
+            }.toIntArray()
+        values = Array(indices.size) { defaults.elementValue(indices[it]) }
+
+        val encoded = json.encodeToJsonElement(serializer, defaults).jsonObject
+        encodedDefaults = indices.map { descriptor.getElementName(it) }.associateWith { encoded.getValue(it) }
+    }
+
+    /**
+     * Flags the elements of [data] that differ from their default, out of the elements flagged in [fields].
+     */
+    fun nonDefaultFields(
+        data: T,
+        fields: BooleanArray? = null,
+    ): BooleanArray {
+        val result = fields?.copyOf() ?: BooleanArray(elementsCount) { true }
+        for (slot in indices.indices) {
+            if (values[slot] == data.elementValue(indices[slot])) {
+                result[indices[slot]] = false
+            }
+        }
+        return result
+    }
+
+    /**
+     * Removes the elements of an encoded [sample] that are equal to their default.
+     */
+    fun omitDefaults(sample: JsonObject): JsonObject = JsonObject(sample.filter { (key, value) -> encodedDefaults[key] != value })
+
+    companion object {
+        // time and analyticsVersion are evaluated when the sample is created, so the backend can't know them,
+        // the sequence number identifies a sample, e.g. the base sample of the session delta encoding
+        private val KEPT_DEFAULTS = setOf("time", "analyticsVersion", "sequenceNumber")
+
+        // placeholder values for the required elements, the nullable ones are decoded as null when left out
+        private fun requiredElements(descriptor: SerialDescriptor): JsonObject =
+            JsonObject(
+                (0 until descriptor.elementsCount)
+                    .filter { !descriptor.isElementOptional(it) && !descriptor.getElementDescriptor(it).isNullable }
+                    .associate { descriptor.getElementName(it) to placeholder(descriptor.getElementDescriptor(it)) },
+            )
+
+        private fun placeholder(descriptor: SerialDescriptor): JsonElement =
+            when (descriptor.kind) {
+                PrimitiveKind.STRING -> JsonPrimitive("")
+                PrimitiveKind.BOOLEAN -> JsonPrimitive(false)
+                SerialKind.ENUM -> JsonPrimitive(descriptor.getElementName(0))
+                StructureKind.LIST -> JsonArray(emptyList())
+                StructureKind.CLASS -> requiredElements(descriptor)
+                else -> JsonPrimitive(0)
+            }
+    }
+}
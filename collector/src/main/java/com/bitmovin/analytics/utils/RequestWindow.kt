@@ -0,0 +1,170 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.api.RequestQueueOverflowPolicy
+import com.bitmovin.analytics.api.TransmissionConfig
+import java.io.IOException
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Limits the number of concurrent requests to one endpoint.
+ *
+ * Requests beyond [maxInFlight] wait in a queue of at most [maxQueued] requests and are started in order
+ * as soon as a request completes. When the queue is full, a request is dropped according to [overflowPolicy],
+ * unless it is [RequestQueueOverflowPolicy.QUEUE_ALL].
+ *
+ * A slot is freed once the transport calls back, which the OkHttp transport does at the latest after its
+ * connect, read and write timeouts.
+ */
+internal class RequestWindow(
+    private val name: String,
+    private val maxInFlight: Int,
+    private val maxQueued: Int,
+    private val overflowPolicy: RequestQueueOverflowPolicy,
+    private val timeService: SystemTimeService = SystemTimeService(),
+) {
+    private val queue = ArrayDeque<QueuedRequest>()
+    private var inFlight = 0
+    private var startedFromQueue = 0L
+    private var totalWaitTimeMs = 0L
+
+    val queueDepth: Int
+        @Synchronized get() = queue.size
+
+    val inFlightCount: Int
+        @Synchronized get() = inFlight
+
+    /**
+     * Longest time a request waited in the queue before it was started.
+     */
+    @Volatile
+    var maxWaitTimeMs = 0L
+        private set
+
+    /**
+     * Average time the requests started from the queue waited in it.
+     */
+    val averageWaitTimeMs: Long
+        @Synchronized get() = if (startedFromQueue == 0L) 0 else totalWaitTimeMs / startedFromQueue
+
+    /**
+     * Starts the request right away if there is a free slot and queues it otherwise.
+     *
+     * @param start starts the request. It has to call the passed release function exactly once,
+     * when the request completed. If it throws, the slot is released right away.
+     * @param onDropped is called instead of [start] if the request is dropped because the queue is full,
+     * or after [start] if it threw
+     */
+    fun submit(
+        start: (release: () -> Unit) -> Unit,
+        onDropped: (IOException) -> Unit,
+    ) {
+        val request = QueuedRequest(start, onDropped, timeService.elapsedRealtime())
+        var dropped: QueuedRequest? = null
+        val startNow =
+            synchronized(this) {
+                when {
+                    inFlight < maxInFlight -> {
+                        inFlight++
+                        true
+                    }
+                    queue.size < maxQueued || overflowPolicy == RequestQueueOverflowPolicy.QUEUE_ALL -> {
+                        queue.addLast(request)
+                        false
+                    }
+                    overflowPolicy == RequestQueueOverflowPolicy.DROP_OLDEST && queue.isNotEmpty() -> {
+                        dropped = queue.removeFirst()
+                        queue.addLast(request)
+                        false
+                    }
+                    else -> {
+                        dropped = request
+                        false
+                    }
+                }
+            }
+
+        dropped?.let {
+            BitmovinLog.w(TAG, "$name: request queue is full, dropping a request")
+            it.onDropped(RequestQueueOverflowException("Request queue of $name is full"))
+        }
+        if (startNow) {
+            startRequest(request)
+        }
+    }
+
+    private fun release() {
+        val next =
+            synchronized(this) {
+                val next = queue.removeFirstOrNull()
+                if (next == null) {
+                    inFlight--
+                } else {
+                    val waitTimeMs = timeService.elapsedRealtime() - next.queuedAtMs
+                    startedFromQueue++
+                    totalWaitTimeMs += waitTimeMs
+                    maxWaitTimeMs = maxOf(maxWaitTimeMs, waitTimeMs)
+                }
+                next
+            } ?: return
+
+        BitmovinLog.d(TAG) { "$name: starting queued request, $queueDepth requests still queued" }
+        startRequest(next)
+    }
+
+    private fun startRequest(request: QueuedRequest) {
+        val released = AtomicBoolean(false)
+        val releaseOnce = {
+            if (released.compareAndSet(false, true)) {
+                release()
+            }
+        }
+        try {
+            request.start(releaseOnce)
+        } catch (e: Exception) {
+            // e.g. an invalid url or a sample that can't be serialized, the transport never calls back for those
+            BitmovinLog.e(TAG, "$name: request could not be started", e)
+            releaseOnce()
+            request.onDropped(e as? IOException ?: IOException("Request of $name could not be started", e))
+        }
+    }
+
+    private class QueuedRequest(
+        val start: (release: () -> Unit) -> Unit,
+        val onDropped: (IOException) -> Unit,
+        val queuedAtMs: Long,
+    )
+
+    companion object {
+        private const val TAG = "RequestWindow"
+    }
+}
+
+internal fun TransmissionConfig.createRequestWindow(name: String) =
+    RequestWindow(
+        name,
+        maxInFlight = maxInFlightRequestsPerEndpoint.coerceAtLeast(1),
+        maxQueued = maxQueuedRequestsPerEndpoint.coerceAtLeast(0),
+        overflowPolicy = requestQueueOverflowPolicy,
+    )
+
+internal class RequestQueueOverflowException(message: String) : IOException(message)
+
+/**
+ * Wraps the [delegate] so [release] is called once the request completed, successfully or not.
+ */
+internal fun releaseOnCompletion(
+    release: () -> Unit,
+    delegate: HttpTransportCallback? = null,
+): HttpTransportCallback {
+    return object : HttpTransportCallback {
+        override fun onFailure(e: IOException) {
+            release()
+            delegate?.onFailure(e)
+        }
+
+        override fun onResponse(response: HttpTransportResponse) {
+            release()
+            delegate?.onResponse(response)
+        }
+    }
+}
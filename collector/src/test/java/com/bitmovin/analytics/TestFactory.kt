@@ -1,6 +1,7 @@
 package com.bitmovin.analytics
 
 import com.bitmovin.analytics.api.AnalyticsConfig
+import com.bitmovin.analytics.api.CustomData
 import com.bitmovin.analytics.api.DefaultMetadata
 import com.bitmovin.analytics.api.SourceMetadata
 import com.bitmovin.analytics.data.DeviceInformation
@@ -11,7 +12,9 @@ import com.bitmovin.analytics.dtos.AdEventData
 import com.bitmovin.analytics.dtos.EventData
 import com.bitmovin.analytics.enums.AdType
 import com.bitmovin.analytics.enums.PlayerType
+import com.bitmovin.analytics.stateMachines.PlayerStates
 import com.bitmovin.analytics.utils.UserAgentProvider
+import io.mockk.every
 import io.mockk.mockk
 
 object TestFactory {
@@ -55,6 +58,65 @@ object TestFactory {
             null,
         )
 
+    /**
+     * Creates a heartbeat sample as it is sent during playback, with realistic
+     * user agent, urls and custom data. Useful for payload size and performance tests.
+     */
+    fun createHeartbeatEventData(
+        impressionId: String = "79b531da-5abb-4fb2-8dbc-9a6c60b6526f",
+        sequenceNumber: Int = 5,
+    ): EventData {
+        val userAgentProvider = mockk<UserAgentProvider>()
+        every { userAgentProvider.userAgent } returns
+            "Mozilla/5.0 (Linux; Android 14; Pixel 8 Build/UQ1A.240205.004; wv) AppleWebKit/537.36 " +
+            "(KHTML, like Gecko) Version/4.0 Chrome/121.0.6167.178 Mobile Safari/537.36"
+        val userIdProvider = mockk<UserIdProvider>()
+        every { userIdProvider.userId() } returns "c54d11c8-dba2-4475-a867-764befdb5ad2"
+
+        return createEventDataFactory(AnalyticsConfig("82dc5cdc-d425-4329-a043-b5fc540f9a74"), userIdProvider, userAgentProvider)
+            .create(
+                impressionId,
+                SourceMetadata(
+                    title = "Art of Motion",
+                    videoId = "art-of-motion-4k",
+                    cdnProvider = "akamai",
+                    path = "com.bitmovin.example.PlayerActivity",
+                    customData =
+                        CustomData(
+                            customData1 = "subscription-tier-premium",
+                            customData2 = "campaign-2024-spring",
+                            customData3 = "recommendation-row-3",
+                            customData4 = "experiment-bucket-b",
+                        ),
+                ),
+                DefaultMetadata(customUserId = "customer-1234567"),
+                testDeviceInformation,
+                PlayerInfo("Android:Exoplayer", PlayerType.EXOPLAYER),
+                null,
+            ).apply {
+                this.sequenceNumber = sequenceNumber
+                state = PlayerStates.PLAYING.name
+                played = 59_985
+                duration = 60_000
+                videoTimeStart = 120_000
+                videoTimeEnd = 179_985
+                videoBitrate = 4_800_000
+                audioBitrate = 128_000
+                videoPlaybackWidth = 1920
+                videoPlaybackHeight = 1080
+                videoWindowWidth = 1080
+                videoWindowHeight = 608
+                videoDuration = 210_000
+                streamFormat = "dash"
+                mpdUrl = "https://cdn.bitmovin.com/content/assets/art-of-motion-dash-hls-progressive/mpds/f08e80da-bf1d-4e3d-8899-f0f6155f6efa.mpd"
+                videoCodec = "avc1.640028"
+                audioCodec = "mp4a.40.2"
+                supportedVideoCodecs = listOf("avc", "hevc", "vp9", "av1")
+                audioLanguage = "en"
+                version = "1.10.1"
+            }
+    }
+
     fun createAdEventData(adId: String = "testAdId") =
         AdEventData(
             adId = adId,
@@ -0,0 +1,212 @@
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.api.TransmissionConfig
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.enums.AdType
+import com.bitmovin.analytics.utils.DataSerializerKotlinX
+import io.mockk.every
+import io.mockk.just
+import io.mockk.mockk
+import io.mockk.runs
+import io.mockk.slot
+import io.mockk.verify
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import okio.ByteString
+import okio.ByteString.Companion.encodeUtf8
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import java.io.IOException
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class BatchingBackendTest {
+    private val testScope = TestScope()
+    private val httpBackend = mockk<HttpBackend>()
+    private val sentBatches = mutableListOf<List<ByteString>>()
+    private val successCallbacks = mutableListOf<OnSuccessCallback>()
+    private val failureCallbacks = mutableListOf<OnFailureCallback>()
+    private val urgentBatches = mutableListOf<Boolean>()
+
+    @Before
+    fun setup() {
+        val samplesSlot = slot<List<ByteString>>()
+        val successSlot = slot<OnSuccessCallback>()
+        val failureSlot = slot<OnFailureCallback>()
+        val urgentSlot = slot<Boolean>()
+        every { httpBackend.serializeSample(any()) } answers { DataSerializerKotlinX.serialize(firstArg<EventData>())!!.encodeUtf8() }
+        every { httpBackend.serializeAdSample(any()) } answers { DataSerializerKotlinX.serialize(firstArg<AdEventData>())!!.encodeUtf8() }
+        every { httpBackend.sampleSuccessCallback(any(), any()) } answers { secondArg() }
+        every { httpBackend.sampleFailureCallback(any(), any()) } answers { secondArg() }
+        every {
+            httpBackend.sendBatch(capture(samplesSlot), any(), any(), capture(successSlot), capture(failureSlot), capture(urgentSlot))
+        } answers {
+            sentBatches.add(samplesSlot.captured)
+            successCallbacks.add(successSlot.captured)
+            failureCallbacks.add(failureSlot.captured)
+            urgentBatches.add(urgentSlot.captured)
+        }
+    }
+
+    private fun createBackend(
+        maxBatchSize: Int = 3,
+        maxBatchBytes: Int = Int.MAX_VALUE,
+        maxBatchDelayMs: Long = 1000,
+    ) = BatchingBackend(
+        httpBackend,
+        testScope,
+        TransmissionConfig(
+            batchingEnabled = true,
+            maxBatchSize = maxBatchSize,
+            maxBatchBytes = maxBatchBytes,
+            maxBatchDelayMs = maxBatchDelayMs,
+        ),
+    )
+
+    private fun createEventData(
+        impressionId: String = "impression",
+        sequenceNumber: Int = 0,
+    ): EventData = TestFactory.createEventData(impressionId = impressionId).apply { this.sequenceNumber = sequenceNumber }
+
+    @Test
+    fun `samples are held back until the batch size is reached`() {
+        val backend = createBackend(maxBatchSize = 3)
+
+        backend.send(createEventData(sequenceNumber = 0))
+        backend.send(createEventData(sequenceNumber = 1))
+        verify(exactly = 0) { httpBackend.sendBatch(any(), any(), any(), any(), any()) }
+
+        backend.send(createEventData(sequenceNumber = 2))
+        verify(exactly = 1) { httpBackend.sendBatch(any(), false, false, any(), any()) }
+        assertThat(sentBatches.single()).hasSize(3)
+    }
+
+    @Test
+    fun `pending samples are sent after the max batch delay`() {
+        val backend = createBackend(maxBatchDelayMs = 1000)
+
+        backend.send(createEventData())
+        testScope.advanceTimeBy(999)
+        verify(exactly = 0) { httpBackend.sendBatch(any(), any(), any(), any(), any()) }
+
+        testScope.advanceTimeBy(2)
+        verify(exactly = 1) { httpBackend.sendBatch(any(), any(), any(), any(), any()) }
+    }
+
+    @Test
+    fun `a sample that exceeds the byte limit starts a new batch`() {
+        val sampleSize = DataSerializerKotlinX.serialize(createEventData())!!.encodeUtf8().size
+        val backend = createBackend(maxBatchSize = 10, maxBatchBytes = sampleSize * 2 + sampleSize / 2)
+
+        backend.send(createEventData(sequenceNumber = 0))
+        backend.send(createEventData(sequenceNumber = 1))
+        backend.send(createEventData(sequenceNumber = 2))
+
+        assertThat(sentBatches).hasSize(1)
+        assertThat(sentBatches.single()).hasSize(2)
+    }
+
+    @Test
+    fun `urgent samples bypass the batch`() {
+        val backend = createBackend(maxBatchSize = 10)
+        val success = mockk<OnSuccessCallback>()
+
+        backend.send(createEventData(sequenceNumber = 0).apply { errorCode = 2001 }, success, null)
+
+        verify(exactly = 1) { httpBackend.send(match { it.errorCode == 2001 }, success, null) }
+        verify(exactly = 0) { httpBackend.sendBatch(any(), any(), any(), any(), any()) }
+    }
+
+    @Test
+    fun `pending samples of the impression are sent as urgent batch before an urgent sample`() {
+        val backend = createBackend(maxBatchSize = 10)
+        val other = createEventData(impressionId = "other")
+        val earlier = createEventData(sequenceNumber = 0)
+        val urgent = createEventData(sequenceNumber = 1).apply { errorCode = 2001 }
+
+        backend.send(other)
+        backend.send(earlier)
+        backend.send(urgent)
+
+        assertThat(sentBatches.single()).containsExactly(httpBackend.serializeSample(earlier))
+        assertThat(urgentBatches.single()).isTrue()
+        // the urgent sample waits for the result of the batch, so it can't overtake it
+        verify(exactly = 0) { httpBackend.send(any(), any(), any()) }
+
+        failureCallbacks.single().onFailure(IOException()) {}
+        verify(exactly = 1) { httpBackend.send(urgent, null, null) }
+
+        backend.flush()
+        assertThat(sentBatches.last()).containsExactly(httpBackend.serializeSample(other))
+        assertThat(urgentBatches.last()).isFalse()
+    }
+
+    @Test
+    fun `flush sends all pending samples immediately`() {
+        val backend = createBackend(maxBatchSize = 10)
+
+        backend.send(createEventData())
+        backend.sendAd(TestFactory.createAdEventData())
+        backend.flush()
+
+        verify(exactly = 1) { httpBackend.sendBatch(any(), false, false, any(), any()) }
+        verify(exactly = 1) { httpBackend.sendBatch(any(), true, false, any(), any()) }
+    }
+
+    @Test
+    fun `flush without pending samples does not send anything`() {
+        createBackend().flush()
+
+        verify(exactly = 0) { httpBackend.sendBatch(any(), any(), any(), any(), any()) }
+    }
+
+    @Test
+    fun `ssai related samples are sent in a separate batch with ssai routing`() {
+        val backend = createBackend(maxBatchSize = 10)
+
+        backend.send(createEventData(sequenceNumber = 0))
+        backend.send(createEventData(sequenceNumber = 1).apply { ssaiRelatedSample = true })
+        backend.sendAd(TestFactory.createAdEventData().copy(adType = AdType.SERVER_SIDE.value))
+        backend.flush()
+
+        verify(exactly = 1) { httpBackend.sendBatch(any(), false, false, any(), any()) }
+        verify(exactly = 1) { httpBackend.sendBatch(any(), false, true, any(), any()) }
+        verify(exactly = 1) { httpBackend.sendBatch(any(), true, true, any(), any()) }
+    }
+
+    @Test
+    fun `samples of an impression are ordered by sequence number within a batch`() {
+        val backend = createBackend(maxBatchSize = 10)
+
+        backend.send(createEventData(impressionId = "a", sequenceNumber = 1))
+        backend.send(createEventData(impressionId = "b", sequenceNumber = 0))
+        backend.send(createEventData(impressionId = "a", sequenceNumber = 0))
+        backend.flush()
+
+        val sentSamples = sentBatches.single().map { DataSerializerKotlinX.deserialize(it.utf8(), EventData::class.java)!! }
+        assertThat(sentSamples.map { it.impressionId to it.sequenceNumber })
+            .containsExactly("a" to 0, "a" to 1, "b" to 0)
+    }
+
+    @Test
+    fun `batch result is forwarded to the callbacks of every sample`() {
+        val backend = createBackend(maxBatchSize = 2)
+        val success = mockk<OnSuccessCallback>()
+        every { success.onSuccess() } just runs
+        val failure = mockk<OnFailureCallback>()
+        every { failure.onFailure(any(), any()) } just runs
+
+        backend.send(createEventData(sequenceNumber = 0), success, failure)
+        backend.send(createEventData(sequenceNumber = 1), success, failure)
+        successCallbacks.single().onSuccess()
+        verify(exactly = 2) { success.onSuccess() }
+
+        backend.send(createEventData(sequenceNumber = 2), success, failure)
+        backend.send(createEventData(sequenceNumber = 3), success, failure)
+        failureCallbacks.last().onFailure(IOException()) {}
+        verify(exactly = 2) { failure.onFailure(any(), any()) }
+    }
+}
@@ -0,0 +1,213 @@
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.api.AnalyticsConfig
+import com.bitmovin.analytics.api.TransmissionConfig
+import com.bitmovin.analytics.license.DeferredLicenseKeyProvider
+import com.bitmovin.analytics.license.InstantLicenseKeyProvider
+import com.bitmovin.analytics.license.LicenseKeyState
+import com.bitmovin.analytics.testutils.printBenchmarkResult
+import com.bitmovin.analytics.utils.ClientFactory
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import kotlinx.coroutines.flow.MutableStateFlow
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.ConnectionPool
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.RequestBody.Companion.toRequestBody
+import okhttp3.Response
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import java.io.IOException
+import java.net.InetAddress
+import java.net.Socket
+import java.net.SocketAddress
+import java.util.concurrent.TimeUnit
+import javax.net.SocketFactory
+
+class ConnectionPrewarmerTest {
+    private val server = MockWebServer()
+
+    // the license request waits for the key, so the connection is pre-warmed
+    private val deferredLicenseKeyProvider = DeferredLicenseKeyProvider(MutableStateFlow(LicenseKeyState.Deferred))
+
+    @Before
+    fun setup() {
+        server.start()
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    private fun createConfig(connectionPrewarmingEnabled: Boolean = true) =
+        AnalyticsConfig(
+            "key",
+            backendUrl = server.url("/").toString(),
+            transmissionConfig = TransmissionConfig(connectionPrewarmingEnabled = connectionPrewarmingEnabled),
+        )
+
+    // a fresh client per test, connecting slowly to simulate the handshake latency of a real network
+    private fun createSlowConnectingClient() =
+        OkHttpClient.Builder()
+            .connectionPool(ConnectionPool())
+            .socketFactory(DelayedConnectSocketFactory(HANDSHAKE_LATENCY_MS))
+            .build()
+
+    private fun createClientFactory(client: OkHttpClient) =
+        mockk<ClientFactory> {
+            every { createClient(any<AnalyticsConfig>()) } returns client
+        }
+
+    @Test
+    fun `does nothing if prewarming is disabled`() {
+        val clientFactory = mockk<ClientFactory>()
+
+        ConnectionPrewarmer(createConfig(connectionPrewarmingEnabled = false), deferredLicenseKeyProvider, clientFactory).prewarm()
+
+        verify(exactly = 0) { clientFactory.createClient(any<AnalyticsConfig>()) }
+        assertThat(server.requestCount).isEqualTo(0)
+    }
+
+    @Test
+    fun `opens a connection to the backend with a head request`() {
+        val client = createSlowConnectingClient()
+        server.enqueue(MockResponse())
+
+        ConnectionPrewarmer(createConfig(), deferredLicenseKeyProvider, createClientFactory(client)).prewarm()
+
+        assertThat(server.takeRequest().method).isEqualTo("HEAD")
+        awaitIdleConnection(client)
+    }
+
+    @Test
+    fun `does not prewarm if the license key is known, since the license request opens the connection`() {
+        val clientFactory = mockk<ClientFactory>()
+
+        ConnectionPrewarmer(createConfig(), InstantLicenseKeyProvider("key"), clientFactory).prewarm()
+
+        verify(exactly = 0) { clientFactory.createClient(any<AnalyticsConfig>()) }
+        assertThat(server.requestCount).isEqualTo(0)
+    }
+
+    @Test
+    fun `does not prewarm while a request to the backend is in flight`() {
+        val client = createSlowConnectingClient()
+        server.enqueue(MockResponse().setHeadersDelay(1, TimeUnit.SECONDS))
+        client.newCall(Request.Builder().url(server.url("/licensing")).build()).enqueue(IgnoringCallback)
+
+        ConnectionPrewarmer(createConfig(), deferredLicenseKeyProvider, createClientFactory(client)).prewarm()
+
+        assertThat(server.takeRequest().path).isEqualTo("/licensing")
+        assertThat(server.takeRequest(HANDSHAKE_LATENCY_MS * 2, TimeUnit.MILLISECONDS)).isNull()
+    }
+
+    @Test
+    fun `prewarming reduces the time to first byte of the first sample`() {
+        val coldClient = createSlowConnectingClient()
+        server.enqueue(MockResponse())
+        val coldTtfbMs = sendSample(coldClient)
+
+        val warmClient = createSlowConnectingClient()
+        server.enqueue(MockResponse())
+        server.enqueue(MockResponse())
+        ConnectionPrewarmer(createConfig(), deferredLicenseKeyProvider, createClientFactory(warmClient)).prewarm()
+        awaitIdleConnection(warmClient)
+        val warmTtfbMs = sendSample(warmClient)
+
+        printBenchmarkResult(
+            "First sample time to first byte",
+            "handshakeLatencyMs" to HANDSHAKE_LATENCY_MS,
+            "withoutPrewarmingMs" to coldTtfbMs,
+            "withPrewarmingMs" to warmTtfbMs,
+        )
+        assertThat(coldTtfbMs).isGreaterThanOrEqualTo(HANDSHAKE_LATENCY_MS)
+        assertThat(warmTtfbMs).isLessThan(HANDSHAKE_LATENCY_MS)
+    }
+
+    /**
+     * Sends a sample and returns the time until the response headers arrived in milliseconds.
+     */
+    private fun sendSample(client: OkHttpClient): Long {
+        val request =
+            Request.Builder()
+                .url(server.url("/analytics"))
+                .post("{}".toRequestBody("application/json; charset=utf-8".toMediaType()))
+                .build()
+        val start = System.nanoTime()
+        client.newCall(request).execute().use {
+            return (System.nanoTime() - start) / 1_000_000
+        }
+    }
+
+    private fun awaitIdleConnection(client: OkHttpClient) {
+        val deadline = System.currentTimeMillis() + 5_000
+        while (client.connectionPool.idleConnectionCount() == 0) {
+            check(System.currentTimeMillis() < deadline) { "Connection was not prewarmed" }
+            Thread.sleep(10)
+        }
+    }
+
+    private object IgnoringCallback : Callback {
+        override fun onFailure(
+            call: Call,
+            e: IOException,
+        ) {}
+
+        override fun onResponse(
+            call: Call,
+            response: Response,
+        ) {
+            response.close()
+        }
+    }
+
+    private class DelayedConnectSocketFactory(private val delayMs: Long) : SocketFactory() {
+        override fun createSocket(): Socket =
+            object : Socket() {
+                override fun connect(
+                    endpoint: SocketAddress?,
+                    timeout: Int,
+                ) {
+                    Thread.sleep(delayMs)
+                    super.connect(endpoint, timeout)
+                }
+            }
+
+        override fun createSocket(
+            host: String?,
+            port: Int,
+        ): Socket = throw UnsupportedOperationException()
+
+        override fun createSocket(
+            host: String?,
+            port: Int,
+            localHost: InetAddress?,
+            localPort: Int,
+        ): Socket = throw UnsupportedOperationException()
+
+        override fun createSocket(
+            host: InetAddress?,
+            port: Int,
+        ): Socket = throw UnsupportedOperationException()
+
+        override fun createSocket(
+            address: InetAddress?,
+            port: Int,
+            localAddress: InetAddress?,
+            localPort: Int,
+        ): Socket = throw UnsupportedOperationException()
+    }
+
+    companion object {
+        private const val HANDSHAKE_LATENCY_MS = 300L
+    }
+}
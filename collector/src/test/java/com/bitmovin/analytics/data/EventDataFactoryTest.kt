@@ -6,10 +6,16 @@ import com.bitmovin.analytics.api.DefaultMetadata
 import com.bitmovin.analytics.api.SourceMetadata
 import com.bitmovin.analytics.api.ads.AdMetadata
 import com.bitmovin.analytics.license.DeferredLicenseKeyProvider
+import com.bitmovin.analytics.license.InstantLicenseKeyProvider
 import com.bitmovin.analytics.license.LicenseKeyState
+import com.bitmovin.analytics.testutils.measureAllocatedBytesPerRun
+import com.bitmovin.analytics.testutils.measureNanosPerRun
+import com.bitmovin.analytics.testutils.printBenchmarkResult
+import com.bitmovin.analytics.utils.ApiV3Utils
 import com.bitmovin.analytics.utils.UserAgentProvider
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.verify
 import kotlinx.coroutines.flow.MutableStateFlow
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.Test
@@ -85,4 +91,66 @@ class EventDataFactoryTest {
         assertThat(customData.customData49).isEqualTo("default-custom-data-49")
         assertThat(customData.customData50).isEqualTo("source-custom-data-50")
     }
+
+    @Test
+    fun `merged metadata is re-used until the metadata changes`() {
+        val sourceMetadata = mockk<SourceMetadata>(relaxed = true)
+        every { sourceMetadata.customData } returns CustomData(customData1 = "source-1")
+        val defaultMetadata = DefaultMetadata(customData = CustomData(customData2 = "default-2"))
+        val firstAd = AdMetadata.Builder().setCustomData(CustomData(customData1 = "ssai-1")).build()
+        val secondAd = AdMetadata.Builder().setCustomData(CustomData(customData3 = "ssai-3")).build()
+        val eventDataFactory =
+            EventDataFactory(
+                mockk<AnalyticsConfig>(relaxed = true),
+                mockk<UserIdProvider>(relaxed = true),
+                mockk<UserAgentProvider>(relaxed = true),
+                InstantLicenseKeyProvider("license"),
+            )
+        val create = { ad: AdMetadata? ->
+            eventDataFactory.create("impression", sourceMetadata, defaultMetadata, mockk(relaxed = true), mockk(relaxed = true), ad)
+        }
+
+        repeat(3) { assertThat(create(null).customData1).isEqualTo("source-1") }
+        verify(exactly = 1) { sourceMetadata.customData }
+
+        assertThat(create(firstAd).customData1).isEqualTo("ssai-1")
+        val eventData = create(secondAd)
+        assertThat(eventData.customData1).isEqualTo("source-1")
+        assertThat(eventData.customData2).isEqualTo("default-2")
+        assertThat(eventData.customData3).isEqualTo("ssai-3")
+        verify(exactly = 3) { sourceMetadata.customData }
+    }
+
+    @Test
+    fun `create time of event data with sparse custom data`() {
+        val sourceMetadata = SourceMetadata(customData = CustomData(customData1 = "source-1", customData2 = "source-2"))
+        val defaultMetadata =
+            DefaultMetadata(customData = CustomData(customData1 = "default-1", customData3 = "default-3", experimentName = "ab"))
+        val ssaiMetadata = AdMetadata.Builder().setCustomData(CustomData(customData4 = "ssai-4")).build()
+        val eventDataFactory =
+            EventDataFactory(
+                mockk<AnalyticsConfig>(relaxed = true),
+                mockk<UserIdProvider>(relaxed = true),
+                mockk<UserAgentProvider>(relaxed = true),
+                InstantLicenseKeyProvider("license"),
+            )
+        val deviceInformation = mockk<DeviceInformation>(relaxed = true)
+        val playerInfo = mockk<PlayerInfo>(relaxed = true)
+        val create = { eventDataFactory.create("impression", sourceMetadata, defaultMetadata, deviceInformation, playerInfo, ssaiMetadata) }
+
+        assertThat(create().customData4).isEqualTo("ssai-4")
+        assertThat(ApiV3Utils.mergeCustomData(sourceMetadata.customData, defaultMetadata.customData))
+            .isSameAs(ApiV3Utils.mergeCustomData(sourceMetadata.customData, defaultMetadata.customData))
+        printBenchmarkResult(
+            "EventDataFactory.create with 5 custom data fields",
+            "nanosPerEventData" to "%.0f".format(measureNanosPerRun(iterations = 50_000, warmupIterations = 10_000) { create() }),
+            "allocatedBytesPerEventData" to measureAllocatedBytesPerRun { create() },
+            "nanosPerUncachedMerge" to
+                "%.0f".format(
+                    measureNanosPerRun(iterations = 50_000, warmupIterations = 10_000) {
+                        ApiV3Utils.mergeCustomData(sourceMetadata.customData.copy(), defaultMetadata.customData.copy())
+                    },
+                ),
+        )
+    }
 }
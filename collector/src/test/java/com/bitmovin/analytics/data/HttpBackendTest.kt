@@ -0,0 +1,163 @@
+package com.bitmovin.analytics.data
+
+import androidx.test.core.app.ApplicationProvider
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.api.AnalyticsConfig
+import com.bitmovin.analytics.api.TransmissionConfig
+import com.bitmovin.analytics.utils.OmitDefaultsProfile
+import kotlinx.coroutines.test.TestScope
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class HttpBackendTest {
+    private val server = MockWebServer()
+    private lateinit var backend: HttpBackend
+
+    @Before
+    fun setup() {
+        server.start()
+        IngressThrottle.shared.reset()
+        backend =
+            HttpBackend(
+                AnalyticsConfig("key", backendUrl = server.url("/").toString()),
+                ApplicationProvider.getApplicationContext(),
+            )
+    }
+
+    @After
+    fun tearDown() {
+        IngressThrottle.shared.reset()
+        server.shutdown()
+    }
+
+    // completes with null on success and with the exception on failure
+    private fun sendAndAwaitResult(backend: HttpBackend = this.backend): Exception? {
+        val result = CompletableFuture<Exception?>()
+        backend.send(
+            TestFactory.createHeartbeatEventData(),
+            { result.complete(null) },
+            { e, _ -> result.complete(e) },
+        )
+        return result.get(5, TimeUnit.SECONDS)
+    }
+
+    @Test
+    fun `2xx responses are successful`() {
+        server.enqueue(MockResponse().setResponseCode(204))
+
+        assertThat(sendAndAwaitResult()).isNull()
+    }
+
+    @Test
+    fun `429 response fails the sample and throttles further samples`() {
+        server.enqueue(MockResponse().setResponseCode(429).setHeader("Retry-After", "120"))
+
+        val exception = sendAndAwaitResult()
+        assertThat(exception).isInstanceOf(IngressThrottledException::class.java)
+        assertThat((exception as IngressThrottledException).retryAfterMs).isGreaterThan(119_000)
+
+        // further samples are not sent at all while throttled
+        assertThat(sendAndAwaitResult()).isInstanceOf(IngressThrottledException::class.java)
+        assertThat(server.requestCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `503 response throttles all collectors of the process`() {
+        server.enqueue(MockResponse().setResponseCode(503))
+        sendAndAwaitResult()
+
+        assertThat(IngressThrottle.shared.remainingThrottleMs()).isGreaterThan(0)
+    }
+
+    @Test
+    fun `other 5xx responses fail the sample without throttling`() {
+        server.enqueue(MockResponse().setResponseCode(500))
+
+        assertThat(sendAndAwaitResult()).isInstanceOf(IngressServerErrorException::class.java)
+        assertThat(IngressThrottle.shared.remainingThrottleMs()).isEqualTo(0)
+    }
+
+    @Test
+    fun `4xx responses other than 429 are not retried`() {
+        server.enqueue(MockResponse().setResponseCode(400))
+
+        assertThat(sendAndAwaitResult()).isNull()
+    }
+
+    @Test
+    fun `samples are sent without their defaults once the ingress confirmed the profile`() {
+        val compactBackend =
+            HttpBackend(
+                AnalyticsConfig(
+                    "key",
+                    backendUrl = server.url("/").toString(),
+                    transmissionConfig = TransmissionConfig(omitDefaultValuesEnabled = true),
+                ),
+                ApplicationProvider.getApplicationContext(),
+            )
+        server.enqueue(MockResponse().setResponseCode(200).setHeader(OmitDefaultsProfile.PROFILE_HEADER, OmitDefaultsProfile.NAME))
+        server.enqueue(MockResponse().setResponseCode(200))
+
+        sendAndAwaitResult(compactBackend)
+        sendAndAwaitResult(compactBackend)
+
+        val fullRequest = server.takeRequest()
+        assertThat(fullRequest.getHeader(OmitDefaultsProfile.ACCEPT_HEADER)).isEqualTo(OmitDefaultsProfile.NAME)
+        assertThat(fullRequest.getHeader(OmitDefaultsProfile.PROFILE_HEADER)).isNull()
+        assertThat(fullRequest.body.readUtf8()).contains("\"droppedFrames\":0")
+        val compactRequest = server.takeRequest()
+        assertThat(compactRequest.getHeader(OmitDefaultsProfile.PROFILE_HEADER)).isEqualTo(OmitDefaultsProfile.NAME)
+        assertThat(compactRequest.body.readUtf8()).doesNotContain("droppedFrames").contains("\"played\":59985")
+    }
+
+    @Test
+    fun `urgent samples and the pending samples of their impression don't wait for a full request window`() {
+        val transmissionConfig = TransmissionConfig(batchingEnabled = true, maxBatchSize = 10, maxInFlightRequestsPerEndpoint = 1)
+        val windowedBackend =
+            HttpBackend(
+                AnalyticsConfig("key", backendUrl = server.url("/").toString(), transmissionConfig = transmissionConfig),
+                ApplicationProvider.getApplicationContext(),
+            )
+        val batchingBackend = BatchingBackend(windowedBackend, TestScope(), transmissionConfig)
+        // holds the only slot of the window until the test is over
+        server.enqueue(MockResponse().setHeadersDelay(5, TimeUnit.SECONDS))
+        server.enqueue(MockResponse())
+        server.enqueue(MockResponse())
+        windowedBackend.send(TestFactory.createHeartbeatEventData(impressionId = "other"))
+        server.takeRequest()
+
+        batchingBackend.send(TestFactory.createHeartbeatEventData(sequenceNumber = 1))
+        batchingBackend.send(TestFactory.createHeartbeatEventData(sequenceNumber = 2).apply { errorCode = 2001 })
+
+        val batch = server.takeRequest(1, TimeUnit.SECONDS)!!.body.readUtf8()
+        assertThat(batch).startsWith("[").contains("\"sequenceNumber\":1")
+        val urgent = server.takeRequest(1, TimeUnit.SECONDS)!!.body.readUtf8()
+        assertThat(urgent).startsWith("{").contains("\"sequenceNumber\":2")
+    }
+
+    @Test
+    fun `samples are sent in full without the profile header by default`() {
+        server.enqueue(MockResponse().setResponseCode(200).setHeader(OmitDefaultsProfile.PROFILE_HEADER, OmitDefaultsProfile.NAME))
+        server.enqueue(MockResponse().setResponseCode(200))
+
+        sendAndAwaitResult()
+        sendAndAwaitResult()
+
+        server.takeRequest()
+        val request = server.takeRequest()
+        assertThat(request.getHeader(OmitDefaultsProfile.ACCEPT_HEADER)).isNull()
+        assertThat(request.getHeader(OmitDefaultsProfile.PROFILE_HEADER)).isNull()
+        assertThat(request.body.readUtf8()).contains("\"droppedFrames\":0")
+    }
+}
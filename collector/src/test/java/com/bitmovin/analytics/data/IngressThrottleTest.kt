@@ -0,0 +1,61 @@
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.utils.SystemTimeService
+import io.mockk.every
+import io.mockk.mockk
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class IngressThrottleTest {
+    private var now = 1_700_000_000_000L
+    private val throttle = IngressThrottle(mockk<SystemTimeService> { every { currentTimeMillis() } answers { now } })
+
+    @Test
+    fun `requests are throttled for the seconds of the Retry-After header`() {
+        throttle.onThrottled("30")
+
+        assertThat(throttle.remainingThrottleMs()).isEqualTo(30_000)
+        now += 30_000
+        assertThat(throttle.remainingThrottleMs()).isEqualTo(0)
+    }
+
+    @Test
+    fun `Retry-After header can be an http date`() {
+        // 1_700_000_060_000 ms since epoch
+        throttle.onThrottled("Tue, 14 Nov 2023 22:14:20 GMT")
+
+        assertThat(throttle.remainingThrottleMs()).isEqualTo(60_000)
+    }
+
+    @Test
+    fun `throttle time doubles with consecutive throttled responses without Retry-After`() {
+        assertThat(throttle.onThrottled(null)).isEqualTo(1_000)
+        now += 1_000
+        assertThat(throttle.onThrottled(null)).isEqualTo(2_000)
+        now += 2_000
+        assertThat(throttle.onThrottled("invalid")).isEqualTo(4_000)
+
+        throttle.onSuccess()
+        now += 4_000
+        assertThat(throttle.onThrottled(null)).isEqualTo(1_000)
+    }
+
+    @Test
+    fun `throttle time is capped`() {
+        assertThat(throttle.onThrottled("86400")).isEqualTo(5 * 60 * 1_000)
+    }
+
+    @Test
+    fun `a shorter Retry-After doesn't shorten an ongoing throttle`() {
+        throttle.onThrottled("60")
+        throttle.onThrottled("1")
+
+        assertThat(throttle.remainingThrottleMs()).isEqualTo(60_000)
+    }
+
+    @Test
+    fun `only 429 and 503 are throttling responses`() {
+        assertThat(listOf(200, 400, 429, 500, 503).filter { IngressThrottle.isThrottlingResponse(it) })
+            .containsExactly(429, 503)
+    }
+}
@@ -0,0 +1,59 @@
+@file:Suppress("DEPRECATION")
+
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.BitmovinAnalyticsConfig
+import com.bitmovin.analytics.api.CustomData
+import com.bitmovin.analytics.api.DefaultMetadata
+import com.bitmovin.analytics.api.SourceMetadata
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class MetadataProviderTest {
+    private val metadataProvider = MetadataProvider()
+
+    @Test
+    fun `every change bumps the version`() {
+        val versions = mutableListOf(metadataProvider.version)
+
+        metadataProvider.setSourceMetadata(SourceMetadata(title = "title"))
+        versions.add(metadataProvider.version)
+        metadataProvider.defaultMetadata = DefaultMetadata(customUserId = "user")
+        versions.add(metadataProvider.version)
+        metadataProvider.setDeprecatedBitmovinAnalyticsConfig(BitmovinAnalyticsConfig("key"))
+        versions.add(metadataProvider.version)
+        metadataProvider.deprecatedBitmovinAnalyticsConfigChanged()
+        versions.add(metadataProvider.version)
+
+        assertThat(versions).isSorted().doesNotHaveDuplicates()
+    }
+
+    @Test
+    fun `metadata of the deprecated config is only extracted again after a change`() {
+        val config = BitmovinAnalyticsConfig("key").apply { title = "title" }
+        metadataProvider.setDeprecatedBitmovinAnalyticsConfig(config)
+
+        val sourceMetadata = metadataProvider.getSourceMetadata()
+        val defaultMetadata = metadataProvider.defaultMetadata
+
+        assertThat(metadataProvider.getSourceMetadata()).isSameAs(sourceMetadata)
+        assertThat(metadataProvider.defaultMetadata).isSameAs(defaultMetadata)
+        assertThat(sourceMetadata?.title).isEqualTo("title")
+
+        config.title = "new title"
+        config.customData1 = "custom data"
+        metadataProvider.deprecatedBitmovinAnalyticsConfigChanged()
+
+        assertThat(metadataProvider.getSourceMetadata()?.title).isEqualTo("new title")
+        assertThat(metadataProvider.defaultMetadata.customData).isEqualTo(CustomData(customData1 = "custom data"))
+    }
+
+    @Test
+    fun `metadata without deprecated config is returned as set`() {
+        val sourceMetadata = SourceMetadata(title = "title")
+        metadataProvider.setSourceMetadata(sourceMetadata)
+
+        assertThat(metadataProvider.getSourceMetadata()).isSameAs(sourceMetadata)
+        assertThat(metadataProvider.defaultMetadata).isSameAs(metadataProvider.defaultMetadata)
+    }
+}
@@ -0,0 +1,213 @@
+package com.bitmovin.analytics.data
+
+import android.Manifest
+import android.app.Application
+import android.content.Context
+import android.net.ConnectivityManager
+import android.net.NetworkCapabilities
+import androidx.test.core.app.ApplicationProvider
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.stateMachines.PlayerStates
+import com.bitmovin.analytics.testutils.printBenchmarkResult
+import com.bitmovin.analytics.utils.NetworkInfoProvider
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+import org.robolectric.shadows.ShadowNetworkCapabilities
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class NetworkAwareBackendTest {
+    private val testScope = TestScope()
+    private val innerBackend = RecordingBackend()
+    private lateinit var connectivityManager: ConnectivityManager
+    private lateinit var backend: NetworkAwareBackend
+
+    @Before
+    fun setup() {
+        val application = ApplicationProvider.getApplicationContext<Application>()
+        shadowOf(application).grantPermissions(Manifest.permission.ACCESS_NETWORK_STATE)
+        connectivityManager = application.getSystemService(Context.CONNECTIVITY_SERVICE) as ConnectivityManager
+        backend = NetworkAwareBackend(innerBackend, NetworkInfoProvider(application), testScope, maxHoldMs = 30_000)
+    }
+
+    private fun setActiveNetwork(
+        transportType: Int,
+        metered: Boolean,
+    ) {
+        val capabilities = ShadowNetworkCapabilities.newInstance()
+        shadowOf(capabilities).addTransportType(transportType)
+        if (!metered) {
+            shadowOf(capabilities).addCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED)
+        }
+        shadowOf(connectivityManager).setNetworkCapabilities(connectivityManager.activeNetwork, capabilities)
+    }
+
+    private fun createSample(
+        state: String,
+        sequenceNumber: Int,
+    ): EventData =
+        TestFactory.createHeartbeatEventData(sequenceNumber = sequenceNumber).apply {
+            this.state = state
+        }
+
+    private fun createHeartbeat(sequenceNumber: Int) = createSample(PlayerStates.PLAYING.name, sequenceNumber)
+
+    @Test
+    fun `heartbeats are sent right away on wifi`() {
+        setActiveNetwork(NetworkCapabilities.TRANSPORT_WIFI, metered = false)
+
+        backend.send(createHeartbeat(1))
+
+        assertThat(innerBackend.sentSamples).hasSize(1)
+        assertThat(backend.avoidedRadioWakeups).isEqualTo(0)
+    }
+
+    @Test
+    fun `heartbeats are held back on cellular until the max hold time passed`() {
+        setActiveNetwork(NetworkCapabilities.TRANSPORT_CELLULAR, metered = true)
+
+        backend.send(createHeartbeat(1))
+        backend.send(createSample(PlayerStates.QUALITYCHANGE.name, 2))
+        testScope.advanceTimeBy(29_999)
+        assertThat(innerBackend.sentSamples).isEmpty()
+
+        testScope.advanceTimeBy(2)
+        assertThat(innerBackend.sentSamples.map { it.sequenceNumber }).containsExactly(1, 2)
+        assertThat(innerBackend.flushCount).isEqualTo(1)
+        assertThat(backend.avoidedRadioWakeups).isEqualTo(1)
+    }
+
+    @Test
+    fun `metered networks other than wifi are treated like cellular`() {
+        setActiveNetwork(NetworkCapabilities.TRANSPORT_BLUETOOTH, metered = true)
+
+        backend.send(createHeartbeat(1))
+
+        assertThat(innerBackend.sentSamples).isEmpty()
+    }
+
+    @Test
+    fun `held samples piggy-back on urgent samples`() {
+        setActiveNetwork(NetworkCapabilities.TRANSPORT_CELLULAR, metered = true)
+
+        backend.send(createHeartbeat(1))
+        backend.send(createHeartbeat(2))
+        backend.send(createSample(PlayerStates.ERROR.name, 3).apply { errorCode = 2001 })
+
+        assertThat(innerBackend.sentSamples.map { it.sequenceNumber }).containsExactly(1, 2, 3)
+        assertThat(innerBackend.flushCount).isEqualTo(1)
+        assertThat(backend.avoidedRadioWakeups).isEqualTo(2)
+
+        // nothing is sent again once the hold time passed
+        testScope.advanceTimeBy(30_001)
+        assertThat(innerBackend.sentSamples).hasSize(3)
+    }
+
+    @Test
+    fun `held samples piggy-back on ad samples`() {
+        setActiveNetwork(NetworkCapabilities.TRANSPORT_CELLULAR, metered = true)
+
+        backend.send(createHeartbeat(1))
+        backend.sendAd(TestFactory.createAdEventData())
+
+        assertThat(innerBackend.sentSamples).hasSize(1)
+        assertThat(innerBackend.sentAdSamples).hasSize(1)
+        assertThat(backend.avoidedRadioWakeups).isEqualTo(1)
+    }
+
+    @Test
+    fun `held samples are sent with the first sample after switching to wifi`() {
+        setActiveNetwork(NetworkCapabilities.TRANSPORT_CELLULAR, metered = true)
+        backend.send(createHeartbeat(1))
+
+        setActiveNetwork(NetworkCapabilities.TRANSPORT_WIFI, metered = false)
+        backend.send(createHeartbeat(2))
+
+        assertThat(innerBackend.sentSamples.map { it.sequenceNumber }).containsExactly(1, 2)
+    }
+
+    @Test
+    fun `flush sends held samples immediately`() {
+        setActiveNetwork(NetworkCapabilities.TRANSPORT_CELLULAR, metered = true)
+        backend.send(createHeartbeat(1))
+
+        backend.flush()
+
+        assertThat(innerBackend.sentSamples).hasSize(1)
+        assertThat(innerBackend.flushCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `samples are sent right away without the network state permission`() {
+        val application = ApplicationProvider.getApplicationContext<Application>()
+        shadowOf(application).denyPermissions(Manifest.permission.ACCESS_NETWORK_STATE)
+        setActiveNetwork(NetworkCapabilities.TRANSPORT_CELLULAR, metered = true)
+
+        backend.send(createHeartbeat(1))
+
+        assertThat(innerBackend.sentSamples).hasSize(1)
+    }
+
+    @Test
+    fun `radio wake-ups of a cellular playback session`() {
+        setActiveNetwork(NetworkCapabilities.TRANSPORT_CELLULAR, metered = true)
+        var sequenceNumber = 0
+        backend.send(createSample(PlayerStates.STARTUP.name, sequenceNumber++))
+        // 10 minutes of playback with a heartbeat every 10 seconds and a quality change every minute
+        repeat(10) {
+            repeat(6) {
+                testScope.advanceTimeBy(10_000)
+                backend.send(createHeartbeat(sequenceNumber++))
+            }
+            backend.send(createSample(PlayerStates.QUALITYCHANGE.name, sequenceNumber++))
+        }
+        backend.flush()
+
+        val sentSamples = innerBackend.sentSamples.size
+        printBenchmarkResult(
+            "Network aware scheduling on cellular",
+            "samples" to sentSamples,
+            "radioWakeups" to sentSamples - backend.avoidedRadioWakeups,
+            "avoidedRadioWakeups" to backend.avoidedRadioWakeups,
+        )
+        assertThat(sentSamples).isEqualTo(sequenceNumber)
+        assertThat(backend.avoidedRadioWakeups).isGreaterThan(sentSamples / 2)
+    }
+
+    private class RecordingBackend : CallbackBackend, FlushableBackend {
+        val sentSamples = mutableListOf<EventData>()
+        val sentAdSamples = mutableListOf<AdEventData>()
+        var flushCount = 0
+
+        override fun send(
+            eventData: EventData,
+            success: OnSuccessCallback?,
+            failure: OnFailureCallback?,
+        ) {
+            sentSamples.add(eventData)
+        }
+
+        override fun sendAd(
+            eventData: AdEventData,
+            success: OnSuccessCallback?,
+            failure: OnFailureCallback?,
+        ) {
+            sentAdSamples.add(eventData)
+        }
+
+        override fun flush() {
+            flushCount++
+        }
+    }
+}
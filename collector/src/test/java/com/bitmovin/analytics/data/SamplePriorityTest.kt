@@ -0,0 +1,33 @@
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.stateMachines.PlayerStates
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class SamplePriorityTest {
+    @Test
+    fun `startup, error and videostart failed samples are urgent`() {
+        listOf(PlayerStates.STARTUP, PlayerStates.ERROR, PlayerStates.VIDEOSTART_FAILED).forEach {
+            assertThat(TestFactory.createEventData().apply { state = it.name }.priority)
+                .isEqualTo(SamplePriority.URGENT)
+        }
+    }
+
+    @Test
+    fun `samples with an error code or a failed video start are urgent regardless of their state`() {
+        val erroredHeartbeat = TestFactory.createHeartbeatEventData().apply { errorCode = 2001 }
+        val failedStart = TestFactory.createHeartbeatEventData().apply { videoStartFailed = true }
+
+        assertThat(erroredHeartbeat.priority).isEqualTo(SamplePriority.URGENT)
+        assertThat(failedStart.priority).isEqualTo(SamplePriority.URGENT)
+    }
+
+    @Test
+    fun `heartbeats and quality changes are deferrable`() {
+        listOf(PlayerStates.PLAYING, PlayerStates.PAUSE, PlayerStates.QUALITYCHANGE).forEach {
+            assertThat(TestFactory.createHeartbeatEventData().apply { state = it.name }.priority)
+                .isEqualTo(SamplePriority.DEFERRABLE)
+        }
+    }
+}
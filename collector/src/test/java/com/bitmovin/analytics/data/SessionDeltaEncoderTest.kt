@@ -0,0 +1,139 @@
+package com.bitmovin.analytics.data
+
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.stateMachines.PlayerStates
+import com.bitmovin.analytics.test.utils.SessionDeltaDecoder
+import com.bitmovin.analytics.testutils.printBenchmarkResult
+import com.bitmovin.analytics.utils.DataSerializerKotlinX
+import kotlinx.serialization.json.JsonNull
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.jsonObject
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class SessionDeltaEncoderTest {
+    private val encoder = SessionDeltaEncoder()
+    private val decoder = SessionDeltaDecoder()
+
+    private fun createStartupSample(impressionId: String = "impression") =
+        TestFactory.createHeartbeatEventData(impressionId = impressionId, sequenceNumber = 0).apply {
+            state = PlayerStates.STARTUP.name
+            played = 0
+            videoTimeStart = 0
+            videoTimeEnd = 0
+            startupTime = 1_250
+            videoStartupTime = 980
+        }
+
+    private fun createHeartbeat(
+        sequenceNumber: Int,
+        impressionId: String = "impression",
+    ) = TestFactory.createHeartbeatEventData(impressionId = impressionId, sequenceNumber = sequenceNumber).apply {
+        time += sequenceNumber * 60_000L
+        videoTimeStart = sequenceNumber * 60_000L
+        videoTimeEnd = videoTimeStart + 60_000
+        droppedFrames = sequenceNumber
+    }
+
+    private fun encodeSentBase(sample: EventData = createStartupSample()) =
+        encoder.encode(sample).also { encoder.onBaseSent(sample.impressionId) }
+
+    private fun EventData.toJsonObject(): JsonObject =
+        DataSerializerKotlinX.jsonInstance.encodeToJsonElement(EventData.serializer(), this).jsonObject
+
+    private fun String.toJsonObject(): JsonObject = DataSerializerKotlinX.jsonInstance.parseToJsonElement(this).jsonObject
+
+    @Test
+    fun `first sample of an impression is sent in full`() {
+        val startup = createStartupSample()
+
+        assertThat(encoder.encode(startup).toJsonObject()).isEqualTo(startup.toJsonObject())
+    }
+
+    @Test
+    fun `later samples only contain the fields that changed compared to the first sample`() {
+        encodeSentBase()
+
+        val delta = encoder.encode(createHeartbeat(sequenceNumber = 1)).toJsonObject()
+
+        assertThat(delta[SessionDeltaEncoder.DELTA_BASE_KEY].toString()).isEqualTo("0")
+        assertThat(delta.keys).contains("impressionId", "sequenceNumber", "state", "played", "videoTimeEnd")
+        assertThat(delta.keys).doesNotContain("userAgent", "key", "domain", "customData1", "videoId", "analyticsVersion")
+    }
+
+    @Test
+    fun `fields that are missing compared to the first sample are sent as null`() {
+        encodeSentBase(createStartupSample().apply { errorMessage = "error" })
+
+        val delta = encoder.encode(createHeartbeat(sequenceNumber = 1)).toJsonObject()
+
+        assertThat(delta["errorMessage"]).isEqualTo(JsonNull)
+    }
+
+    @Test
+    fun `samples of an impression without a known first sample are sent in full`() {
+        val heartbeat = createHeartbeat(sequenceNumber = 3)
+
+        assertThat(encoder.encode(heartbeat).toJsonObject()).isEqualTo(heartbeat.toJsonObject())
+    }
+
+    @Test
+    fun `samples are sent in full until the request carrying the first sample succeeded`() {
+        encoder.encode(createStartupSample())
+        val heartbeat = createHeartbeat(sequenceNumber = 1)
+
+        assertThat(encoder.encode(heartbeat).toJsonObject()).isEqualTo(heartbeat.toJsonObject())
+
+        encoder.onBaseSent("impression")
+        assertThat(encoder.encode(heartbeat).toJsonObject().keys).contains(SessionDeltaEncoder.DELTA_BASE_KEY)
+    }
+
+    @Test
+    fun `samples are sent in full if the request carrying the first sample failed`() {
+        encoder.encode(createStartupSample())
+        encoder.onBaseFailed("impression")
+        // e.g. a late response of another request
+        encoder.onBaseSent("impression")
+        val heartbeat = createHeartbeat(sequenceNumber = 1)
+
+        assertThat(encoder.encode(heartbeat).toJsonObject()).isEqualTo(heartbeat.toJsonObject())
+    }
+
+    @Test
+    fun `decoding delta encoded samples restores the original samples`() {
+        val samples =
+            listOf(createStartupSample(), createStartupSample(impressionId = "other")) +
+                (1..10).map { createHeartbeat(sequenceNumber = it) } +
+                createHeartbeat(sequenceNumber = 11)
+                    .copy(customData1 = "changed-custom-data", customData2 = null)
+                    .apply { errorCode = 1000 } +
+                (1..3).map { createHeartbeat(sequenceNumber = it, impressionId = "other") }
+
+        val encodedSamples =
+            samples.map {
+                if (it.sequenceNumber == 0) encodeSentBase(it).toJsonObject() else encoder.encode(it).toJsonObject()
+            }
+        // requests can overtake each other, the decoder has to cope with that
+        val decodedSamples = decoder.decodeAll(encodedSamples.reversed()).reversed()
+
+        assertThat(decodedSamples).isEqualTo(samples.map { it.toJsonObject() })
+    }
+
+    @Test
+    fun `delta encoded heartbeats are a fraction of the full sample size`() {
+        encodeSentBase()
+        val heartbeat = createHeartbeat(sequenceNumber = 1)
+
+        val fullBytes = DataSerializerKotlinX.serialize(heartbeat)!!.length
+        val deltaBytes = encoder.encode(heartbeat).length
+
+        printBenchmarkResult(
+            "Session delta encoding heartbeat",
+            "fullBytes" to fullBytes,
+            "deltaBytes" to deltaBytes,
+            "ratio" to "%.2f".format(deltaBytes.toDouble() / fullBytes),
+        )
+        assertThat(deltaBytes).isLessThan(fullBytes / 5)
+    }
+}
@@ -16,6 +16,7 @@ import io.mockk.coVerify
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.verify
+import io.mockk.verifyOrder
 import org.junit.After
 import org.junit.Before
 import org.junit.Ignore
@@ -111,6 +112,24 @@ class SimpleEventDataDispatcherTest {
 
         verify(exactly = 1) { backend.sendAd(match { it.key == "authenticated-key" }) }
     }
+
+    @Test
+    fun `successful authentication forwards cued impressions with urgent data first`() {
+        dispatcher.enable()
+        dispatcher.add(createTestEventData().copy(impressionId = "other"))
+        dispatcher.add(createTestEventData().apply { state = "playing" })
+        dispatcher.add(createTestEventData().apply { state = "error" })
+
+        dispatcher.authenticationCompleted(
+            AuthenticationResponse.Granted("authenticated-key", null),
+        )
+
+        verifyOrder {
+            backend.send(match { it.state == "playing" })
+            backend.send(match { it.state == "error" })
+            backend.send(match { it.impressionId == "other" })
+        }
+    }
 }
 
 private fun createTestAdEventData(key: String? = null) =
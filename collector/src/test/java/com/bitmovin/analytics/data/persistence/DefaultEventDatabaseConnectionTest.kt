@@ -5,6 +5,7 @@ import com.bitmovin.analytics.utils.Util
 import io.mockk.every
 import io.mockk.mockkObject
 import io.mockk.unmockkObject
+import io.mockk.verify
 import org.junit.After
 import org.junit.Assert
 import org.junit.Before
@@ -13,6 +14,7 @@ import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
 import org.robolectric.annotation.Config
 import java.util.UUID
+import kotlin.concurrent.thread
 import kotlin.time.Duration
 import kotlin.time.Duration.Companion.seconds
 
@@ -80,6 +82,88 @@ class DefaultEventDatabaseConnectionTest {
             Assert.assertNull(popAd())
         }
 
+    @Test
+    fun testPushAllPopBatch() =
+        databaseTest {
+            val events = List(5) { createRandomEventDatabaseEntry() }
+
+            Assert.assertEquals(5, pushAll(events))
+
+            Assert.assertEquals(events.take(3), popBatch(3))
+            Assert.assertEquals(events.drop(3), popBatch(10))
+            Assert.assertEquals(emptyList<EventDatabaseEntry>(), popBatch(10))
+        }
+
+    @Test
+    fun testPushAllAdPopAdBatch() =
+        databaseTest {
+            val events = List(5) { createRandomEventDatabaseEntry() }
+
+            Assert.assertEquals(5, pushAllAd(events))
+
+            Assert.assertEquals(emptyList<EventDatabaseEntry>(), popBatch(10))
+            Assert.assertEquals(events, popAdBatch(10))
+            Assert.assertNull(popAd())
+        }
+
+    @Test
+    fun testPopBatchStopsBeforeTheEntryExceedingTheByteLimit() =
+        databaseTest {
+            // the random entries have 36 bytes of data
+            val events = List(3) { createRandomEventDatabaseEntry() }
+            pushAll(events)
+
+            Assert.assertEquals(events.take(1), popBatch(limit = 10, maxBytes = 10))
+            Assert.assertEquals(events.drop(1), popBatch(limit = 10, maxBytes = 72))
+        }
+
+    @Test
+    fun testPopBatchWhenASessionStartedBeforeTheAgeLimitItIsDeleted() =
+        databaseTest(eventTimeLimit = 1.seconds) {
+            every { Util.timestamp } returns 0
+            pushAll(List(3) { createRandomEventDatabaseEntry(sessionId = "commonSession", eventTimestamp = 1000L + it) })
+            every { Util.timestamp } returns 4000
+            val unrelatedNewSessionEntry = createRandomEventDatabaseEntry(sessionId = "otherSession", eventTimestamp = 4000)
+            push(unrelatedNewSessionEntry)
+
+            Assert.assertEquals(listOf(unrelatedNewSessionEntry), popBatch(10))
+        }
+
+    @Test
+    fun testSessionsAreOnlySearchedWhenARetentionLimitIsCrossed() =
+        databaseTest(eventTimeLimit = 10.seconds, eventMaxCount = 5) {
+            mockkObject(EventDatabaseTable.Events)
+            every { Util.timestamp } returns 10_000
+            repeat(5) { push(createRandomEventDatabaseEntry(sessionId = "firstSession", eventTimestamp = 5_000)) }
+            pop()
+
+            verify(exactly = 0) { EventDatabaseTable.Events.findPurgeableSessions(any(), any()) }
+
+            val newSessionEntries = List(2) { createRandomEventDatabaseEntry(sessionId = "secondSession", eventTimestamp = 10_000) }
+            newSessionEntries.forEach { push(it) }
+            // 6 entries exceed the count limit
+            Assert.assertEquals(newSessionEntries, popBatch(10))
+            verify(exactly = 1) { EventDatabaseTable.Events.findPurgeableSessions(any(), any()) }
+
+            push(createRandomEventDatabaseEntry(sessionId = "thirdSession", eventTimestamp = 10_000))
+            every { Util.timestamp } returns 30_000
+            // the entry is older than the age limit now
+            Assert.assertNull(pop())
+            verify(exactly = 2) { EventDatabaseTable.Events.findPurgeableSessions(any(), any()) }
+            unmockkObject(EventDatabaseTable.Events)
+        }
+
+    @Test
+    fun testRetentionLimitsAreEnforcedAfterPurging() =
+        databaseTest(eventMaxCount = 2) {
+            pushAll(List(2) { createRandomEventDatabaseEntry() })
+            purge()
+            val entries = List(3) { createRandomEventDatabaseEntry(eventTimestamp = 1000L + it) }
+            entries.forEach { push(it) }
+
+            Assert.assertEquals(entries.drop(1), popBatch(10))
+        }
+
     @Test
     fun testPurge() =
         databaseTest {
@@ -300,6 +384,22 @@ class DefaultEventDatabaseConnectionTest {
             Assert.assertEquals(event3, popAd())
             Assert.assertNull(popAd())
         }
+
+    @Test
+    fun testPopBatchWhileAnotherThreadPushesReturnsAllEntriesInOrder() =
+        databaseTest {
+            val entries = List(1_000) { createRandomEventDatabaseEntry(eventTimestamp = it.toLong()) }
+            val drained = mutableListOf<EventDatabaseEntry>()
+
+            val producer = thread { entries.forEach { push(it) } }
+            while (producer.isAlive) {
+                drained.addAll(popBatch(limit = 50))
+            }
+            producer.join()
+            drained.addAll(popBatch(limit = entries.size))
+
+            Assert.assertEquals(entries, drained)
+        }
 }
 
 internal fun createRandomEventDatabaseEntry(
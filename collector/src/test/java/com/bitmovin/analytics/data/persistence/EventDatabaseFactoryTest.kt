@@ -0,0 +1,67 @@
+package com.bitmovin.analytics.data.persistence
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35]) // need to limit sdk to 35, since 36 is not available in Robolectric 4.14.1
+class EventDatabaseFactoryTest {
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+
+    @After
+    fun cleanup() {
+        SegmentLogEventDatabase.getInstance(context).purge()
+        EventDatabase.getInstance(context).purge()
+        EventDatabase.getInstance(context).close()
+    }
+
+    @Test
+    fun `entries cached in SQLite are moved into the selected segment log`() {
+        val entries = List(150) { createRandomEventDatabaseEntry() }
+        val adEntries = List(3) { createRandomEventDatabaseEntry() }
+        EventDatabase.getInstance(context).apply {
+            pushAll(entries)
+            pushAllAd(adEntries)
+        }
+
+        val database = EventDatabaseFactory.getInstance(context, EventDatabaseType.SEGMENT_LOG, TestScope(UnconfinedTestDispatcher()))
+
+        assertThat(database).isInstanceOf(SegmentLogEventDatabase::class.java)
+        assertThat(database.popBatch(limit = 200)).isEqualTo(entries)
+        assertThat(database.popAdBatch(limit = 200)).isEqualTo(adEntries)
+        assertThat(EventDatabase.getInstance(context).pop()).isNull()
+        assertThat(EventDatabase.getInstance(context).popAd()).isNull()
+    }
+
+    @Test
+    fun `entries of the segment log are moved into SQLite`() {
+        val segmentLog = SegmentLogEventDatabase(temporaryFolder.newFolder("eventLog"))
+        val entries = List(150) { createRandomEventDatabaseEntry() }
+        val adEntries = List(3) { createRandomEventDatabaseEntry() }
+        segmentLog.pushAll(entries)
+        segmentLog.pushAllAd(adEntries)
+        val database = EventDatabase.getInstance(context)
+
+        assertThat(EventDatabaseFactory.moveEntries(from = segmentLog, to = database)).isEqualTo(153)
+
+        assertThat(database.popBatch(limit = 200)).isEqualTo(entries)
+        assertThat(database.popAdBatch(limit = 200)).isEqualTo(adEntries)
+        assertThat(segmentLog.pop()).isNull()
+        assertThat(segmentLog.popAd()).isNull()
+    }
+}
@@ -0,0 +1,107 @@
+package com.bitmovin.analytics.data.persistence
+
+import android.content.Context
+import android.database.sqlite.SQLiteDatabase
+import androidx.core.content.contentValuesOf
+import androidx.test.core.app.ApplicationProvider
+import com.bitmovin.analytics.testutils.TestDatabase
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import kotlin.time.Duration
+
+@RunWith(
+    RobolectricTestRunner::class,
+)
+@Config(sdk = [35]) // need to limit sdk to 35, since 36 is not available in Robolectric 4.14.1
+class EventDatabaseMigrationTest {
+    private val context: Context = ApplicationProvider.getApplicationContext()
+
+    @After
+    fun cleanup() {
+        EventDatabase.getInstance(context).close()
+    }
+
+    @Test
+    fun `upgrading from version 1 keeps the existing entries`() {
+        val events = listOf(EventDatabaseEntry("session", 1000, "ab"), EventDatabaseEntry("session", 2000, "€"))
+        val adEvent = EventDatabaseEntry("session", 1500, "ad")
+        createVersion1Database(events = events, adEvents = listOf(adEvent))
+
+        val eventDatabase = EventDatabase.getInstance(context)
+        eventDatabase.retentionConfig = RetentionConfig(Duration.INFINITE, Int.MAX_VALUE, EventDatabaseTable.allTables)
+
+        // the sizes of the existing payloads are 2 and 3 bytes
+        assertThat(eventDatabase.popBatch(limit = 10, maxBytes = 4)).containsExactly(events[0])
+        assertThat(eventDatabase.popBatch(limit = 10, maxBytes = 3)).containsExactly(events[1])
+        assertThat(eventDatabase.popAd()).isEqualTo(adEvent)
+        assertThat(eventDatabase.pop()).isNull()
+    }
+
+    @Test
+    fun `upgrading from version 1 creates the session index`() {
+        createVersion1Database(events = emptyList(), adEvents = emptyList())
+
+        val eventDatabase = EventDatabase.getInstance(context)
+        val entry = EventDatabaseEntry("session", 1000, "data")
+        eventDatabase.push(entry)
+        eventDatabase.close()
+
+        assertThat(indexNames()).contains(
+            "events_event_timestamp",
+            "events_session_id_event_timestamp",
+            "adEvents_event_timestamp",
+            "adEvents_session_id_event_timestamp",
+        )
+        assertThat(EventDatabase.getInstance(context).pop()).isEqualTo(entry)
+    }
+
+    private fun createVersion1Database(
+        events: List<EventDatabaseEntry>,
+        adEvents: List<EventDatabaseEntry>,
+    ) {
+        val database = TestDatabase(context, DATABASE_NAME)
+        with(database.writableDatabase) {
+            mapOf("events" to events, "adEvents" to adEvents).forEach { (tableName, entries) ->
+                execSQL(
+                    """
+                    CREATE TABLE $tableName
+                    (
+                    _id INTEGER PRIMARY KEY AUTOINCREMENT,
+                     session_id TEXT,
+                     event_timestamp INTEGER,
+                     event_data TEXT
+                    );
+                    """.trimIndent(),
+                )
+                execSQL("CREATE INDEX ${tableName}_event_timestamp ON $tableName(event_timestamp);")
+                entries.forEach {
+                    insert(
+                        tableName,
+                        null,
+                        contentValuesOf("session_id" to it.sessionId, "event_timestamp" to it.eventTimestamp, "event_data" to it.data),
+                    )
+                }
+            }
+        }
+        database.close()
+    }
+
+    private fun indexNames(): List<String> =
+        SQLiteDatabase.openDatabase(context.getDatabasePath(DATABASE_NAME).path, null, SQLiteDatabase.OPEN_READONLY).use { database ->
+            database.rawQuery("SELECT name FROM sqlite_master WHERE type = 'index'", null).use { cursor ->
+                buildList {
+                    while (cursor.moveToNext()) {
+                        add(cursor.getString(0))
+                    }
+                }
+            }
+        }
+
+    companion object {
+        private const val DATABASE_NAME = "eventDatabase.sqlite"
+    }
+}
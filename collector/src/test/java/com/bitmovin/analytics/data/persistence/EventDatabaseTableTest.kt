@@ -1,8 +1,10 @@
 package com.bitmovin.analytics.data.persistence
 
 import androidx.test.core.app.ApplicationProvider
+import com.bitmovin.analytics.TestFactory
 import com.bitmovin.analytics.testutils.TestDatabase
 import com.bitmovin.analytics.testutils.transaction
+import com.bitmovin.analytics.utils.DtoJsonWriters
 import com.bitmovin.analytics.utils.Util
 import io.mockk.every
 import io.mockk.mockkObject
@@ -68,6 +70,75 @@ class EventDatabaseTableTest {
             assertThat(pop()).isNull()
         }
 
+    @Test
+    fun `samples are stored compressed and popped as they were pushed`() =
+        databaseTest {
+            val data = DtoJsonWriters.encodeToString(TestFactory.createHeartbeatEventData())
+            val events = listOf(EventDatabaseEntry("session", 1000, data), EventDatabaseEntry("session", 2000, "ab"))
+            events.forEach { push(it) }
+
+            val storedPayloads = rawPayloads()
+
+            assertThat(storedPayloads.map { it.format }).containsExactly(1, 0)
+            assertThat(storedPayloads.map { it.size }).containsExactly(data.encodeToByteArray().size.toLong(), 2L)
+            assertThat(storedPayloads.first().storedSize).isLessThan(data.length / 3L)
+            assertThat(database.transaction { table.popBatch(this, limit = 10, maxBytes = Int.MAX_VALUE) }).isEqualTo(events)
+        }
+
+    @Test
+    fun `entries with an unreadable payload are popped without data`() =
+        databaseTest {
+            val data = DtoJsonWriters.encodeToString(TestFactory.createAdEventData())
+            push(EventDatabaseEntry("session", 1000, data))
+            database.writableDatabase.execSQL("UPDATE events SET event_data = x'0102'")
+
+            assertThat(pop()).isEqualTo(EventDatabaseEntry("session", 1000, ""))
+            assertThat(pop()).isNull()
+        }
+
+    @Test
+    fun `the compiled statements follow a re-opened database`() =
+        databaseTest {
+            val events = listOf(createRandomEventDatabaseEntry(), createRandomEventDatabaseEntry())
+            push(events[0])
+            database.close()
+
+            push(events[1])
+
+            assertThat(database.transaction { table.popBatch(this, limit = 10, maxBytes = Int.MAX_VALUE) }).isEqualTo(events)
+        }
+
+    @Test
+    fun `every queue query uses an index`() =
+        EventDatabaseTable.allTables.forEach { eventTable ->
+            databaseTest(eventTable) {
+                val queries =
+                    listOf(
+                        // pop and popBatch
+                        table.oldestRowsSql,
+                        table.deleteRowSql,
+                        // retention policy
+                        table.countSql,
+                        table.oldestEventTimestampSql,
+                        table.sessionAtCountLimitSql,
+                        table.sessionsBeyondAgeLimitSql,
+                        table.deleteSessionsSql(sessionCount = 2),
+                    )
+
+                queries.forEach { query ->
+                    val tableAccesses = queryPlan(query).filter { it.startsWith("SCAN") || it.startsWith("SEARCH") }
+
+                    assertThat(tableAccesses).describedAs(query).isNotEmpty().allSatisfy { detail ->
+                        assertThat(detail)
+                            .describedAs(query)
+                            .containsAnyOf("USING INDEX", "USING COVERING INDEX", "USING INTEGER PRIMARY KEY")
+                    }
+                }
+                // the order of the queue comes from the index, without sorting the table
+                assertThat(queryPlan(table.oldestRowsSql)).noneMatch { it.contains("TEMP B-TREE") }
+            }
+        }
+
     @Test
     fun `purging deletes all elements`() =
         databaseTest {
@@ -175,6 +246,29 @@ private fun DatabaseTableTest.push(event: EventDatabaseEntry) =
         table.push(this, event)
     }
 
+private class RawPayload(val format: Int, val size: Long, val storedSize: Long)
+
+private fun DatabaseTableTest.rawPayloads(): List<RawPayload> =
+    database.readableDatabase.rawQuery("SELECT event_data_format, event_data_size, length(event_data) FROM events ORDER BY _id", null)
+        .use { cursor ->
+            buildList {
+                while (cursor.moveToNext()) {
+                    add(RawPayload(cursor.getInt(0), cursor.getLong(1), cursor.getLong(2)))
+                }
+            }
+        }
+
+private fun DatabaseTableTest.queryPlan(query: String): List<String> {
+    val args = Array(query.count { it == '?' }) { "0" }
+    return database.readableDatabase.rawQuery("EXPLAIN QUERY PLAN $query", args).use { cursor ->
+        buildList {
+            while (cursor.moveToNext()) {
+                add(cursor.getString(cursor.getColumnIndexOrThrow("detail")))
+            }
+        }
+    }
+}
+
 private fun DatabaseTableTest.purge() = database.transaction { table.purge(this) }
 
 private fun DatabaseTableTest.findPurgeableSessions(retentionConfig: RetentionConfig) =
@@ -187,11 +281,14 @@ private fun DatabaseTableTest.deleteSessions(sessionIds: List<String>) =
         table.deleteSessions(this, sessionIds)
     }
 
-private fun databaseTest(block: DatabaseTableTest.() -> Unit) {
+private fun databaseTest(
+    table: EventDatabaseTable = EventDatabaseTable.Events,
+    block: DatabaseTableTest.() -> Unit,
+) {
     val databaseConnection = TestDatabase(ApplicationProvider.getApplicationContext())
     DatabaseTableTest(
         databaseConnection,
-        EventDatabaseTable.Events,
+        table,
     ).also {
         it.table.create(it.database.writableDatabase)
     }.block()
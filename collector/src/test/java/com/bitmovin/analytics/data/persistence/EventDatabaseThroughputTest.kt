@@ -0,0 +1,150 @@
+package com.bitmovin.analytics.data.persistence
+
+import android.content.Context
+import androidx.core.database.sqlite.transaction
+import androidx.test.core.app.ApplicationProvider
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.testutils.TestDatabase
+import com.bitmovin.analytics.testutils.BenchmarkRule
+import com.bitmovin.analytics.testutils.printBenchmarkResult
+import com.bitmovin.analytics.utils.DtoJsonWriters
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import java.util.UUID
+import kotlin.time.Duration
+
+@RunWith(
+    RobolectricTestRunner::class,
+)
+@Config(sdk = [35]) // need to limit sdk to 35, since 36 is not available in Robolectric 4.14.1
+class EventDatabaseThroughputTest {
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+    private lateinit var database: EventDatabase
+
+    @Before
+    fun setup() {
+        database = EventDatabase.getInstance(context)
+        database.retentionConfig = RetentionConfig(Duration.INFINITE, Int.MAX_VALUE, EventDatabaseTable.allTables)
+        database.purge()
+    }
+
+    @After
+    fun cleanup() {
+        database.close()
+    }
+
+    @Test
+    fun `draining 5k entries in batches compared to one transaction per entry`() {
+        val entries = List(ENTRY_COUNT) { createRandomEventDatabaseEntry(eventTimestamp = it.toLong()) }
+
+        val singlePushMillis = measureMillis { entries.forEach { database.push(it) } }
+        val singleDrained = mutableListOf<EventDatabaseEntry>()
+        val singleDrainMillis = measureMillis { generateSequence { database.pop() }.toCollection(singleDrained) }
+
+        val batchPushMillis = measureMillis { entries.chunked(BATCH_SIZE).forEach { database.pushAll(it) } }
+        val batchDrained = mutableListOf<EventDatabaseEntry>()
+        val batchDrainMillis =
+            measureMillis {
+                do {
+                    val batch = database.popBatch(BATCH_SIZE)
+                    batchDrained.addAll(batch)
+                } while (batch.isNotEmpty())
+            }
+
+        assertThat(singleDrained).isEqualTo(entries)
+        assertThat(batchDrained).isEqualTo(entries)
+        printBenchmarkResult(
+            "EventDatabase drain of $ENTRY_COUNT entries",
+            "singlePushMillis" to singlePushMillis,
+            "singleDrainMillis" to singleDrainMillis,
+            "batchPushMillis" to batchPushMillis,
+            "batchDrainMillis" to batchDrainMillis,
+            "drainSpeedup" to "%.1f".format(singleDrainMillis.toDouble() / batchDrainMillis.coerceAtLeast(1)),
+        )
+    }
+
+    @Test
+    fun `on disk size and latency of a cached backlog of samples by payload format`() {
+        // sessions of consecutive heartbeats, like the backlog of a device that was offline for a while
+        val entries =
+            List(BACKLOG_SESSIONS) { session ->
+                val eventData = TestFactory.createHeartbeatEventData(impressionId = UUID.randomUUID().toString())
+                List(BACKLOG_SAMPLES_PER_SESSION) { sequenceNumber ->
+                    eventData.sequenceNumber = sequenceNumber
+                    eventData.time = 1_714_000_000_000 + session * 3_600_000L + sequenceNumber * 60_000L
+                    eventData.played = 59_000L + sequenceNumber
+                    EventDatabaseEntry(eventData.impressionId, eventData.time, DtoJsonWriters.encodeToString(eventData))
+                }
+            }.flatten()
+
+        val text = measureBacklog(EventPayloadFormat.JSON_TEXT, entries)
+        val compressed = measureBacklog(EventPayloadFormat.DEFLATE_DICTIONARY_1, entries)
+
+        assertThat(compressed.fileBytes).isLessThan(text.fileBytes)
+        printBenchmarkResult(
+            "EventDatabase backlog of ${entries.size} samples, ${entries.first().data.length} bytes each",
+            "textFileKiB" to text.fileBytes / 1024,
+            "compressedFileKiB" to compressed.fileBytes / 1024,
+            "sizeRatio" to "%.2f".format(compressed.fileBytes.toDouble() / text.fileBytes),
+            "textPushMillis" to text.pushMillis,
+            "compressedPushMillis" to compressed.pushMillis,
+            "textDrainMillis" to text.drainMillis,
+            "compressedDrainMillis" to compressed.drainMillis,
+        )
+    }
+
+    private class BacklogResult(val fileBytes: Long, val pushMillis: Long, val drainMillis: Long)
+
+    private fun measureBacklog(
+        payloadFormat: EventPayloadFormat,
+        entries: List<EventDatabaseEntry>,
+    ): BacklogResult {
+        val name = "backlog-${payloadFormat.name.lowercase()}.sqlite"
+        context.deleteDatabase(name)
+        val testDatabase = TestDatabase(context, name)
+        val db = testDatabase.writableDatabase
+        val table = EventDatabaseTable.Events
+        table.create(db)
+
+        val pushMillis =
+            measureMillis {
+                entries.chunked(BATCH_SIZE).forEach { batch -> db.transaction { table.pushAll(Transaction(db), batch, payloadFormat) } }
+            }
+        val fileBytes = context.getDatabasePath(name).length()
+        val drained = mutableListOf<EventDatabaseEntry>()
+        val drainMillis =
+            measureMillis {
+                do {
+                    val batch = db.transaction { table.popBatch(Transaction(db), limit = BATCH_SIZE, maxBytes = Int.MAX_VALUE) }
+                    drained.addAll(batch)
+                } while (batch.isNotEmpty())
+            }
+        testDatabase.close()
+        context.deleteDatabase(name)
+
+        assertThat(drained).isEqualTo(entries)
+        return BacklogResult(fileBytes, pushMillis, drainMillis)
+    }
+
+    private inline fun measureMillis(block: () -> Unit): Long {
+        val start = System.nanoTime()
+        block()
+        return (System.nanoTime() - start) / 1_000_000
+    }
+
+    companion object {
+        private const val ENTRY_COUNT = 5_000
+        private const val BATCH_SIZE = 500
+        private const val BACKLOG_SESSIONS = 20
+        private const val BACKLOG_SAMPLES_PER_SESSION = 100
+    }
+}
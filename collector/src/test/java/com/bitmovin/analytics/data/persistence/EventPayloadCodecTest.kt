@@ -0,0 +1,82 @@
+package com.bitmovin.analytics.data.persistence
+
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.utils.DtoJsonWriters
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+import java.util.zip.Adler32
+import java.util.zip.DataFormatException
+
+class EventPayloadCodecTest {
+    @Test
+    fun `dictionary of the released format is never changed`() {
+        val checksum = Adler32().apply { update(EventPayloadDictionary.V1) }.value
+
+        assertThat(EventPayloadDictionary.V1.size).isEqualTo(4929)
+        assertThat(checksum).isEqualTo(1371752944L)
+    }
+
+    @Test
+    fun `heartbeat sample is compressed to a fraction of its size`() {
+        val data = DtoJsonWriters.encodeToString(TestFactory.createHeartbeatEventData())
+
+        val payload = EventPayloadCodec.encode(data)
+
+        assertThat(payload.format).isEqualTo(EventPayloadFormat.DEFLATE_DICTIONARY_1)
+        assertThat((payload.value as ByteArray).size).isLessThan(data.length / 3)
+        assertThat(EventPayloadCodec.decompress(payload.value as ByteArray, data.encodeToByteArray().size)).isEqualTo(data)
+    }
+
+    @Test
+    fun `ad sample and non ASCII text survive the round trip`() {
+        val samples =
+            listOf(
+                DtoJsonWriters.encodeToString(TestFactory.createAdEventData()),
+                """{"videoTitle":"Größe 🎬 ビデオ","customData1":"€ \"quoted\""}""".repeat(3),
+            )
+
+        samples.forEach { data ->
+            val payload = EventPayloadCodec.encode(data)
+
+            assertThat(payload.format).isEqualTo(EventPayloadFormat.DEFLATE_DICTIONARY_1)
+            assertThat(EventPayloadCodec.decompress(payload.value as ByteArray, data.encodeToByteArray().size)).isEqualTo(data)
+        }
+    }
+
+    @Test
+    fun `payloads that don't get smaller are stored as text`() {
+        val payload = EventPayloadCodec.encode("ab")
+
+        assertThat(payload.format).isEqualTo(EventPayloadFormat.JSON_TEXT)
+        assertThat(payload.value).isEqualTo("ab")
+    }
+
+    @Test
+    fun `text format stores the payload as it is`() {
+        val data = DtoJsonWriters.encodeToString(TestFactory.createAdEventData())
+
+        val payload = EventPayloadCodec.encode(data, EventPayloadFormat.JSON_TEXT)
+
+        assertThat(payload.format).isEqualTo(EventPayloadFormat.JSON_TEXT)
+        assertThat(payload.value).isEqualTo(data)
+    }
+
+    @Test
+    fun `corrupt payloads are rejected`() {
+        val data = DtoJsonWriters.encodeToString(TestFactory.createAdEventData())
+        val compressed = EventPayloadCodec.encode(data).value as ByteArray
+        val size = data.encodeToByteArray().size
+
+        assertThatThrownBy { EventPayloadCodec.decompress(compressed.copyOf(compressed.size / 2), size) }
+            .isInstanceOf(DataFormatException::class.java)
+        assertThatThrownBy { EventPayloadCodec.decompress(compressed, size - 1) }
+            .isInstanceOf(DataFormatException::class.java)
+        assertThatThrownBy { EventPayloadCodec.decompress(compressed, size + 1) }
+            .isInstanceOf(DataFormatException::class.java)
+        assertThatThrownBy { EventPayloadCodec.decompress(byteArrayOf(1, 2, 3), size) }
+            .isInstanceOf(DataFormatException::class.java)
+        // the codec is still usable afterwards
+        assertThat(EventPayloadCodec.decompress(compressed, size)).isEqualTo(data)
+    }
+}
@@ -199,4 +199,46 @@ class PersistentAnalyticsEventQueueTest {
 
         assertThat(popEvent).isNull()
     }
+
+    @Test
+    fun `pushing multiple EventData pushes all EventDatabaseEntries at once`() {
+        val events = listOf(TestFactory.createEventData(impressionId = "first"), TestFactory.createEventData(impressionId = "second"))
+
+        eventQueue.pushEvents(events)
+
+        verify(exactly = 1) {
+            eventDatabase.pushAll(
+                events.map { EventDatabaseEntry(it.impressionId, it.time, DataSerializerKotlinX.serialize(it)!!) },
+            )
+        }
+    }
+
+    @Test
+    fun `popping a batch of EventData drops corrupted entries and pops until a proper EventData`() {
+        val expectedEvent = TestFactory.createEventData()
+        val batches =
+            listOf(
+                listOf(EventDatabaseEntry("sessionId", 0, ""), EventDatabaseEntry("sessionId", 1, "")),
+                listOf(
+                    EventDatabaseEntry("sessionId", 2, ""),
+                    EventDatabaseEntry("sessionId", expectedEvent.time, DataSerializerKotlinX.serialize(expectedEvent)!!),
+                ),
+            )
+        var batchIndex = 0
+        every { eventDatabase.popBatch(2, 1_000) } answers { batches.getOrElse(batchIndex++) { emptyList() } }
+
+        val popEvents = eventQueue.popEvents(limit = 2, maxBytes = 1_000)
+
+        assertThat(popEvents).containsExactly(expectedEvent)
+        assertThat(eventQueue.popEvents(limit = 2, maxBytes = 1_000)).isEmpty()
+    }
+
+    @Test
+    fun `popping a batch of AdEventData pops the batch from the ad event database`() {
+        val events = listOf(TestFactory.createAdEventData(adId = "first"), TestFactory.createAdEventData(adId = "second"))
+        every { eventDatabase.popAdBatch(5, Int.MAX_VALUE) } returns
+            events.map { EventDatabaseEntry(it.videoImpressionId, it.time, DataSerializerKotlinX.serialize(it)!!) }
+
+        assertThat(eventQueue.popAdEvents(limit = 5)).isEqualTo(events)
+    }
 }
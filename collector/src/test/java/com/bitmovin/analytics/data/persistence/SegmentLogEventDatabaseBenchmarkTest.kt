@@ -0,0 +1,123 @@
+package com.bitmovin.analytics.data.persistence
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import com.bitmovin.analytics.testutils.BenchmarkRule
+import com.bitmovin.analytics.testutils.printBenchmarkResult
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import java.io.File
+import kotlin.time.Duration
+
+// the SQLite side needs the native SQLite of Robolectric, the segment log itself only needs the JVM
+@RunWith(
+    RobolectricTestRunner::class,
+)
+@Config(sdk = [35]) // need to limit sdk to 35, since 36 is not available in Robolectric 4.14.1
+class SegmentLogEventDatabaseBenchmarkTest {
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+    private val retentionConfig = RetentionConfig(Duration.INFINITE, Int.MAX_VALUE, EventDatabaseTable.allTables)
+
+    @After
+    fun cleanup() {
+        EventDatabase.getInstance(context).apply {
+            purge()
+            close()
+        }
+    }
+
+    @Test
+    fun `push, pop and recovery of the segment log compared to the SQLite database`() {
+        ENTRY_COUNTS.forEach { entryCount ->
+            val entries = List(entryCount) { createRandomEventDatabaseEntry(eventTimestamp = it.toLong()) }
+            val sqlite = benchmarkSqlite(entries)
+            val segmentLog = benchmarkSegmentLog(entries)
+
+            printBenchmarkResult(
+                "Event database connections, $entryCount entries",
+                "sqlitePushMillis" to sqlite.pushMillis,
+                "segmentLogPushMillis" to segmentLog.pushMillis,
+                "sqliteRecoveryMillis" to sqlite.recoveryMillis,
+                "segmentLogRecoveryMillis" to segmentLog.recoveryMillis,
+                "sqlitePopMillis" to sqlite.popMillis,
+                "segmentLogPopMillis" to segmentLog.popMillis,
+            )
+        }
+    }
+
+    private fun benchmarkSqlite(entries: List<EventDatabaseEntry>): Result {
+        val database = EventDatabase.getInstance(context)
+        database.retentionConfig = retentionConfig
+        database.purge()
+        return benchmark(entries, database) {
+            database.close()
+            // the database is opened again on the first operation
+            database
+        }
+    }
+
+    private fun benchmarkSegmentLog(entries: List<EventDatabaseEntry>): Result {
+        val directory = temporaryFolder.newFolder()
+        val database = openSegmentLog(directory)
+        return benchmark(entries, database) {
+            database.force()
+            openSegmentLog(directory)
+        }
+    }
+
+    private fun openSegmentLog(directory: File) = SegmentLogEventDatabase(directory).also { it.retentionConfig = retentionConfig }
+
+    // pushes and pops in batches, like the write-behind buffer and the batched drain of the persistent queue
+    private fun benchmark(
+        entries: List<EventDatabaseEntry>,
+        database: EventDatabaseConnection,
+        reopen: () -> EventDatabaseConnection,
+    ): Result {
+        val pushMillis = measureMillis { entries.chunked(BATCH_SIZE).forEach { database.pushAll(it) } }
+
+        // closing the SQLite database and writing back the mapped segments is part of it, like on a restart of the app
+        lateinit var reopened: EventDatabaseConnection
+        val popped = mutableListOf<EventDatabaseEntry>()
+        val recoveryMillis =
+            measureMillis {
+                reopened = reopen()
+                popped.addAll(reopened.popBatch(limit = 1))
+            }
+
+        val popMillis =
+            measureMillis {
+                do {
+                    val batch = reopened.popBatch(BATCH_SIZE)
+                    popped.addAll(batch)
+                } while (batch.isNotEmpty())
+            }
+
+        assertThat(popped).isEqualTo(entries)
+        return Result(pushMillis, recoveryMillis, popMillis)
+    }
+
+    private inline fun measureMillis(block: () -> Unit): Long {
+        val start = System.nanoTime()
+        block()
+        return (System.nanoTime() - start) / 1_000_000
+    }
+
+    private class Result(val pushMillis: Long, val recoveryMillis: Long, val popMillis: Long)
+
+    companion object {
+        private val ENTRY_COUNTS = listOf(1_000, 10_000, 100_000)
+        private const val BATCH_SIZE = 500
+    }
+}
@@ -0,0 +1,221 @@
+package com.bitmovin.analytics.data.persistence
+
+import com.bitmovin.analytics.utils.Util
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+import java.io.RandomAccessFile
+import java.util.UUID
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.hours
+
+class SegmentLogEventDatabaseTest {
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private val directory: File by lazy { temporaryFolder.newFolder("eventLog") }
+
+    private fun openDatabase(segmentSize: Int = SEGMENT_SIZE) =
+        SegmentLogEventDatabase(directory, segmentSize).apply {
+            retentionConfig = RetentionConfig(Duration.INFINITE, Int.MAX_VALUE)
+        }
+
+    @Test
+    fun `entries are popped in the order they were pushed`() {
+        val database = openDatabase()
+        val entries = List(10) { createRandomEventDatabaseEntry(sessionId = "session-${it % 3}") }
+        val adEntries = List(3) { createRandomEventDatabaseEntry() }
+
+        entries.forEach { database.push(it) }
+        assertThat(database.pushAllAd(adEntries)).isEqualTo(3)
+
+        assertThat(database.pop()).isEqualTo(entries[0])
+        assertThat(database.popBatch(limit = 100)).isEqualTo(entries.drop(1))
+        assertThat(database.pop()).isNull()
+        assertThat(generateSequence { database.popAd() }.toList()).isEqualTo(adEntries)
+    }
+
+    @Test
+    fun `popping a batch stops before the entry exceeding the byte limit`() {
+        val database = openDatabase()
+        val entries = List(3) { createRandomEventDatabaseEntry() }
+        database.pushAll(entries)
+
+        // random entries have 36 bytes of data
+        assertThat(database.popBatch(limit = 10, maxBytes = 80)).isEqualTo(entries.take(2))
+        assertThat(database.popBatch(limit = 10, maxBytes = 1)).isEqualTo(entries.drop(2))
+    }
+
+    @Test
+    fun `compressed payloads survive reopening the database`() {
+        val data = "{\"impressionId\":\"impression\",\"customData1\":\"${"a".repeat(500)}\"}"
+        val entries = List(20) { EventDatabaseEntry("impression", Util.timestamp + it, data) }
+        openDatabase().pushAll(entries)
+
+        val reopened = openDatabase()
+
+        assertThat(reopened.popBatch(limit = 100)).isEqualTo(entries)
+        assertThat(openDatabase().pop()).isNull()
+    }
+
+    @Test
+    fun `entries are appended to new segments and consumed segments are deleted`() {
+        val database = openDatabase()
+        val entries = List(100) { createRandomEventDatabaseEntry() }
+        database.pushAll(entries)
+        assertThat(segmentFiles().size).isGreaterThan(2)
+
+        assertThat(database.popBatch(limit = 99)).isEqualTo(entries.take(99))
+
+        assertThat(segmentFiles()).hasSize(1)
+        assertThat(database.pop()).isEqualTo(entries.last())
+    }
+
+    @Test
+    fun `entries larger than a segment are not stored`() {
+        val database = openDatabase()
+        // random data that doesn't get smaller than a segment by compressing it
+        val data = List(400) { UUID.randomUUID().toString() }.joinToString("")
+
+        assertThat(database.push(EventDatabaseEntry("session", Util.timestamp, data))).isFalse()
+        assertThat(database.pop()).isNull()
+    }
+
+    @Test
+    fun `a torn record ends the log on recovery and is overwritten by the next push`() {
+        val entries = List(3) { createRandomEventDatabaseEntry() }
+        openDatabase().pushAll(entries)
+        val segmentFile = segmentFiles().single()
+        // flips a byte in the payload of the last record, as if it was not completely written back
+        RandomAccessFile(segmentFile, "rw").use {
+            val lastPayloadByte = lastRecordEnd(segmentFile) - 1
+            it.seek(lastPayloadByte)
+            val byte = it.read()
+            it.seek(lastPayloadByte)
+            it.write(byte xor 0xFF)
+        }
+
+        val recovered = openDatabase()
+        val newEntry = createRandomEventDatabaseEntry()
+        recovered.push(newEntry)
+
+        assertThat(openDatabase().popBatch(limit = 10)).isEqualTo(entries.take(2) + newEntry)
+    }
+
+    @Test
+    fun `popped entries stay popped after reopening the database`() {
+        val database = openDatabase()
+        val entries = List(5) { createRandomEventDatabaseEntry() }
+        database.pushAll(entries)
+        database.popBatch(limit = 2)
+
+        assertThat(openDatabase().popBatch(limit = 10)).isEqualTo(entries.drop(2))
+    }
+
+    @Test
+    fun `sessions exceeding the count limit are tombstoned in all logs`() {
+        val database = openDatabase()
+        database.retentionConfig = RetentionConfig(Duration.INFINITE, maximumEntriesPerType = 3)
+        val first = List(2) { createRandomEventDatabaseEntry(sessionId = "first") }
+        val second = List(2) { createRandomEventDatabaseEntry(sessionId = "second") }
+        val secondAd = createRandomEventDatabaseEntry(sessionId = "second")
+        database.pushAd(createRandomEventDatabaseEntry(sessionId = "first"))
+        database.pushAd(secondAd)
+        database.pushAll(first + second)
+
+        assertThat(database.popBatch(limit = 10)).isEqualTo(second)
+        assertThat(database.popAdBatch(limit = 10)).containsExactly(secondAd)
+        // the tombstones are stored in the segments
+        assertThat(openDatabase().popAd()).isNull()
+    }
+
+    @Test
+    fun `sessions that started before the age limit are tombstoned`() {
+        val database = openDatabase()
+        database.retentionConfig = RetentionConfig(ageLimit = 1.hours, maximumEntriesPerType = Int.MAX_VALUE)
+        val expired = createRandomEventDatabaseEntry(sessionId = "expired", eventTimestamp = Util.timestamp - 2.hours.inWholeMilliseconds)
+        val expiredLater = createRandomEventDatabaseEntry(sessionId = "expired")
+        val current = createRandomEventDatabaseEntry(sessionId = "current")
+        database.pushAll(listOf(expired, expiredLater, current))
+
+        assertThat(database.popBatch(limit = 10)).containsExactly(current)
+    }
+
+    @Test
+    fun `the session index is rebuilt on recovery`() {
+        val entries = List(4) { createRandomEventDatabaseEntry(sessionId = "session-${it / 2}") }
+        openDatabase().pushAll(entries)
+
+        val reopened = openDatabase()
+        reopened.retentionConfig = RetentionConfig(Duration.INFINITE, maximumEntriesPerType = 2)
+
+        assertThat(reopened.popBatch(limit = 10)).isEqualTo(entries.drop(2))
+    }
+
+    @Test
+    fun `purging deletes the entries of all logs`() {
+        val database = openDatabase()
+        database.pushAll(List(50) { createRandomEventDatabaseEntry() })
+        database.pushAd(createRandomEventDatabaseEntry())
+
+        assertThat(database.purge()).isEqualTo(51)
+
+        assertThat(database.pop()).isNull()
+        assertThat(openDatabase().popAd()).isNull()
+        val entry = createRandomEventDatabaseEntry()
+        database.push(entry)
+        assertThat(openDatabase().pop()).isEqualTo(entry)
+    }
+
+    @Test
+    fun `entries are not stored if a new segment can't be opened`() {
+        val database = openDatabase()
+        // the active segment stays mapped, but no new segment file can be created
+        File(directory, EventDatabaseTable.Events.tableName).deleteRecursively()
+
+        val storedCount = database.pushAll(List(100) { createRandomEventDatabaseEntry() })
+
+        assertThat(storedCount).isGreaterThan(0).isLessThan(100)
+        assertThat(database.popBatch(limit = 100)).hasSize(storedCount)
+    }
+
+    @Test
+    fun `consumed segment files are truncated before they are deleted`() {
+        val database = openDatabase()
+        database.pushAll(List(100) { createRandomEventDatabaseEntry() })
+        val firstSegment = File(directory, "${EventDatabaseTable.Events.tableName}/segment-0.log")
+        val firstSegmentFile = RandomAccessFile(firstSegment, "r")
+
+        database.popBatch(limit = 50)
+
+        // the file is still open, so its length is what remains of its blocks
+        firstSegmentFile.use { assertThat(it.length()).isEqualTo(0) }
+        assertThat(firstSegment).doesNotExist()
+    }
+
+    private fun segmentFiles() =
+        File(directory, EventDatabaseTable.Events.tableName)
+            .listFiles()
+            .orEmpty()
+            .toList()
+
+    private fun lastRecordEnd(segmentFile: File): Long =
+        RandomAccessFile(segmentFile, "r").use {
+            var offset = 0L
+            var bodySize = it.readInt()
+            while (bodySize != 0) {
+                offset += RECORD_HEADER_SIZE + bodySize
+                it.seek(offset)
+                bodySize = it.readInt()
+            }
+            offset
+        }
+
+    companion object {
+        // room for about 40 random entries
+        private const val SEGMENT_SIZE = 4096
+        private const val RECORD_HEADER_SIZE = 9
+    }
+}
@@ -0,0 +1,110 @@
+package com.bitmovin.analytics.data.persistence
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.persistence.EventQueueConfig
+import com.bitmovin.analytics.persistence.EventQueueFactory
+import com.bitmovin.analytics.persistence.queue.FilteringEventQueue
+import com.bitmovin.analytics.testutils.printBenchmarkResult
+import com.bitmovin.analytics.utils.DtoJsonWriters
+import com.bitmovin.analytics.utils.Util
+import io.mockk.spyk
+import io.mockk.verify
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.TestScope
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@RunWith(
+    RobolectricTestRunner::class,
+)
+@Config(sdk = [35]) // need to limit sdk to 35, since 36 is not available in Robolectric 4.14.1
+class WriteBehindEventQueueShutdownTest {
+    private val context: Context = ApplicationProvider.getApplicationContext()
+    private val eventQueueConfig = EventQueueConfig()
+    private val testScope = TestScope()
+    private lateinit var eventDatabase: EventDatabase
+
+    @Before
+    fun setup() {
+        eventDatabase = spyk(EventDatabase.getInstance(context))
+        eventDatabase.purge()
+    }
+
+    @After
+    fun cleanup() {
+        EventDatabase.getInstance(context).close()
+    }
+
+    @Test
+    fun `no sample is lost when the queue is flushed before the process ends`() {
+        val eventQueue = EventQueueFactory.createPersistentEventQueue(eventQueueConfig, eventDatabase, testScope)
+        val events = createEvents(SAMPLE_COUNT)
+        val adEvents = List(7) { TestFactory.createAdEventData(adId = "ad-$it") }
+
+        events.forEach { eventQueue.push(it) }
+        adEvents.forEach { eventQueue.push(it) }
+        // what pausing the app, detaching the collector or trimming the memory does
+        eventQueue.flush()
+        EventDatabase.getInstance(context).close()
+
+        val restartedQueue = EventQueueFactory.createPersistentEventQueue(eventQueueConfig, EventDatabase.getInstance(context), testScope)
+        val poppedEvents = generateSequence { restartedQueue.popEvent() }.toList()
+        val poppedAdEvents = generateSequence { restartedQueue.popAdEvent() }.toList()
+
+        assertThat(poppedEvents.map { DtoJsonWriters.encodeToString(it) }).isEqualTo(events.map { DtoJsonWriters.encodeToString(it) })
+        assertThat(poppedAdEvents.map { DtoJsonWriters.encodeToString(it) }).isEqualTo(adEvents.map { DtoJsonWriters.encodeToString(it) })
+    }
+
+    @Test
+    fun `transactions of samples pushed while unauthenticated with and without the write-behind buffer`() {
+        val events = createEvents(SAMPLE_COUNT)
+        val directQueue = FilteringEventQueue(eventQueueConfig, PersistentAnalyticsEventQueue(eventQueueConfig, eventDatabase))
+        val directMillis = measureMillis { events.forEach { directQueue.push(it) } }
+        verify(exactly = SAMPLE_COUNT) { eventDatabase.push(any()) }
+        eventDatabase.purge()
+
+        val writeBehindQueue = EventQueueFactory.createPersistentEventQueue(eventQueueConfig, eventDatabase, testScope)
+        val writeBehindMillis =
+            measureMillis {
+                events.forEach { writeBehindQueue.push(it) }
+                writeBehindQueue.flush()
+            }
+
+        // 50 samples per group commit
+        verify(exactly = SAMPLE_COUNT / 50) { eventDatabase.pushAll(any()) }
+        assertThat(writeBehindQueue.popEvents(SAMPLE_COUNT)).hasSize(SAMPLE_COUNT)
+        printBenchmarkResult(
+            "Persistent event queue, $SAMPLE_COUNT samples pushed while unauthenticated",
+            "directTransactions" to SAMPLE_COUNT,
+            "writeBehindTransactions" to SAMPLE_COUNT / 50,
+            "directMillis" to directMillis,
+            "writeBehindMillis" to writeBehindMillis,
+        )
+    }
+
+    private fun createEvents(count: Int) =
+        List(count) {
+            TestFactory.createEventData(impressionId = "impression-${it / 100}").apply {
+                sequenceNumber = it % 100
+                time = Util.timestamp + it
+            }
+        }
+
+    private inline fun measureMillis(block: () -> Unit): Long {
+        val start = System.nanoTime()
+        block()
+        return (System.nanoTime() - start) / 1_000_000
+    }
+
+    companion object {
+        private const val SAMPLE_COUNT = 500
+    }
+}
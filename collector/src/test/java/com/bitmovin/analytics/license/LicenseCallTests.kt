@@ -5,6 +5,8 @@ import com.bitmovin.analytics.api.AnalyticsConfig
 import com.bitmovin.analytics.dtos.ErrorDetailTrackingConfig
 import com.bitmovin.analytics.dtos.FeatureConfigContainer
 import com.bitmovin.analytics.utils.HttpClient
+import com.bitmovin.analytics.utils.HttpTransportCallback
+import com.bitmovin.analytics.utils.HttpTransportResponse
 import io.mockk.every
 import io.mockk.just
 import io.mockk.mockk
@@ -15,10 +17,6 @@ import io.mockk.slot
 import io.mockk.verify
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.test.runTest
-import okhttp3.Callback
-import okhttp3.MediaType.Companion.toMediaType
-import okhttp3.Response
-import okhttp3.ResponseBody.Companion.toResponseBody
 import org.junit.Before
 import org.junit.Test
 
@@ -32,12 +30,11 @@ class LicenseCallTests {
     }
 
     private fun createLicenseCall(responseBody: String): DefaultLicenseCall {
-        val mockedResponse = mockk<Response>()
-        every { mockedResponse.body }.returns(responseBody.toResponseBody("text/json".toMediaType()))
+        val mockedResponse = HttpTransportResponse(200, emptyMap(), responseBody.toByteArray())
         mockkConstructor(HttpClient::class)
-        val slot = slot<Callback>()
+        val slot = slot<HttpTransportCallback>()
         every { anyConstructed<HttpClient>().post(any(), any(), capture(slot)) }.answers {
-            slot.captured.onResponse(mockk(), mockedResponse)
+            slot.captured.onResponse(mockedResponse)
         }
         return DefaultLicenseCall(
             AnalyticsConfig("any"),
@@ -145,17 +142,12 @@ class LicenseCallTests {
     @Test
     fun testLicenseCallUsesLicenseKeyFromLicenseKeyProvider() =
         runTest {
-            val mockedResponse =
-                mockk<Response> {
-                    every { body }.returns(
-                        getGrantedResponseBody("").toResponseBody("text/json".toMediaType()),
-                    )
-                }
-            val callbackSlot = slot<Callback>()
+            val mockedResponse = HttpTransportResponse(200, emptyMap(), getGrantedResponseBody("").toByteArray())
+            val callbackSlot = slot<HttpTransportCallback>()
             val httpClient =
                 mockk<HttpClient> {
                     every { post(any(), any(), capture(callbackSlot)) }.answers {
-                        callbackSlot.captured.onResponse(mockk(), mockedResponse)
+                        callbackSlot.captured.onResponse(mockedResponse)
                     }
                 }
             val licenseCall =
@@ -206,17 +198,12 @@ class LicenseCallTests {
         state: LicenseKeyState,
         expected: AuthenticationResponse,
     ) {
-        val mockedResponse =
-            mockk<Response> {
-                every { body }.returns(
-                    getGrantedResponseBody("").toResponseBody("text/json".toMediaType()),
-                )
-            }
-        val callbackSlot = slot<Callback>()
+        val mockedResponse = HttpTransportResponse(200, emptyMap(), getGrantedResponseBody("").toByteArray())
+        val callbackSlot = slot<HttpTransportCallback>()
         val httpClient =
             mockk<HttpClient> {
                 every { post(any(), any(), capture(callbackSlot)) }.answers {
-                    callbackSlot.captured.onResponse(mockk(), mockedResponse)
+                    callbackSlot.captured.onResponse(mockedResponse)
                 }
             }
         val licenseCall =
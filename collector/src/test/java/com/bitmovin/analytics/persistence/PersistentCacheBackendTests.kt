@@ -2,6 +2,7 @@ package com.bitmovin.analytics.persistence
 
 import com.bitmovin.analytics.TestFactory
 import com.bitmovin.analytics.data.CallbackBackend
+import com.bitmovin.analytics.data.IngressServerErrorException
 import com.bitmovin.analytics.data.OnFailureCallback
 import com.bitmovin.analytics.data.OnSuccessCallback
 import com.bitmovin.analytics.dtos.AdEventData
@@ -13,9 +14,11 @@ import io.mockk.clearMocks
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.verify
+import org.assertj.core.api.Assertions.assertThat
 import org.junit.After
 import org.junit.Before
 import org.junit.Test
+import java.io.IOException
 
 class PersistentCacheBackendTests {
     private lateinit var backend: PersistentCacheBackend
@@ -96,6 +99,47 @@ class PersistentCacheBackendTests {
         verify { eventQueue.push(event) }
     }
 
+    @Test
+    fun `an Event failing with server errors is pushed a bounded number of times without changing its retry count`() {
+        val event = TestFactory.createEventData()
+        every { callbackBackend.send(event, any(), any()) } answers {
+            thirdArg<OnFailureCallback>().onFailure(IngressServerErrorException(500)) {}
+        }
+
+        repeat(IngressServerErrorException.MAX_RETRIES + 1) { backend.send(event, null, null) }
+
+        verify(exactly = IngressServerErrorException.MAX_RETRIES) { eventQueue.push(event) }
+        assertThat(event.retryCount).isEqualTo(0)
+    }
+
+    @Test
+    fun `failures other than server errors don't count towards the server error limit`() {
+        val event = TestFactory.createEventData()
+        var failure: Exception = IOException("offline")
+        every { callbackBackend.send(event, any(), any()) } answers {
+            thirdArg<OnFailureCallback>().onFailure(failure) {}
+        }
+        repeat(IngressServerErrorException.MAX_RETRIES) { backend.send(event, null, null) }
+
+        failure = IngressServerErrorException(500)
+        backend.send(event, null, null)
+
+        verify(exactly = IngressServerErrorException.MAX_RETRIES + 1) { eventQueue.push(event) }
+        assertThat(event.retryCount).isEqualTo(0)
+    }
+
+    @Test
+    fun `an AdEvent failing with server errors is pushed a bounded number of times`() {
+        val event = TestFactory.createAdEventData()
+        every { callbackBackend.sendAd(event, any(), any()) } answers {
+            thirdArg<OnFailureCallback>().onFailure(IngressServerErrorException(500)) {}
+        }
+
+        repeat(IngressServerErrorException.MAX_RETRIES + 1) { backend.sendAd(event, null, null) }
+
+        verify(exactly = IngressServerErrorException.MAX_RETRIES) { eventQueue.push(event) }
+    }
+
     private fun testCallbackBackendCallbacks(
         event: Any,
         success: Boolean,
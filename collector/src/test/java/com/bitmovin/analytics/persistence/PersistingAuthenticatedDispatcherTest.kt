@@ -16,6 +16,7 @@ import com.bitmovin.analytics.license.LicenseCall
 import com.bitmovin.analytics.license.LicenseCallback
 import com.bitmovin.analytics.license.LicensingState
 import com.bitmovin.analytics.persistence.queue.AnalyticsEventQueue
+import com.bitmovin.analytics.persistence.queue.FlushableEventQueue
 import com.bitmovin.analytics.utils.TestScopeProvider
 import com.bitmovin.analytics.utils.areScopesCancelled
 import io.mockk.Called
@@ -64,6 +65,17 @@ class PersistingAuthenticatedDispatcherTest {
             )
     }
 
+    private fun createDispatcher(eventQueue: AnalyticsEventQueue) =
+        PersistingAuthenticatedDispatcher(
+            mockk(),
+            AnalyticsConfig(TEST_LICENSE_KEY),
+            outerLicenseCallback,
+            backendFactory,
+            licenseCall,
+            eventQueue,
+            scopeProvider,
+        )
+
     @After
     fun clearState() {
         clearMocks(
@@ -165,6 +177,29 @@ class PersistingAuthenticatedDispatcherTest {
         verify { licenseCall wasNot called }
     }
 
+    @Test
+    fun `flushing the dispatcher commits the samples held back by the event queue`() {
+        val flushableEventQueue: AnalyticsEventQueue = mockk(moreInterfaces = arrayOf(FlushableEventQueue::class))
+
+        createDispatcher(flushableEventQueue).flush()
+
+        verify { (flushableEventQueue as FlushableEventQueue).flush() }
+    }
+
+    @Test
+    fun `disabling the dispatcher commits the samples held back by the event queue`() {
+        val flushableEventQueue: AnalyticsEventQueue = mockk(moreInterfaces = arrayOf(FlushableEventQueue::class))
+        val dispatcher = createDispatcher(flushableEventQueue)
+        dispatcher.add(createEventData())
+
+        dispatcher.disable()
+
+        verifyOrder {
+            flushableEventQueue.push(any<EventData>())
+            (flushableEventQueue as FlushableEventQueue).flush()
+        }
+    }
+
     @Test
     fun `disabling the dispatcher cancels all scopes`() {
         persistingAuthenticatedDispatcher.disable()
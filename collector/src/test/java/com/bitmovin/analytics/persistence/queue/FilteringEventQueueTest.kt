@@ -71,6 +71,26 @@ class FilteringEventQueueTest {
         verify { innerQueue.push(event) }
     }
 
+    @Test
+    fun `pushing multiple events only pushes the events within the session limit to the inner queue`() {
+        val event = TestFactory.createEventData(impressionId = "allowed")
+        val filteredEvent = TestFactory.createEventData(impressionId = "filtered").apply {
+            sequenceNumber = 501
+        }
+        val adEvent = TestFactory.createAdEventData().apply {
+            videoImpressionId = "allowed"
+        }
+        val filteredAdEvent = TestFactory.createAdEventData().apply {
+            videoImpressionId = "filtered"
+        }
+
+        eventQueue.pushEvents(listOf(event, filteredEvent))
+        eventQueue.pushAdEvents(listOf(adEvent, filteredAdEvent))
+
+        verify { innerQueue.pushEvents(listOf(event)) }
+        verify { innerQueue.pushAdEvents(listOf(adEvent)) }
+    }
+
     @Test
     fun `clearing the queue clears the inner queue`() {
         eventQueue.clear()
@@ -0,0 +1,110 @@
+package com.bitmovin.analytics.persistence.queue
+
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import io.mockk.verifyOrder
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class WriteBehindEventQueueTest {
+    private val testScope = TestScope()
+    private val innerQueue: AnalyticsEventQueue = mockk()
+    private val eventQueue = WriteBehindEventQueue(innerQueue, testScope, maxPendingEntries = 3, maxDelayMs = 1000)
+
+    @Test
+    fun `pushed samples are held back until the queue is flushed`() {
+        val events = List(2) { TestFactory.createEventData(impressionId = "impression-$it") }
+        val adEvent = TestFactory.createAdEventData()
+
+        events.forEach { eventQueue.push(it) }
+        eventQueue.push(adEvent)
+        verify(exactly = 0) { innerQueue.push(any<EventData>()) }
+        verify(exactly = 0) { innerQueue.pushEvents(any()) }
+
+        eventQueue.flush()
+
+        verify(exactly = 1) { innerQueue.pushEvents(events) }
+        verify(exactly = 1) { innerQueue.pushAdEvents(listOf(adEvent)) }
+    }
+
+    @Test
+    fun `pending samples are committed together once the limit is reached`() {
+        val events = List(4) { TestFactory.createEventData(impressionId = "impression-$it") }
+
+        events.forEach { eventQueue.push(it) }
+
+        verify(exactly = 1) { innerQueue.pushEvents(events.take(3)) }
+        eventQueue.flush()
+        verify(exactly = 1) { innerQueue.pushEvents(events.drop(3)) }
+    }
+
+    @Test
+    fun `pending samples are committed after the maximum delay`() {
+        val event = TestFactory.createEventData()
+        eventQueue.push(event)
+
+        testScope.advanceTimeBy(999)
+        verify(exactly = 0) { innerQueue.pushEvents(any()) }
+
+        testScope.advanceTimeBy(2)
+        verify(exactly = 1) { innerQueue.pushEvents(listOf(event)) }
+    }
+
+    @Test
+    fun `flushing without pending samples does not open a transaction`() {
+        eventQueue.flush()
+
+        verify(exactly = 0) { innerQueue.pushEvents(any()) }
+        verify(exactly = 0) { innerQueue.pushAdEvents(any()) }
+    }
+
+    @Test
+    fun `popping commits the pending samples first`() {
+        val event = TestFactory.createEventData()
+        every { innerQueue.popEvent() } returns event
+        eventQueue.push(event)
+
+        assertThat(eventQueue.popEvent()).isEqualTo(event)
+
+        verifyOrder {
+            innerQueue.pushEvents(listOf(event))
+            innerQueue.popEvent()
+        }
+    }
+
+    @Test
+    fun `popping a batch of ad samples commits the pending samples first`() {
+        val adEvent = TestFactory.createAdEventData()
+        every { innerQueue.popAdEvents(any(), any()) } returns listOf(adEvent)
+        eventQueue.push(adEvent)
+
+        assertThat(eventQueue.popAdEvents(10, 1000)).containsExactly(adEvent)
+
+        verifyOrder {
+            innerQueue.pushAdEvents(listOf(adEvent))
+            innerQueue.popAdEvents(10, 1000)
+        }
+    }
+
+    @Test
+    fun `clearing drops the pending samples`() {
+        eventQueue.push(TestFactory.createEventData())
+        eventQueue.pushAdEvents(listOf(TestFactory.createAdEventData()))
+
+        eventQueue.clear()
+        eventQueue.flush()
+        testScope.advanceTimeBy(2000)
+
+        verify { innerQueue.clear() }
+        verify(exactly = 0) { innerQueue.pushEvents(any()) }
+        verify(exactly = 0) { innerQueue.pushAdEvents(any<List<AdEventData>>()) }
+    }
+}
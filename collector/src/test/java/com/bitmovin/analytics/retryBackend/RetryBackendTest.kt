@@ -9,6 +9,8 @@ import com.bitmovin.analytics.api.DefaultMetadata
 import com.bitmovin.analytics.api.SourceMetadata
 import com.bitmovin.analytics.data.CallbackBackend
 import com.bitmovin.analytics.data.DeviceInformation
+import com.bitmovin.analytics.data.IngressServerErrorException
+import com.bitmovin.analytics.data.IngressThrottledException
 import com.bitmovin.analytics.data.OnFailureCallback
 import com.bitmovin.analytics.data.PlayerInfo
 import com.bitmovin.analytics.dtos.EventData
@@ -17,6 +19,7 @@ import io.mockk.every
 import io.mockk.mockk
 import io.mockk.spyk
 import io.mockk.verify
+import org.assertj.core.api.Assertions.assertThat
 import org.junit.Test
 import java.net.SocketTimeoutException
 import java.util.Calendar
@@ -49,6 +52,42 @@ class RetryBackendTest {
         verify(exactly = 1) { retryBackend.processQueuedSamples() }
     }
 
+    @Test
+    fun throttledSampleShouldNotBeRetriedBeforeTheRetryAfterTime() {
+        every { backendMock.send(any(), any(), any()) } answers {
+            (it.invocation.args[2] as OnFailureCallback).onFailure(IngressThrottledException(4_500)) {}
+        }
+
+        val retryBackend = RetryBackend(backendMock, handlerMock)
+        val sentAt = Date().time
+        retryBackend.send(setupEventData(1))
+
+        assertThat(retryBackend.getNextScheduledTime()!!.time - sentAt).isGreaterThanOrEqualTo(4_500)
+    }
+
+    @Test
+    fun sampleFailingWithServerErrorShouldBeRetriedABoundedNumberOfTimes() {
+        every { backendMock.send(any(), any(), any()) } answers {
+            (it.invocation.args[2] as OnFailureCallback).onFailure(IngressServerErrorException(500)) {}
+        }
+        val handler = mockk<Handler>()
+        val scheduled = mutableListOf<Runnable>()
+        every { handler.postAtTime(capture(scheduled), any(), any()) } returns true
+        every { handler.removeCallbacks(any(), any()) } returns Unit
+        // the back off of every retry has passed already
+        val retryQueue = spyk(RetryQueue())
+        every { retryQueue.now() } returns secondDate
+        val retryBackend = RetryBackend(backendMock, handler, retryQueue)
+
+        retryBackend.send(setupEventData(1))
+        repeat(IngressServerErrorException.MAX_RETRIES + 2) {
+            scheduled.lastOrNull()?.run()
+        }
+
+        verify(exactly = IngressServerErrorException.MAX_RETRIES + 1) { backendMock.send(any(), any(), any()) }
+        assertThat(retryBackend.getNextScheduledTime()).isNull()
+    }
+
     @Test
     fun handlerShouldBeCanceledIfSampleWithSmallerScheduledTimeArrives() {
         val handler = spyk(Handler())
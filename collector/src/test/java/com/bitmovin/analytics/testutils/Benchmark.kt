@@ -0,0 +1,72 @@
+package com.bitmovin.analytics.testutils
+
+import org.junit.Assume
+import org.junit.rules.TestRule
+import org.junit.runner.Description
+import org.junit.runners.model.Statement
+import java.lang.management.ManagementFactory
+
+/**
+ * Skips the long running benchmarks of a test class, including its `@Before` and `@After` methods,
+ * unless the tests are run with `-Pbenchmark=true`.
+ */
+internal class BenchmarkRule : TestRule {
+    override fun apply(
+        base: Statement,
+        description: Description,
+    ): Statement =
+        object : Statement() {
+            override fun evaluate() {
+                Assume.assumeTrue("Benchmarks are only run with -Pbenchmark=true", System.getProperty("benchmark") == "true")
+                base.evaluate()
+            }
+        }
+}
+
+/**
+ * Runs [block] [warmupIterations] times to warm up the JIT and then measures the
+ * average wall clock time of [iterations] runs.
+ *
+ * This is not a replacement for a proper JMH benchmark, but is good enough
+ * to compare two implementations on the same machine within the unit tests.
+ *
+ * @return average nanoseconds per run
+ */
+internal inline fun measureNanosPerRun(
+    iterations: Int = 2_000,
+    warmupIterations: Int = 500,
+    block: () -> Unit,
+): Double {
+    repeat(warmupIterations) { block() }
+    val start = System.nanoTime()
+    repeat(iterations) { block() }
+    return (System.nanoTime() - start).toDouble() / iterations
+}
+
+internal fun printBenchmarkResult(
+    name: String,
+    vararg results: Pair<String, Any>,
+) {
+    println("[Benchmark] $name: ${results.joinToString { "${it.first}=${it.second}" }}")
+}
+
+/**
+ * Runs [block] [warmupIterations] times and then measures the heap memory allocated
+ * by the current thread during [iterations] runs.
+ *
+ * Uses the allocation counter of the HotSpot JVM the unit tests are running on.
+ *
+ * @return average allocated bytes per run, rounded down
+ */
+internal inline fun measureAllocatedBytesPerRun(
+    iterations: Int = 10_000,
+    warmupIterations: Int = 1_000,
+    block: () -> Unit,
+): Long {
+    val threadMXBean = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+    val threadId = Thread.currentThread().id
+    repeat(warmupIterations) { block() }
+    val allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId)
+    repeat(iterations) { block() }
+    return (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore) / iterations
+}
@@ -0,0 +1,110 @@
+package com.bitmovin.analytics.utils
+
+import androidx.test.core.app.ApplicationProvider
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.api.AnalyticsConfig
+import com.bitmovin.analytics.api.LogLevel
+import com.bitmovin.analytics.data.HttpBackend
+import com.bitmovin.analytics.data.IngressThrottle
+import com.bitmovin.analytics.testutils.measureAllocatedBytesPerRun
+import io.mockk.mockkObject
+import io.mockk.unmockkObject
+import io.mockk.verify
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35]) // need to limit sdk to 35, since 36 is not available in Robolectric 4.14.1
+class BitmovinLogTest {
+    private val heartbeat = TestFactory.createHeartbeatEventData()
+
+    @Before
+    fun setup() {
+        IngressThrottle.shared.reset()
+        // completes every request right away on the calling thread, so only the send path itself is measured
+        HttpTransport.install(RespondingTransport)
+    }
+
+    @After
+    fun tearDown() {
+        HttpTransport.install(null)
+        IngressThrottle.shared.reset()
+        LogLevelConfig.logLevel = LogLevel.ERROR
+    }
+
+    @Test
+    fun `lazy message is only built when debug logging is enabled`() {
+        var built = 0
+
+        LogLevelConfig.logLevel = LogLevel.ERROR
+        BitmovinLog.d(TAG) { "message ${++built}" }
+        assertThat(built).isEqualTo(0)
+
+        LogLevelConfig.logLevel = LogLevel.DEBUG
+        BitmovinLog.d(TAG) { "message ${++built}" }
+        assertThat(built).isEqualTo(1)
+    }
+
+    @Test
+    fun `sending a heartbeat sample does not build the debug log messages at error level`() {
+        val backend = createBackend()
+        val jsonSize = CachingEventDataEncoder().encode(heartbeat).size
+
+        LogLevelConfig.logLevel = LogLevel.ERROR
+        val errorLevelBytes = measureAllocatedBytesPerRun(iterations = ITERATIONS) { backend.send(heartbeat) }
+        LogLevelConfig.logLevel = LogLevel.DEBUG
+        val debugLevelBytes = measureAllocatedBytesPerRun(iterations = ITERATIONS) { backend.send(heartbeat) }
+
+        // at debug level the request body alone is copied into the logged JSON message, so the difference
+        // only stays below it if the messages are built at error level as well
+        assertThat(debugLevelBytes - errorLevelBytes).isGreaterThanOrEqualTo(jsonSize.toLong())
+    }
+
+    @Test
+    fun `sending a heartbeat sample does not build any log message at error level`() {
+        val backend = createBackend()
+        LogLevelConfig.logLevel = LogLevel.ERROR
+
+        mockkObject(BitmovinLog)
+        try {
+            backend.send(heartbeat)
+
+            // the lazy messages are skipped by the debug check, and no eagerly built message is passed to the log
+            verify(atLeast = 1) { BitmovinLog.isDebugEnabled }
+            verify(exactly = 0) { BitmovinLog.d(any(), any<String>()) }
+            verify(exactly = 0) { BitmovinLog.w(any(), any()) }
+            verify(exactly = 0) { BitmovinLog.e(any(), any<String>()) }
+        } finally {
+            unmockkObject(BitmovinLog)
+        }
+    }
+
+    private fun createBackend() =
+        HttpBackend(
+            AnalyticsConfig("key"),
+            ApplicationProvider.getApplicationContext(),
+        )
+
+    private object RespondingTransport : HttpTransport {
+        private val noContent = HttpTransportResponse(204, emptyMap(), null)
+
+        override fun enqueue(
+            request: HttpTransportRequest,
+            callback: HttpTransportCallback,
+        ) {
+            callback.onResponse(noContent)
+        }
+    }
+
+    companion object {
+        private const val TAG = "BitmovinLogTest"
+
+        // the logged messages are kept by Robolectric, so the number of runs is kept low
+        private const val ITERATIONS = 1_000
+    }
+}
@@ -0,0 +1,21 @@
+package com.bitmovin.analytics.utils
+
+import okio.Buffer
+import okio.ByteString.Companion.encodeUtf8
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class ByteStringRequestBodyTest {
+    @Test
+    fun `body can be written more than once for retries`() {
+        val bytes = """{"impressionId":"impression"}""".encodeUtf8()
+        val body = ByteStringRequestBody(bytes, HttpClient.JSON_CONTENT_TYPE)
+        val first = Buffer().also { body.writeTo(it.outputStream()) }
+        val second = Buffer().also { body.writeTo(it.outputStream()) }
+
+        assertThat(first.readByteString()).isEqualTo(bytes)
+        assertThat(second.readByteString()).isEqualTo(bytes)
+        assertThat(body.contentType).isEqualTo(HttpClient.JSON_CONTENT_TYPE)
+        assertThat(body.contentLength).isEqualTo(bytes.size.toLong())
+    }
+}
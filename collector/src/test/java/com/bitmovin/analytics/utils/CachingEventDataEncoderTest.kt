@@ -0,0 +1,111 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.testutils.measureAllocatedBytesPerRun
+import com.bitmovin.analytics.testutils.measureNanosPerRun
+import com.bitmovin.analytics.testutils.printBenchmarkResult
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.encodeToStream
+import okio.Buffer
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class CachingEventDataEncoderTest {
+    private val encoder = CachingEventDataEncoder()
+
+    private fun CachingEventDataEncoder.encodeToJson(eventData: EventData): JsonElement = Json.parseToJsonElement(encode(eventData).utf8())
+
+    private fun encodeWithKotlinX(eventData: EventData): JsonElement =
+        Json.parseToJsonElement(DataSerializerKotlinX.jsonInstance.encodeToString(EventData.serializer(), eventData))
+
+    @Test
+    fun `encodes the same fields as the kotlinx serializer`() {
+        val eventData = TestFactory.createHeartbeatEventData()
+
+        assertThat(encoder.encodeToJson(eventData)).isEqualTo(encodeWithKotlinX(eventData))
+    }
+
+    @Test
+    fun `output is byte identical to the kotlinx serializer, also when re-using the static fields`() {
+        val first = TestFactory.createHeartbeatEventData(sequenceNumber = 1).copy(customData1 = "tier", customData50 = "a/b")
+        val second = first.copy(sequenceNumber = 2, played = 1_234, state = "pause")
+
+        listOf(first, second).forEach { eventData ->
+            assertThat(encoder.encode(eventData).utf8())
+                .isEqualTo(DataSerializerKotlinX.jsonInstance.encodeToString(EventData.serializer(), eventData))
+        }
+    }
+
+    @Test
+    fun `later samples of an impression re-use the static fields`() {
+        encoder.encode(TestFactory.createHeartbeatEventData(sequenceNumber = 1))
+        val eventData =
+            TestFactory.createHeartbeatEventData(sequenceNumber = 2).apply {
+                played = 1_234
+                state = "pause"
+                errorCode = 3001
+            }
+
+        assertThat(encoder.encodeToJson(eventData)).isEqualTo(encodeWithKotlinX(eventData))
+    }
+
+    @Test
+    fun `static fields are encoded again when they change within an impression`() {
+        val eventData = TestFactory.createHeartbeatEventData()
+        encoder.encode(eventData)
+        val changedCustomData = eventData.copy(customData1 = "subscription-tier-basic", customData5 = "new-field")
+
+        assertThat(encoder.encodeToJson(changedCustomData)).isEqualTo(encodeWithKotlinX(changedCustomData))
+    }
+
+    @Test
+    fun `static fields are encoded again for a new impression`() {
+        encoder.encode(TestFactory.createHeartbeatEventData())
+        val eventData = TestFactory.createHeartbeatEventData(impressionId = "new-impression").copy(userAgent = "other-agent")
+
+        assertThat(encoder.encodeToJson(eventData)).isEqualTo(encodeWithKotlinX(eventData))
+    }
+
+    @Test
+    fun `non ascii values are encoded correctly`() {
+        val eventData =
+            TestFactory.createHeartbeatEventData().copy(customData1 = "Überraschung 🎬", videoTitle = "ÄÖÜ \"quoted\"")
+
+        assertThat(encoder.encodeToJson(eventData)).isEqualTo(encodeWithKotlinX(eventData))
+    }
+
+    @Test
+    fun `request body writes the same json as encode`() {
+        val eventData = TestFactory.createHeartbeatEventData()
+        val body = encoder.requestBody(eventData)
+
+        assertThat(Buffer().also { body.writeTo(it.outputStream()) }.readByteString()).isEqualTo(encoder.encode(eventData))
+        assertThat(body.contentType).isEqualTo(HttpClient.JSON_CONTENT_TYPE)
+        assertThat(body.contentLength).isEqualTo(encoder.encode(eventData).size.toLong())
+    }
+
+    @OptIn(ExperimentalSerializationApi::class)
+    @Test
+    fun `encoding time of heartbeat samples`() {
+        val eventData = TestFactory.createHeartbeatEventData()
+        val json = DataSerializerKotlinX.jsonInstance
+        val kotlinXEncode = { json.encodeToStream(EventData.serializer(), eventData, Buffer().outputStream()) }
+        val cachingEncode = { encoder.encodeTo(eventData, Buffer().outputStream()) }
+        val kotlinXNanos = measureNanosPerRun(iterations = 20_000, warmupIterations = 5_000) { kotlinXEncode() }
+        val cachingNanos = measureNanosPerRun(iterations = 20_000, warmupIterations = 5_000) { cachingEncode() }
+
+        printBenchmarkResult(
+            "EventData heartbeat JSON encoding",
+            "kotlinXMicrosPerSample" to "%.1f".format(kotlinXNanos / 1000),
+            "cachingMicrosPerSample" to "%.1f".format(cachingNanos / 1000),
+            "speedup" to "%.2f".format(kotlinXNanos / cachingNanos),
+            "kotlinXAllocatedBytes" to measureAllocatedBytesPerRun { kotlinXEncode() },
+            "cachingAllocatedBytes" to measureAllocatedBytesPerRun { cachingEncode() },
+        )
+
+        assertThat(encoder.encodeToJson(eventData)).isEqualTo(encodeWithKotlinX(eventData))
+    }
+}
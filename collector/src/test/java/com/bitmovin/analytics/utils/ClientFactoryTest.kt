@@ -0,0 +1,88 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.api.AnalyticsConfig
+import com.bitmovin.analytics.api.RetryPolicy
+import io.mockk.mockk
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.RequestBody.Companion.toRequestBody
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+class ClientFactoryTest {
+    private val server = MockWebServer()
+
+    @Before
+    fun setup() {
+        server.start()
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+        HttpTransport.install(null)
+    }
+
+    @Test
+    fun `clients of all retry policies share dispatcher and connection pool`() {
+        val clients =
+            RetryPolicy.values().map { ClientFactory().createClient(AnalyticsConfig("key", retryPolicy = it)) } +
+                ClientFactory().createClient()
+
+        assertThat(clients.map { it.connectionPool }.distinct()).hasSize(1)
+        assertThat(clients.map { it.dispatcher }.distinct()).hasSize(1)
+    }
+
+    @Test
+    fun `short term retry client keeps its own retry settings`() {
+        val client = ClientFactory().createClient(AnalyticsConfig("key", retryPolicy = RetryPolicy.SHORT_TERM))
+
+        assertThat(client.retryOnConnectionFailure).isFalse
+        assertThat(client.connectTimeoutMillis).isEqualTo(15_000)
+    }
+
+    @Test
+    fun `connection is reused across clients of different collectors`() {
+        server.enqueue(MockResponse().setResponseCode(200))
+        server.enqueue(MockResponse().setResponseCode(200))
+
+        // two collectors with different retry policies, attached one after the other
+        post(ClientFactory().createClient(AnalyticsConfig("key", retryPolicy = RetryPolicy.SHORT_TERM)))
+        post(ClientFactory().createClient(AnalyticsConfig("key", retryPolicy = RetryPolicy.NO_RETRY)))
+
+        assertThat(server.takeRequest().sequenceNumber).isEqualTo(0)
+        // the sequence number counts the requests on the same connection
+        assertThat(server.takeRequest().sequenceNumber).isEqualTo(1)
+        assertThat(server.requestCount).isEqualTo(2)
+    }
+
+    @Test
+    fun `okhttp transport is used by default`() {
+        assertThat(ClientFactory().createTransport(AnalyticsConfig("key"))).isInstanceOf(OkHttpTransport::class.java)
+        assertThat(ClientFactory().createUrgentTransport(AnalyticsConfig("key"))).isInstanceOf(OkHttpTransport::class.java)
+    }
+
+    @Test
+    fun `installed transport is used for all requests`() {
+        val transport = mockk<HttpTransport>()
+        HttpTransport.install(transport)
+
+        assertThat(ClientFactory().createTransport(AnalyticsConfig("key"))).isSameAs(transport)
+        assertThat(ClientFactory().createTransport()).isSameAs(transport)
+        assertThat(ClientFactory().createUrgentTransport(AnalyticsConfig("key"))).isSameAs(transport)
+    }
+
+    private fun post(client: OkHttpClient) {
+        val request =
+            Request.Builder()
+                .url(server.url("/analytics"))
+                .post("{}".toRequestBody("application/json; charset=utf-8".toMediaType()))
+                .build()
+        client.newCall(request).execute().use { it.body.string() }
+    }
+}
@@ -0,0 +1,91 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.api.CustomData
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import kotlin.random.Random
+
+class CustomDataSlotsTest {
+    @Test
+    fun `slots map to the custom data fields`() {
+        val customData =
+            CustomData(customData1 = "first", customData64 = "64", customData65 = "65", customData100 = "last", experimentName = "ab")
+
+        val slots = CustomDataSlots.of(customData)
+
+        assertThat(slots[0]).isEqualTo("first")
+        assertThat(slots[63]).isEqualTo("64")
+        assertThat(slots[64]).isEqualTo("65")
+        assertThat(slots[99]).isEqualTo("last")
+        assertThat(slots[CustomDataSlots.SLOT_COUNT - 1]).isEqualTo("ab")
+        assertThat(CustomDataSlots.of(customData)).isSameAs(slots)
+    }
+
+    @Test
+    fun `random merges are equal to the field by field merge`() {
+        val random = Random(SEED)
+        repeat(ITERATIONS) {
+            val main = random.nextCustomData("main")
+            val fallback = random.nextCustomData("fallback")
+
+            val merged = CustomDataSlots.merge(main, fallback)
+
+            for (field in FIELDS) {
+                assertThat(field(merged)).isEqualTo(field(main) ?: field(fallback))
+            }
+        }
+    }
+
+    @Test
+    fun `merge returns the input when the other one adds nothing`() {
+        val main = CustomData(customData1 = "main1", customData70 = "main70")
+        val fallback = CustomData(customData1 = "fallback1")
+
+        assertThat(CustomDataSlots.merge(main, fallback)).isSameAs(main)
+        assertThat(CustomDataSlots.merge(main, CustomData())).isSameAs(main)
+        assertThat(CustomDataSlots.merge(main, null)).isSameAs(main)
+        assertThat(CustomDataSlots.merge(CustomData(), fallback)).isSameAs(fallback)
+        assertThat(CustomDataSlots.merge(null, fallback)).isSameAs(fallback)
+        val fallbackWithMain = main.copy(customData1 = "fallback1")
+        assertThat(CustomDataSlots.merge(fallback, fallbackWithMain)).isSameAs(fallbackWithMain)
+        assertThat(CustomDataSlots.merge(null, null)).isEqualTo(CustomData())
+    }
+
+    @Test
+    fun `merging the same instances again shares the merged result`() {
+        val main = CustomData(customData2 = "main2")
+        val fallback = CustomData(customData1 = "fallback1", experimentName = "ab")
+
+        val merged = CustomDataSlots.merge(main, fallback)
+
+        assertThat(merged).isEqualTo(CustomData(customData1 = "fallback1", customData2 = "main2", experimentName = "ab"))
+        assertThat(CustomDataSlots.merge(main, fallback)).isSameAs(merged)
+        assertThat(CustomDataSlots.merge(main, fallback.copy())).isNotSameAs(merged).isEqualTo(merged)
+    }
+
+    private fun Random.nextCustomData(prefix: String): CustomData {
+        val builder = CustomData.Builder()
+        repeat(nextInt(8)) {
+            val slot = nextInt(CustomDataSlots.SLOT_COUNT)
+            if (slot == CustomDataSlots.SLOT_COUNT - 1) {
+                builder.setExperimentName("$prefix-experiment")
+            } else {
+                CustomData.Builder::class.java
+                    .getMethod("setCustomData${slot + 1}", String::class.java)
+                    .invoke(builder, "$prefix-${slot + 1}")
+            }
+        }
+        return builder.build()
+    }
+
+    companion object {
+        private const val SEED = 20240617
+        private const val ITERATIONS = 500
+
+        private val FIELDS: List<(CustomData) -> String?> =
+            (1..100).map { "getCustomData$it" }.plus("getExperimentName").map { getter ->
+                val method = CustomData::class.java.getMethod(getter)
+                return@map { customData: CustomData -> method.invoke(customData) as String? }
+            }
+    }
+}
@@ -0,0 +1,136 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.DeviceClass
+import com.bitmovin.analytics.dtos.ErrorData
+import com.bitmovin.analytics.dtos.ErrorDetail
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.dtos.HttpRequest
+import com.bitmovin.analytics.dtos.HttpRequestType
+import com.bitmovin.analytics.testutils.measureAllocatedBytesPerRun
+import com.bitmovin.analytics.testutils.measureNanosPerRun
+import com.bitmovin.analytics.testutils.printBenchmarkResult
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.protobuf.ProtoNumber
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+@OptIn(ExperimentalSerializationApi::class)
+class DataSerializerProtoBufTest {
+    @Serializable
+    private class Batch(
+        @ProtoNumber(DataSerializerProtoBuf.BATCH_SAMPLES_FIELD_NUMBER) val samples: List<EventData> = emptyList(),
+    )
+
+    @Serializable
+    private class Enums(
+        @ProtoNumber(1) val httpRequestType: HttpRequestType,
+        @ProtoNumber(2) val deviceClass: DeviceClass,
+    )
+
+    @Test
+    fun `event data survives a ProtoBuf round trip`() {
+        val eventData = TestFactory.createHeartbeatEventData()
+
+        val encoded = DataSerializerProtoBuf.serialize(EventData.serializer(), eventData)
+
+        val decoded = DataSerializerProtoBuf.protoBufInstance.decodeFromByteArray(EventData.serializer(), encoded.toByteArray())
+        assertThat(decoded).isEqualTo(eventData)
+    }
+
+    @Test
+    fun `error detail survives a ProtoBuf round trip`() {
+        val errorDetail = createErrorDetail()
+
+        val encoded = DataSerializerProtoBuf.serialize(ErrorDetail.serializer(), errorDetail)
+
+        val decoded = DataSerializerProtoBuf.protoBufInstance.decodeFromByteArray(ErrorDetail.serializer(), encoded.toByteArray())
+        assertThat(decoded).isEqualTo(errorDetail)
+    }
+
+    @Test
+    fun `batch message contains the samples as repeated field`() {
+        val samples = (0 until 3).map { TestFactory.createHeartbeatEventData(sequenceNumber = it) }
+
+        val batch = DataSerializerProtoBuf.serializeBatch(samples.map { DataSerializerProtoBuf.serialize(EventData.serializer(), it) })
+
+        val decoded = DataSerializerProtoBuf.protoBufInstance.decodeFromByteArray(Batch.serializer(), batch.toByteArray())
+        assertThat(decoded.samples).isEqualTo(samples)
+    }
+
+    @Test
+    fun `enum entries are encoded by their pinned number`() {
+        val encoded = DataSerializerProtoBuf.serialize(Enums.serializer(), Enums(HttpRequestType.UNKNOWN, DeviceClass.Console))
+
+        // field 1 and field 2 as varints
+        assertThat(encoded.toByteArray()).containsExactly(0x08, 14, 0x10, 6)
+    }
+
+    @Test
+    fun `ProtoBuf encoding of a heartbeat is smaller than JSON`() {
+        benchmarkWireFormats("EventData heartbeat", EventData.serializer(), TestFactory.createHeartbeatEventData())
+    }
+
+    @Test
+    fun `ProtoBuf encoding of an ad sample is smaller than JSON`() {
+        benchmarkWireFormats("AdEventData", AdEventData.serializer(), TestFactory.createAdEventData())
+    }
+
+    @Test
+    fun `ProtoBuf encoding of an error detail is smaller than JSON`() {
+        benchmarkWireFormats("ErrorDetail", ErrorDetail.serializer(), createErrorDetail())
+    }
+
+    private fun <T> benchmarkWireFormats(
+        name: String,
+        serializer: KSerializer<T>,
+        data: T,
+    ) {
+        val json = DataSerializerKotlinX.jsonInstance
+        val jsonBytes = json.encodeToString(serializer, data).encodeToByteArray().size
+        val protoBufBytes = DataSerializerProtoBuf.serialize(serializer, data).size
+
+        printBenchmarkResult(
+            name,
+            "jsonBytes" to jsonBytes,
+            "protoBufBytes" to protoBufBytes,
+            "ratio" to "%.2f".format(protoBufBytes.toDouble() / jsonBytes),
+            "jsonMicrosPerSample" to "%.1f".format(measureNanosPerRun { json.encodeToString(serializer, data) } / 1000),
+            "protoBufMicrosPerSample" to "%.1f".format(measureNanosPerRun { DataSerializerProtoBuf.serialize(serializer, data) } / 1000),
+            "jsonAllocatedBytes" to measureAllocatedBytesPerRun { json.encodeToString(serializer, data) },
+            "protoBufAllocatedBytes" to measureAllocatedBytesPerRun { DataSerializerProtoBuf.serialize(serializer, data) },
+        )
+
+        assertThat(protoBufBytes).isLessThan(jsonBytes)
+    }
+
+    private fun createErrorDetail() =
+        ErrorDetail(
+            platform = "android",
+            licenseKey = "82dc5cdc-d425-4329-a043-b5fc540f9a74",
+            domain = "com.bitmovin.example",
+            impressionId = "79b531da-5abb-4fb2-8dbc-9a6c60b6526f",
+            errorId = 1,
+            timestamp = 1607598943236,
+            code = 2203,
+            message = "Source could not be loaded",
+            data = ErrorData(exceptionMessage = "Unable to connect to cdn.bitmovin.com", additionalData = "{\"retries\":3}"),
+            httpRequests =
+                (0 until 3).map {
+                    HttpRequest(
+                        timestamp = 1607598943236 + it * 2000,
+                        type = HttpRequestType.MEDIA_VIDEO.value,
+                        url = "https://cdn.bitmovin.com/content/assets/video/segment_$it.m4s",
+                        lastRedirectLocation = null,
+                        httpStatus = 200,
+                        downloadTime = 250,
+                        timeToFirstByte = 40,
+                        size = 2_400_000,
+                        success = true,
+                    )
+                },
+        )
+}
@@ -0,0 +1,47 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.testutils.BenchmarkRule
+import com.bitmovin.analytics.testutils.measureAllocatedBytesPerRun
+import com.bitmovin.analytics.testutils.measureNanosPerRun
+import com.bitmovin.analytics.testutils.printBenchmarkResult
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.json.encodeToStream
+import okio.Buffer
+import org.junit.Rule
+import org.junit.Test
+
+class DtoJsonWritersBenchmarkTest {
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val json = DataSerializerKotlinX.jsonInstance
+
+    @OptIn(ExperimentalSerializationApi::class)
+    @Test
+    fun `encoding time of samples`() {
+        val eventData = TestFactory.createHeartbeatEventData()
+        val adEventData = TestFactory.createAdEventData()
+        val kotlinXEncode = {
+            json.encodeToStream(EventData.serializer(), eventData, Buffer().outputStream())
+            json.encodeToStream(AdEventData.serializer(), adEventData, Buffer().outputStream())
+        }
+        val generatedEncode = {
+            DtoJsonWriters.writer().apply { writeEventData(eventData) }.writeTo(Buffer().outputStream())
+            DtoJsonWriters.writer().apply { writeAdEventData(adEventData) }.writeTo(Buffer().outputStream())
+        }
+        val kotlinXNanos = measureNanosPerRun(iterations = 20_000, warmupIterations = 5_000) { kotlinXEncode() }
+        val generatedNanos = measureNanosPerRun(iterations = 20_000, warmupIterations = 5_000) { generatedEncode() }
+
+        printBenchmarkResult(
+            "EventData and AdEventData JSON encoding",
+            "kotlinXMicrosPerSamplePair" to "%.1f".format(kotlinXNanos / 1000),
+            "generatedMicrosPerSamplePair" to "%.1f".format(generatedNanos / 1000),
+            "speedup" to "%.2f".format(kotlinXNanos / generatedNanos),
+            "kotlinXAllocatedBytes" to measureAllocatedBytesPerRun { kotlinXEncode() },
+            "generatedAllocatedBytes" to measureAllocatedBytesPerRun { generatedEncode() },
+        )
+    }
+}
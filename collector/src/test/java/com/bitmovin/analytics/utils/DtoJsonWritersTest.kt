@@ -0,0 +1,124 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.api.error.ErrorSeverity
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.DeviceInformationDto
+import com.bitmovin.analytics.dtos.DownloadSpeedInfo
+import com.bitmovin.analytics.dtos.EventData
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.descriptors.PrimitiveKind
+import kotlinx.serialization.descriptors.SerialDescriptor
+import kotlinx.serialization.descriptors.SerialKind
+import kotlinx.serialization.descriptors.StructureKind
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import okio.Buffer
+import okio.ByteString
+import okio.ByteString.Companion.encodeUtf8
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import kotlin.random.Random
+
+class DtoJsonWritersTest {
+    private val json = DataSerializerKotlinX.jsonInstance
+
+    @Test
+    fun `heartbeat sample is encoded byte identical to the kotlinx serializer`() {
+        val eventData = TestFactory.createHeartbeatEventData()
+
+        assertThat(DtoJsonWriters.encodeToString(eventData)).isEqualTo(DataSerializerKotlinX.serialize(eventData))
+        assertThat(DtoJsonWriters.encode(eventData)).isEqualTo(DataSerializerKotlinX.serialize(eventData)!!.encodeUtf8())
+    }
+
+    @Test
+    fun `ad sample is encoded byte identical to the kotlinx serializer`() {
+        val adEventData = TestFactory.createAdEventData().apply { errorSeverity = ErrorSeverity.CRITICAL }
+
+        assertThat(DtoJsonWriters.encodeToString(adEventData)).isEqualTo(DataSerializerKotlinX.serialize(adEventData))
+        assertThat(DtoJsonWriters.encode(adEventData)).isEqualTo(DataSerializerKotlinX.serialize(adEventData)!!.encodeUtf8())
+    }
+
+    @Test
+    fun `nested objects match the golden json`() {
+        val writer = JsonUtf8Writer()
+        writer.writeDeviceInformationDto(DeviceInformationDto("Google", "Pixel \"5\"", false, "Android", "14", null, "Phone"))
+        writer.writeDownloadSpeedInfo(DownloadSpeedInfo(segmentsDownloadCount = 3, segmentsDownloadSize = -1, avgDownloadSpeed = 1.5f))
+
+        assertThat(writer.toUtf8String()).isEqualTo(
+            """{"manufacturer":"Google","model":"Pixel \"5\"","isTV":false,"operatingSystem":"Android",""" +
+                """"operatingSystemMajor":"14","deviceClass":"Phone"}""" +
+                """{"segmentsDownloadCount":3,"segmentsDownloadSize":-1,"segmentsDownloadTime":0,"avgDownloadSpeed":1.5}""",
+        )
+    }
+
+    @Test
+    fun `request body writes the same json as encode`() {
+        val adEventData = TestFactory.createAdEventData()
+        val body = DtoJsonWriters.requestBody(adEventData)
+
+        assertThat(Buffer().also { body.writeTo(it.outputStream()) }.readByteString()).isEqualTo(DtoJsonWriters.encode(adEventData))
+        assertThat(body.contentType).isEqualTo(HttpClient.JSON_CONTENT_TYPE)
+    }
+
+    @Test
+    fun `random samples are encoded byte identical to the kotlinx serializer`() {
+        val random = Random(SEED)
+        repeat(PROPERTY_ITERATIONS) {
+            val eventData = json.decodeFromJsonElement(EventData.serializer(), random.nextObject(EventData.serializer().descriptor))
+            val adEventData = json.decodeFromJsonElement(AdEventData.serializer(), random.nextObject(AdEventData.serializer().descriptor))
+
+            assertEncodedLikeKotlinX(eventData, EventData.serializer(), DtoJsonWriters.encode(eventData))
+            assertEncodedLikeKotlinX(adEventData, AdEventData.serializer(), DtoJsonWriters.encode(adEventData))
+        }
+    }
+
+    private fun <T> assertEncodedLikeKotlinX(
+        data: T,
+        serializer: KSerializer<T>,
+        encoded: ByteString,
+    ) {
+        // unpaired surrogates are replaced on the way to UTF-8, like the request body does
+        assertThat(encoded).isEqualTo(json.encodeToString(serializer, data).encodeUtf8())
+    }
+
+    /**
+     * Random JSON object for the [descriptor], with strings that need escaping, non-ASCII characters,
+     * extreme numbers and randomly left out nullable elements.
+     */
+    @OptIn(ExperimentalSerializationApi::class)
+    private fun Random.nextObject(descriptor: SerialDescriptor): JsonObject =
+        JsonObject(
+            (0 until descriptor.elementsCount)
+                .filter { !descriptor.getElementDescriptor(it).isNullable || nextBoolean() }
+                .associate { descriptor.getElementName(it) to nextElement(descriptor.getElementDescriptor(it)) },
+        )
+
+    @OptIn(ExperimentalSerializationApi::class)
+    private fun Random.nextElement(descriptor: SerialDescriptor): JsonElement =
+        when (descriptor.kind) {
+            PrimitiveKind.STRING -> JsonPrimitive(nextString())
+            PrimitiveKind.BOOLEAN -> JsonPrimitive(nextBoolean())
+            PrimitiveKind.INT -> JsonPrimitive(listOf(0, -1, Int.MIN_VALUE, Int.MAX_VALUE, nextInt()).random(this))
+            PrimitiveKind.LONG -> JsonPrimitive(listOf(0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, nextLong()).random(this))
+            PrimitiveKind.FLOAT -> JsonPrimitive(listOf(0f, -1.5f, 1.0E-7f, 3.4E12f, nextFloat() * 10_000).random(this))
+            PrimitiveKind.DOUBLE -> JsonPrimitive(listOf(0.0, -1.5, 1.0E-7, nextDouble() * 10_000).random(this))
+            SerialKind.ENUM -> JsonPrimitive(descriptor.getElementName(nextInt(descriptor.elementsCount)))
+            StructureKind.LIST -> JsonArray(List(nextInt(4)) { JsonPrimitive(nextString()) })
+            StructureKind.CLASS -> nextObject(descriptor)
+            else -> throw IllegalArgumentException("Unsupported kind ${descriptor.kind}")
+        }
+
+    private fun Random.nextString(): String = buildString { repeat(nextInt(12)) { append(STRING_PARTS.random(this@nextString)) } }
+
+    companion object {
+        private const val SEED = 20240501
+        private const val PROPERTY_ITERATIONS = 300
+
+        private val STRING_PARTS =
+            listOf("a", "Z", "7", " ", "/", "\"", "\\", "\n", "\t", "\u0000", "\u001f", "\u007f", "é", "€", " ", "🎬", "\uD800")
+    }
+}
@@ -0,0 +1,100 @@
+package com.bitmovin.analytics.utils
+
+import kotlinx.serialization.SerializationException
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+
+class JsonUtf8WriterTest {
+    private val writer = JsonUtf8Writer(initialCapacity = 8)
+    private val keys = JsonUtf8Writer.keys("a", "b", "c")
+
+    @Test
+    fun `writes an object with separated keys`() {
+        writer.beginObject()
+        writer.key(keys[0])
+        writer.value("x")
+        writer.key(keys[1])
+        writer.beginObject()
+        writer.key(keys[2])
+        writer.value(true)
+        writer.endObject()
+        writer.key(keys[2])
+        writer.value(listOf("y", "z"))
+        writer.endObject()
+
+        assertThat(writer.toUtf8String()).isEqualTo("""{"a":"x","b":{"c":true},"c":["y","z"]}""")
+    }
+
+    @Test
+    fun `escapes strings like kotlinx serialization`() {
+        writer.value("\"\\\t\b\n\r\u000c\u0001\u001f/ä€🎬")
+
+        assertThat(writer.toUtf8String()).isEqualTo("\"\\\"\\\\\\t\\b\\n\\r\\f\\u0001\\u001f/ä€🎬\"")
+    }
+
+    @Test
+    fun `replaces unpaired surrogates`() {
+        writer.value("a\uD800b\uDC00")
+
+        assertThat(writer.toUtf8String()).isEqualTo("\"a?b?\"")
+    }
+
+    @Test
+    fun `writes numbers like their string representation`() {
+        listOf(0L, 7L, -7L, 1_234_567_890_123L, Long.MAX_VALUE, Long.MIN_VALUE).forEach {
+            writer.reset()
+            writer.value(it)
+            assertThat(writer.toUtf8String()).isEqualTo(it.toString())
+        }
+        listOf(0, -1, Int.MAX_VALUE, Int.MIN_VALUE).forEach {
+            writer.reset()
+            writer.value(it)
+            assertThat(writer.toUtf8String()).isEqualTo(it.toString())
+        }
+        writer.reset()
+        writer.value(1.5E-7f)
+        assertThat(writer.toUtf8String()).isEqualTo(1.5E-7f.toString())
+    }
+
+    @Test
+    fun `rejects non finite floating point values`() {
+        assertThatThrownBy { writer.value(Float.NaN) }.isInstanceOf(SerializationException::class.java)
+        assertThatThrownBy { writer.value(Double.POSITIVE_INFINITY) }.isInstanceOf(SerializationException::class.java)
+    }
+
+    @Test
+    fun `writes encoded fields into the open object`() {
+        val other = JsonUtf8Writer()
+        other.beginObject()
+        other.key(keys[1])
+        other.value(2)
+        other.endObject()
+        val empty = JsonUtf8Writer()
+        empty.beginObject()
+        empty.endObject()
+
+        writer.beginObject()
+        writer.fields("\"a\":1".toByteArray())
+        writer.fieldsOf(empty)
+        writer.fieldsOf(other)
+        writer.fields(ByteArray(0))
+        writer.key(keys[2])
+        writer.value(3)
+        writer.endObject()
+
+        assertThat(writer.toUtf8String()).isEqualTo("""{"a":1,"b":2,"c":3}""")
+    }
+
+    @Test
+    fun `reset clears the writer`() {
+        writer.value("a".repeat(100_000))
+        writer.reset()
+        writer.beginObject()
+        writer.key(keys[0])
+        writer.value(false)
+        writer.endObject()
+
+        assertThat(writer.toUtf8String()).isEqualTo("""{"a":false}""")
+    }
+}
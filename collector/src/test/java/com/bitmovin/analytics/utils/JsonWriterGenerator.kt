@@ -0,0 +1,127 @@
+package com.bitmovin.analytics.utils
+
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.descriptors.PrimitiveKind
+import kotlinx.serialization.descriptors.SerialDescriptor
+import kotlinx.serialization.descriptors.SerialKind
+import kotlinx.serialization.descriptors.StructureKind
+
+/**
+ * Generates the [JsonUtf8Writer] extension functions of GeneratedJsonWriters.kt from the serial descriptors of the DTOs.
+ *
+ * The writers mirror the encoding of [DataSerializerKotlinX.jsonInstance]: elements in declaration order,
+ * defaults are encoded and null values are left out. Nested classes are generated as well.
+ * Supported element types are strings, booleans, numbers, enums, string lists and serializable classes.
+ */
+@OptIn(ExperimentalSerializationApi::class)
+internal object JsonWriterGenerator {
+    const val GENERATED_FILE = "src/main/java/com/bitmovin/analytics/utils/GeneratedJsonWriters.kt"
+    private const val REGENERATE_COMMAND =
+        "UPDATE_JSON_WRITERS=true ./gradlew :collector:testDebugUnitTest --tests \"*JsonWriterGeneratorTest\""
+
+    fun generate(rootDescriptors: List<SerialDescriptor>): String {
+        val classes = LinkedHashMap<String, SerialDescriptor>()
+        rootDescriptors.forEach { collectClasses(it, classes) }
+        val sortedClasses = classes.values.sortedBy { simpleName(it) }
+
+        return buildString {
+            appendLine("// Generated by JsonWriterGenerator from the serial descriptors of the DTOs, do not edit.")
+            appendLine("// Regenerate with: $REGENERATE_COMMAND")
+            appendLine("@file:Suppress(\"DEPRECATION\")")
+            appendLine()
+            appendLine("package com.bitmovin.analytics.utils")
+            appendLine()
+            sortedClasses.map { className(it) }.sorted().forEach { appendLine("import $it") }
+            sortedClasses.forEach { appendClass(it) }
+        }
+    }
+
+    private fun collectClasses(
+        descriptor: SerialDescriptor,
+        classes: MutableMap<String, SerialDescriptor>,
+    ) {
+        if (descriptor.kind != StructureKind.CLASS || className(descriptor) in classes) {
+            return
+        }
+        classes[className(descriptor)] = descriptor
+        for (index in 0 until descriptor.elementsCount) {
+            collectClasses(descriptor.getElementDescriptor(index), classes)
+        }
+    }
+
+    private fun StringBuilder.appendClass(descriptor: SerialDescriptor) {
+        val name = simpleName(descriptor)
+        val keys = "${constantName(name)}_KEYS"
+
+        appendLine()
+        appendLine("private val $keys =")
+        appendLine("    JsonUtf8Writer.keys(")
+        for (index in 0 until descriptor.elementsCount) {
+            appendLine("        \"${descriptor.getElementName(index)}\",")
+        }
+        appendLine("    )")
+
+        appendLine()
+        appendLine("/**")
+        appendLine(" * Writes [data] like [DataSerializerKotlinX.jsonInstance] does. If [fields] is set, only the elements")
+        appendLine(" * whose index is flagged in it are written.")
+        appendLine(" */")
+        appendLine("internal fun JsonUtf8Writer.write$name(")
+        appendLine("    data: $name,")
+        appendLine("    fields: BooleanArray? = null,")
+        appendLine(") {")
+        appendLine("    beginObject()")
+        for (index in 0 until descriptor.elementsCount) {
+            val elementName = descriptor.getElementName(index)
+            val elementDescriptor = descriptor.getElementDescriptor(index)
+            appendLine("    if (fields == null || fields[$index]) {")
+            if (elementDescriptor.isNullable) {
+                appendLine("        data.$elementName?.let {")
+                appendLine("            key($keys[$index])")
+                appendLine("            ${writeStatement(elementDescriptor, "it")}")
+                appendLine("        }")
+            } else {
+                appendLine("        key($keys[$index])")
+                appendLine("        ${writeStatement(elementDescriptor, "data.$elementName")}")
+            }
+            appendLine("    }")
+        }
+        appendLine("    endObject()")
+        appendLine("}")
+
+        appendLine()
+        appendLine("/**")
+        appendLine(" * Value of the element with the given index of the serial descriptor.")
+        appendLine(" */")
+        appendLine("internal fun $name.jsonElementValue(index: Int): Any? =")
+        appendLine("    when (index) {")
+        for (index in 0 until descriptor.elementsCount) {
+            appendLine("        $index -> ${descriptor.getElementName(index)}")
+        }
+        appendLine("        else -> throw IndexOutOfBoundsException(\"$name has no element \$index\")")
+        appendLine("    }")
+    }
+
+    private fun writeStatement(
+        descriptor: SerialDescriptor,
+        value: String,
+    ): String =
+        when (descriptor.kind) {
+            PrimitiveKind.STRING, PrimitiveKind.BOOLEAN, PrimitiveKind.INT, PrimitiveKind.LONG,
+            PrimitiveKind.FLOAT, PrimitiveKind.DOUBLE,
+            -> "value($value)"
+            SerialKind.ENUM -> "value($value.name)"
+            StructureKind.LIST -> {
+                require(descriptor.getElementDescriptor(0).kind == PrimitiveKind.STRING) { "Only lists of strings are supported" }
+                "value($value)"
+            }
+            StructureKind.CLASS -> "write${simpleName(descriptor)}($value)"
+            else -> throw IllegalArgumentException("Unsupported kind ${descriptor.kind} of ${descriptor.serialName}")
+        }
+
+    private fun className(descriptor: SerialDescriptor) = descriptor.serialName.removeSuffix("?")
+
+    private fun simpleName(descriptor: SerialDescriptor) = className(descriptor).substringAfterLast('.')
+
+    private fun constantName(simpleName: String) = simpleName.replace(Regex("(?<=[a-z0-9])([A-Z])"), "_$1").uppercase()
+}
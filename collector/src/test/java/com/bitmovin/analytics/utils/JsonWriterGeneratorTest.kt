@@ -0,0 +1,23 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import java.io.File
+
+class JsonWriterGeneratorTest {
+    @Test
+    fun `generated json writers are up to date`() {
+        val generated = JsonWriterGenerator.generate(listOf(EventData.serializer().descriptor, AdEventData.serializer().descriptor))
+        val file = File(JsonWriterGenerator.GENERATED_FILE)
+
+        if (System.getenv("UPDATE_JSON_WRITERS") == "true") {
+            file.writeText(generated)
+        }
+
+        assertThat(file.readText())
+            .withFailMessage("${file.name} is outdated, regenerate it with UPDATE_JSON_WRITERS=true")
+            .isEqualTo(generated)
+    }
+}
@@ -0,0 +1,8 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.test.utils.HttpTransportContract
+import okhttp3.OkHttpClient
+
+class OkHttpTransportTest : HttpTransportContract() {
+    override fun createTransport(): HttpTransport = OkHttpTransport(OkHttpClient())
+}
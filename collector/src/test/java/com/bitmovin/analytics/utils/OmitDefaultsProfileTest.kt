@@ -0,0 +1,118 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.jsonObject
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class OmitDefaultsProfileTest {
+    private val json = DataSerializerKotlinX.jsonInstance
+
+    @Test
+    fun `defaults of samples are pinned to the profile version`() {
+        // changing one of these defaults requires a new profile name, since the ingress re-applies them
+        val zero = JsonPrimitive(0)
+        val one = JsonPrimitive(1)
+        val no = JsonPrimitive(false)
+        assertThat(OmitDefaultsProfile.NAME).isEqualTo("omit-defaults-1")
+        assertThat(OmitDefaultsProfile.eventDataDefaults.encodedDefaults).isEqualTo(
+            mapOf(
+                "isLive" to no,
+                "isCasting" to no,
+                "videoDuration" to zero,
+                "videoWindowWidth" to zero,
+                "videoWindowHeight" to zero,
+                "droppedFrames" to zero,
+                "played" to zero,
+                "buffered" to zero,
+                "paused" to zero,
+                "ad" to zero,
+                "seeked" to zero,
+                "videoPlaybackWidth" to zero,
+                "videoPlaybackHeight" to zero,
+                "videoBitrate" to zero,
+                "audioBitrate" to zero,
+                "videoTimeStart" to zero,
+                "videoTimeEnd" to zero,
+                "videoStartupTime" to zero,
+                "duration" to zero,
+                "startupTime" to zero,
+                "pageLoadType" to one,
+                "pageLoadTime" to zero,
+                "isMuted" to no,
+                "subtitleEnabled" to no,
+                "videoStartFailed" to no,
+                "retryCount" to zero,
+            ),
+        )
+        assertThat(OmitDefaultsProfile.adEventDataDefaults.encodedDefaults).isEqualTo(
+            mapOf(
+                "clicked" to zero,
+                "closed" to zero,
+                "completed" to zero,
+                "midpoint" to zero,
+                "quartile1" to zero,
+                "quartile3" to zero,
+                "skipped" to zero,
+                "started" to zero,
+                "adFallbackIndex" to zero,
+                "retryCount" to zero,
+                "isSlate" to no,
+                "pageLoadType" to one,
+            ),
+        )
+    }
+
+    @Test
+    fun `samples leave out their defaults but keep the runtime defaults`() {
+        val eventData = TestFactory.createHeartbeatEventData(sequenceNumber = 0)
+
+        val sample = json.parseToJsonElement(CachingEventDataEncoder().encode(eventData, omitDefaults = true).utf8()).jsonObject
+
+        assertThat(sample.keys).doesNotContain("droppedFrames", "seeked", "ad", "isMuted", "pageLoadType")
+        assertThat(sample.keys).contains("played", "sequenceNumber", "time", "analyticsVersion", "userAgent")
+    }
+
+    @Test
+    fun `decoding a sample without its defaults restores the full sample`() {
+        val eventData = TestFactory.createHeartbeatEventData()
+
+        val compact = CachingEventDataEncoder().encode(eventData, omitDefaults = true).utf8()
+        val decoded = json.decodeFromString(EventData.serializer(), compact)
+
+        assertThat(DtoJsonWriters.encode(decoded)).isEqualTo(DtoJsonWriters.encode(eventData))
+    }
+
+    @Test
+    fun `decoding an ad sample without its defaults restores the full sample`() {
+        val adEventData = TestFactory.createAdEventData().apply { started = 1 }
+
+        val compact = DtoJsonWriters.encode(adEventData, omitDefaults = true).utf8()
+        val decoded = json.decodeFromString(AdEventData.serializer(), compact)
+
+        assertThat(json.parseToJsonElement(compact).jsonObject.keys).contains("started").doesNotContain("clicked", "isSlate")
+        assertThat(DtoJsonWriters.encode(decoded)).isEqualTo(DtoJsonWriters.encode(adEventData))
+    }
+
+    @Test
+    fun `encoded samples are stripped of their defaults`() {
+        val eventData = TestFactory.createHeartbeatEventData()
+        val encoded = json.encodeToJsonElement(EventData.serializer(), eventData).jsonObject
+
+        val stripped = OmitDefaultsProfile.eventDataDefaults.omitDefaults(encoded)
+
+        val compact = CachingEventDataEncoder().encode(eventData, omitDefaults = true).utf8()
+        assertThat(stripped).isEqualTo(json.parseToJsonElement(compact))
+    }
+
+    @Test
+    fun `request headers only declare the profile when defaults are left out`() {
+        assertThat(OmitDefaultsProfile.requestHeaders(omitDefaults = false))
+            .isEqualTo(mapOf(OmitDefaultsProfile.ACCEPT_HEADER to OmitDefaultsProfile.NAME))
+        assertThat(OmitDefaultsProfile.requestHeaders(omitDefaults = true))
+            .containsEntry(OmitDefaultsProfile.PROFILE_HEADER, OmitDefaultsProfile.NAME)
+    }
+}
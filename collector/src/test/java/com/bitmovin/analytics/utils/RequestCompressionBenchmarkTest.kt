@@ -0,0 +1,77 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.TestFactory
+import com.bitmovin.analytics.dtos.ErrorData
+import com.bitmovin.analytics.dtos.ErrorDetail
+import com.bitmovin.analytics.dtos.HttpRequest
+import com.bitmovin.analytics.dtos.HttpRequestType
+import com.bitmovin.analytics.testutils.measureNanosPerRun
+import com.bitmovin.analytics.testutils.printBenchmarkResult
+import okio.Buffer
+import okio.GzipSource
+import okio.buffer
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class RequestCompressionBenchmarkTest {
+    @Test
+    fun `gzip compressed heartbeat sample is smaller and decompresses to the original`() {
+        val payload = DataSerializerKotlinX.serialize(TestFactory.createHeartbeatEventData())!!
+
+        benchmarkCompression("EventData heartbeat", payload)
+    }
+
+    @Test
+    fun `gzip compressed error detail is smaller and decompresses to the original`() {
+        val payload = DataSerializerKotlinX.serialize(createErrorDetail())!!
+
+        benchmarkCompression("ErrorDetail", payload)
+    }
+
+    private fun benchmarkCompression(
+        name: String,
+        payload: String,
+    ) {
+        val compressed = payload.gzipUtf8()
+        val rawBytes = payload.encodeToByteArray().size
+        val nanosPerSample = measureNanosPerRun { payload.gzipUtf8() }
+
+        printBenchmarkResult(
+            name,
+            "rawBytes" to rawBytes,
+            "compressedBytes" to compressed.size,
+            "ratio" to "%.2f".format(compressed.size.toDouble() / rawBytes),
+            "cpuMicrosPerSample" to "%.1f".format(nanosPerSample / 1000),
+        )
+
+        assertThat(compressed.size).isLessThan(rawBytes)
+        assertThat(GzipSource(Buffer().write(compressed)).buffer().readUtf8()).isEqualTo(payload)
+    }
+
+    private fun createErrorDetail() =
+        ErrorDetail(
+            platform = "android",
+            licenseKey = "82dc5cdc-d425-4329-a043-b5fc540f9a74",
+            domain = "com.bitmovin.example",
+            impressionId = "79b531da-5abb-4fb2-8dbc-9a6c60b6526f",
+            errorId = 1,
+            timestamp = 1607598943236,
+            code = 2203,
+            message = "Source could not be loaded",
+            data = ErrorData.fromThrowable(IllegalStateException("Unable to connect to cdn.bitmovin.com")),
+            httpRequests =
+                (0 until 10).map {
+                    HttpRequest(
+                        timestamp = 1607598943236 + it * 2000,
+                        type = HttpRequestType.MEDIA_VIDEO.value,
+                        url = "https://cdn.bitmovin.com/content/assets/art-of-motion-dash-hls-progressive/video/1080_4800000/dash/segment_$it.m4s",
+                        lastRedirectLocation = null,
+                        httpStatus = 200,
+                        downloadTime = 250,
+                        timeToFirstByte = 40,
+                        size = 2_400_000,
+                        success = true,
+                    )
+                },
+        )
+}
@@ -0,0 +1,119 @@
+package com.bitmovin.analytics.utils
+
+import com.bitmovin.analytics.api.RequestQueueOverflowPolicy
+import com.bitmovin.analytics.api.TransmissionConfig
+import io.mockk.every
+import io.mockk.mockk
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import java.io.IOException
+
+class RequestWindowTest {
+    private var now = 0L
+    private val timeService = mockk<SystemTimeService> { every { elapsedRealtime() } answers { now } }
+    private val started = mutableListOf<Int>()
+    private val releases = mutableMapOf<Int, () -> Unit>()
+    private val dropped = mutableListOf<Int>()
+
+    private fun createWindow(
+        maxInFlight: Int = 2,
+        maxQueued: Int = 2,
+        overflowPolicy: RequestQueueOverflowPolicy = RequestQueueOverflowPolicy.DROP_OLDEST,
+    ) = RequestWindow("test", maxInFlight, maxQueued, overflowPolicy, timeService)
+
+    private fun RequestWindow.submit(id: Int) =
+        submit(
+            { release ->
+                started.add(id)
+                releases[id] = release
+            },
+            { dropped.add(id) },
+        )
+
+    @Test
+    fun `requests beyond the window are queued until a request completes`() {
+        val window = createWindow(maxInFlight = 2)
+
+        (1..4).forEach { window.submit(it) }
+        assertThat(started).containsExactly(1, 2)
+        assertThat(window.queueDepth).isEqualTo(2)
+
+        releases.getValue(2)()
+        assertThat(started).containsExactly(1, 2, 3)
+        assertThat(window.queueDepth).isEqualTo(1)
+        assertThat(window.inFlightCount).isEqualTo(2)
+    }
+
+    @Test
+    fun `releasing a request twice frees only one slot`() {
+        val window = createWindow(maxInFlight = 1)
+
+        (1..3).forEach { window.submit(it) }
+        releases.getValue(1)()
+        releases.getValue(1)()
+
+        assertThat(started).containsExactly(1, 2)
+    }
+
+    @Test
+    fun `oldest queued request is dropped when the queue overflows`() {
+        val window = createWindow(maxInFlight = 1, maxQueued = 2, overflowPolicy = RequestQueueOverflowPolicy.DROP_OLDEST)
+
+        (1..4).forEach { window.submit(it) }
+        assertThat(dropped).containsExactly(2)
+
+        releases.getValue(1)()
+        assertThat(started).containsExactly(1, 3)
+    }
+
+    @Test
+    fun `newest request is dropped when the queue overflows`() {
+        val window = createWindow(maxInFlight = 1, maxQueued = 2, overflowPolicy = RequestQueueOverflowPolicy.DROP_NEWEST)
+
+        (1..4).forEach { window.submit(it) }
+        assertThat(dropped).containsExactly(4)
+
+        releases.getValue(1)()
+        assertThat(started).containsExactly(1, 2)
+    }
+
+    @Test
+    fun `a request that throws when it is started releases its slot and is reported`() {
+        val window = createWindow(maxInFlight = 1)
+        val failures = mutableListOf<IOException>()
+
+        window.submit({ throw IllegalArgumentException("invalid url") }, { failures.add(it) })
+        window.submit(2)
+
+        assertThat(failures).hasSize(1)
+        assertThat(failures.single().cause).isInstanceOf(IllegalArgumentException::class.java)
+        assertThat(started).containsExactly(2)
+        assertThat(window.inFlightCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `no request is dropped by default`() {
+        val window = createWindow(maxInFlight = 1, maxQueued = 2, overflowPolicy = TransmissionConfig().requestQueueOverflowPolicy)
+
+        (1..4).forEach { window.submit(it) }
+        assertThat(dropped).isEmpty()
+        assertThat(window.queueDepth).isEqualTo(3)
+
+        (1..3).forEach { releases.getValue(it)() }
+        assertThat(started).containsExactly(1, 2, 3, 4)
+    }
+
+    @Test
+    fun `wait time of queued requests is tracked`() {
+        val window = createWindow(maxInFlight = 1)
+
+        (1..3).forEach { window.submit(it) }
+        now = 100
+        releases.getValue(1)()
+        now = 400
+        releases.getValue(2)()
+
+        assertThat(window.maxWaitTimeMs).isEqualTo(400)
+        assertThat(window.averageWaitTimeMs).isEqualTo(250)
+    }
+}
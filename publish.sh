@@ -80,6 +80,7 @@ echo "  - com.bitmovin.analytics:collector:$VERSION (:collector project)"
 echo "  - com.bitmovin.analytics:collector-bitmovin-player:$VERSION (:collector-bitmovin-player project)"
 echo "  - com.bitmovin.analytics:collector-media3-exoplayer:$VERSION (:collector-media3-exoplayer project)"
 echo "  - com.bitmovin.analytics:collector-theoplayer:$VERSION (:collector-theoplayer project)"
+echo "  - com.bitmovin.analytics:collector-cronet:$VERSION (:collector-cronet project)"
 echo "\nAre all tokens, artifacts and versions correct ?"
 read -p "(Press enter to continue)"
 
@@ -131,6 +132,14 @@ echo "\n:collector-theoplayer project build and publishing..."
 ./gradlew -DdevelopLocal=false -Dversion="$VERSION" :collector-theoplayer:publishToMavenLocal || exit
 echo "\n:collector-theoplayer project built and published!"
 
+echo "\n:collector-cronet project build and publishing..."
+./gradlew -DdevelopLocal=false -Dversion="$VERSION" :collector-cronet:clean || exit
+./gradlew -DdevelopLocal=false -Dversion="$VERSION" :collector-cronet:build || exit
+./gradlew -DdevelopLocal=false -Dversion="$VERSION" :collector-cronet:assembleRelease || exit
+./gradlew -DdevelopLocal=false -Dversion="$VERSION" :collector-cronet:artifactoryPublish || exit
+./gradlew -DdevelopLocal=false -Dversion="$VERSION" :collector-cronet:publishToMavenLocal || exit
+echo "\n:collector-cronet project built and published!"
+
 echo "\nGit release"
 echo "\nGit create tag 'v$VERSION' ..."
 git tag -a v$VERSION -m "v$VERSION"
@@ -169,6 +178,7 @@ curl -H "Content-Type: application/json" -X POST -u ${artifactoryUser}:${artifac
 curl -H "Content-Type: application/json" -X POST -u ${artifactoryUser}:${artifactoryPassword} "https://bitmovin.jfrog.io/bitmovin/api/copy/libs-release-local/com/bitmovin/analytics/collector-bitmovin-player/${VERSION}?to=/public-releases/com/bitmovin/analytics/collector-bitmovin-player/${VERSION}"
 curl -H "Content-Type: application/json" -X POST -u ${artifactoryUser}:${artifactoryPassword} "https://bitmovin.jfrog.io/bitmovin/api/copy/libs-release-local/com/bitmovin/analytics/collector-media3-exoplayer/${VERSION}?to=/public-releases/com/bitmovin/analytics/collector-media3-exoplayer/${VERSION}"
 curl -H "Content-Type: application/json" -X POST -u ${artifactoryUser}:${artifactoryPassword} "https://bitmovin.jfrog.io/bitmovin/api/copy/libs-release-local/com/bitmovin/analytics/collector-theoplayer/${VERSION}?to=/public-releases/com/bitmovin/analytics/collector-theoplayer/${VERSION}"
+curl -H "Content-Type: application/json" -X POST -u ${artifactoryUser}:${artifactoryPassword} "https://bitmovin.jfrog.io/bitmovin/api/copy/libs-release-local/com/bitmovin/analytics/collector-cronet/${VERSION}?to=/public-releases/com/bitmovin/analytics/collector-cronet/${VERSION}"
 
 echo "\nCopied artifacts to public jfrog repo."
 
@@ -0,0 +1,193 @@
+package com.bitmovin.analytics.test.utils
+
+import com.bitmovin.analytics.internal.InternalBitmovinApi
+import com.bitmovin.analytics.utils.HttpTransport
+import com.bitmovin.analytics.utils.HttpTransportCallback
+import com.bitmovin.analytics.utils.HttpTransportRequest
+import com.bitmovin.analytics.utils.HttpTransportRequestBody
+import com.bitmovin.analytics.utils.HttpTransportResponse
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import java.io.IOException
+import java.io.OutputStream
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Behaviour every [HttpTransport] has to provide. Implementations are tested by extending this class
+ * against a local server, e.g. `class OkHttpTransportTest : HttpTransportContract()`.
+ */
+@OptIn(InternalBitmovinApi::class)
+abstract class HttpTransportContract {
+    protected val server = MockWebServer()
+    private lateinit var transport: HttpTransport
+
+    abstract fun createTransport(): HttpTransport
+
+    @Before
+    fun startServer() {
+        server.start()
+        transport = createTransport()
+    }
+
+    @After
+    fun stopServer() {
+        server.shutdown()
+    }
+
+    @Test
+    fun postsTheBodyWithItsContentTypeAndHeaders() {
+        server.enqueue(MockResponse())
+
+        enqueueAndAwait(createRequest(BytesBody("{\"a\":1}".toByteArray()), mapOf("Origin" to "http://com.example")))
+
+        val recordedRequest = server.takeRequest(TIMEOUT_SECONDS, TimeUnit.SECONDS)!!
+        assertThat(recordedRequest.method).isEqualTo("POST")
+        assertThat(recordedRequest.path).isEqualTo("/analytics?routingParam=ssai")
+        assertThat(recordedRequest.getHeader("Content-Type")).isEqualTo(JSON_CONTENT_TYPE)
+        assertThat(recordedRequest.getHeader("Origin")).isEqualTo("http://com.example")
+        assertThat(recordedRequest.body.readUtf8()).isEqualTo("{\"a\":1}")
+    }
+
+    @Test
+    fun postsStreamedBodiesOfUnknownLength() {
+        server.enqueue(MockResponse())
+        val payload = ByteArray(256 * 1024) { (it % 251).toByte() }
+
+        enqueueAndAwait(createRequest(BytesBody(payload, contentLength = -1)))
+
+        val recordedRequest = server.takeRequest(TIMEOUT_SECONDS, TimeUnit.SECONDS)!!
+        assertThat(recordedRequest.body.readByteArray()).isEqualTo(payload)
+    }
+
+    @Test
+    fun sendsEncodedBodiesUnchanged() {
+        server.enqueue(MockResponse())
+        val gzippedPayload = byteArrayOf(0x1f, 0x8b.toByte(), 8, 0, 0, 0, 0, 0, 0, 3, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0)
+
+        enqueueAndAwait(createRequest(BytesBody(gzippedPayload), mapOf("Content-Encoding" to "gzip")))
+
+        val recordedRequest = server.takeRequest(TIMEOUT_SECONDS, TimeUnit.SECONDS)!!
+        assertThat(recordedRequest.getHeader("Content-Encoding")).isEqualTo("gzip")
+        assertThat(recordedRequest.body.readByteArray()).isEqualTo(gzippedPayload)
+    }
+
+    @Test
+    fun reportsStatusCodeHeadersAndBodyOfTheResponse() {
+        server.enqueue(MockResponse().setResponseCode(201).setHeader("Retry-After", "10").setBody("{\"status\":\"granted\"}"))
+
+        val result = enqueueAndAwait(createRequest(BytesBody(ByteArray(0))))
+
+        assertThat(result.failure).isNull()
+        assertThat(result.response!!.code).isEqualTo(201)
+        assertThat(result.response.isSuccessful).isTrue()
+        assertThat(result.response.header("retry-after")).isEqualTo("10")
+        assertThat(result.response.bodyAsString()).isEqualTo("{\"status\":\"granted\"}")
+    }
+
+    @Test
+    fun reportsErrorStatusCodesAsResponses() {
+        server.enqueue(MockResponse().setResponseCode(429).setHeader("Retry-After", "30"))
+
+        val result = enqueueAndAwait(createRequest(BytesBody(ByteArray(0))))
+
+        assertThat(result.failure).isNull()
+        assertThat(result.response!!.code).isEqualTo(429)
+        assertThat(result.response.isSuccessful).isFalse()
+        assertThat(result.response.header("Retry-After")).isEqualTo("30")
+    }
+
+    @Test
+    fun reportsConnectionFailuresAsFailures() {
+        val request = createRequest(BytesBody(ByteArray(0)))
+        server.shutdown()
+
+        val result = enqueueAndAwait(request)
+
+        assertThat(result.response).isNull()
+        assertThat(result.failure).isInstanceOf(IOException::class.java)
+    }
+
+    @Test
+    fun reportsErrorsWritingTheBodyAsFailures() {
+        val failingBody =
+            object : HttpTransportRequestBody {
+                override val contentType: String = JSON_CONTENT_TYPE
+                override val contentLength: Long = -1
+
+                override fun writeTo(outputStream: OutputStream) = throw IllegalStateException("Cannot encode")
+            }
+
+        val result = enqueueAndAwait(createRequest(failingBody))
+
+        assertThat(result.response).isNull()
+        assertThat(result.failure).isInstanceOf(IOException::class.java)
+    }
+
+    @Test
+    fun handlesConcurrentRequests() {
+        val requestCount = 20
+        repeat(requestCount) { server.enqueue(MockResponse()) }
+        val latch = CountDownLatch(requestCount)
+        val callback =
+            object : HttpTransportCallback {
+                override fun onResponse(response: HttpTransportResponse) = latch.countDown()
+
+                override fun onFailure(e: IOException) {}
+            }
+
+        repeat(requestCount) { transport.enqueue(createRequest(BytesBody("$it".toByteArray())), callback) }
+
+        assertThat(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue()
+        val bodies = List(requestCount) { server.takeRequest().body.readUtf8() }
+        assertThat(bodies).containsExactlyInAnyOrderElementsOf(List(requestCount) { "$it" })
+    }
+
+    private fun createRequest(
+        body: HttpTransportRequestBody,
+        headers: Map<String, String> = emptyMap(),
+    ) = HttpTransportRequest(server.url("/analytics?routingParam=ssai").toString(), headers, body)
+
+    private fun enqueueAndAwait(request: HttpTransportRequest): Result {
+        val latch = CountDownLatch(1)
+        var result: Result? = null
+        transport.enqueue(
+            request,
+            object : HttpTransportCallback {
+                override fun onResponse(response: HttpTransportResponse) {
+                    result = Result(response, null)
+                    latch.countDown()
+                }
+
+                override fun onFailure(e: IOException) {
+                    result = Result(null, e)
+                    latch.countDown()
+                }
+            },
+        )
+        assertThat(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue()
+        return result!!
+    }
+
+    private class Result(val response: HttpTransportResponse?, val failure: IOException?)
+
+    private class BytesBody(
+        private val bytes: ByteArray,
+        override val contentLength: Long = bytes.size.toLong(),
+    ) : HttpTransportRequestBody {
+        override val contentType: String = JSON_CONTENT_TYPE
+
+        override fun writeTo(outputStream: OutputStream) {
+            outputStream.write(bytes)
+        }
+    }
+
+    companion object {
+        private const val JSON_CONTENT_TYPE = "application/json; charset=utf-8"
+        private const val TIMEOUT_SECONDS = 10L
+    }
+}
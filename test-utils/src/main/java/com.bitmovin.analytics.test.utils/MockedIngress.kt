@@ -11,6 +11,10 @@ import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runInterruptible
 import kotlinx.coroutines.withTimeoutOrNull
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.jsonObject
+import kotlinx.serialization.json.jsonPrimitive
 import okhttp3.MediaType.Companion.toMediaType
 import okhttp3.OkHttpClient
 import okhttp3.Request
@@ -19,6 +23,8 @@ import okhttp3.mockwebserver.Dispatcher
 import okhttp3.mockwebserver.MockResponse
 import okhttp3.mockwebserver.MockWebServer
 import okhttp3.mockwebserver.RecordedRequest
+import okio.GzipSource
+import okio.buffer
 import kotlin.time.Duration
 import kotlin.time.Duration.Companion.seconds
 
@@ -34,6 +40,8 @@ object MockedIngress {
 
     private val alreadyTakenRequests = mutableListOf<RecordedRequest>()
 
+    private val sessionDeltaDecoder = SessionDeltaDecoder()
+
     // This is a volatile variable to ensure that the value is always read from the main memory and not optimized by the compiler
     @Volatile
     private var lastRequestReceivedTimestamp = 0L
@@ -62,6 +70,7 @@ object MockedIngress {
         server.shutdown()
         alreadyTakenRequests.clear()
         currentImpressionsIds.clear()
+        sessionDeltaDecoder.clear()
     }
 
     fun setServerOffline() {
@@ -94,15 +103,50 @@ object MockedIngress {
      * @param request The request has to be event data request.
      */
     private fun trackImpressionsIds(request: RecordedRequest) {
-        val body = request.body.copy().readUtf8()
-        val eventData =
-            DataSerializerKotlinX.deserialize(
-                body,
-                EventData::class.java,
-            )
-
-        if (eventData != null) {
-            currentImpressionsIds.add(eventData.impressionId)
+        val body = request.readBodyUtf8()
+        // samples might be delta encoded, but they always contain the impression id
+        decodeJsonSamples(body).forEach {
+            currentImpressionsIds.add(it.getValue("impressionId").jsonPrimitive.content)
+        }
+    }
+
+    /**
+     * Reads the body without consuming it and decompresses it in case it was sent gzip compressed.
+     * ProtoBuf encoded bodies are transcoded to JSON.
+     */
+    private fun RecordedRequest.readBodyUtf8(): String {
+        val body = this.body.copy()
+        val source = if (getHeader("Content-Encoding") == "gzip") GzipSource(body).buffer() else body
+        val contentType = getHeader("Content-Type")
+        return if (ProtoBufTranscoder.isProtoBuf(contentType)) {
+            ProtoBufTranscoder.toJson(source.readByteArray(), requestUrl?.encodedPath, contentType!!)
+        } else {
+            source.readUtf8()
+        }
+    }
+
+    private fun RecordedRequest.omitsDefaults() = getHeader(OmittedDefaultsDecoder.PROFILE_HEADER) == OmittedDefaultsDecoder.PROFILE
+
+    /**
+     * Parses a request body that contains either a single sample or a batch of samples (JSON array).
+     */
+    private fun decodeJsonSamples(body: String): List<JsonObject> =
+        when (val json = DataSerializerKotlinX.jsonInstance.parseToJsonElement(body)) {
+            is JsonArray -> json.map { it.jsonObject }
+            else -> listOf(json.jsonObject)
+        }
+
+    /**
+     * Decodes a request body that contains either a single sample or a batch of samples (JSON array).
+     */
+    private inline fun <reified T> decodeSamples(
+        body: String,
+        clazz: Class<T>,
+    ): List<T> {
+        return if (body.trimStart().startsWith("[")) {
+            DataSerializerKotlinX.jsonInstance.decodeFromString<List<T>>(body)
+        } else {
+            listOfNotNull(DataSerializerKotlinX.deserialize(body, clazz))
         }
     }
 
@@ -116,7 +160,7 @@ object MockedIngress {
                 lastRequestReceivedTimestamp = System.currentTimeMillis()
                 when (request.path) {
                     "/licensing" ->
-                        return if (request.body.readUtf8().contains("nonExistingKey")) {
+                        return if (request.readBodyUtf8().contains("nonExistingKey")) {
                             MockResponse().setResponseCode(403)
                                 .setBody(
                                     """
@@ -142,17 +186,24 @@ object MockedIngress {
                         }
                     "/analytics" -> trackImpressionsIds(request)
                 }
-                return MockResponse().setResponseCode(200)
+                return MockResponse().setResponseCode(200).apply {
+                    // confirms the omit defaults profile, like the ingress does
+                    if (request.getHeader(OmittedDefaultsDecoder.ACCEPT_HEADER) == OmittedDefaultsDecoder.PROFILE) {
+                        setHeader(OmittedDefaultsDecoder.PROFILE_HEADER, OmittedDefaultsDecoder.PROFILE)
+                    }
+                }
             }
         }
 
     private fun sendToRealServer(recordedRequest: RecordedRequest) {
-        val body = recordedRequest.body.copy().readUtf8()
+        // forward the body as is, the Content-Encoding header is forwarded as well
+        val body = recordedRequest.body.copy().readByteString()
+        val contentType = recordedRequest.getHeader("Content-Type")?.toMediaType() ?: JSON_CONTENT_TYPE
         val request =
             Request.Builder()
                 .url(backendUrl + recordedRequest.path)
                 .headers(recordedRequest.headers)
-                .post(body.toRequestBody(JSON_CONTENT_TYPE))
+                .post(body.toRequestBody(contentType))
                 .build()
 
         // Avoid blocking the test thread
@@ -219,6 +270,9 @@ object MockedIngress {
         val eventDataMap = mutableMapOf<String, List<EventData>>()
         val adEventDataMap = mutableMapOf<String, List<AdEventDataForTest>>()
         val errorDetailMap = mutableMapOf<String, List<ErrorDetail>>()
+        // event data samples with the information whether they were sent with the ssai routing param
+        // and whether they were sent without their default values
+        val eventDataSamples = mutableListOf<Triple<JsonObject, Boolean, Boolean>>()
 
         for (i in 0 until requestCount) {
             // we might have already looked into requests to have a waiting condition, thus taking
@@ -229,38 +283,25 @@ object MockedIngress {
                 } else {
                     server.takeRequest()
                 }
-            val body = request.body.readUtf8()
+            val body = request.readBodyUtf8()
 
             when (request.requestUrl?.encodedPath) {
                 "/analytics" -> {
-                    val eventData =
-                        DataSerializerKotlinX.deserialize(
-                            body,
-                            EventData::class.java,
-                        )
-
-                    if (request.requestUrl?.encodedQuery == "routingParam=ssai") {
-                        eventData?.ssaiRelatedSample = true
-                    }
-
-                    if (eventData != null) {
-                        eventDataMap[eventData.impressionId]?.let {
-                            eventDataMap.put(eventData.impressionId, it.plus(eventData))
-                        } ?: eventDataMap.put(eventData.impressionId, listOf(eventData))
-                    }
+                    val hasSsaiRoutingParamSet = request.requestUrl?.encodedQuery == "routingParam=ssai"
+                    decodeJsonSamples(body).forEach { eventDataSamples.add(Triple(it, hasSsaiRoutingParamSet, request.omitsDefaults())) }
                 }
                 "/analytics/a" -> {
-                    val adEventData =
-                        DataSerializerKotlinX.deserialize(
-                            body,
-                            AdEventDataForTest::class.java,
-                        )
-
-                    if (request.requestUrl?.encodedQuery == "routingParam=ssai") {
-                        adEventData?.hasSsaiRoutingParamSet = true
-                    }
+                    val adSamples =
+                        if (request.omitsDefaults()) {
+                            JsonArray(decodeJsonSamples(body).map { OmittedDefaultsDecoder.decodeAdSample(it) }).toString()
+                        } else {
+                            body
+                        }
+                    decodeSamples(adSamples, AdEventDataForTest::class.java).forEach { adEventData ->
+                        if (request.requestUrl?.encodedQuery == "routingParam=ssai") {
+                            adEventData.hasSsaiRoutingParamSet = true
+                        }
 
-                    if (adEventData != null) {
                         adEventDataMap[adEventData.videoImpressionId]?.let {
                             adEventDataMap.put(adEventData.videoImpressionId, it.plus(adEventData))
                         } ?: adEventDataMap.put(adEventData.videoImpressionId, listOf(adEventData))
@@ -282,6 +323,21 @@ object MockedIngress {
             }
         }
 
+        // samples can only be decoded once all requests are taken, in case they are delta encoded
+        val decodedSamples = sessionDeltaDecoder.decodeAll(eventDataSamples.map { it.first })
+        decodedSamples.zip(eventDataSamples) { decodedSample, (_, hasSsaiRoutingParamSet, omitsDefaults) ->
+            // the defaults are re-applied after merging a delta, since fields that are reset to their default are sent as null
+            val sample = if (omitsDefaults) OmittedDefaultsDecoder.decodeSample(decodedSample) else decodedSample
+            val eventData = DataSerializerKotlinX.jsonInstance.decodeFromJsonElement(EventData.serializer(), sample)
+            if (hasSsaiRoutingParamSet) {
+                eventData.ssaiRelatedSample = true
+            }
+
+            eventDataMap[eventData.impressionId]?.let {
+                eventDataMap.put(eventData.impressionId, it.plus(eventData))
+            } ?: eventDataMap.put(eventData.impressionId, listOf(eventData))
+        }
+
         return extractImpressionsFromRequests(eventDataMap, adEventDataMap, errorDetailMap)
     }
 
@@ -0,0 +1,33 @@
+package com.bitmovin.analytics.test.utils
+
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.utils.DataSerializerKotlinX
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.jsonObject
+
+/**
+ * Reference implementation of the ingress side of the omit defaults JSON profile.
+ *
+ * Samples sent with the profile leave out the fields that are equal to their declared default.
+ * The defaults are re-applied by decoding the sample and encoding it again with all defaults.
+ */
+object OmittedDefaultsDecoder {
+    // wire format, kept in sync with the collector's OmitDefaultsProfile
+    const val PROFILE = "omit-defaults-1"
+    const val PROFILE_HEADER = "X-Bitmovin-Json-Profile"
+    const val ACCEPT_HEADER = "X-Bitmovin-Accept-Json-Profile"
+
+    fun decodeSample(sample: JsonObject): JsonObject = reapplyDefaults(EventData.serializer(), sample)
+
+    fun decodeAdSample(sample: JsonObject): JsonObject = reapplyDefaults(AdEventData.serializer(), sample)
+
+    private fun <T> reapplyDefaults(
+        serializer: KSerializer<T>,
+        sample: JsonObject,
+    ): JsonObject {
+        val json = DataSerializerKotlinX.jsonInstance
+        return json.encodeToJsonElement(serializer, json.decodeFromJsonElement(serializer, sample)).jsonObject
+    }
+}
@@ -0,0 +1,61 @@
+package com.bitmovin.analytics.test.utils
+
+import com.bitmovin.analytics.dtos.AdEventData
+import com.bitmovin.analytics.dtos.ErrorDetail
+import com.bitmovin.analytics.dtos.EventData
+import com.bitmovin.analytics.utils.DataSerializerKotlinX
+import com.bitmovin.analytics.utils.DataSerializerProtoBuf
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.builtins.ListSerializer
+import kotlinx.serialization.protobuf.ProtoNumber
+
+/**
+ * Transcodes ProtoBuf encoded request bodies to the JSON the ingress would receive otherwise,
+ * so the verification of the samples doesn't depend on the wire format.
+ */
+@OptIn(ExperimentalSerializationApi::class)
+object ProtoBufTranscoder {
+    const val PROTOBUF_CONTENT_TYPE_PREFIX = "application/x-protobuf"
+    private const val BATCH_CONTENT_TYPE_PARAMETER = "type=batch"
+
+    fun isProtoBuf(contentType: String?) = contentType?.startsWith(PROTOBUF_CONTENT_TYPE_PREFIX) == true
+
+    /**
+     * @return a JSON object for a single sample and a JSON array for a batch
+     */
+    fun toJson(
+        body: ByteArray,
+        encodedPath: String?,
+        contentType: String,
+    ): String {
+        val isBatch = contentType.contains(BATCH_CONTENT_TYPE_PARAMETER)
+        return when (encodedPath) {
+            "/analytics" -> transcode(body, EventData.serializer(), isBatch)
+            "/analytics/a" -> transcode(body, AdEventData.serializer(), isBatch)
+            "/analytics/error" -> transcode(body, ErrorDetail.serializer(), isBatch)
+            else -> throw IllegalArgumentException("Unexpected ProtoBuf request to $encodedPath")
+        }
+    }
+
+    private fun <T> transcode(
+        body: ByteArray,
+        serializer: KSerializer<T>,
+        isBatch: Boolean,
+    ): String {
+        val protoBuf = DataSerializerProtoBuf.protoBufInstance
+        val json = DataSerializerKotlinX.jsonInstance
+        return if (isBatch) {
+            val samples = protoBuf.decodeFromByteArray(ProtoBufBatch.serializer(serializer), body).samples
+            json.encodeToString(ListSerializer(serializer), samples)
+        } else {
+            json.encodeToString(serializer, protoBuf.decodeFromByteArray(serializer, body))
+        }
+    }
+
+    @Serializable
+    private class ProtoBufBatch<T>(
+        @ProtoNumber(DataSerializerProtoBuf.BATCH_SAMPLES_FIELD_NUMBER) val samples: List<T> = emptyList(),
+    )
+}
@@ -0,0 +1,65 @@
+package com.bitmovin.analytics.test.utils
+
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonNull
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.int
+import kotlinx.serialization.json.jsonPrimitive
+
+/**
+ * Reference implementation of the ingress side of the session delta encoding.
+ *
+ * Full samples are returned as they are, the first sample of an impression is kept as base.
+ * Delta encoded samples are merged onto the base sample of their impression.
+ */
+class SessionDeltaDecoder {
+    private val baseSamples = mutableMapOf<String, JsonObject>()
+
+    @Synchronized
+    fun decode(sample: JsonObject): JsonObject {
+        val impressionId = sample.getValue(IMPRESSION_ID_KEY).jsonPrimitive.content
+        val deltaBase = sample[DELTA_BASE_KEY]?.jsonPrimitive?.int
+        if (deltaBase == null) {
+            if (sample.getValue(SEQUENCE_NUMBER_KEY).jsonPrimitive.int == 0) {
+                baseSamples[impressionId] = sample
+            }
+            return sample
+        }
+
+        val baseSample =
+            checkNotNull(baseSamples[impressionId]) {
+                "Base sample $deltaBase of impression $impressionId has not been received"
+            }
+        val merged = LinkedHashMap<String, JsonElement>(baseSample)
+        sample.forEach { (key, value) ->
+            when {
+                key == DELTA_BASE_KEY -> Unit
+                value == JsonNull -> merged.remove(key)
+                else -> merged[key] = value
+            }
+        }
+        return JsonObject(merged)
+    }
+
+    /**
+     * Decodes samples in the order they were received. Since requests can overtake each other,
+     * the full samples are taken as base first.
+     */
+    @Synchronized
+    fun decodeAll(samples: List<JsonObject>): List<JsonObject> {
+        samples.filter { DELTA_BASE_KEY !in it }.forEach { decode(it) }
+        return samples.map { decode(it) }
+    }
+
+    @Synchronized
+    fun clear() {
+        baseSamples.clear()
+    }
+
+    companion object {
+        // wire format keys, kept in sync with the collector's SessionDeltaEncoder
+        private const val DELTA_BASE_KEY = "deltaBaseSequenceNumber"
+        private const val IMPRESSION_ID_KEY = "impressionId"
+        private const val SEQUENCE_NUMBER_KEY = "sequenceNumber"
+    }
+}